@@ -0,0 +1,224 @@
+/*
+ * Copyright 2010 LinkedIn, Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package azkaban.common.utils;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.io.UnsupportedEncodingException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * The end of a (log) file, memory mapped so that only the pages holding the
+ * lines asked for are read.
+ *
+ * Lines are found by scanning the bytes backwards for newlines, and only the
+ * lines returned are decoded, as UTF-8. At most maxBytes at the end of the file
+ * are mapped, so a line starting before that is not returned.
+ */
+public class LogTail {
+
+    /**
+     * The default number of bytes at the end of a file to look at
+     */
+    public static final long DEFAULT_MAX_BYTES = 1024 * 1024;
+
+    private final ByteBuffer _buffer;
+    private final long _start;
+
+    private LogTail(ByteBuffer buffer, long start) {
+        _buffer = buffer;
+        _start = start;
+    }
+
+    /**
+     * Map the end of a file
+     *
+     * @param file The file
+     * @param maxBytes The most bytes at the end of the file to map
+     * @return The tail
+     * @throws IOException If the file can't be read
+     */
+    public static LogTail open(File file, long maxBytes) throws IOException {
+        RandomAccessFile raf = new RandomAccessFile(file, "r");
+        try {
+            FileChannel channel = raf.getChannel();
+            long size = channel.size();
+            long start = Math.max(0, size - maxBytes);
+            // the mapping stays valid after the channel is closed
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, start, size - start);
+            return new LogTail(buffer, start);
+        } finally {
+            raf.close();
+        }
+    }
+
+    /**
+     * Get the last lines of a file
+     *
+     * @param file The file
+     * @param lineCount The number of lines wanted
+     * @return The lines, oldest first
+     * @throws IOException If the file can't be read
+     */
+    public static List<String> lastLines(File file, int lineCount) throws IOException {
+        return open(file, DEFAULT_MAX_BYTES).lastLines(lineCount);
+    }
+
+    /**
+     * @return The offset in the file of the first byte mapped
+     */
+    public long getStartOffset() {
+        return _start;
+    }
+
+    /**
+     * @return The offset in the file after the last byte mapped
+     */
+    public long getEndOffset() {
+        return _start + _buffer.limit();
+    }
+
+    /**
+     * Get the last lines mapped
+     *
+     * @param lineCount The number of lines wanted
+     * @return The lines, oldest first, fewer if the mapped region doesn't hold
+     *         that many
+     */
+    public List<String> lastLines(int lineCount) {
+        List<String> lines = new ArrayList<String>(Math.min(lineCount, 1024));
+        Lines iterator = lines();
+        while(lines.size() < lineCount && iterator.hasNext()) {
+            iterator.next();
+            lines.add(iterator.getText());
+        }
+        Collections.reverse(lines);
+        return lines;
+    }
+
+    /**
+     * Iterate over the lines from the last one backwards. The text of a line is
+     * only decoded when asked for.
+     *
+     * @return The iterator
+     */
+    public Lines lines() {
+        return new Lines();
+    }
+
+    /**
+     * Iterates over the lines of a tail from the end, exposing where each line
+     * is in the file.
+     */
+    public class Lines {
+
+        // the end (exclusive) of the next line to return, without its newline
+        private int _nextEnd;
+        // the newline before the next line, -1 for none, -2 if not looked for
+        private int _newline = -2;
+        private int _lineStart = -1;
+        private int _lineEnd = -1;
+
+        private Lines() {
+            _nextEnd = _buffer.limit();
+            if(_nextEnd == 0)
+                _nextEnd = -1;
+            // a newline at the end of the file ends the last line
+            else if(_buffer.get(_nextEnd - 1) == '\n')
+                _nextEnd--;
+        }
+
+        public boolean hasNext() {
+            if(_nextEnd < 0)
+                return false;
+            if(_newline == -2)
+                _newline = indexOfNewline(_nextEnd);
+            // the first line is only complete if the whole file was mapped
+            return _newline >= 0 || _start == 0;
+        }
+
+        /**
+         * Move to the previous line
+         *
+         * @return The offset in the file of the line
+         */
+        public long next() {
+            if(!hasNext())
+                throw new NoSuchElementException();
+            _lineStart = _newline + 1;
+            _lineEnd = _nextEnd;
+            if(_lineEnd > _lineStart && _buffer.get(_lineEnd - 1) == '\r')
+                _lineEnd--;
+            _nextEnd = _newline;
+            _newline = -2;
+            return getOffset();
+        }
+
+        /**
+         * @return The offset in the file of the current line
+         */
+        public long getOffset() {
+            checkCurrent();
+            return _start + _lineStart;
+        }
+
+        /**
+         * @return The length of the current line in bytes, without its line
+         *         end
+         */
+        public int getLength() {
+            checkCurrent();
+            return _lineEnd - _lineStart;
+        }
+
+        /**
+         * @return The current line decoded as UTF-8
+         */
+        public String getText() {
+            checkCurrent();
+            byte[] bytes = new byte[_lineEnd - _lineStart];
+            ByteBuffer line = _buffer.duplicate();
+            line.position(_lineStart);
+            line.get(bytes);
+            try {
+                return new String(bytes, "UTF-8");
+            } catch(UnsupportedEncodingException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        private void checkCurrent() {
+            if(_lineStart < 0)
+                throw new IllegalStateException("next() has not been called.");
+        }
+
+        private int indexOfNewline(int end) {
+            for(int i = end - 1; i >= 0; i--) {
+                if(_buffer.get(i) == '\n')
+                    return i;
+            }
+            return -1;
+        }
+    }
+}
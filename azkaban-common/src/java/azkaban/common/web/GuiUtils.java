@@ -95,6 +95,10 @@ public class GuiUtils {
         return duration(a, b).toPeriod();
     }
 
+    public Period period(long millis) {
+        return new Duration(millis).toPeriod();
+    }
+
     public String formatPeriod(ReadablePeriod period) {
         return PEROD_FORMAT.print(period);
     }
@@ -121,6 +125,12 @@ public class GuiUtils {
         return format.format(d);
     }
 
+    public String formatNumber(double d, int fracDigits) {
+        NumberFormat format = NumberFormat.getNumberInstance();
+        format.setMaximumFractionDigits(fracDigits);
+        return format.format(d);
+    }
+
     public boolean isNull(Object o) {
         return o == null;
     }
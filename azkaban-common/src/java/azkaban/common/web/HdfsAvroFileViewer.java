@@ -5,12 +5,16 @@ import java.io.InputStream;
 import java.io.OutputStream;
 
 import org.apache.avro.Schema;
+import org.apache.avro.file.DataFileReader;
 import org.apache.avro.file.DataFileStream;
+import org.apache.avro.file.SeekableInput;
 import org.apache.avro.generic.GenericDatumReader;
 import org.apache.avro.generic.GenericDatumWriter;
 import org.apache.avro.io.DatumWriter;
 import org.apache.avro.io.Encoder;
 import org.apache.avro.io.JsonEncoder;
+import org.apache.hadoop.fs.FSDataInputStream;
+import org.apache.hadoop.fs.FileStatus;
 import org.apache.hadoop.fs.FileSystem;
 import org.apache.hadoop.fs.Path;
 import org.apache.log4j.Logger;
@@ -63,38 +67,112 @@ public class HdfsAvroFileViewer implements HdfsFileViewer {
                             Path path,
                             OutputStream outputStream,
                             int startLine,
-                            int endLine) throws IOException {
+                            int endLine,
+                            boolean pretty) throws IOException {
 
         if(logger.isDebugEnabled())
             logger.debug("display avro file:" + path.toUri().getPath());
 
-        DataFileStream<Object> avroDatastream = null;
+        FileStatus status = fs.getFileStatus(path);
+        FSDataInputStream in = fs.open(path);
 
         try {
-            avroDatastream = getAvroDataStream(fs, path);
+            // seek to the start line using the sync markers rather than
+            // reading the whole file up to it
+            AvroSplits splits = new AvroSplits(new FsInput(in, status.getLen()));
+            long missing = RecordIndex.forFile(status).seek(splits, startLine - 1);
+            DataFileReader<Object> avroDatastream = splits.reader;
+            if(missing > 0)
+                return;
+
             Schema schema = avroDatastream.getSchema();
             DatumWriter<Object> avroWriter = new GenericDatumWriter<Object>(schema);
 
             JsonGenerator g = new JsonFactory().createJsonGenerator(outputStream, JsonEncoding.UTF8);
-            g.useDefaultPrettyPrinter();
+            if(pretty)
+                g.useDefaultPrettyPrinter();
             Encoder encoder = new JsonEncoder(schema, g);
 
-            int lineno = 1; // line number starts from 1
-            while(avroDatastream.hasNext() && lineno <= endLine) {
-                Object datum = avroDatastream.next();
-                if(lineno >= startLine) {
-                    String record = "\n\n Record " + lineno + ":\n";
-                    outputStream.write(record.getBytes("UTF-8"));
-                    avroWriter.write(datum, encoder);
-                    encoder.flush();
-                }
-                lineno++;
+            Object datum = null;
+            for(int lineno = startLine; lineno <= endLine && avroDatastream.hasNext(); lineno++) {
+                datum = avroDatastream.next(datum);
+                String record = pretty ? "\n\n Record " + lineno + ":\n" : "\n";
+                outputStream.write(record.getBytes("UTF-8"));
+                avroWriter.write(datum, encoder);
+                encoder.flush();
             }
         } catch(IOException e) {
             outputStream.write(("Error in display avro file: " + e.getLocalizedMessage()).getBytes("UTF-8"));
             throw e;
         } finally {
-            avroDatastream.close();
+            in.close();
+        }
+    }
+
+    /**
+     * Reads the splits of an Avro file. The reader is opened again for each
+     * split, as the reader of this Avro version can't sync in the middle of a
+     * block.
+     */
+    private static class AvroSplits implements RecordIndex.Splits {
+
+        private final SeekableInput input;
+        private DataFileReader<Object> reader;
+        private Object reuse = null;
+
+        private AvroSplits(SeekableInput input) {
+            this.input = input;
+        }
+
+        public void sync(long offset) throws IOException {
+            input.seek(0);
+            reader = new DataFileReader<Object>(input, new GenericDatumReader<Object>());
+            reader.sync(offset);
+        }
+
+        public boolean skip(long end) throws IOException {
+            if(!reader.hasNext() || reader.pastSync(end))
+                return false;
+            reuse = reader.next(reuse);
+            return true;
+        }
+    }
+
+    /**
+     * An input stream of a filesystem as something Avro can seek in
+     */
+    private static class FsInput implements SeekableInput {
+
+        private final FSDataInputStream in;
+        private final long length;
+
+        private FsInput(FSDataInputStream in, long length) {
+            this.in = in;
+            this.length = length;
+        }
+
+        public void seek(long p) throws IOException {
+            in.seek(p);
+        }
+
+        public long tell() throws IOException {
+            return in.getPos();
+        }
+
+        public long length() {
+            return length;
+        }
+
+        public int read(byte[] b, int off, int len) throws IOException {
+            // Avro takes a short read for a truncated block
+            int read = 0;
+            while(read < len) {
+                int n = in.read(b, off + read, len - read);
+                if(n < 0)
+                    return read == 0 ? -1 : read;
+                read += n;
+            }
+            return read;
         }
     }
 
@@ -26,10 +26,22 @@ public interface HdfsFileViewer {
 
     public boolean canReadFile(FileSystem fs, Path path);
 
+    /**
+     * Write records or lines of a file
+     *
+     * @param fs The filesystem
+     * @param path The file
+     * @param outStream Where to write to
+     * @param startLine The first record or line, starting at 1
+     * @param endLine The last record or line
+     * @param pretty Whether to format records for reading rather than
+     *        compactly, if the viewer can
+     */
     public void displayFile(FileSystem fs,
                             Path path,
                             OutputStream outStream,
                             int startLine,
-                            int endLine) throws IOException;
+                            int endLine,
+                            boolean pretty) throws IOException;
 
-}
\ No newline at end of file
+}
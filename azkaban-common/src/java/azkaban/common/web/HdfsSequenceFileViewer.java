@@ -20,14 +20,24 @@ import java.io.IOException;
 import java.io.OutputStream;
 import java.io.PrintWriter;
 import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.FileStatus;
 import org.apache.hadoop.fs.FileSystem;
 import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.io.DataOutputBuffer;
 import org.apache.hadoop.io.SequenceFile;
 
 public abstract class HdfsSequenceFileViewer implements HdfsFileViewer {
 
     protected abstract boolean canReadFile(SequenceFile.Reader reader);
 
+    /**
+     * Write records of a sequence file
+     *
+     * @param reader The reader, positioned at the start line
+     * @param output Where to write to
+     * @param startLine The number of the record the reader is at, starting at 1
+     * @param endLine The last record to write
+     */
     protected abstract void displaySequenceFile(SequenceFile.Reader reader,
                                                 PrintWriter output,
                                                 int startLine,
@@ -50,18 +60,54 @@ public abstract class HdfsSequenceFileViewer implements HdfsFileViewer {
                             Path file,
                             OutputStream outputStream,
                             int startLine,
-                            int endLine) throws IOException {
+                            int endLine,
+                            boolean pretty) throws IOException {
         SequenceFile.Reader reader = null;
         PrintWriter writer = new PrintWriter(outputStream);
         try {
             reader = new SequenceFile.Reader(fs, file, new Configuration());
-            displaySequenceFile(reader, writer, startLine, endLine);
+            if(seek(reader, fs.getFileStatus(file), startLine - 1) == 0)
+                displaySequenceFile(reader, writer, startLine, endLine);
         } catch(IOException e) {
             writer.write("Error opening sequence file " + e);
         } finally {
             if(reader != null) {
                 reader.close();
             }
+            writer.flush();
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Move to a record using the sync points of the file, skipping the records
+     * in between without deserializing them
+     *
+     * @return The number of records missing if the file is shorter
+     */
+    private long seek(final SequenceFile.Reader reader, FileStatus status, long record)
+            throws IOException {
+        final long headerEnd = reader.getPosition();
+        final DataOutputBuffer buffer = new DataOutputBuffer();
+        final SequenceFile.ValueBytes value = reader.createValueBytes();
+        return RecordIndex.forFile(status).seek(new RecordIndex.Splits() {
+
+            public void sync(long offset) throws IOException {
+                // the header ends with a sync marker, don't skip past the
+                // first records looking for it
+                if(offset <= headerEnd)
+                    reader.seek(headerEnd);
+                else
+                    reader.sync(offset);
+            }
+
+            public boolean skip(long end) throws IOException {
+                long position = reader.getPosition();
+                buffer.reset();
+                boolean read = reader.nextRaw(buffer, value) >= 0;
+                // like a map reduce record reader, a record after a sync
+                // marker past the end belongs to the next split
+                return read && !(position >= end && reader.syncSeen());
+            }
+        }, record);
+    }
+}
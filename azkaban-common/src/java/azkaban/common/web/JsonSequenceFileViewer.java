@@ -55,10 +55,6 @@ public class JsonSequenceFileViewer extends HdfsSequenceFileViewer {
             JsonTypeSerializer keySerializer = new JsonTypeSerializer(keySchema.toString());
             JsonTypeSerializer valueSerializer = new JsonTypeSerializer(valueSchema.toString());
 
-            // skip lines before the start line
-            for(int i = 1; i < startLine; i++)
-                reader.next(keyWritable, valueWritable);
-
             // now actually output lines
             for(int i = startLine; i <= endLine; i++) {
                 boolean readSomething = reader.next(keyWritable, valueWritable);
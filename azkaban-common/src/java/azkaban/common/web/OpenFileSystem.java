@@ -0,0 +1,69 @@
+/*
+ * Copyright 2010 LinkedIn, Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package azkaban.common.web;
+
+import java.io.IOException;
+
+import org.apache.hadoop.fs.FSDataInputStream;
+import org.apache.hadoop.fs.FileStatus;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.FilterFileSystem;
+import org.apache.hadoop.fs.Path;
+
+/**
+ * A filesystem that serves one file from a stream that is already open and a
+ * status that is already known, so that viewers sniffing and then displaying
+ * the file don't each go back to the namenode. Every open of the file returns
+ * the same stream, rewound to the start; closing what open returned leaves it
+ * open. All other calls go to the wrapped filesystem.
+ *
+ * Don't close this filesystem, that would close the wrapped one.
+ */
+public class OpenFileSystem extends FilterFileSystem {
+
+    private final FileStatus _status;
+    private final FSDataInputStream _in;
+
+    public OpenFileSystem(FileSystem fs, FileStatus status, FSDataInputStream in) {
+        super(fs);
+        setConf(fs.getConf());
+        _status = status;
+        _in = in;
+    }
+
+    @Override
+    public FSDataInputStream open(Path path, int bufferSize) throws IOException {
+        if(!path.equals(_status.getPath()))
+            return super.open(path, bufferSize);
+
+        _in.seek(0);
+        return new FSDataInputStream(_in) {
+
+            @Override
+            public void close() {
+                // the caller of the OpenFileSystem owns the stream
+            }
+        };
+    }
+
+    @Override
+    public FileStatus getFileStatus(Path path) throws IOException {
+        if(path.equals(_status.getPath()))
+            return _status;
+        return super.getFileStatus(path);
+    }
+}
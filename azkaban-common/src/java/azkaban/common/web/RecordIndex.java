@@ -0,0 +1,158 @@
+/*
+ * Copyright 2010 LinkedIn, Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package azkaban.common.web;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.hadoop.fs.FileStatus;
+
+/**
+ * A sparse index from record numbers to offsets in a file with sync markers,
+ * such as an Avro data file or a SequenceFile.
+ *
+ * The file is cut into splits of a fixed number of bytes, the way map reduce
+ * cuts it: a split holds the records following the first sync marker after
+ * its start offset, up to the first sync marker after its end. The index
+ * holds the number of the first record of each split, so a record is reached
+ * by syncing to the start of its split and skipping the records before it in
+ * that split. Splits are counted only as far as a record was asked for, and
+ * the counting skips records without formatting them.
+ */
+public class RecordIndex {
+
+    public static final long DEFAULT_SPLIT_BYTES = 4 * 1024 * 1024;
+
+    private static final int MAX_CACHED_INDEXES = 100;
+
+    private static final Map<String, RecordIndex> _cache = new LinkedHashMap<String, RecordIndex>(16,
+                                                                                                   0.75f,
+                                                                                                   true) {
+
+        private static final long serialVersionUID = 1;
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, RecordIndex> eldest) {
+            return size() > MAX_CACHED_INDEXES;
+        }
+    };
+
+    /**
+     * Reads the records of a file by splits
+     */
+    public interface Splits {
+
+        /**
+         * Move to the first record after the first sync marker at or after
+         * the given offset
+         */
+        public void sync(long offset) throws IOException;
+
+        /**
+         * Skip the next record, unless it lies after the first sync marker
+         * after the given offset
+         *
+         * @param end The end of the current split, or the length of the file
+         *        to read on across splits
+         * @return false if there was no record to skip
+         */
+        public boolean skip(long end) throws IOException;
+    }
+
+    private final long _length;
+    private final long _splitBytes;
+    // the number of the first record of each split counted so far, and of
+    // the one after
+    private final List<Long> _firstRecords = new ArrayList<Long>();
+
+    public RecordIndex(long length, long splitBytes) {
+        _length = length;
+        _splitBytes = splitBytes;
+        _firstRecords.add(0L);
+    }
+
+    /**
+     * Get the index of a file, shared by everyone reading the same version of
+     * the file
+     *
+     * @param status The status of the file
+     * @return The index
+     */
+    public static RecordIndex forFile(FileStatus status) {
+        String key = status.getPath() + ":" + status.getLen() + ":" + status.getModificationTime();
+        synchronized(_cache) {
+            RecordIndex index = _cache.get(key);
+            if(index == null) {
+                index = new RecordIndex(status.getLen(), DEFAULT_SPLIT_BYTES);
+                _cache.put(key, index);
+            }
+            return index;
+        }
+    }
+
+    /**
+     * Move the given reader to a record
+     *
+     * @param splits The reader
+     * @param record The number of the record, starting at 0
+     * @return The number of records skipped short of the given one, if the
+     *         file doesn't have that many
+     */
+    public long seek(Splits splits, long record) throws IOException {
+        int split;
+        long first;
+        synchronized(this) {
+            int numSplits = (int) ((_length + _splitBytes - 1) / _splitBytes);
+            while(_firstRecords.size() <= numSplits
+                  && _firstRecords.get(_firstRecords.size() - 1) <= record) {
+                int next = _firstRecords.size() - 1;
+                long count = 0;
+                splits.sync(next * _splitBytes);
+                while(splits.skip((next + 1) * _splitBytes))
+                    count++;
+                _firstRecords.add(_firstRecords.get(next) + count);
+            }
+
+            // the last split starting at or before the record
+            split = 0;
+            for(int i = Math.min(_firstRecords.size() - 1, numSplits - 1); i > 0; i--) {
+                if(_firstRecords.get(i) <= record) {
+                    split = i;
+                    break;
+                }
+            }
+            first = _firstRecords.get(split);
+        }
+
+        splits.sync(split * _splitBytes);
+        for(long i = first; i < record; i++) {
+            if(!splits.skip(_length))
+                return record - i;
+        }
+        return 0;
+    }
+
+    /**
+     * @return The number of splits counted so far
+     */
+    public synchronized int getNumIndexedSplits() {
+        return _firstRecords.size() - 1;
+    }
+}
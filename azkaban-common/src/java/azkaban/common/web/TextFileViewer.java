@@ -51,7 +51,8 @@ public class TextFileViewer implements HdfsFileViewer {
                             Path path,
                             OutputStream outputStream,
                             int startLine,
-                            int endLine) throws IOException {
+                            int endLine,
+                            boolean pretty) throws IOException {
 
         if(logger.isDebugEnabled())
             logger.debug("read in uncompressed text file");
@@ -22,12 +22,15 @@ import azkaban.jobs.AzkabanCommandLine;
 import azkaban.web.AzkabanServletContextListener;
 import azkaban.web.JobManagerServlet;
 import azkaban.web.LogServlet;
+import azkaban.web.MetricsServlet;
+import azkaban.web.pages.BackfillServlet;
 import azkaban.web.pages.ExecutionHistoryServlet;
 import azkaban.web.pages.FlowExecutionServlet;
 import azkaban.web.pages.HdfsBrowserServlet;
 import azkaban.web.pages.IndexServlet;
 import azkaban.web.pages.JobDetailServlet;
 import azkaban.web.pages.JobUploadServlet;
+import azkaban.web.pages.TriggerServlet;
 import java.io.File;
 import java.util.Arrays;
 import joptsimple.OptionParser;
@@ -81,7 +84,7 @@ public class AzkabanApp
       logger.info("Job log directory set to " + cl.getLogDir().getAbsolutePath());
       logger.info("Job directories set to " + cl.getJobDirs());
 
-      AzkabanApplication app = new AzkabanApplication(cl.getJobDirs(), cl.getLogDir(), new File("temp"), options.has(devModeOpt));
+      final AzkabanApplication app = new AzkabanApplication(cl.getJobDirs(), cl.getLogDir(), new File("temp"), options.has(devModeOpt));
 
       int portNumber = 8081;
       if(options.has(portOpt))
@@ -118,6 +121,9 @@ public class AzkabanApp
       servlets.addServlet("Job Upload", "/job-upload/*", JobUploadServlet.class.getName());
       servlets.addServlet("HDFS Browser", "/fs/*", HdfsBrowserServlet.class.getName());
       servlets.addServlet("Flow Execution", "/flow", FlowExecutionServlet.class.getName());
+      servlets.addServlet("Backfill", "/backfill", BackfillServlet.class.getName());
+      servlets.addServlet("Triggers", "/triggers", TriggerServlet.class.getName());
+      servlets.addServlet("Metrics", "/metrics", MetricsServlet.class.getName());
       servlets.addServlet("favicon", "/favicon.ico", Default.class.getName());
       
       try {
@@ -137,6 +143,12 @@ public class AzkabanApp
               } catch(Exception e) {
                   logger.error("Error while shutting down http server.", e);
               }
+              logger.info("Sending queued notifications...");
+              try {
+                  app.getNotificationQueue().shutdown(10000);
+              } catch(InterruptedException e) {
+                  logger.warn("Interrupted while sending queued notifications.");
+              }
               logger.info("kk thx bye.");
           }
       });
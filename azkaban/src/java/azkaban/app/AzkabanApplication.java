@@ -24,6 +24,7 @@ import java.net.URL;
 import java.net.URLClassLoader;
 import java.util.List;
 
+import org.apache.hadoop.conf.Configuration;
 import org.apache.log4j.Logger;
 import org.apache.velocity.app.VelocityEngine;
 import org.apache.velocity.runtime.log.Log4JLogChute;
@@ -33,11 +34,13 @@ import azkaban.common.jobs.Job;
 import azkaban.common.utils.Props;
 import azkaban.common.utils.Utils;
 import azkaban.flow.CachingFlowManager;
+import azkaban.flow.FlowEventStream;
 import azkaban.flow.FlowManager;
 import azkaban.flow.RefreshableFlowManager;
 import azkaban.jobcontrol.impl.jobs.locks.NamedPermitManager;
 import azkaban.jobcontrol.impl.jobs.locks.ReadWriteLockManager;
 import azkaban.jobs.JavaJob;
+import azkaban.jobs.JavaJobWorkerPool;
 import azkaban.jobs.JavaProcessJob;
 import azkaban.jobs.NoopJob;
 import azkaban.jobs.PigProcessJob;
@@ -51,6 +54,7 @@ import azkaban.serialization.FlowExecutionSerializer;
 import azkaban.serialization.de.DefaultExecutableFlowDeserializer;
 import azkaban.serialization.de.ExecutableFlowDeserializer;
 import azkaban.serialization.de.FlowExecutionDeserializer;
+import azkaban.workflow.flow.FlowLayoutCache;
 import com.google.common.collect.ImmutableMap;
 
 /**
@@ -73,12 +77,19 @@ public class AzkabanApplication
     private final File _logsDir;
     private final File _tempDir;
     private final Scheduler _scheduler;
+    private final BackfillManager _backfills;
+    private final TriggerManager _triggers;
+    private final JobOutputCache _outputCache;
+    private final SpeculationTracker _speculation;
+    private final SlaMonitor _slaMonitor;
     private final VelocityEngine _velocityEngine;
     private final JobManager _jobManager;
-    private final Mailman _mailer;
+    private final NotificationQueue _notifications;
     private final ClassLoader _baseClassLoader;
     private final String _hdfsUrl;
-    private final FlowManager _allFlows;
+    private final CachingFlowManager _allFlows;
+    private final FlowLayoutCache _flowLayoutCache;
+    private final FlowEventStream _flowEventStream;
 
     public AzkabanApplication(List<File> jobDirs, File logDir, File tempDir, boolean enableDevMode) throws IOException {
         this._jobDirs = Utils.nonNull(jobDirs);
@@ -106,6 +117,33 @@ public class AzkabanApplication
         _baseClassLoader = getBaseClassloader();
 
         NamedPermitManager permitManager = getNamedPermitManager(defaultProps);
+        _outputCache = new JobOutputCache(
+                new File(defaultProps.getString("job.output.cache.dir",
+                                                new File(_tempDir, "output-cache").getAbsolutePath())),
+                defaultProps.getLong("job.output.cache.ttl.ms", 24 * 60 * 60 * 1000L),
+                defaultProps.getLong("job.output.cache.max.age.ms", 7 * 24 * 60 * 60 * 1000L)
+        );
+        _speculation = new SpeculationTracker(_logsDir, new File(_tempDir, "speculative"));
+
+        NotificationSink sink;
+        if("log".equals(defaultProps.getString("notification.sink", "mail")))
+            sink = new LogNotificationSink();
+        else
+            sink = new Mailman(defaultProps.getString("mail.host", "localhost"),
+                               defaultProps.getString("mail.user", ""),
+                               defaultProps.getString("mail.password", ""));
+        _notifications = new NotificationQueue(sink,
+                                               defaultProps.getInt("notification.threads", 2),
+                                               defaultProps.getLong("notification.digest.window.ms", 30000),
+                                               defaultProps.getInt("notification.max.retries", 3),
+                                               defaultProps.getLong("notification.retry.backoff.ms", 10000));
+        File slaHistory = new File(defaultProps.getString("sla.history.file",
+                                                          new File(_logsDir, "sla-misses.log").getAbsolutePath()));
+        _slaMonitor = new SlaMonitor(slaHistory,
+                                     _notifications,
+                                     defaultProps.getString("job.failure.email", null),
+                                     defaultProps.getLong("sla.tick.ms", 1000));
+
         JobWrappingFactory factory = new JobWrappingFactory(
                 permitManager,
                 new ReadWriteLockManager(),
@@ -114,23 +152,31 @@ public class AzkabanApplication
                 new ImmutableMap.Builder<String, Class<? extends Job>>()
                  .put("java", JavaJob.class)
                  .put("command", ProcessJob.class)
+                 .put(JobDescriptor.FANOUT_TYPE, NoopJob.class)
                  .put("javaprocess", JavaProcessJob.class)
                  .put("pig", PigProcessJob.class)
                  .put("propertyPusher", NoopJob.class)
                  .put("python", PythonJob.class)
                  .put("ruby", RubyJob.class)
-                 .put("script", ScriptJob.class).build());
+                 .put("script", ScriptJob.class).build(),
+                _outputCache,
+                _speculation,
+                _slaMonitor);
+
+        JavaJobWorkerPool workerPool = JavaJobWorkerPool.fromProps(defaultProps);
+        if(workerPool != null) {
+            logger.info("Using a pool of " + workerPool.getNumWorkers() + " JVM workers for pooled java jobs.");
+            JavaProcessJob.setWorkerPool(workerPool);
+        }
 
         _hdfsUrl = defaultProps.getString("hdfs.instance.url", null);
         _jobManager = new JobManager(factory,
                                      _logsDir.getAbsolutePath(),
                                      defaultProps,
                                      _jobDirs,
-                                     _baseClassLoader);
-
-        _mailer = new Mailman(defaultProps.getString("mail.host", "localhost"),
-                              defaultProps.getString("mail.user", ""),
-                              defaultProps.getString("mail.password", ""));
+                                     _baseClassLoader,
+                                     getParseCacheFile(defaultProps));
+        _outputCache.setClassLoaderCache(_jobManager.getClassLoaderCache());
 
         String failureEmail = defaultProps.getString("job.failure.email", null);
         String successEmail = defaultProps.getString("job.success.email", null);
@@ -162,20 +208,47 @@ public class AzkabanApplication
                         executionsStorageDir,
                         lastExecutionId
                 ),
+                defaultProps.getBytes("azkaban.flow.cache.bytes", 64 * 1024 * 1024),
                 defaultProps.getInt("azkaban.flow.cache.size", 1000)
         );
         _jobManager.setFlowManager(_allFlows);
 
+        _flowEventStream = new FlowEventStream(defaultProps.getInt("flow.events.capacity", 10000),
+                                               defaultProps.getInt("flow.events.max.waiters", 4),
+                                               defaultProps.getLong("flow.events.sweep.ms", 1000));
+
         this._scheduler = new Scheduler(_jobManager,
                                         _allFlows,
-                                        _mailer,
+                                        _notifications,
                                         failureEmail,
                                         successEmail,
                                         _baseClassLoader,
                                         schedule,
                                         backup,
-                                        schedulerThreads);
+                                        schedulerThreads,
+                                        _flowEventStream);
+        _scheduler.setSlaMonitor(_slaMonitor);
+        _scheduler.setDedupWindowMs(defaultProps.getLong("scheduler.dedup.window.ms", 60000));
         
+        _backfills = new BackfillManager(_jobManager,
+                                         _allFlows,
+                                         _scheduler,
+                                         new File(defaultProps.getString("azkaban.backfill.dir",
+                                                                         initialJobDir.getAbsolutePath()
+                                                                                 + "/.backfill")));
+
+        Configuration hadoopConf = new Configuration();
+        hadoopConf.setClassLoader(_baseClassLoader);
+        _triggers = new TriggerManager(_allFlows,
+                                       _scheduler,
+                                       hadoopConf,
+                                       new File(defaultProps.getString("azkaban.trigger.file",
+                                                                       initialJobDir.getAbsolutePath()
+                                                                               + "/.triggers")),
+                                       defaultProps.getLong("trigger.poll.ms", 30000),
+                                       defaultProps.getInt("trigger.poll.max.listings", 50));
+        _scheduler.setTriggerManager(_triggers);
+
         /* set predefined log url prefix 
         */
         String server_url = defaultProps.getString("server.url", null) ;
@@ -186,6 +259,10 @@ public class AzkabanApplication
                 _scheduler.setRuntimeProperty(AppCommon.DEFAULT_LOG_URL_PREFIX, server_url + "/logs?file=" );
         }
 
+        String layoutDir = defaultProps.getString("flow.layout.cache.dir", null);
+        _flowLayoutCache = new FlowLayoutCache(defaultProps.getInt("flow.layout.cache.size", 200),
+                                               layoutDir == null ? null : new File(layoutDir));
+
         this._velocityEngine = configureVelocityEngine(enableDevMode);
     }
 
@@ -234,6 +311,26 @@ public class AzkabanApplication
         return _scheduler;
     }
 
+    public BackfillManager getBackfillManager() {
+        return _backfills;
+    }
+
+    public TriggerManager getTriggerManager() {
+        return _triggers;
+    }
+
+    public JobOutputCache getJobOutputCache() {
+        return _outputCache;
+    }
+
+    public SlaMonitor getSlaMonitor() {
+        return _slaMonitor;
+    }
+
+    public SpeculationTracker getSpeculationTracker() {
+        return _speculation;
+    }
+
     public VelocityEngine getVelocityEngine() {
         return _velocityEngine;
     }
@@ -258,7 +355,19 @@ public class AzkabanApplication
         return _instanceName;
     }
     
-    public FlowManager getAllFlows()
+    public FlowLayoutCache getFlowLayoutCache() {
+        return _flowLayoutCache;
+    }
+
+    public FlowEventStream getFlowEventStream() {
+        return _flowEventStream;
+    }
+
+    public NotificationQueue getNotificationQueue() {
+        return _notifications;
+    }
+
+    public CachingFlowManager getAllFlows()
     {
         return _allFlows;
     }
@@ -302,6 +411,15 @@ public class AzkabanApplication
         return retVal;
     }
 
+    private File getParseCacheFile(Props defaultProps)
+    {
+        String parseCacheFile = defaultProps.getString("job.parse.cache.file", null);
+        if(parseCacheFile != null)
+            return new File(parseCacheFile);
+        else
+            return new File(_tempDir, "job-parse.cache");
+    }
+
     private File getScheduleFile(Props defaultProps, File initialJobDir)
     {
         File retVal = new File(initialJobDir.getAbsoluteFile(), "jobs.schedule");
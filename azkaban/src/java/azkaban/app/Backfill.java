@@ -0,0 +1,255 @@
+/*
+ * Copyright 2010 LinkedIn, Inc
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package azkaban.app;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.joda.time.DateTime;
+import org.joda.time.Duration;
+import org.joda.time.ReadablePeriod;
+
+import azkaban.flow.Status;
+
+/**
+ * A run of a flow over a range of logical times, one execution per slot of
+ * the range, with at most a given number of slots running at a time.
+ * 
+ * The slot statuses are READY until the slot is started, then RUNNING,
+ * SUCCEEDED or FAILED. Slots that had already succeeded in an earlier backfill
+ * are IGNORED.
+ */
+public class Backfill {
+
+    public enum Order {
+        OLDEST_FIRST, NEWEST_FIRST
+    }
+
+    private final long _id;
+    private final String _flowName;
+    private final DateTime _start;
+    private final DateTime _end;
+    private final ReadablePeriod _period;
+    private final int _parallelism;
+    private final Order _order;
+    private final List<Slot> _slots;
+    private final DateTime _created;
+    private volatile DateTime _ended;
+    private volatile boolean _canceled = false;
+
+    public Backfill(long id,
+                    String flowName,
+                    DateTime start,
+                    DateTime end,
+                    ReadablePeriod period,
+                    int parallelism,
+                    Order order,
+                    int maxSlots) {
+        if(parallelism < 1)
+            throw new IllegalArgumentException("Parallelism must be at least 1.");
+        if(end.isBefore(start))
+            throw new IllegalArgumentException("The end of the range is before its start.");
+
+        _id = id;
+        _flowName = flowName;
+        _start = start;
+        _end = end;
+        _period = period;
+        _parallelism = parallelism;
+        _order = order;
+        _created = new DateTime();
+
+        List<Slot> slots = new ArrayList<Slot>();
+        for(DateTime time = start; !time.isAfter(end); time = time.plus(period)) {
+            if(slots.size() >= maxSlots)
+                throw new IllegalArgumentException("The range holds more than " + maxSlots
+                                                   + " slots.");
+            slots.add(new Slot(time));
+        }
+        if(order == Order.NEWEST_FIRST)
+            Collections.reverse(slots);
+        _slots = Collections.unmodifiableList(slots);
+    }
+
+    public long getId() {
+        return _id;
+    }
+
+    public String getFlowName() {
+        return _flowName;
+    }
+
+    public DateTime getStart() {
+        return _start;
+    }
+
+    public DateTime getEnd() {
+        return _end;
+    }
+
+    public ReadablePeriod getPeriod() {
+        return _period;
+    }
+
+    public int getParallelism() {
+        return _parallelism;
+    }
+
+    public Order getOrder() {
+        return _order;
+    }
+
+    public DateTime getCreated() {
+        return _created;
+    }
+
+    /**
+     * @return When the last slot finished, or null if the backfill is still
+     *         going
+     */
+    public DateTime getEnded() {
+        return _ended;
+    }
+
+    /**
+     * @return The slots, in the order they are run
+     */
+    public List<Slot> getSlots() {
+        return _slots;
+    }
+
+    public boolean isCanceled() {
+        return _canceled;
+    }
+
+    void cancel() {
+        _canceled = true;
+    }
+
+    /**
+     * @return true if no slot is running and none will be started
+     */
+    public boolean isFinished() {
+        return _ended != null;
+    }
+
+    void setEnded(DateTime ended) {
+        _ended = ended;
+    }
+
+    public int getNumSlots() {
+        return _slots.size();
+    }
+
+    public int getNumWithStatus(Status status) {
+        int count = 0;
+        for(Slot slot: _slots) {
+            if(slot.getStatus() == status)
+                count++;
+        }
+        return count;
+    }
+
+    public int getNumSucceeded() {
+        return getNumWithStatus(Status.SUCCEEDED);
+    }
+
+    public int getNumFailed() {
+        return getNumWithStatus(Status.FAILED);
+    }
+
+    public int getNumSkipped() {
+        return getNumWithStatus(Status.IGNORED);
+    }
+
+    public int getNumRunning() {
+        return getNumWithStatus(Status.RUNNING);
+    }
+
+    public int getNumRemaining() {
+        return getNumWithStatus(Status.READY) + getNumRunning();
+    }
+
+    /**
+     * @return The fraction of slots that are done, between 0 and 1
+     */
+    public double getProgress() {
+        return getNumSlots() == 0 ? 1 : 1 - (double) getNumRemaining() / getNumSlots();
+    }
+
+    /**
+     * @return The slots run per hour so far, not counting skipped ones
+     */
+    public double getSlotsPerHour() {
+        int run = getNumSucceeded() + getNumFailed();
+        DateTime until = _ended == null ? new DateTime() : _ended;
+        long elapsedMs = Math.max(1, until.getMillis() - _created.getMillis());
+        return run * 3600000.0 / elapsedMs;
+    }
+
+    /**
+     * @return The expected time until all slots are run at the rate so far,
+     *         or null if no slot has finished yet
+     */
+    public Duration getEstimatedRemaining() {
+        if(isFinished())
+            return new Duration(0);
+        double perHour = getSlotsPerHour();
+        if(perHour == 0)
+            return null;
+        return new Duration((long) (getNumRemaining() * 3600000.0 / perHour));
+    }
+
+    /**
+     * One logical time of a backfill
+     */
+    public static class Slot {
+
+        private final DateTime _time;
+        private volatile Status _status = Status.READY;
+        private volatile String _executionId;
+
+        private Slot(DateTime time) {
+            _time = time;
+        }
+
+        public DateTime getTime() {
+            return _time;
+        }
+
+        public Status getStatus() {
+            return _status;
+        }
+
+        void setStatus(Status status) {
+            _status = status;
+        }
+
+        /**
+         * @return The id of the execution of the slot, null if it wasn't
+         *         started
+         */
+        public String getExecutionId() {
+            return _executionId;
+        }
+
+        void setExecutionId(String executionId) {
+            _executionId = executionId;
+        }
+    }
+}
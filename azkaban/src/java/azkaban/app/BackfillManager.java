@@ -0,0 +1,295 @@
+/*
+ * Copyright 2010 LinkedIn, Inc
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package azkaban.app;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileReader;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.commons.io.IOUtils;
+import org.apache.log4j.Logger;
+import org.joda.time.DateTime;
+import org.joda.time.ReadablePeriod;
+
+import azkaban.flow.ExecutableFlow;
+import azkaban.flow.FlowCallback;
+import azkaban.flow.FlowManager;
+import azkaban.flow.Status;
+
+/**
+ * Runs backfills: a flow over a range of logical times, a bounded number of
+ * slots at a time. Each slot is an execution whose azkaban.flow.logical.*
+ * properties are the time of the slot.
+ * 
+ * The slots that succeed are recorded in a file per flow in the state
+ * directory, and are skipped by later backfills of the flow.
+ */
+public class BackfillManager {
+
+    private static final Logger logger = Logger.getLogger(BackfillManager.class);
+
+    public static final int MAX_SLOTS = 10000;
+    private static final int MAX_FINISHED_BACKFILLS = 100;
+
+    private final JobManager _jobManager;
+    private final FlowManager _flows;
+    private final Scheduler _scheduler;
+    private final File _stateDir;
+    private final AtomicLong _nextId = new AtomicLong(1);
+    private final Map<Long, Backfill> _backfills = new LinkedHashMap<Long, Backfill>();
+    // the slots that succeeded, by flow name, loaded lazily
+    private final Map<String, Set<Long>> _succeeded = new HashMap<String, Set<Long>>();
+
+    public BackfillManager(JobManager jobManager,
+                           FlowManager flows,
+                           Scheduler scheduler,
+                           File stateDir) {
+        _jobManager = jobManager;
+        _flows = flows;
+        _scheduler = scheduler;
+        _stateDir = stateDir;
+        if(!_stateDir.exists())
+            _stateDir.mkdirs();
+    }
+
+    /**
+     * Start a backfill
+     * 
+     * @param flowName The flow to run
+     * @param start The first logical time
+     * @param end The last logical time, inclusive
+     * @param period The time between slots
+     * @param parallelism The most slots to run at a time
+     * @param order Which slots to run first
+     * @return The backfill, already running
+     */
+    public Backfill start(String flowName,
+                          DateTime start,
+                          DateTime end,
+                          ReadablePeriod period,
+                          int parallelism,
+                          Backfill.Order order) {
+        // fail fast if there is a problem with this job
+        _jobManager.validateJob(flowName);
+
+        Backfill backfill = new Backfill(_nextId.getAndIncrement(),
+                                         flowName,
+                                         start,
+                                         end,
+                                         period,
+                                         parallelism,
+                                         order,
+                                         MAX_SLOTS);
+        Set<Long> succeeded = getSucceeded(flowName);
+        synchronized(succeeded) {
+            for(Backfill.Slot slot: backfill.getSlots()) {
+                if(succeeded.contains(slot.getTime().getMillis()))
+                    slot.setStatus(Status.IGNORED);
+            }
+        }
+        logger.info("Backfilling " + flowName + " from " + start + " to " + end + ", "
+                    + backfill.getNumSlots() + " slots of which " + backfill.getNumSkipped()
+                    + " already succeeded.");
+
+        synchronized(_backfills) {
+            _backfills.put(backfill.getId(), backfill);
+            dropFinished();
+        }
+        launch(backfill);
+        return backfill;
+    }
+
+    /**
+     * Stop starting slots of a backfill and cancel the running ones
+     */
+    public void cancel(long id) {
+        Backfill backfill = getBackfill(id);
+        if(backfill == null)
+            throw new IllegalArgumentException("No backfill with id " + id);
+
+        backfill.cancel();
+        for(Backfill.Slot slot: backfill.getSlots()) {
+            if(slot.getStatus() == Status.RUNNING && slot.getExecutionId() != null) {
+                try {
+                    _scheduler.cancel(slot.getExecutionId());
+                } catch(Exception e) {
+                    // not started yet or already done, it finishes on its own
+                    logger.info("Couldn't cancel execution " + slot.getExecutionId() + " of backfill "
+                                + id + ": " + e.getMessage());
+                }
+            }
+        }
+        launch(backfill);
+    }
+
+    public Backfill getBackfill(long id) {
+        synchronized(_backfills) {
+            return _backfills.get(id);
+        }
+    }
+
+    /**
+     * @return The backfills, newest first
+     */
+    public List<Backfill> getBackfills() {
+        List<Backfill> backfills;
+        synchronized(_backfills) {
+            backfills = new ArrayList<Backfill>(_backfills.values());
+        }
+        Collections.reverse(backfills);
+        return backfills;
+    }
+
+    /**
+     * Start as many slots as the parallelism allows, or mark the backfill as
+     * ended if none are left
+     */
+    private void launch(final Backfill backfill) {
+        List<Backfill.Slot> toStart = new ArrayList<Backfill.Slot>();
+        synchronized(backfill) {
+            int running = backfill.getNumRunning();
+            if(!backfill.isCanceled()) {
+                for(Backfill.Slot slot: backfill.getSlots()) {
+                    if(running >= backfill.getParallelism())
+                        break;
+                    if(slot.getStatus() == Status.READY) {
+                        slot.setStatus(Status.RUNNING);
+                        toStart.add(slot);
+                        running++;
+                    }
+                }
+            }
+
+            if(running == 0 && !backfill.isFinished()
+               && (backfill.isCanceled() || backfill.getNumWithStatus(Status.READY) == 0)) {
+                backfill.setEnded(new DateTime());
+                logger.info("Backfill " + backfill.getId() + " of " + backfill.getFlowName()
+                            + (backfill.isCanceled() ? " canceled: " : " finished: ")
+                            + backfill.getNumSucceeded() + " succeeded, " + backfill.getNumFailed()
+                            + " failed, " + backfill.getNumSkipped() + " skipped.");
+            }
+        }
+
+        for(Backfill.Slot slot: toStart)
+            start(backfill, slot);
+    }
+
+    private void start(final Backfill backfill, final Backfill.Slot slot) {
+        try {
+            ExecutableFlow flow = _flows.createNewExecutableFlow(backfill.getFlowName());
+            // the id of the run of the slot already in flight if it was coalesced
+            String executionId = _scheduler.scheduleNow(flow, slot.getTime(), new FlowCallback() {
+
+                public void progressMade() {}
+
+                public void completed(Status status) {
+                    slotCompleted(backfill, slot, status);
+                }
+            });
+            slot.setExecutionId(executionId);
+        } catch(RuntimeException e) {
+            logger.warn("Failed to start slot " + slot.getTime() + " of backfill " + backfill.getId(),
+                        e);
+            slotCompleted(backfill, slot, Status.FAILED);
+        }
+    }
+
+    private void slotCompleted(Backfill backfill, Backfill.Slot slot, Status status) {
+        if(status == Status.SUCCEEDED) {
+            recordSucceeded(backfill.getFlowName(), slot.getTime());
+            slot.setStatus(Status.SUCCEEDED);
+        } else {
+            slot.setStatus(Status.FAILED);
+        }
+        launch(backfill);
+    }
+
+    private void dropFinished() {
+        int finished = 0;
+        for(Backfill backfill: _backfills.values()) {
+            if(backfill.isFinished())
+                finished++;
+        }
+        for(Iterator<Backfill> iter = _backfills.values().iterator(); iter.hasNext()
+                                                                       && finished > MAX_FINISHED_BACKFILLS;) {
+            if(iter.next().isFinished()) {
+                iter.remove();
+                finished--;
+            }
+        }
+    }
+
+    private File getStateFile(String flowName) {
+        return new File(_stateDir, flowName.replaceAll("[^A-Za-z0-9._-]", "_") + ".succeeded");
+    }
+
+    private Set<Long> getSucceeded(String flowName) {
+        synchronized(_succeeded) {
+            Set<Long> succeeded = _succeeded.get(flowName);
+            if(succeeded == null) {
+                succeeded = new HashSet<Long>();
+                File file = getStateFile(flowName);
+                if(file.exists()) {
+                    BufferedReader reader = null;
+                    try {
+                        reader = new BufferedReader(new FileReader(file));
+                        for(String line = reader.readLine(); line != null; line = reader.readLine()) {
+                            if(line.trim().length() > 0)
+                                succeeded.add(Long.parseLong(line.trim()));
+                        }
+                    } catch(IOException e) {
+                        logger.warn("Couldn't read the succeeded slots of " + flowName, e);
+                    } finally {
+                        IOUtils.closeQuietly(reader);
+                    }
+                }
+                _succeeded.put(flowName, succeeded);
+            }
+            return succeeded;
+        }
+    }
+
+    private void recordSucceeded(String flowName, DateTime time) {
+        Set<Long> succeeded = getSucceeded(flowName);
+        synchronized(succeeded) {
+            if(!succeeded.add(time.getMillis()))
+                return;
+            Writer writer = null;
+            try {
+                writer = new FileWriter(getStateFile(flowName), true);
+                writer.write(time.getMillis() + "\n");
+            } catch(IOException e) {
+                logger.warn("Couldn't record the succeeded slot " + time + " of " + flowName, e);
+            } finally {
+                IOUtils.closeQuietly(writer);
+            }
+        }
+    }
+}
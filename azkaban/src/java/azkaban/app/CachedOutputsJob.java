@@ -0,0 +1,85 @@
+/*
+ * Copyright 2010 LinkedIn, Inc
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package azkaban.app;
+
+import org.apache.log4j.Logger;
+
+import azkaban.common.jobs.DelegatingJob;
+import azkaban.common.jobs.Job;
+import azkaban.common.utils.Props;
+
+/**
+ * A wrapper for a job with cache.outputs=true. If outputs were cached for the
+ * fingerprint of the run, running replays them without running the inner
+ * job; otherwise the inner job runs and what it generates is cached if it
+ * succeeds.
+ */
+public class CachedOutputsJob extends DelegatingJob {
+
+    private final Logger _logger;
+    private final JobOutputCache _cache;
+    private final String _fingerprint;
+    private final Props _cachedProps;
+
+    /**
+     * @param innerJob The job to run on a miss, or to take the id of on a hit
+     * @param cache The cache
+     * @param fingerprint The fingerprint of the inputs of the run
+     * @param cachedProps The properties cached for the fingerprint, or null
+     *        for a miss
+     */
+    public CachedOutputsJob(Job innerJob, JobOutputCache cache, String fingerprint, Props cachedProps) {
+        super(innerJob);
+        _logger = Logger.getLogger(innerJob.getId());
+        _cache = cache;
+        _fingerprint = fingerprint;
+        _cachedProps = cachedProps;
+    }
+
+    public boolean isHit() {
+        return _cachedProps != null;
+    }
+
+    @Override
+    public void run() throws Exception {
+        _cache.recordRun(getId(), isHit());
+        if(isHit()) {
+            _logger.info("Inputs of job '" + getId() + "' are unchanged (fingerprint " + _fingerprint
+                         + "), using the outputs of its earlier run.");
+            return;
+        }
+
+        getInnerJob().run();
+        _cache.put(_fingerprint, getInnerJob().getJobGeneratedProperties());
+    }
+
+    @Override
+    public void cancel() throws Exception {
+        if(!isHit())
+            super.cancel();
+    }
+
+    @Override
+    public double getProgress() throws Exception {
+        return isHit() ? 1.0 : super.getProgress();
+    }
+
+    @Override
+    public Props getJobGeneratedProperties() {
+        return isHit() ? _cachedProps : super.getJobGeneratedProperties();
+    }
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright 2010 LinkedIn, Inc
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package azkaban.app;
+
+/**
+ * What the scheduler does with a new execution of a flow when as many
+ * executions of it as allowed (concurrent.max) are already running.
+ */
+public enum ConcurrentPolicy {
+
+    /**
+     * Wait for a running execution to finish. Allows one execution at a time
+     * unless concurrent.max says otherwise.
+     */
+    QUEUE,
+
+    /**
+     * Don't run the new execution. Allows one execution at a time unless
+     * concurrent.max says otherwise.
+     */
+    SKIP,
+
+    /**
+     * Like QUEUE, but allows any number of executions at a time unless
+     * concurrent.max says otherwise.
+     */
+    ALLOW,
+
+    /**
+     * Cancel the running executions and start the new one.
+     */
+    CANCEL_PREVIOUS;
+
+    /**
+     * Parse a policy from the way it is written in job properties, such as
+     * "cancel-previous"
+     */
+    public static ConcurrentPolicy parse(String value) {
+        try {
+            return valueOf(value.trim().toUpperCase().replace('-', '_'));
+        } catch(IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown concurrent policy '" + value
+                                               + "', expected queue, skip, allow or cancel-previous.");
+        }
+    }
+
+    /**
+     * @return The number of executions allowed at a time when it isn't
+     *         configured
+     */
+    public int getDefaultMaxConcurrent() {
+        return this == ALLOW ? Integer.MAX_VALUE : 1;
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright 2010 LinkedIn, Inc
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package azkaban.app;
+
+import org.apache.log4j.Logger;
+import org.joda.time.DateTime;
+
+import azkaban.common.jobs.DelegatingJob;
+import azkaban.common.jobs.Job;
+import azkaban.common.utils.Props;
+
+/**
+ * A wrapper for a job with a timeout or sla.finish.by time, which has the
+ * SlaMonitor enforce them while the inner job runs. The clock of the timeout
+ * starts when the job runs, after it got its locks.
+ */
+public class DeadlineJob extends DelegatingJob {
+
+    private final Logger _logger;
+    private final SlaMonitor _monitor;
+    private final JobDescriptor _descriptor;
+
+    public DeadlineJob(Job innerJob, SlaMonitor monitor, JobDescriptor descriptor) {
+        super(innerJob);
+        _logger = Logger.getLogger(innerJob.getId());
+        _monitor = monitor;
+        _descriptor = descriptor;
+    }
+
+    @Override
+    public void run() throws Exception {
+        Props props = _descriptor.getProps();
+        String logicalTime = props.getString("azkaban.flow.logical.timestamp", null);
+        SlaMonitor.Watch watch = _monitor.watchJob(_descriptor,
+                                                   props.getString("azkaban.flow.id", null),
+                                                   logicalTime == null ? new DateTime()
+                                                                       : new DateTime(logicalTime),
+                                                   new Runnable() {
+
+                                                       public void run() {
+                                                           try {
+                                                               getInnerJob().cancel();
+                                                           } catch(Exception e) {
+                                                               throw new RuntimeException(e);
+                                                           }
+                                                       }
+                                                   });
+        try {
+            getInnerJob().run();
+        } catch(Exception e) {
+            for(String missed: watch.getMissed())
+                if(getAction(missed) != SlaAction.ALERT)
+                    throw new JobExecutionException("Job '" + getId() + "' was canceled after it missed its "
+                                                    + describe(missed) + ".", e);
+            throw e;
+        } finally {
+            watch.finished();
+            for(String missed: watch.getMissed())
+                _logger.warn("Job '" + getId() + "' missed its " + describe(missed) + ".");
+        }
+    }
+
+    private SlaAction getAction(String missed) {
+        Sla sla = _descriptor.getSla();
+        return SlaMonitor.TIMEOUT.equals(missed) ? sla.getTimeoutAction() : sla.getFinishByAction();
+    }
+
+    private String describe(String missed) {
+        Sla sla = _descriptor.getSla();
+        if(SlaMonitor.TIMEOUT.equals(missed))
+            return "timeout of " + sla.getTimeoutMs() + " ms";
+        return "sla.finish.by time of " + sla.getFinishBy().toString("HH:mm");
+    }
+}
@@ -0,0 +1,420 @@
+/*
+ * Copyright 2010 LinkedIn, Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package azkaban.app;
+
+import org.apache.log4j.Logger;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.management.ClassLoadingMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Cache of the classloaders JobManager builds for the jars in job directories.
+ *
+ * Entries are keyed by the parent classloader and the content hash of the jar
+ * set, so reloading the job directories reuses the classloaders (and the
+ * classes already loaded through them) as long as the jars didn't change, and
+ * directories holding identical jars share one classloader.
+ *
+ * Each acquire() must be matched by a release(). Entries nobody holds are kept
+ * around in LRU order, up to a fixed number, in case they are asked for again.
+ * Dropping an entry from the cache doesn't affect the jobs still using its
+ * classloader.
+ */
+public class JobClassLoaderCache {
+
+    private static final Logger logger = Logger.getLogger(JobClassLoaderCache.class);
+
+    private static final String DIGEST_ALGORITHM = "SHA-1";
+    private static final List<String> CLASS_METADATA_POOLS = Arrays.asList("Metaspace", "Perm Gen", "PS Perm Gen", "CMS Perm Gen", "G1 Perm Gen");
+
+    private final int _maxIdle;
+
+    // access ordered, so iterating finds the least recently used entry first
+    private final Map<Key, Entry> _entries = new LinkedHashMap<Key, Entry>(16, 0.75f, true);
+    private final Map<ClassLoader, Entry> _entriesByLoader = new IdentityHashMap<ClassLoader, Entry>();
+    private final Map<File, JarDigest> _digests = new HashMap<File, JarDigest>();
+
+    private long _hits = 0;
+    private long _misses = 0;
+    private long _evictions = 0;
+    private long _invalidations = 0;
+    private long _bytesHashed = 0;
+
+    public JobClassLoaderCache(int maxIdle) {
+        if(maxIdle < 0)
+            throw new IllegalArgumentException("Maximum number of idle classloaders must not be negative.");
+        _maxIdle = maxIdle;
+    }
+
+    /**
+     * Get a classloader over the given jars, creating it if no cached
+     * classloader has the same parent and jars with the same contents.
+     *
+     * @param parent The parent classloader
+     * @param jars The jars to put on the classpath
+     * @return The classloader, or the parent if there are no jars
+     */
+    public synchronized ClassLoader acquire(ClassLoader parent, List<File> jars) {
+        if(jars.isEmpty())
+            return parent;
+
+        List<File> sorted = new ArrayList<File>(jars);
+        Collections.sort(sorted);
+        List<JarDigest> digests = new ArrayList<JarDigest>(sorted.size());
+        for(File jar: sorted)
+            digests.add(getDigest(jar));
+
+        Key key = new Key(parent, digests);
+        Entry entry = _entries.get(key);
+        if(entry != null && !entry.isValid()) {
+            logger.debug("Jars backing cached classloader " + entry + " changed, dropping it.");
+            remove(entry);
+            _invalidations++;
+            entry = null;
+        }
+
+        if(entry == null) {
+            _misses++;
+            entry = new Entry(key, new URLClassLoader(toUrls(sorted), parent), digests);
+            _entries.put(key, entry);
+            _entriesByLoader.put(entry.loader, entry);
+            logger.debug("Created classloader for jars " + sorted);
+        } else {
+            _hits++;
+        }
+        entry.refCount++;
+        return entry.loader;
+    }
+
+    /**
+     * Give back a classloader returned by acquire(). Classloaders this cache
+     * doesn't know about, e.g. the parent returned for a directory without
+     * jars, are ignored.
+     *
+     * @param loader The classloader
+     */
+    public synchronized void release(ClassLoader loader) {
+        Entry entry = _entriesByLoader.get(loader);
+        if(entry == null)
+            return;
+        if(entry.refCount <= 0)
+            throw new IllegalStateException("Classloader " + entry + " released more often than acquired.");
+
+        entry.refCount--;
+        if(entry.refCount == 0) {
+            if(entry.removed)
+                _entriesByLoader.remove(loader);
+            else
+                evictIdle();
+        }
+    }
+
+    /**
+     * Release all the given classloaders, and forget the digests of jars that
+     * no longer exist.
+     *
+     * @param loaders The classloaders
+     */
+    public synchronized void releaseAll(Iterable<ClassLoader> loaders) {
+        for(ClassLoader loader: loaders)
+            release(loader);
+
+        Iterator<File> iter = _digests.keySet().iterator();
+        while(iter.hasNext())
+            if(!iter.next().exists())
+                iter.remove();
+    }
+
+    /**
+     * Get the content hashes of the jars a classloader returned by acquire()
+     * was built from, including those of the cached classloaders it descends
+     * from.
+     *
+     * @param loader The classloader
+     * @return The hashes, the classloader's own first, or an empty list if
+     *         this cache doesn't know the classloader
+     */
+    public synchronized List<String> getJarHashes(ClassLoader loader) {
+        List<String> hashes = new ArrayList<String>();
+        for(Entry entry = _entriesByLoader.get(loader); entry != null; entry = _entriesByLoader.get(entry.key.parent))
+            hashes.addAll(entry.key.hashes);
+        return hashes;
+    }
+
+    private void evictIdle() {
+        int idle = 0;
+        for(Entry entry: _entries.values())
+            if(entry.refCount == 0)
+                idle++;
+
+        Iterator<Entry> iter = _entries.values().iterator();
+        while(idle > _maxIdle && iter.hasNext()) {
+            Entry entry = iter.next();
+            if(entry.refCount == 0) {
+                iter.remove();
+                _entriesByLoader.remove(entry.loader);
+                _evictions++;
+                idle--;
+            }
+        }
+    }
+
+    private void remove(Entry entry) {
+        _entries.remove(entry.key);
+        entry.removed = true;
+        // holders of the old classloader still release it, so keep it findable
+        if(entry.refCount == 0)
+            _entriesByLoader.remove(entry.loader);
+    }
+
+    private JarDigest getDigest(File jar) {
+        JarDigest digest = _digests.get(jar);
+        if(digest == null || !digest.isCurrent()) {
+            digest = new JarDigest(jar, jar.lastModified(), jar.length(), hash(jar));
+            _digests.put(jar, digest);
+            _bytesHashed += digest.size;
+        }
+        return digest;
+    }
+
+    private static String hash(File jar) {
+        InputStream input = null;
+        try {
+            MessageDigest digest = MessageDigest.getInstance(DIGEST_ALGORITHM);
+            input = new FileInputStream(jar);
+            byte[] buffer = new byte[64 * 1024];
+            int read;
+            while((read = input.read(buffer)) != -1)
+                digest.update(buffer, 0, read);
+
+            StringBuilder hex = new StringBuilder();
+            for(byte b: digest.digest())
+                hex.append(String.format("%02x", b));
+            return hex.toString();
+        } catch(NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        } catch(IOException e) {
+            throw new JobLoadException("Could not read jar " + jar, e);
+        } finally {
+            if(input != null) {
+                try {
+                    input.close();
+                } catch(IOException e) {
+                    logger.warn("Could not close " + jar, e);
+                }
+            }
+        }
+    }
+
+    private static URL[] toUrls(List<File> jars) {
+        URL[] urls = new URL[jars.size()];
+        for(int i = 0; i < urls.length; i++) {
+            try {
+                urls[i] = jars.get(i).toURI().toURL();
+            } catch(MalformedURLException e) {
+                throw new JobLoadException(e);
+            }
+        }
+        return urls;
+    }
+
+    public synchronized int getNumCached() {
+        return _entries.size();
+    }
+
+    public synchronized int getNumInUse() {
+        int inUse = 0;
+        for(Entry entry: _entries.values())
+            if(entry.refCount > 0)
+                inUse++;
+        return inUse;
+    }
+
+    public synchronized long getNumHits() {
+        return _hits;
+    }
+
+    /**
+     * @return The number of classloaders created
+     */
+    public synchronized long getNumMisses() {
+        return _misses;
+    }
+
+    public synchronized double getHitRate() {
+        long total = _hits + _misses;
+        return total == 0 ? 0.0 : (double) _hits / total;
+    }
+
+    public synchronized long getNumEvictions() {
+        return _evictions;
+    }
+
+    /**
+     * @return The number of cached classloaders dropped because their jars
+     *         changed on disk
+     */
+    public synchronized long getNumInvalidations() {
+        return _invalidations;
+    }
+
+    public synchronized long getBytesHashed() {
+        return _bytesHashed;
+    }
+
+    /**
+     * @return The number of classes loaded in the JVM
+     */
+    public long getNumLoadedClasses() {
+        ClassLoadingMXBean bean = ManagementFactory.getClassLoadingMXBean();
+        return bean.getLoadedClassCount();
+    }
+
+    public long getNumUnloadedClasses() {
+        return ManagementFactory.getClassLoadingMXBean().getUnloadedClassCount();
+    }
+
+    /**
+     * @return The bytes used by class metadata (metaspace or permgen), or -1 if
+     *         the JVM doesn't say
+     */
+    public long getClassMetadataBytes() {
+        long used = -1;
+        for(MemoryPoolMXBean pool: ManagementFactory.getMemoryPoolMXBeans()) {
+            if(CLASS_METADATA_POOLS.contains(pool.getName()))
+                used = Math.max(used, 0) + pool.getUsage().getUsed();
+        }
+        return used;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return String.format("JobClassLoaderCache(cached=%d, in use=%d, hits=%d, misses=%d, hit rate=%.2f, "
+                             + "evictions=%d, invalidations=%d, loaded classes=%d, class metadata bytes=%d)",
+                             getNumCached(),
+                             getNumInUse(),
+                             _hits,
+                             _misses,
+                             getHitRate(),
+                             _evictions,
+                             _invalidations,
+                             getNumLoadedClasses(),
+                             getClassMetadataBytes());
+    }
+
+    private static class JarDigest {
+
+        private final File file;
+        private final long lastModified;
+        private final long size;
+        private final String hash;
+
+        private JarDigest(File file, long lastModified, long size, String hash) {
+            this.file = file;
+            this.lastModified = lastModified;
+            this.size = size;
+            this.hash = hash;
+        }
+
+        private boolean isCurrent() {
+            return file.lastModified() == lastModified && file.length() == size;
+        }
+    }
+
+    /*
+     * Jars are compared by content only, so that identical jars in different
+     * directories map to the same key.
+     */
+    private static class Key {
+
+        private final ClassLoader parent;
+        private final List<String> hashes;
+
+        private Key(ClassLoader parent, List<JarDigest> digests) {
+            this.parent = parent;
+            List<String> hashes = new ArrayList<String>(digests.size());
+            for(JarDigest digest: digests)
+                hashes.add(digest.hash);
+            Collections.sort(hashes);
+            this.hashes = hashes;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if(!(o instanceof Key))
+                return false;
+            Key other = (Key) o;
+            return parent == other.parent && hashes.equals(other.hashes);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * System.identityHashCode(parent) + hashes.hashCode();
+        }
+    }
+
+    private static class Entry {
+
+        private final Key key;
+        private final URLClassLoader loader;
+        private final List<JarDigest> jars;
+        private int refCount = 0;
+        private boolean removed = false;
+
+        private Entry(Key key, URLClassLoader loader, List<JarDigest> jars) {
+            this.key = key;
+            this.loader = loader;
+            this.jars = jars;
+        }
+
+        /*
+         * The classloader reads from the jars it was created with, which may
+         * since have been changed or removed even if another directory still
+         * has copies of them.
+         */
+        private boolean isValid() {
+            for(JarDigest jar: jars)
+                if(!jar.file.exists() || !jar.isCurrent())
+                    return false;
+            return true;
+        }
+
+        @Override
+        public String toString() {
+            return Arrays.toString(loader.getURLs());
+        }
+    }
+}
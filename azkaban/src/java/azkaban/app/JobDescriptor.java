@@ -25,6 +25,7 @@ import java.util.Set;
 import azkaban.common.jobs.Job;
 import azkaban.common.utils.Props;
 import azkaban.common.utils.Utils;
+import azkaban.jobcontrol.impl.jobs.RetryPolicy;
 
 /**
  * A job descriptor represents the configuration information for a job This
@@ -45,8 +46,26 @@ public class JobDescriptor {
     public static final String WRITE_LOCKS = "write.lock";
     public static final String RETRIES = "retries";
     public static final String RETRY_BACKOFF = "retry.backoff";
+    public static final String RETRY_BACKOFF_MULTIPLIER = "retry.backoff.multiplier";
+    public static final String RETRY_BACKOFF_MAX = "retry.backoff.max";
+    public static final String RETRY_JITTER = "retry.jitter";
+    public static final String RETRY_MAX_ELAPSED = "retry.max.elapsed";
+    public static final String RETRY_EXIT_CODES = "retry.exit.codes";
     public static final String JOB_PERMITS = "job.permits";
     public static final String NOTIFY_EMAIL = "notify.emails";
+    public static final String CONCURRENT_POLICY = "concurrent.policy";
+    public static final String CONCURRENT_MAX = "concurrent.max";
+    public static final String CACHE_OUTPUTS = "cache.outputs";
+    public static final String CACHE_OUTPUTS_TTL = "cache.outputs.ttl";
+    public static final String SPECULATIVE = "speculative";
+    public static final String SPECULATIVE_PERCENTILE = "speculative.percentile";
+    public static final String SPECULATIVE_MIN_RUNS = "speculative.min.runs";
+    public static final String SPECULATIVE_MIN_MS = "speculative.min.ms";
+    public static final String FANOUT_TYPE = "fanout";
+    public static final String FANOUT_JOB = "fanout.job";
+    public static final String FANOUT_ITEMS = "fanout.items";
+    public static final String FANOUT_ITEM_PROP = "fanout.item.prop";
+    public static final String FANOUT_CONCURRENCY = "fanout.concurrency";
 
     public static final Comparator<JobDescriptor> NAME_COMPARATOR = new Comparator<JobDescriptor>() {
 
@@ -61,6 +80,7 @@ public class JobDescriptor {
     private Class<?> _class;
     private final int _retries;
     private final long _retryBackoffMs;
+    private final RetryPolicy _retryPolicy;
     private final Integer _requiredPermits;
     private final Props _props;
     private final Props _resolvedProps;
@@ -71,6 +91,20 @@ public class JobDescriptor {
     private final String _sourceEmailList;
     private final List<String> _emailList;
     private final String _jobType;
+    private final ConcurrentPolicy _concurrentPolicy;
+    private final int _maxConcurrent;
+    private final boolean _cacheOutputs;
+    private final long _cacheOutputsTtlMs;
+    private final boolean _speculative;
+    private final double _speculativePercentile;
+    private final int _speculativeMinRuns;
+    private final long _speculativeMinMs;
+    private final Sla _sla;
+    private final Sla _flowSla;
+    private final String _fanoutJob;
+    private final String _fanoutItems;
+    private final String _fanoutItemProp;
+    private final int _fanoutConcurrency;
 
     public JobDescriptor(String id, String conicalPath, String fullpath, Props props, ClassLoader classLoader) {
         this._id = id;
@@ -92,6 +126,16 @@ public class JobDescriptor {
         this._dependencies = new HashSet<JobDescriptor>();
         this._retries = props.getInt(RETRIES, 0);
         this._retryBackoffMs = props.getLong(RETRY_BACKOFF, 0);
+        Set<Integer> retryExitCodes = new HashSet<Integer>();
+        for(String code: props.getStringList(RETRY_EXIT_CODES, ","))
+            retryExitCodes.add(Integer.valueOf(code.trim()));
+        this._retryPolicy = new RetryPolicy(_retries,
+                                            _retryBackoffMs,
+                                            props.getDouble(RETRY_BACKOFF_MULTIPLIER, 1.0),
+                                            props.getLong(RETRY_BACKOFF_MAX, RetryPolicy.UNLIMITED),
+                                            props.getDouble(RETRY_JITTER, 0.0),
+                                            props.getLong(RETRY_MAX_ELAPSED, RetryPolicy.UNLIMITED),
+                                            retryExitCodes);
         this._requiredPermits = props.getInt(JOB_PERMITS, 0);
         this._classLoader = classLoader;
 
@@ -105,6 +149,39 @@ public class JobDescriptor {
         Collections.sort(this._writeResourceLocks);
 
         this._emailList = props.getStringList(NOTIFY_EMAIL);
+
+        this._concurrentPolicy = ConcurrentPolicy.parse(props.getString(CONCURRENT_POLICY, "queue"));
+        this._maxConcurrent = props.getInt(CONCURRENT_MAX, _concurrentPolicy.getDefaultMaxConcurrent());
+        if(_maxConcurrent < 1)
+            throw new IllegalArgumentException(CONCURRENT_MAX + " of job " + id + " must be at least 1.");
+
+        this._cacheOutputs = props.getBoolean(CACHE_OUTPUTS, false);
+        this._cacheOutputsTtlMs = props.getLong(CACHE_OUTPUTS_TTL, -1);
+
+        this._speculative = props.getBoolean(SPECULATIVE, false);
+        this._speculativePercentile = props.getDouble(SPECULATIVE_PERCENTILE, 90);
+        this._speculativeMinRuns = props.getInt(SPECULATIVE_MIN_RUNS, 5);
+        this._speculativeMinMs = props.getLong(SPECULATIVE_MIN_MS, 60 * 1000);
+        if(_speculativePercentile <= 0 || _speculativePercentile > 100)
+            throw new IllegalArgumentException(SPECULATIVE_PERCENTILE + " of job " + id
+                                               + " must be greater than 0 and at most 100.");
+
+        this._sla = Sla.fromProps(props, "");
+        this._flowSla = Sla.fromProps(props, "flow.");
+
+        if(isFanout()) {
+            this._fanoutJob = props.getString(FANOUT_JOB);
+            this._fanoutItems = props.getString(FANOUT_ITEMS);
+            this._fanoutItemProp = props.getString(FANOUT_ITEM_PROP, "fanout.item");
+            this._fanoutConcurrency = props.getInt(FANOUT_CONCURRENCY, 10);
+            if(_fanoutConcurrency < 1)
+                throw new IllegalArgumentException(FANOUT_CONCURRENCY + " of job " + id + " must be at least 1.");
+        } else {
+            this._fanoutJob = null;
+            this._fanoutItems = null;
+            this._fanoutItemProp = null;
+            this._fanoutConcurrency = 0;
+        }
     }
 
     /**
@@ -149,6 +226,13 @@ public class JobDescriptor {
         return this._retryBackoffMs;
     }
 
+    /**
+     * @return How the job is retried when it fails
+     */
+    public RetryPolicy getRetryPolicy() {
+        return this._retryPolicy;
+    }
+
     public String getPath() {
         return this._path;
     }
@@ -195,4 +279,120 @@ public class JobDescriptor {
     public String getSenderEmail() {
         return _sourceEmailList;
     }
-}
\ No newline at end of file
+
+    /**
+     * @return What to do with a new execution of this job's flow when
+     *         getMaxConcurrent() executions are already running
+     */
+    public ConcurrentPolicy getConcurrentPolicy() {
+        return _concurrentPolicy;
+    }
+
+    /**
+     * @return The number of executions of this job's flow allowed to run at a
+     *         time
+     */
+    public int getMaxConcurrent() {
+        return _maxConcurrent;
+    }
+
+    /**
+     * @return true if a run whose inputs match those of an earlier successful
+     *         run should replay that run's generated properties instead of
+     *         running
+     */
+    public boolean isCacheOutputs() {
+        return _cacheOutputs;
+    }
+
+    /**
+     * @return How long in ms the generated properties of a run can be
+     *         replayed, or -1 for the default
+     */
+    public long getCacheOutputsTtlMs() {
+        return _cacheOutputsTtlMs;
+    }
+
+    /**
+     * @return true if the job is idempotent and should get a speculative
+     *         attempt when it runs much longer than usual
+     */
+    public boolean isSpeculative() {
+        return _speculative;
+    }
+
+    /**
+     * @return The percentile of the durations of past successful runs after
+     *         which a run gets a speculative attempt
+     */
+    public double getSpeculativePercentile() {
+        return _speculativePercentile;
+    }
+
+    /**
+     * @return How many past successful runs it takes to speculate
+     */
+    public int getSpeculativeMinRuns() {
+        return _speculativeMinRuns;
+    }
+
+    /**
+     * @return The shortest time in ms a run runs before it gets a speculative
+     *         attempt
+     */
+    public long getSpeculativeMinMs() {
+        return _speculativeMinMs;
+    }
+
+    /**
+     * @return The timeout and sla.finish.by time of the job
+     */
+    public Sla getSla() {
+        return _sla;
+    }
+
+    /**
+     * @return The flow.timeout and flow.sla.finish.by time of the flow the job
+     *         is the root of
+     */
+    public Sla getFlowSla() {
+        return _flowSla;
+    }
+
+    /**
+     * @return true if the job is a fan-out, which runs an instance of its
+     *         template job for each item of a list its dependencies return
+     */
+    public boolean isFanout() {
+        return FANOUT_TYPE.equals(_jobType);
+    }
+
+    /**
+     * @return The template job a fan-out runs for each item
+     */
+    public String getFanoutJob() {
+        return _fanoutJob;
+    }
+
+    /**
+     * @return The return property of the dependencies of a fan-out that lists
+     *         its items, separated by commas
+     */
+    public String getFanoutItems() {
+        return _fanoutItems;
+    }
+
+    /**
+     * @return The property each instance of a fan-out gets its item in
+     */
+    public String getFanoutItemProp() {
+        return _fanoutItemProp;
+    }
+
+    /**
+     * @return The most instances of a fan-out run at a time
+     */
+    public int getFanoutConcurrency() {
+        return _fanoutConcurrency;
+    }
+}
@@ -23,6 +23,7 @@ import azkaban.common.utils.Utils;
 import azkaban.flow.FlowManager;
 import com.google.common.collect.ImmutableSet;
 import org.apache.commons.io.FileUtils;
+import org.apache.log4j.Level;
 import org.apache.log4j.Logger;
 import org.joda.time.DateTime;
 import org.joda.time.format.DateTimeFormat;
@@ -30,9 +31,6 @@ import org.joda.time.format.DateTimeFormatter;
 
 import java.io.File;
 import java.io.IOException;
-import java.net.MalformedURLException;
-import java.net.URL;
-import java.net.URLClassLoader;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
@@ -41,6 +39,15 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
 
 /**
@@ -55,6 +62,10 @@ import java.util.concurrent.atomic.AtomicReference;
 public class JobManager {
 
     private static final String JOB_SUFFIX = ".job";
+    // directories starting with a dot are not loaded
+    private static final String STAGING_PREFIX = ".staging-";
+    private static final String UNDEPLOY_PREFIX = ".undeploy-";
+    private static final AtomicInteger STAGING_COUNT = new AtomicInteger(0);
     private static final DateTimeFormatter JOB_EXEC_DATE_FORMAT = DateTimeFormat.forPattern("MM-dd-yyyy.HH.mm.ss.SSS");
     private static final Set<String> EXCLUDE_PATHS = ImmutableSet.of("__MACOSX");
     private static final Comparator<JobExecution> JOB_EXEC_COMPARATOR = new Comparator<JobExecution>() {
@@ -71,9 +82,14 @@ public class JobManager {
     private final Props _defaultProps;
     private final List<File> _jobDirs;
     private final ClassLoader _baseClassLoader;
+    private final JobClassLoaderCache _classLoaderCache;
+    private final PropsFileCache _propsFileCache;
+    private final ExecutorService _loadExecutor;
+    private List<ClassLoader> _activeClassLoaders = Collections.emptyList();
 
     private static Logger logger = Logger.getLogger(JobManager.class);
 
+    private final Object _deployLock = new Object();
     private volatile FlowManager manager;
     private final AtomicReference<Map<String, JobDescriptor>> jobDescriptorCache =
             new AtomicReference<Map<String, JobDescriptor>>(Collections.<String, JobDescriptor>emptyMap());
@@ -84,12 +100,38 @@ public class JobManager {
             final Props defaultProps,
             final List<File> jobDirs,
             final ClassLoader classLoader
+    ) {
+        this(factory, logDir, defaultProps, jobDirs, classLoader, null);
+    }
+
+    /**
+     * @param parseCacheFile The file to keep parsed job files in across
+     *        restarts, or null to only cache them in memory
+     */
+    public JobManager(
+            final JobWrappingFactory factory,
+            final String logDir,
+            final Props defaultProps,
+            final List<File> jobDirs,
+            final ClassLoader classLoader,
+            final File parseCacheFile
     ) {
         this._factory = factory;
         this._logDir = logDir;
         this._defaultProps = defaultProps;
         this._jobDirs = jobDirs;
         this._baseClassLoader = classLoader;
+        this._classLoaderCache = new JobClassLoaderCache(defaultProps.getInt("job.classloader.cache.max.idle", 32));
+        this._propsFileCache = new PropsFileCache(parseCacheFile);
+        this._loadExecutor = Executors.newFixedThreadPool(defaultProps.getInt("job.load.threads", 8), new ThreadFactory() {
+            private final AtomicInteger _count = new AtomicInteger(0);
+
+            public Thread newThread(Runnable r) {
+                Thread thread = new Thread(r, "job-loader-" + _count.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
     }
 
     public Job loadJob(String jobName, boolean ignoreDep) {
@@ -119,6 +161,27 @@ public class JobManager {
                        ignoreDependencies);
     }
 
+    /**
+     * Load an instance of a job under an id of its own, such as one of the
+     * instances a fan-out runs of its template job. The instance logs and
+     * keeps its history under its own id.
+     * 
+     * @param jobName The name of the job
+     * @param instanceId The id of the instance
+     * @param overrides Properties that override those of the job
+     * @return An instance of the job
+     */
+    public Job loadJobInstance(String jobName, String instanceId, Props overrides) {
+        JobDescriptor desc = loadJobDescriptors(overrides, new HashMap<File, File>(), true).get(jobName);
+        if(desc == null)
+            throw new JobLoadException("No job descriptor found for job '" + jobName + "'.");
+        return _factory.apply(new JobDescriptor(instanceId,
+                                                desc.getPath(),
+                                                desc.getFullPath(),
+                                                desc.getProps(),
+                                                desc.getClassLoader()));
+    }
+
     /*
      * Recursive inner method for loading a Job and its dependencies
      */
@@ -184,7 +247,19 @@ public class JobManager {
      * @throws IOException If loading fails
      */
     public List<JobExecution> loadJobExecutions(String jobName) throws IOException {
-        File dir = new File(_logDir + File.separator + jobName);
+        return loadJobExecutions(new File(_logDir), jobName);
+    }
+
+    /**
+     * Load all the past executions of the given job from a log directory
+     * 
+     * @param logDir The log directory
+     * @param jobName The name of the job
+     * @return A list of past executions sorted from most to least recent
+     * @throws IOException If loading fails
+     */
+    static List<JobExecution> loadJobExecutions(File logDir, String jobName) throws IOException {
+        File dir = new File(logDir, jobName);
         List<JobExecution> execs = loadJobExecutions(jobName, dir);
 
         // sort the executions from latest to oldest
@@ -192,7 +267,7 @@ public class JobManager {
         return execs;
     }
 
-    private List<JobExecution> loadJobExecutions(String jobName, File jobDir) throws IOException {
+    private static List<JobExecution> loadJobExecutions(String jobName, File jobDir) throws IOException {
         List<JobExecution> execs = new ArrayList<JobExecution>();
         File[] files = jobDir.listFiles();
         if(files != null) {
@@ -242,12 +317,28 @@ public class JobManager {
     public Map<String, JobDescriptor> loadJobDescriptors(Props overrides,
                                                          Map<File, File> pathOverrides,
                                                          boolean ignoreDeps) {
+        // The classloaders stay usable after release, they just may drop out
+        // of the cache if the currently active descriptors don't use them.
+        LoadContext context = new LoadContext();
+        try {
+            return loadJobDescriptors(overrides, pathOverrides, ignoreDeps, context);
+        } finally {
+            _classLoaderCache.releaseAll(context.acquired);
+            context.log(Level.DEBUG);
+        }
+    }
+
+    private Map<String, JobDescriptor> loadJobDescriptors(Props overrides,
+                                                          Map<File, File> pathOverrides,
+                                                          boolean ignoreDeps,
+                                                          LoadContext context) {
         Map<String, JobDescriptor> descriptors = new HashMap<String, JobDescriptor>();
         for(File file: _jobDirs) {
             Map<String, JobDescriptor> d = loadJobDescriptors(file,
                                                               overrides,
                                                               pathOverrides,
-                                                              ignoreDeps);
+                                                              ignoreDeps,
+                                                              context);
             for(Map.Entry<String, JobDescriptor> entry: d.entrySet()) {
                 if(descriptors.containsKey(entry.getKey()))
                     throw new IllegalStateException("Job " + entry.getKey() + " already exists.");
@@ -263,11 +354,14 @@ public class JobManager {
      * 
      * @param jobDir The directory to load from
      * @param propsOverrides Properties that override all other properties
+     * @param context Collects the classloaders acquired from the cache, which
+     *        the caller has to release
      */
-    protected Map<String, JobDescriptor> loadJobDescriptors(File jobDir,
-                                                            Props propsOverrides,
-                                                            Map<File, File> pathOverrides,
-                                                            boolean ignoreDeps) {
+    private Map<String, JobDescriptor> loadJobDescriptors(File jobDir,
+                                                          Props propsOverrides,
+                                                          Map<File, File> pathOverrides,
+                                                          boolean ignoreDeps,
+                                                          LoadContext context) {
         if(!jobDir.exists() || !jobDir.isDirectory())
             throw new AppConfigurationException(jobDir + " is not a readable directory.");
         Map<String, JobDescriptor> m = new HashMap<String, JobDescriptor>();
@@ -277,10 +371,11 @@ public class JobManager {
                                               _defaultProps,
                                               propsOverrides,
                                               pathOverrides,
-                                              _baseClassLoader);
+                                              _baseClassLoader,
+                                              context);
 
         if(pathOverrides != null) {
-            Props dirProps = loadLocalNonJobProps(jobDir, _defaultProps);
+            Props dirProps = loadLocalNonJobProps(jobDir, jobDir.listFiles(), _defaultProps);
             for(Map.Entry<File, File> override: pathOverrides.entrySet()) {
                 loadJobDescriptorsWithoutDependencies(m,
                                                       jobDir,
@@ -288,7 +383,8 @@ public class JobManager {
                                                       dirProps,
                                                       propsOverrides,
                                                       pathOverrides,
-                                                      _baseClassLoader);
+                                                      _baseClassLoader,
+                                                      context);
             }
 
         }
@@ -298,66 +394,116 @@ public class JobManager {
     }
 
     /*
-     * Recursive helper to load job descriptors from the filesystem
+     * Helper to load job descriptors from the filesystem. The directories are
+     * walked level by level, each level's directories are scanned in parallel
+     * and the job files are parsed in parallel while the next level is
+     * scanned.
      */
     private void loadJobDescriptorsWithoutDependencies(Map<String, JobDescriptor> jobs,
-                                                       File baseDir,
-                                                       File currDir,
+                                                       final File baseDir,
+                                                       File topDir,
                                                        Props defaultProps,
-                                                       Props overrides,
-                                                       Map<File, File> pathOverrides,
-                                                       ClassLoader parentClassLoader) {
-        // first load additional props defined in this directory
-        Props dirProps = loadLocalNonJobProps(currDir, defaultProps);
-
-        // apply overrides
-        dirProps = new Props(dirProps, overrides);
-
-        ClassLoader loader = createClassLoaderForDir(parentClassLoader, currDir);
-
-        // now load any files defined in this directory
-        File[] status = currDir.listFiles();
-        for(File f: status) {
-            if(EXCLUDE_PATHS.contains(f.getName()) || f.getName().startsWith(".")) {
-                // ignore common files
-                continue;
-            } else if(f.isFile() && f.getName().endsWith(JOB_SUFFIX)) {
-                String name = f.getName().substring(0, f.getName().length() - JOB_SUFFIX.length());
-                String jobPath = getJobPath(baseDir, currDir);
-                if(jobs.containsKey(name))
-                    throw new JobLoadException(
-                            String.format(
-                                    "Job at path [%s] has duplicate name[%s] as another job[%s].",
-                                    jobPath,
-                                    name,
-                                    jobs.get(name)
-                            )
-                    );
-
-                logger.debug("Loading job '" + name + "' with path " + jobPath);
-                try {
-                    Props jobProps = new Props(dirProps, f.getAbsolutePath());
-                    jobs.put(name, new JobDescriptor(name, jobPath, f.getPath(), jobProps, loader));
-                } catch(Exception e) {
-                    throw new JobLoadException("Failed to create Job '" + name + "': "
-                                               + e.getLocalizedMessage(), e);
+                                                       final Props overrides,
+                                                       final Map<File, File> pathOverrides,
+                                                       ClassLoader parentClassLoader,
+                                                       LoadContext context) {
+        Map<String, String> pendingPaths = new HashMap<String, String>();
+        List<Future<JobDescriptor>> pending = new ArrayList<Future<JobDescriptor>>();
+
+        List<DirectoryScan> level = new ArrayList<DirectoryScan>();
+        level.add(new DirectoryScan(topDir, defaultProps, parentClassLoader));
+        try {
+            while(!level.isEmpty()) {
+                List<Future<DirectoryScan>> scans = new ArrayList<Future<DirectoryScan>>(level.size());
+                for(final DirectoryScan scan: level) {
+                    scans.add(_loadExecutor.submit(new Callable<DirectoryScan>() {
+                        public DirectoryScan call() {
+                            scan.scan(overrides, pathOverrides);
+                            return scan;
+                        }
+                    }));
                 }
-            } else if(f.isDirectory()) {
-                // path overrides allow us to mask out certain directories for
-                // verification purposes
-                if(pathOverrides != null && pathOverrides.containsKey(f))
-                    continue;
-                else
-                    loadJobDescriptorsWithoutDependencies(jobs,
-                                                          baseDir,
-                                                          f,
-                                                          dirProps,
-                                                          overrides,
-                                                          pathOverrides,
-                                                          loader);
-            } else {
-                logger.debug("Ignoring unknown file " + f.getAbsolutePath());
+
+                // Wait for all of them, so every acquired classloader is
+                // handed to the caller before any failure is thrown.
+                RuntimeException failure = null;
+                List<DirectoryScan> next = new ArrayList<DirectoryScan>();
+                for(Future<DirectoryScan> future: scans) {
+                    try {
+                        DirectoryScan scan = getResult(future);
+                        context.addDirectory(scan);
+                        if(failure == null)
+                            submitJobFiles(scan, baseDir, jobs, pendingPaths, pending);
+                        for(File subdir: scan.subdirs)
+                            next.add(new DirectoryScan(subdir, scan.dirProps, scan.loader));
+                    } catch(RuntimeException e) {
+                        if(failure == null)
+                            failure = e;
+                    }
+                }
+                if(failure != null)
+                    throw failure;
+                level = next;
+            }
+
+            for(Future<JobDescriptor> future: pending) {
+                JobDescriptor desc = getResult(future);
+                jobs.put(desc.getId(), desc);
             }
+        } finally {
+            for(Future<JobDescriptor> future: pending)
+                future.cancel(false);
+        }
+    }
+
+    private void submitJobFiles(final DirectoryScan scan,
+                                File baseDir,
+                                Map<String, JobDescriptor> jobs,
+                                Map<String, String> pendingPaths,
+                                List<Future<JobDescriptor>> pending) {
+        final String jobPath = getJobPath(baseDir, scan.dir);
+        for(final File f: scan.jobFiles) {
+            final String name = f.getName().substring(0, f.getName().length() - JOB_SUFFIX.length());
+            if(jobs.containsKey(name) || pendingPaths.containsKey(name))
+                throw new JobLoadException(
+                        String.format(
+                                "Job at path [%s] has duplicate name[%s] as another job[%s].",
+                                jobPath,
+                                name,
+                                jobs.containsKey(name) ? jobs.get(name) : pendingPaths.get(name)
+                        )
+                );
+            pendingPaths.put(name, f.getPath());
+
+            pending.add(_loadExecutor.submit(new Callable<JobDescriptor>() {
+                public JobDescriptor call() {
+                    logger.debug("Loading job '" + name + "' with path " + jobPath);
+                    long start = System.nanoTime();
+                    try {
+                        Props jobProps = new Props(scan.dirProps);
+                        jobProps.putAll(_propsFileCache.load(f));
+                        return new JobDescriptor(name, jobPath, f.getPath(), jobProps, scan.loader);
+                    } catch(Exception e) {
+                        throw new JobLoadException("Failed to create Job '" + name + "': "
+                                                   + e.getLocalizedMessage(), e);
+                    } finally {
+                        scan.parseNanos.addAndGet(System.nanoTime() - start);
+                    }
+                }
+            }));
+        }
+    }
+
+    private static <T> T getResult(Future<T> future) {
+        try {
+            return future.get();
+        } catch(InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new JobLoadException("Interrupted while loading jobs.", e);
+        } catch(ExecutionException e) {
+            if(e.getCause() instanceof RuntimeException)
+                throw (RuntimeException) e.getCause();
+            throw new JobLoadException(e.getCause());
         }
     }
 
@@ -370,34 +516,26 @@ public class JobManager {
     }
 
     /**
-     * Create a classloader that has all the jars in the local directory on the
-     * classpath
+     * Get a classloader that has all the jars in the local directory on the
+     * classpath from the classloader cache. The classloader has to be released
+     * to the cache again.
      * 
      * @param parentClassLoader The parent classloader
-     * @param dir The directory to look for jars in
+     * @param files The files in the directory to look for jars in
      * @return The classloader
      */
-    private ClassLoader createClassLoaderForDir(ClassLoader parentClassLoader, File dir) {
-        ArrayList<URL> urls = new ArrayList<URL>();
-        File[] files = dir.listFiles();
+    private ClassLoader createClassLoaderForDir(ClassLoader parentClassLoader, File[] files) {
+        List<File> jars = new ArrayList<File>();
         if(files == null) {
             return parentClassLoader;
         } else {
             for(File f: files) {
                 if(f.getName().endsWith(".jar")) {
-                    try {
-                        logger.debug("Adding jar " + f.getName() + " to the classpath");
-                        urls.add(f.toURL());
-                    } catch(MalformedURLException e) {
-                        throw new JobLoadException(e);
-                    }
+                    logger.debug("Adding jar " + f.getName() + " to the classpath");
+                    jars.add(f);
                 }
             }
-            URL[] jars = urls.toArray(new URL[urls.size()]);
-            if(jars.length == 0)
-                return parentClassLoader;
-            else
-                return new URLClassLoader(jars, parentClassLoader);
+            return _classLoaderCache.acquire(parentClassLoader, jars);
         }
     }
 
@@ -435,23 +573,24 @@ public class JobManager {
      * the given parent
      * 
      * @param dir The directory to load from
+     * @param files The files in the directory
      * @param parent The parent Props instance
      * @return The loaded Props
      */
-    private Props loadLocalNonJobProps(File dir, Props parent) {
+    private Props loadLocalNonJobProps(File dir, File[] files, Props parent) {
         if(!dir.isDirectory())
             throw new JobLoadException("Directory '" + dir + "' is not a valid directory path!");
-        else if(!dir.canRead())
+        else if(!dir.canRead() || files == null)
             throw new JobLoadException(dir + " is not a readable directory!");
 
         try {
             Props props = new Props(parent);
-            for(File f: dir.listFiles()) {
+            for(File f: files) {
                 try {
                     String name = f.getName();
                     if(name.endsWith(".schema") || name.endsWith(".properties")) {
                         logger.debug("Loading properties from " + f.getAbsolutePath());
-                        props.putLocal(new Props(null, f.getAbsolutePath()));
+                        props.putAll(_propsFileCache.load(f));
                     }
                 } catch(UndefinedPropertyException e) {
                     throw new JobLoadException("Undefined property while loading properties in '"
@@ -490,31 +629,113 @@ public class JobManager {
 
     private void updateFlowManager()
     {
-        jobDescriptorCache.set(loadJobDescriptors());
+        // Keep the classloaders of the active descriptors in the cache until
+        // the next update replaces them.
+        LoadContext context = new LoadContext();
+        List<ClassLoader> previous;
+        try {
+            jobDescriptorCache.set(loadJobDescriptors(null, new HashMap<File, File>(), false, context));
+        } catch(RuntimeException e) {
+            _classLoaderCache.releaseAll(context.acquired);
+            throw e;
+        }
+        synchronized(this) {
+            previous = _activeClassLoaders;
+            _activeClassLoaders = context.acquired;
+        }
+        _classLoaderCache.releaseAll(previous);
+        _propsFileCache.retainAndSave(context.parsedPaths());
+        context.log(Level.INFO);
+        logger.info("Loaded job descriptors, " + _classLoaderCache + ", parsed file cache hits="
+                    + _propsFileCache.getNumHits() + ", misses=" + _propsFileCache.getNumMisses());
+
         manager.reload();
     }
 
+    public JobClassLoaderCache getClassLoaderCache() {
+        return _classLoaderCache;
+    }
+
+    /**
+     * Create an empty directory to unpack a job package into before deploying
+     * it with {@link #deployJobDir(String, String)}. It is in the job
+     * directory, so that deploying it is a rename, and its name hides it from
+     * job loading.
+     * 
+     * @return The directory
+     */
+    public File createStagingDir() throws IOException {
+        File staging = new File(_jobDirs.get(0), STAGING_PREFIX + System.currentTimeMillis() + "-"
+                                                 + STAGING_COUNT.incrementAndGet());
+        if(!staging.mkdir())
+            throw new IOException("Failed to create staging directory " + staging);
+        return staging;
+    }
+
+    /**
+     * Replace the jobs at a path by the ones in a directory. The jobs are
+     * loaded from the directory first, and only moved in if that succeeds. The
+     * old and new directory are swapped by renames, so the jobs at the path
+     * are never seen half copied.
+     * 
+     * @param localPath The directory with the new jobs, it is moved away
+     * @param destPath The path in the job directory to deploy to
+     */
     public void deployJobDir(String localPath, String destPath) {
-        File targetPath = new File(this._jobDirs.get(0), destPath);
-        verifyPathValidity(new File(localPath), targetPath);
-        if(targetPath.exists()) {
-            logger.info("Undeploying job at " + destPath);
-            try {
-                FileUtils.deleteDirectory(targetPath);
-            } catch(Exception e) {
-                throw new RuntimeException(e);
-            }
+        File baseDir = this._jobDirs.get(0);
+        File targetPath = new File(baseDir, destPath);
+        try {
+            String base = baseDir.getCanonicalPath() + File.separator;
+            if(!targetPath.getCanonicalPath().startsWith(base))
+                throw new JobDeploymentException("Can't deploy to '" + destPath
+                                                 + "', it is not a path within the job directory.");
+        } catch(IOException e) {
+            throw new JobDeploymentException("Can't deploy to '" + destPath + "': " + e.getMessage());
         }
 
-        if(!targetPath.mkdirs())
-            throw new RuntimeException("Failed to create target directory " + targetPath);
-
         File currPath = new File(localPath);
-        if(currPath.renameTo(targetPath))
+        verifyPathValidity(currPath, targetPath);
+
+        synchronized(_deployLock) {
+            File oldPath = null;
+            if(targetPath.exists()) {
+                logger.info("Undeploying job at " + destPath);
+                oldPath = new File(baseDir, UNDEPLOY_PREFIX + System.currentTimeMillis() + "-"
+                                            + STAGING_COUNT.incrementAndGet());
+                if(!targetPath.renameTo(oldPath))
+                    throw new RuntimeException("Deploy failed because " + targetPath
+                                               + " could not be moved aside.");
+            } else {
+                targetPath.getParentFile().mkdirs();
+            }
+
+            if(!currPath.renameTo(targetPath)) {
+                // not on the same filesystem, so copy
+                try {
+                    FileUtils.copyDirectory(currPath, targetPath);
+                    FileUtils.deleteDirectory(currPath);
+                } catch(IOException e) {
+                    try {
+                        FileUtils.deleteDirectory(targetPath);
+                    } catch(IOException ignored) {
+                        // the rename back fails and says so
+                    }
+                    if(oldPath != null && !oldPath.renameTo(targetPath))
+                        logger.error("Could not restore " + destPath + " from " + oldPath);
+                    throw new RuntimeException("Deploy failed because " + currPath
+                                               + " could not be moved to " + destPath, e);
+                }
+            }
             logger.info(destPath + " deployed.");
-        else
-            throw new RuntimeException("Deploy failed because " + currPath
-                                       + " could not be moved to " + destPath);
+
+            if(oldPath != null) {
+                try {
+                    FileUtils.deleteDirectory(oldPath);
+                } catch(IOException e) {
+                    logger.warn("Could not delete undeployed jobs in " + oldPath, e);
+                }
+            }
+        }
 
         updateFlowManager();
     }
@@ -575,4 +796,105 @@ public class JobManager {
     public String getLogDir() {
         return _logDir;
     }
+
+    /*
+     * One directory of a descriptor load: its properties, classloader, job
+     * files and subdirectories, and the time spent parsing its files.
+     */
+    private class DirectoryScan {
+
+        private final File dir;
+        private final Props parentProps;
+        private final ClassLoader parentLoader;
+        private final List<File> jobFiles = new ArrayList<File>();
+        private final List<File> propsFiles = new ArrayList<File>();
+        private final List<File> subdirs = new ArrayList<File>();
+        private final AtomicLong parseNanos = new AtomicLong(0);
+        private Props dirProps;
+        private ClassLoader loader;
+
+        private DirectoryScan(File dir, Props parentProps, ClassLoader parentLoader) {
+            this.dir = dir;
+            this.parentProps = parentProps;
+            this.parentLoader = parentLoader;
+        }
+
+        private void scan(Props overrides, Map<File, File> pathOverrides) {
+            long start = System.nanoTime();
+            try {
+                File[] files = dir.listFiles();
+
+                // first load additional props defined in this directory, then
+                // apply overrides
+                dirProps = new Props(loadLocalNonJobProps(dir, files, parentProps), overrides);
+
+                for(File f: files) {
+                    String name = f.getName();
+                    if(EXCLUDE_PATHS.contains(name) || name.startsWith(".")) {
+                        // ignore common files
+                        continue;
+                    } else if(f.isFile() && name.endsWith(JOB_SUFFIX)) {
+                        jobFiles.add(f);
+                    } else if(f.isDirectory()) {
+                        // path overrides allow us to mask out certain
+                        // directories for verification purposes
+                        if(pathOverrides == null || !pathOverrides.containsKey(f))
+                            subdirs.add(f);
+                    } else {
+                        if(name.endsWith(".schema") || name.endsWith(".properties"))
+                            propsFiles.add(f);
+                        else
+                            logger.debug("Ignoring unknown file " + f.getAbsolutePath());
+                    }
+                }
+
+                // last, so nothing can fail once the classloader is acquired
+                loader = createClassLoaderForDir(parentLoader, files);
+            } finally {
+                parseNanos.addAndGet(System.nanoTime() - start);
+            }
+        }
+    }
+
+    private static class LoadContext {
+
+        private final long started = System.nanoTime();
+        private final List<ClassLoader> acquired = new ArrayList<ClassLoader>();
+        private final List<DirectoryScan> dirs = new ArrayList<DirectoryScan>();
+
+        private void addDirectory(DirectoryScan scan) {
+            dirs.add(scan);
+            acquired.add(scan.loader);
+        }
+
+        private Set<String> parsedPaths() {
+            Set<String> paths = new HashSet<String>();
+            for(DirectoryScan dir: dirs) {
+                for(File f: dir.jobFiles)
+                    paths.add(f.getAbsolutePath());
+                for(File f: dir.propsFiles)
+                    paths.add(f.getAbsolutePath());
+            }
+            return paths;
+        }
+
+        private void log(Level level) {
+            if(!logger.isEnabledFor(level))
+                return;
+
+            int numJobs = 0;
+            DirectoryScan slowest = null;
+            for(DirectoryScan dir: dirs) {
+                numJobs += dir.jobFiles.size();
+                if(slowest == null || dir.parseNanos.get() > slowest.parseNanos.get())
+                    slowest = dir;
+                logger.debug("Parsed " + dir.jobFiles.size() + " job files in " + dir.dir + " in "
+                             + TimeUnit.NANOSECONDS.toMillis(dir.parseNanos.get()) + " ms.");
+            }
+            logger.log(level, "Loaded " + numJobs + " job files from " + dirs.size() + " directories in "
+                              + TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started) + " ms"
+                              + (slowest == null ? "." : ", slowest directory " + slowest.dir + " took "
+                                 + TimeUnit.NANOSECONDS.toMillis(slowest.parseNanos.get()) + " ms."));
+        }
+    }
 }
@@ -0,0 +1,351 @@
+/*
+ * Copyright 2010 LinkedIn, Inc
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package azkaban.app;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.commons.codec.binary.Hex;
+import org.apache.commons.io.IOUtils;
+import org.apache.log4j.Logger;
+
+import azkaban.common.utils.Props;
+import azkaban.util.metrics.Counter;
+import azkaban.util.metrics.Metrics;
+
+/**
+ * Remembers the properties generated by successful runs of jobs that set
+ * cache.outputs=true, so that a run with the same inputs can replay them
+ * instead of running the job again.
+ * 
+ * The inputs of a run are summed up in a fingerprint: a hash of the files in
+ * the job's directory and its subdirectories, of the jars on the job's
+ * classloader (which include the jars of the parent directories) and of the
+ * job's resolved properties. The resolved
+ * properties include the properties the flow passes down, and so the
+ * properties returned by the jobs upstream. The properties that differ for
+ * every execution (its id and start time) are left out, the logical time is
+ * not.
+ * 
+ * Each fingerprint is a properties file in the cache directory, whose
+ * modification time is when it was recorded. Entries older than their TTL
+ * are misses, and files older than the maximum age are deleted now and then.
+ */
+public class JobOutputCache {
+
+    private static final Logger logger = Logger.getLogger(JobOutputCache.class);
+
+    // not .properties, which job directories load as properties
+    private static final String SUFFIX = ".outputs";
+    private static final String VOLATILE_PREFIX = "azkaban.flow.start.";
+    private static final List<String> VOLATILE_KEYS = Arrays.asList("azkaban.flow.id", "azkaban.flow.uuid");
+    private static final int MAX_FILE_DIGESTS = 1000;
+    private static final long PURGE_INTERVAL_MS = 60 * 60 * 1000;
+
+    private static final Counter HITS = Metrics.getDefault().counter("azkaban_job_output_cache_total",
+                                                                     "Runs of jobs with cached outputs",
+                                                                     "result",
+                                                                     "hit");
+    private static final Counter MISSES = Metrics.getDefault().counter("azkaban_job_output_cache_total",
+                                                                       "Runs of jobs with cached outputs",
+                                                                       "result",
+                                                                       "miss");
+
+    private final File _dir;
+    private final long _defaultTtlMs;
+    private final long _maxAgeMs;
+    private final ConcurrentMap<String, Stats> _stats = new ConcurrentHashMap<String, Stats>();
+    private final AtomicLong _lastPurge = new AtomicLong(0);
+    private volatile JobClassLoaderCache _classLoaderCache;
+
+    // digests of the files hashed so far, by path, length and modification
+    // time, so that unchanged jars aren't read on every run
+    private final Map<String, byte[]> _fileDigests = new LinkedHashMap<String, byte[]>(16, 0.75f, true) {
+
+        private static final long serialVersionUID = 1;
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, byte[]> eldest) {
+            return size() > MAX_FILE_DIGESTS;
+        }
+    };
+
+    /**
+     * @param dir The directory to keep the cached properties in
+     * @param defaultTtlMs How long cached properties are used for jobs that
+     *        don't set cache.outputs.ttl
+     * @param maxAgeMs How long to keep cached properties at all
+     */
+    public JobOutputCache(File dir, long defaultTtlMs, long maxAgeMs) {
+        _dir = dir;
+        _defaultTtlMs = defaultTtlMs;
+        _maxAgeMs = maxAgeMs;
+        if(!_dir.exists())
+            _dir.mkdirs();
+    }
+
+    /**
+     * Set the cache the classloaders of jobs come from, so that fingerprints
+     * include the jars they were built from. Without it, only the jars in the
+     * job's own directory count.
+     */
+    public void setClassLoaderCache(JobClassLoaderCache classLoaderCache) {
+        _classLoaderCache = classLoaderCache;
+    }
+
+    /**
+     * Compute the fingerprint of the inputs of a job
+     * 
+     * @param desc The descriptor of the job, loaded with the properties of the
+     *        run as overrides
+     * @return The fingerprint, as hex
+     * @throws IOException If the files of the job can't be read
+     */
+    public String fingerprint(JobDescriptor desc) throws IOException {
+        MessageDigest digest = newDigest();
+        update(digest, desc.getId());
+
+        File jobFile = new File(desc.getFullPath());
+        updateDir(digest, jobFile.getAbsoluteFile().getParentFile(), "");
+
+        JobClassLoaderCache classLoaderCache = _classLoaderCache;
+        if(classLoaderCache != null) {
+            for(String hash: classLoaderCache.getJarHashes(desc.getClassLoader()))
+                update(digest, hash);
+        }
+
+        Props props = desc.getResolvedProps();
+        List<String> keys = new ArrayList<String>(props.getKeySet());
+        Collections.sort(keys);
+        for(String key: keys) {
+            if(VOLATILE_KEYS.contains(key) || key.startsWith(VOLATILE_PREFIX))
+                continue;
+            update(digest, key);
+            update(digest, props.get(key));
+        }
+
+        return new String(Hex.encodeHex(digest.digest()));
+    }
+
+    /**
+     * Get the properties recorded under a fingerprint, if they were recorded
+     * within the TTL. This doesn't count as a hit or a miss, runs do.
+     * 
+     * @param fingerprint The fingerprint
+     * @param ttlMs The TTL, or a negative number for the default
+     * @return The properties, or null if there are none
+     */
+    public Props get(String fingerprint, long ttlMs) {
+        File file = getFile(fingerprint);
+        long recorded = file.lastModified();
+        if(recorded == 0)
+            return null;
+        if(System.currentTimeMillis() - recorded > (ttlMs < 0 ? _defaultTtlMs : ttlMs))
+            return null;
+
+        try {
+            return new Props(null, file.getAbsolutePath());
+        } catch(IOException e) {
+            logger.warn("Couldn't read the cached outputs " + file, e);
+            return null;
+        }
+    }
+
+    /**
+     * Record the properties generated by a successful run
+     * 
+     * @param fingerprint The fingerprint of the inputs of the run
+     * @param returnProps The properties the run generated
+     */
+    public void put(String fingerprint, Props returnProps) {
+        File file = getFile(fingerprint);
+        File temp = new File(_dir, "." + file.getName() + ".tmp");
+        try {
+            (returnProps == null ? new Props() : returnProps).storeFlattened(temp);
+            if(!temp.renameTo(file)) {
+                file.delete();
+                if(!temp.renameTo(file))
+                    throw new IOException("Couldn't rename " + temp + " to " + file);
+            }
+        } catch(IOException e) {
+            logger.warn("Couldn't record the outputs for " + fingerprint, e);
+            temp.delete();
+        }
+
+        purgeIfDue();
+    }
+
+    /**
+     * Count a run of a job as a hit or a miss
+     */
+    public void recordRun(String jobId, boolean hit) {
+        Stats stats = _stats.get(jobId);
+        if(stats == null) {
+            _stats.putIfAbsent(jobId, new Stats());
+            stats = _stats.get(jobId);
+        }
+        if(hit) {
+            HITS.inc();
+            stats._hits.incrementAndGet();
+        } else {
+            MISSES.inc();
+            stats._misses.incrementAndGet();
+        }
+    }
+
+    /**
+     * @return The hits and misses of a job since startup, null if it hasn't
+     *         run with cache.outputs set
+     */
+    public Stats getStats(String jobId) {
+        return _stats.get(jobId);
+    }
+
+    public Stats getTotalStats() {
+        Stats total = new Stats();
+        for(Stats stats: _stats.values()) {
+            total._hits.addAndGet(stats.getHits());
+            total._misses.addAndGet(stats.getMisses());
+        }
+        return total;
+    }
+
+    private File getFile(String fingerprint) {
+        return new File(_dir, fingerprint + SUFFIX);
+    }
+
+    private void purgeIfDue() {
+        long now = System.currentTimeMillis();
+        long last = _lastPurge.get();
+        if(now - last < PURGE_INTERVAL_MS || !_lastPurge.compareAndSet(last, now))
+            return;
+
+        File[] files = _dir.listFiles();
+        if(files == null)
+            return;
+        int purged = 0;
+        for(File file: files) {
+            if(file.getName().endsWith(SUFFIX) && now - file.lastModified() > _maxAgeMs && file.delete())
+                purged++;
+        }
+        if(purged > 0)
+            logger.info("Purged " + purged + " cached job outputs older than " + _maxAgeMs + " ms.");
+    }
+
+    private void updateDir(MessageDigest digest, File dir, String prefix) throws IOException {
+        File[] files = dir.listFiles();
+        if(files == null)
+            throw new IOException("Can't list the directory " + dir);
+        Arrays.sort(files);
+        for(File file: files) {
+            if(file.getName().startsWith("."))
+                continue;
+            String name = prefix + file.getName();
+            if(file.isDirectory()) {
+                updateDir(digest, file, name + "/");
+            } else if(file.isFile()) {
+                update(digest, name);
+                digest.update(digestFile(file));
+            }
+        }
+    }
+
+    private byte[] digestFile(File file) throws IOException {
+        String key = file.getAbsolutePath() + ":" + file.length() + ":" + file.lastModified();
+        synchronized(_fileDigests) {
+            byte[] cached = _fileDigests.get(key);
+            if(cached != null)
+                return cached;
+        }
+
+        MessageDigest digest = newDigest();
+        InputStream in = new FileInputStream(file);
+        try {
+            byte[] buffer = new byte[64 * 1024];
+            for(int read = in.read(buffer); read >= 0; read = in.read(buffer))
+                digest.update(buffer, 0, read);
+        } finally {
+            IOUtils.closeQuietly(in);
+        }
+        byte[] bytes = digest.digest();
+
+        synchronized(_fileDigests) {
+            _fileDigests.put(key, bytes);
+        }
+        return bytes;
+    }
+
+    private static void update(MessageDigest digest, String s) {
+        try {
+            digest.update(s.getBytes("UTF-8"));
+        } catch(IOException e) {
+            throw new IllegalStateException(e);
+        }
+        // separate the strings, so that "ab" + "c" differs from "a" + "bc"
+        digest.update((byte) 0);
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-1");
+        } catch(NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * The hits and misses of the cache
+     */
+    public static class Stats {
+
+        private final AtomicLong _hits = new AtomicLong(0);
+        private final AtomicLong _misses = new AtomicLong(0);
+
+        public long getHits() {
+            return _hits.get();
+        }
+
+        public long getMisses() {
+            return _misses.get();
+        }
+
+        public long getRuns() {
+            return getHits() + getMisses();
+        }
+
+        /**
+         * @return The fraction of runs that were hits, 0 if there were none
+         */
+        public double getHitRate() {
+            long runs = getRuns();
+            return runs == 0 ? 0 : getHits() / (double) runs;
+        }
+    }
+}
@@ -17,28 +17,39 @@
 package azkaban.app;
 
 import azkaban.common.jobs.Job;
+import azkaban.common.utils.Props;
 import azkaban.common.utils.Utils;
 import azkaban.jobcontrol.impl.jobs.ResourceThrottledJob;
 import azkaban.jobcontrol.impl.jobs.RetryingJob;
+import azkaban.jobcontrol.impl.jobs.SpeculativeJob;
 import azkaban.jobcontrol.impl.jobs.locks.GroupLock;
 import azkaban.jobcontrol.impl.jobs.locks.JobLock;
+import azkaban.jobcontrol.impl.jobs.locks.LockWaitQueue;
 import azkaban.jobcontrol.impl.jobs.locks.NamedPermitManager;
 import azkaban.jobcontrol.impl.jobs.locks.PermitLock;
 import azkaban.jobcontrol.impl.jobs.locks.ReadWriteLockManager;
 import com.google.common.base.Function;
 
+import org.apache.log4j.Logger;
+
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 
 public class JobWrappingFactory implements Function<JobDescriptor, Job>
 {
+    private static final Logger logger = Logger.getLogger(JobWrappingFactory.class);
+
     private final ReadWriteLockManager _readWriteLockManager;
     private final String _logDir;
     //private final String _defaultType;
     private final Map<String, Class<? extends Job>> _jobToClass;
 
     private final NamedPermitManager _permitManager;
+    private final LockWaitQueue _lockWaitQueue;
+    private final JobOutputCache _outputCache;
+    private final SpeculationTracker _speculation;
+    private final SlaMonitor _slaMonitor;
 
     public JobWrappingFactory(
             final NamedPermitManager permitManager,
@@ -47,12 +58,38 @@ public class JobWrappingFactory implements Function<JobDescriptor, Job>
             final String defaultType,
             final Map<String, Class<? extends Job>> jobTypeToClassMap
     )
+    {
+        this(permitManager, readWriteLockManager, logDir, defaultType, jobTypeToClassMap, null, null, null);
+    }
+
+    /**
+     * @param outputCache The cache for the outputs of jobs with cache.outputs
+     *        set, or null to always run them
+     * @param speculation Launches speculative attempts of jobs with
+     *        speculative set, or null to never launch them
+     * @param slaMonitor Enforces the timeouts and sla.finish.by times of jobs,
+     *        or null to not enforce them
+     */
+    public JobWrappingFactory(
+            final NamedPermitManager permitManager,
+            final ReadWriteLockManager readWriteLockManager,
+            final String logDir,
+            final String defaultType,
+            final Map<String, Class<? extends Job>> jobTypeToClassMap,
+            final JobOutputCache outputCache,
+            final SpeculationTracker speculation,
+            final SlaMonitor slaMonitor
+    )
     {
         this._permitManager = permitManager;
         this._readWriteLockManager = readWriteLockManager;
         this._logDir = logDir;
         //this._defaultType = defaultType;
         this._jobToClass = jobTypeToClassMap;
+        this._lockWaitQueue = new LockWaitQueue();
+        this._outputCache = outputCache;
+        this._speculation = speculation;
+        this._slaMonitor = slaMonitor;
     }
 
     @Override
@@ -60,6 +97,7 @@ public class JobWrappingFactory implements Function<JobDescriptor, Job>
     {
       
       Job job;
+      boolean retrying = false;
       try {
         String jobType = jobDescriptor.getJobType();
         if (jobType == null || jobType.length() == 0) {
@@ -80,9 +118,42 @@ public class JobWrappingFactory implements Function<JobDescriptor, Job>
         
         job = (Job)Utils.callConstructor(executorClass, jobDescriptor);
 
-        // wrap up job in retrying proxy if necessary
-        if(jobDescriptor.getRetries() > 0)
-            job = new RetryingJob(job, jobDescriptor.getRetries(), jobDescriptor.getRetryBackoffMs());
+        // a hit replays the cached outputs, so it needs neither retries nor locks
+        String fingerprint = null;
+        if(_outputCache != null && jobDescriptor.isCacheOutputs()) {
+            try {
+                fingerprint = _outputCache.fingerprint(jobDescriptor);
+            } catch(Exception e) {
+                logger.warn("Couldn't fingerprint job " + jobDescriptor.getId() + ", running it.", e);
+            }
+        }
+        if(fingerprint != null) {
+            Props cached = _outputCache.get(fingerprint, jobDescriptor.getCacheOutputsTtlMs());
+            if(cached != null)
+                return new LoggingJob(_logDir,
+                                      new CachedOutputsJob(job, _outputCache, fingerprint, cached),
+                                      job.getId());
+        }
+
+        // launch a second attempt of idempotent jobs that straggle
+        if(_speculation != null && jobDescriptor.isSpeculative()) {
+            long thresholdMs = _speculation.getThresholdMs(jobDescriptor);
+            if(thresholdMs >= 0) {
+                final Class<? extends Object> attemptClass = executorClass;
+                job = new SpeculativeJob(job,
+                                         thresholdMs,
+                                         _speculation.newBackup(jobDescriptor, new Function<JobDescriptor, Job>() {
+
+                                             public Job apply(JobDescriptor descriptor) {
+                                                 return (Job) Utils.callConstructor(attemptClass, descriptor);
+                                             }
+                                         }));
+            }
+        }
+
+        // bound the time the job runs once it has its locks
+        if(_slaMonitor != null && !jobDescriptor.getSla().isEmpty())
+            job = new DeadlineJob(job, _slaMonitor, jobDescriptor);
 
         // Group Lock List
         ArrayList<JobLock> jobLocks = new ArrayList<JobLock>();
@@ -123,9 +194,13 @@ public class JobWrappingFactory implements Function<JobDescriptor, Job>
         if(jobLocks.size() > 0) {
             // Group lock
             GroupLock groupLock = new GroupLock(jobLocks);
-            job = new ResourceThrottledJob(job, groupLock);
+            job = new ResourceThrottledJob(job, groupLock, _lockWaitQueue);
         }
 
+        if(fingerprint != null)
+            job = new CachedOutputsJob(job, _outputCache, fingerprint, null);
+
+        retrying = jobDescriptor.getRetries() > 0;
       }
       catch (Exception e) {
           job = new InitErrorJob(jobDescriptor.getId(), e);
@@ -134,6 +209,11 @@ public class JobWrappingFactory implements Function<JobDescriptor, Job>
         // wrap up job in logging proxy
         job = new LoggingJob(_logDir, job, job.getId());
 
+        // wrap up job in retrying proxy if necessary, outside the locks and
+        // the log, so that each attempt takes the locks and logs on its own
+        if(retrying)
+            job = new RetryingJob(job, jobDescriptor.getRetryPolicy());
+
         return job;
     }
 }
\ No newline at end of file
@@ -0,0 +1,35 @@
+/*
+ * Copyright 2010 LinkedIn, Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package azkaban.app;
+
+import org.apache.log4j.Logger;
+
+/**
+ * Writes notifications to the log instead of sending them, for installations
+ * without a mail server and for testing.
+ */
+public class LogNotificationSink implements NotificationSink {
+
+    private static final Logger logger = Logger.getLogger(LogNotificationSink.class);
+
+    public void send(Notification notification) {
+        logger.info("Notification to " + notification.getRecipients() + " from "
+                    + notification.getSender() + ": " + notification.getSubject() + "\n"
+                    + notification.getBody());
+    }
+
+}
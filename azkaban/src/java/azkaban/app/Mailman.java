@@ -36,7 +36,7 @@ import org.apache.log4j.Logger;
  * @author jkreps
  * 
  */
-public class Mailman {
+public class Mailman implements NotificationSink {
 
     private static Logger logger = Logger.getLogger(Mailman.class.getName());
 
@@ -70,6 +70,13 @@ public class Mailman {
         Transport.send(message);
     }
 
+    public void send(Notification notification) throws MessagingException {
+        sendEmail(notification.getSender(),
+                  notification.getRecipients(),
+                  notification.getSubject(),
+                  notification.getBody());
+    }
+
     public void sendEmailIfPossible(String fromAddress,
                                     List<String> toAddress,
                                     String subject,
@@ -0,0 +1,65 @@
+/*
+ * Copyright 2010 LinkedIn, Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package azkaban.app;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A message to some recipients, e.g. that a job failed
+ */
+public class Notification {
+
+    private final String _sender;
+    private final List<String> _recipients;
+    private final String _subject;
+    private final String _body;
+
+    /**
+     * @param sender The address of the sender, or null for the default one
+     * @param recipients The addresses of the recipients
+     * @param subject The subject
+     * @param body The text
+     */
+    public Notification(String sender, List<String> recipients, String subject, String body) {
+        _sender = sender;
+        _recipients = Collections.unmodifiableList(recipients);
+        _subject = subject;
+        _body = body;
+    }
+
+    public String getSender() {
+        return _sender;
+    }
+
+    public List<String> getRecipients() {
+        return _recipients;
+    }
+
+    public String getSubject() {
+        return _subject;
+    }
+
+    public String getBody() {
+        return _body;
+    }
+
+    @Override
+    public String toString() {
+        return "Notification(to=" + _recipients + ", subject=" + _subject + ")";
+    }
+}
@@ -0,0 +1,259 @@
+/*
+ * Copyright 2010 LinkedIn, Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package azkaban.app;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.log4j.Logger;
+
+import azkaban.common.utils.Utils;
+
+/**
+ * Sends notifications from a pool of worker threads, so the threads finishing
+ * jobs never wait on formatting or delivering them.
+ *
+ * The first notification from a sender to some recipients is sent right
+ * away. The ones following it within a time window are sent as one digest
+ * when the window ends, so a failure shared by many flows doesn't produce a
+ * mail per flow. Failed deliveries are retried with exponential backoff.
+ */
+public class NotificationQueue {
+
+    private static final Logger logger = Logger.getLogger(NotificationQueue.class);
+
+    private final NotificationSink _sink;
+    private final long _windowMs;
+    private final int _maxRetries;
+    private final long _backoffMs;
+    private final ScheduledThreadPoolExecutor _executor;
+
+    private final Map<List<String>, List<Notification>> _pending = new HashMap<List<String>, List<Notification>>();
+    private boolean _shuttingDown = false;
+
+    private final AtomicLong _numEnqueued = new AtomicLong(0);
+    private final AtomicLong _numSent = new AtomicLong(0);
+    private final AtomicLong _numDigested = new AtomicLong(0);
+    private final AtomicLong _numRetries = new AtomicLong(0);
+    private final AtomicLong _numFailed = new AtomicLong(0);
+
+    /**
+     * @param sink Where to deliver notifications
+     * @param numThreads The number of worker threads
+     * @param windowMs How long after a notification to collect the following
+     *        ones into a digest, 0 to send each right away
+     * @param maxRetries How often to retry a failed delivery
+     * @param backoffMs The wait before the first retry, doubled for each
+     *        further one
+     */
+    public NotificationQueue(NotificationSink sink,
+                             int numThreads,
+                             long windowMs,
+                             int maxRetries,
+                             long backoffMs) {
+        _sink = Utils.nonNull(sink);
+        _windowMs = windowMs;
+        _maxRetries = maxRetries;
+        _backoffMs = backoffMs;
+        _executor = new ScheduledThreadPoolExecutor(numThreads, new ThreadFactory() {
+
+            private final AtomicInteger threadCount = new AtomicInteger(0);
+
+            public Thread newThread(Runnable r) {
+                Thread t = new Thread(r);
+                t.setDaemon(true);
+                t.setName("notification-thread-" + threadCount.getAndIncrement());
+                return t;
+            }
+        });
+    }
+
+    /**
+     * Queue a notification
+     *
+     * @param sender The address of the sender, or null for the default one
+     * @param recipients The addresses of the recipients
+     * @param subject The subject
+     * @param body Produces the text, called on a worker thread
+     */
+    public void enqueue(final String sender,
+                        final List<String> recipients,
+                        final String subject,
+                        final Callable<String> body) {
+        _numEnqueued.incrementAndGet();
+        try {
+            _executor.execute(new Runnable() {
+
+                public void run() {
+                    String text;
+                    try {
+                        text = body.call();
+                    } catch(Exception e) {
+                        logger.warn("Error while formatting notification '" + subject + "'", e);
+                        text = "The details could not be collected: " + e;
+                    }
+                    add(new Notification(sender, new ArrayList<String>(recipients), subject, text));
+                }
+            });
+        } catch(RejectedExecutionException e) {
+            _numFailed.incrementAndGet();
+            logger.error("Dropping notification '" + subject + "' queued after shutdown.");
+        }
+    }
+
+    private void add(Notification notification) {
+        final List<String> key = new ArrayList<String>(notification.getRecipients());
+        Collections.sort(key);
+        key.add(0, String.valueOf(notification.getSender()));
+
+        synchronized(_pending) {
+            // once shutting down, digests are no longer waited for
+            if(_windowMs > 0 && !_shuttingDown) {
+                List<Notification> digest = _pending.get(key);
+                if(digest != null) {
+                    digest.add(notification);
+                    return;
+                }
+
+                // open a window for the ones following this one
+                _pending.put(key, new ArrayList<Notification>());
+                _executor.schedule(new Runnable() {
+
+                    public void run() {
+                        flush(key);
+                    }
+                }, _windowMs, TimeUnit.MILLISECONDS);
+            }
+        }
+        deliver(notification, 0);
+    }
+
+    private void flush(List<String> key) {
+        List<Notification> digest;
+        synchronized(_pending) {
+            digest = _pending.remove(key);
+        }
+        if(digest != null && !digest.isEmpty())
+            deliver(toDigest(digest), 0);
+    }
+
+    private Notification toDigest(List<Notification> notifications) {
+        Notification first = notifications.get(0);
+        if(notifications.size() == 1)
+            return first;
+
+        _numDigested.addAndGet(notifications.size());
+        StringBuilder body = new StringBuilder();
+        for(Notification notification: notifications) {
+            body.append("==== ").append(notification.getSubject()).append(" ====\n\n");
+            body.append(notification.getBody()).append("\n\n");
+        }
+        return new Notification(first.getSender(),
+                                first.getRecipients(),
+                                first.getSubject() + " (and " + (notifications.size() - 1)
+                                        + " more notifications)",
+                                body.toString());
+    }
+
+    private void deliver(final Notification notification, final int attempt) {
+        try {
+            _sink.send(notification);
+            _numSent.incrementAndGet();
+        } catch(Exception e) {
+            if(attempt >= _maxRetries || _executor.isShutdown()) {
+                _numFailed.incrementAndGet();
+                logger.error("Giving up on " + notification + " after " + (attempt + 1)
+                             + " attempts.", e);
+                return;
+            }
+
+            long backoff = _backoffMs << Math.min(attempt, 20);
+            logger.warn("Could not send " + notification + ", retrying in " + backoff + " ms: "
+                        + e.getMessage());
+            _numRetries.incrementAndGet();
+            _executor.schedule(new Runnable() {
+
+                public void run() {
+                    deliver(notification, attempt + 1);
+                }
+            }, backoff, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Wait for the queued notifications to be delivered, then send the digests
+     * still collecting. Retries still waiting are dropped.
+     *
+     * @param timeoutMs The longest time to wait for the queued notifications
+     */
+    public void shutdown(long timeoutMs) throws InterruptedException {
+        List<List<Notification>> digests;
+        synchronized(_pending) {
+            _shuttingDown = true;
+            digests = new ArrayList<List<Notification>>(_pending.values());
+            _pending.clear();
+        }
+        _executor.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
+        _executor.shutdown();
+        _executor.awaitTermination(timeoutMs, TimeUnit.MILLISECONDS);
+        for(List<Notification> digest: digests)
+            if(!digest.isEmpty())
+                deliver(toDigest(digest), 0);
+    }
+
+    public long getNumEnqueued() {
+        return _numEnqueued.get();
+    }
+
+    public long getNumSent() {
+        return _numSent.get();
+    }
+
+    /**
+     * @return The number of notifications sent as part of a digest
+     */
+    public long getNumDigested() {
+        return _numDigested.get();
+    }
+
+    public long getNumRetries() {
+        return _numRetries.get();
+    }
+
+    public long getNumFailed() {
+        return _numFailed.get();
+    }
+
+    public int getNumPending() {
+        synchronized(_pending) {
+            int pending = 0;
+            for(List<Notification> digest: _pending.values())
+                pending += digest.size();
+            return pending;
+        }
+    }
+}
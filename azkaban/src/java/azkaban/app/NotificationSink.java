@@ -0,0 +1,32 @@
+/*
+ * Copyright 2010 LinkedIn, Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package azkaban.app;
+
+/**
+ * Delivers notifications, e.g. by mail
+ */
+public interface NotificationSink {
+
+    /**
+     * Deliver the notification. Failures are retried by the caller.
+     *
+     * @param notification The notification
+     * @throws Exception If the notification could not be delivered
+     */
+    public void send(Notification notification) throws Exception;
+
+}
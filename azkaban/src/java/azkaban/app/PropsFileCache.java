@@ -0,0 +1,218 @@
+/*
+ * Copyright 2010 LinkedIn, Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package azkaban.app;
+
+import org.apache.log4j.Logger;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cache of parsed .job, .properties and .schema files, keyed by path and
+ * checked against the file's modification time and size.
+ *
+ * If given a cache file, the parsed files are saved to it and read back on
+ * startup, so unchanged files are not read again after a restart. The cache
+ * file is only an optimization: if it can't be read it is ignored.
+ */
+public class PropsFileCache {
+
+    private static final Logger logger = Logger.getLogger(PropsFileCache.class);
+
+    private static final int FORMAT_VERSION = 1;
+
+    private final File _cacheFile;
+    private final Map<String, Entry> _entries = new ConcurrentHashMap<String, Entry>();
+    private final AtomicLong _hits = new AtomicLong(0);
+    private final AtomicLong _misses = new AtomicLong(0);
+    private volatile boolean _dirty = false;
+
+    /**
+     * @param cacheFile The file to persist the cache to, or null to only keep
+     *        it in memory
+     */
+    public PropsFileCache(File cacheFile) {
+        _cacheFile = cacheFile;
+        if(cacheFile != null && cacheFile.exists())
+            readCacheFile();
+    }
+
+    /**
+     * Get the properties defined in the given file
+     *
+     * @param file The file to parse
+     * @return The properties, which must not be modified
+     * @throws IOException If the file can't be read
+     */
+    public Map<String, String> load(File file) throws IOException {
+        String path = file.getAbsolutePath();
+        long lastModified = file.lastModified();
+        long size = file.length();
+
+        Entry entry = _entries.get(path);
+        if(entry != null && entry.lastModified == lastModified && entry.size == size && lastModified != 0) {
+            _hits.incrementAndGet();
+            return entry.props;
+        }
+
+        _misses.incrementAndGet();
+        Properties properties = new Properties();
+        InputStream input = new BufferedInputStream(new FileInputStream(file));
+        try {
+            properties.load(input);
+        } finally {
+            input.close();
+        }
+
+        Map<String, String> props = new HashMap<String, String>();
+        for(String name: properties.stringPropertyNames())
+            props.put(name, properties.getProperty(name));
+        props = Collections.unmodifiableMap(props);
+
+        _entries.put(path, new Entry(lastModified, size, props));
+        _dirty = true;
+        return props;
+    }
+
+    /**
+     * Forget all files but the given ones and write the cache file if anything
+     * changed since it was last written.
+     *
+     * @param paths The absolute paths of the files to keep
+     */
+    public synchronized void retainAndSave(Set<String> paths) {
+        if(_entries.keySet().retainAll(paths))
+            _dirty = true;
+
+        if(_cacheFile == null || !_dirty)
+            return;
+        _dirty = false;
+
+        File tmp = new File(_cacheFile.getPath() + ".tmp");
+        try {
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tmp)));
+            try {
+                out.writeInt(FORMAT_VERSION);
+                Map<String, Entry> entries = new HashMap<String, Entry>(_entries);
+                out.writeInt(entries.size());
+                for(Map.Entry<String, Entry> entry: entries.entrySet()) {
+                    writeString(out, entry.getKey());
+                    out.writeLong(entry.getValue().lastModified);
+                    out.writeLong(entry.getValue().size);
+                    out.writeInt(entry.getValue().props.size());
+                    for(Map.Entry<String, String> prop: entry.getValue().props.entrySet()) {
+                        writeString(out, prop.getKey());
+                        writeString(out, prop.getValue());
+                    }
+                }
+            } finally {
+                out.close();
+            }
+
+            // Readers never see a partially written file.
+            if(!tmp.renameTo(_cacheFile)) {
+                _cacheFile.delete();
+                if(!tmp.renameTo(_cacheFile))
+                    throw new IOException("Could not move " + tmp + " to " + _cacheFile);
+            }
+        } catch(IOException e) {
+            logger.warn("Could not write job parse cache " + _cacheFile, e);
+            tmp.delete();
+        }
+    }
+
+    private void readCacheFile() {
+        try {
+            DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(_cacheFile)));
+            try {
+                if(in.readInt() != FORMAT_VERSION) {
+                    logger.info("Ignoring job parse cache " + _cacheFile + " written by another version.");
+                    return;
+                }
+                int count = in.readInt();
+                for(int i = 0; i < count; i++) {
+                    String path = readString(in);
+                    long lastModified = in.readLong();
+                    long size = in.readLong();
+                    int numProps = in.readInt();
+                    Map<String, String> props = new HashMap<String, String>();
+                    for(int j = 0; j < numProps; j++)
+                        props.put(readString(in), readString(in));
+                    _entries.put(path, new Entry(lastModified, size, Collections.unmodifiableMap(props)));
+                }
+            } finally {
+                in.close();
+            }
+            logger.info("Read " + _entries.size() + " parsed files from job parse cache " + _cacheFile);
+        } catch(IOException e) {
+            logger.warn("Ignoring unreadable job parse cache " + _cacheFile, e);
+            _entries.clear();
+        }
+    }
+
+    // unlike writeUTF(), not limited to 64k
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes("UTF-8");
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        byte[] bytes = new byte[in.readInt()];
+        in.readFully(bytes);
+        return new String(bytes, "UTF-8");
+    }
+
+    public int size() {
+        return _entries.size();
+    }
+
+    public long getNumHits() {
+        return _hits.get();
+    }
+
+    public long getNumMisses() {
+        return _misses.get();
+    }
+
+    private static class Entry {
+
+        private final long lastModified;
+        private final long size;
+        private final Map<String, String> props;
+
+        private Entry(long lastModified, long size, Map<String, String> props) {
+            this.lastModified = lastModified;
+            this.size = size;
+            this.props = props;
+        }
+    }
+}
@@ -22,22 +22,32 @@ import java.io.IOException;
 import java.net.InetAddress;
 import java.net.UnknownHostException;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Properties;
+import java.util.Queue;
 import java.util.UUID;
-import java.util.Vector;
+import java.util.concurrent.Callable;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.ScheduledThreadPoolExecutor;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 import azkaban.flow.*;
+import azkaban.util.metrics.Counter;
+import azkaban.util.metrics.Gauge;
+import azkaban.util.metrics.Histogram;
+import azkaban.util.metrics.Metrics;
 import org.apache.log4j.Logger;
 import org.joda.time.DateTime;
 import org.joda.time.Days;
@@ -53,6 +63,7 @@ import org.joda.time.format.DateTimeFormatter;
 import org.joda.time.format.PeriodFormat;
 
 import azkaban.common.utils.Props;
+import azkaban.common.utils.LogTail;
 import azkaban.common.utils.Utils;
 
 import com.google.common.collect.HashMultimap;
@@ -62,6 +73,21 @@ import com.google.common.collect.Multimaps;
 /**
  * A scheduler that kicks off jobs at a given time on a repeating schedule.
  * 
+ * Several executions of a flow may run at once, they are told apart by their
+ * execution id. Whether a new execution of a flow waits for, skips, or cancels
+ * the running ones is up to the flow's concurrent.policy and concurrent.max.
+ * 
+ * Before that, a trigger of a flow that duplicates a run still in flight is
+ * coalesced onto it: no new execution is started, and the trigger is given
+ * the id of the running one. Triggers are duplicates if they have the same
+ * idempotency key and the first came less than the dedup window ago. A run is
+ * keyed by the flow name and the logical time it is for, as name@millis: the
+ * time the schedule fired it for, or the slot of a backfill. Runs started by
+ * hand and restarts are keyed by the current slot of the flow's schedule, so
+ * they are duplicates of the run the schedule last fired and of each other,
+ * or by the flow name alone if the flow has no recurring schedule. A caller
+ * can key its run with a token instead, as name#token.
+ * 
  * @author jkreps
  */
 public class Scheduler {
@@ -69,9 +95,14 @@ public class Scheduler {
     private static DateTimeFormatter FILE_DATEFORMAT = DateTimeFormat.forPattern("yyyy-MM-dd.HH.mm.ss.SSS");
 
     private final JobManager _jobManager;
-    private final Mailman _mailman;
-    private final Map<String, ScheduledJob> _scheduled;
+    private final NotificationQueue _notifications;
+    private final ConcurrentMap<String, ScheduledJob> _scheduled;
+    // by execution id
     private final Map<String, ScheduledJobAndInstance> _executing;
+    // the number of executions admitted, and those waiting, by flow name
+    private final Object _admissionLock = new Object();
+    private final Map<String, Integer> _numRunning = new HashMap<String, Integer>();
+    private final Map<String, Queue<AdmittedRunnable>> _waiting = new HashMap<String, Queue<AdmittedRunnable>>();
     private final Multimap<String, ScheduledJob> _completed;
     private final DateTimeFormatter _dateFormat = DateTimeFormat.forPattern("MM-dd-yyyy HH:mm:ss:SSS");
     // private final ClassLoader _baseClassLoader;
@@ -82,27 +113,44 @@ public class Scheduler {
 
     private static Logger logger = Logger.getLogger(Scheduler.class);
 
+    private static final Histogram TRIGGER_LATENESS = Metrics.getDefault()
+                                                             .histogram("azkaban_scheduler_trigger_lateness_ms",
+                                                                        "Time scheduled jobs started after their scheduled time");
+    private static final Counter COALESCED = Metrics.getDefault()
+                                                    .counter("azkaban_scheduler_coalesced_total",
+                                                             "Triggers coalesced onto a run of the flow already in flight");
+
     private final ScheduledThreadPoolExecutor _executor;
     private final FlowManager allKnownFlows;
+    private final FlowEventStream _eventStream;
 
     private Properties _runtimeProps = null;
+    private volatile String _hostName = null;
+    private volatile SlaMonitor _slaMonitor = null;
+    private volatile TriggerManager _triggers = null;
+    // the runs in flight by idempotency key
+    private final Map<String, Claim> _claims = new HashMap<String, Claim>();
+    private final ConcurrentMap<String, AtomicLong> _numCoalesced = new ConcurrentHashMap<String, AtomicLong>();
+    private volatile long _dedupWindowMs = 0;
 
     public Scheduler(JobManager jobManager,
                      FlowManager allKnownFlows,
-                     Mailman mailman,
+                     NotificationQueue notifications,
                      String jobSuccessEmail,
                      String jobFailureEmail,
                      ClassLoader classLoader,
                      File scheduleFile,
                      File backupScheduleFile,
-                     int numThreads) {
+                     int numThreads,
+                     FlowEventStream eventStream) {
         this.allKnownFlows = allKnownFlows;
+        _eventStream = Utils.nonNull(eventStream);
         Multimap<String, ScheduledJob> typedMultiMap = HashMultimap.create();
 
         _scheduleFile = scheduleFile;
         _scheduleBackupFile = backupScheduleFile;
         _jobManager = Utils.nonNull(jobManager);
-        _mailman = mailman;
+        _notifications = notifications;
         _completed = Multimaps.synchronizedMultimap(typedMultiMap);
         _scheduled = new ConcurrentHashMap<String, ScheduledJob>();
         _executing = new ConcurrentHashMap<String, ScheduledJobAndInstance>();
@@ -114,6 +162,23 @@ public class Scheduler {
         // Don't, by default, keep running scheduled tasks after shutdown.
         _executor.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
 
+        Metrics.getDefault().register(new Gauge("azkaban_scheduler_queue_size",
+                                                "Tasks waiting in the scheduler, including future runs") {
+
+            @Override
+            public double getValue() {
+                return _executor.getQueue().size();
+            }
+        });
+        Metrics.getDefault().register(new Gauge("azkaban_scheduler_executing",
+                                                "Scheduled jobs currently executing") {
+
+            @Override
+            public double getValue() {
+                return _executing.size();
+            }
+        });
+
         loadSchedule();
     }
 
@@ -221,44 +286,153 @@ public class Scheduler {
     }
 
     /**
-     * Schedule this flow to run one time at the specified date
+     * Schedule this flow to run one time at the specified date. This is never
+     * coalesced onto a run in flight.
      * 
      * @param holder The execution of the flow to run
      */
     public ScheduledFuture<?> scheduleNow(FlowExecutionHolder holder) {
+        return submit(holder, null, true);
+    }
+
+    /**
+     * Restart an execution of a flow now, unless it duplicates a run in flight
+     * 
+     * @param holder The execution to restart
+     * @return The id of the execution, or of the one it was coalesced onto
+     */
+    public String restartNow(FlowExecutionHolder holder) {
+        ExecutableFlow flow = holder.getFlow();
+        Claim claim = new Claim(manualKey(flow.getName(), null), flow.getId());
+        Claim running = claim(claim, flow.getName(), null);
+        if(running != null)
+            return running.getExecutionId();
+        try {
+            submit(holder, claim, true);
+            return flow.getId();
+        } catch(RuntimeException e) {
+            finishClaim(claim, Status.FAILED);
+            throw e;
+        }
+    }
+
+    /**
+     * Schedule this flow to run one time at the specified date
+     * 
+     * @param flow The flow to run
+     */
+    public ScheduledFuture<?> scheduleNow(ExecutableFlow flow) {
+        final Props parentProps = produceParentProperties(flow, new DateTime());
+        return scheduleNow(new FlowExecutionHolder(flow, parentProps));
+    }
+
+    /**
+     * Run a flow now, unless it duplicates a run in flight
+     * 
+     * @param flow The flow to run
+     * @param token Tells the run apart from other runs of the flow, or null
+     * @return The id of the execution, or of the one it was coalesced onto
+     */
+    public String scheduleNow(ExecutableFlow flow, String token) {
+        DateTime logicalTime = new DateTime();
+        final Props parentProps = produceParentProperties(flow, logicalTime);
+        Claim claim = new Claim(manualKey(flow.getName(), token), flow.getId());
+        Claim running = claim(claim, flow.getName(), null);
+        if(running != null)
+            return running.getExecutionId();
+        try {
+            submit(new FlowExecutionHolder(flow, parentProps), claim, true);
+            return flow.getId();
+        } catch(RuntimeException e) {
+            finishClaim(claim, Status.FAILED);
+            throw e;
+        }
+    }
+
+    private ScheduledFuture<?> submit(FlowExecutionHolder holder, Claim claim, boolean ignoreDeps) {
         ExecutableFlow flow = holder.getFlow();
         logger.info("Scheduling job '" + flow.getName() + "' for now");
 
+        // not added to the scheduled jobs, that would replace a schedule of
+        // the flow
         final ScheduledJob schedJob = new ScheduledJob(flow.getName(),
                                                        _jobManager,
                                                        new DateTime(),
-                                                       true);
+                                                       ignoreDeps);
 
-        // mark the job as scheduled
-        _scheduled.put(flow.getName(), schedJob);
+        return _executor.schedule(new ScheduledFlow(holder, schedJob, null, claim),
+                                  1,
+                                  TimeUnit.MILLISECONDS);
+    }
 
-        return _executor.schedule(new ScheduledFlow(holder, schedJob), 1, TimeUnit.MILLISECONDS);
+    /**
+     * Run a new execution of the named flow now, unless it duplicates a run
+     * in flight, in which case no execution is created
+     * 
+     * @param flowName The flow to run
+     * @param ignoreDeps Whether to run only the root job of the flow
+     * @param token Tells the run apart from other runs of the flow, or null
+     * @return The id of the execution, or of the one it was coalesced onto
+     */
+    public String runNow(String flowName, boolean ignoreDeps, String token) {
+        // fail fast if there is a problem with this job
+        _jobManager.validateJob(flowName);
+
+        ExecutableFlow flow = allKnownFlows.createNewExecutableFlow(flowName);
+        DateTime logicalTime = new DateTime();
+        Claim claim = new Claim(manualKey(flowName, token), flow.getId());
+        Claim running = claim(claim, flowName, null);
+        if(running != null)
+            return running.getExecutionId();
+
+        try {
+            if(ignoreDeps) {
+                for(ExecutableFlow subFlow: flow.getChildren()) {
+                    subFlow.markCompleted();
+                }
+            }
+            submit(new FlowExecutionHolder(flow, produceParentProperties(flow, logicalTime)),
+                   claim,
+                   ignoreDeps);
+            return flow.getId();
+        } catch(RuntimeException e) {
+            finishClaim(claim, Status.FAILED);
+            throw e;
+        }
     }
 
     /**
-     * Schedule this flow to run one time at the specified date
+     * Run this flow now for the given logical time, such as a slot of a
+     * backfill. The execution doesn't wait for the concurrent policy of the
+     * flow, the caller bounds the parallelism itself, but it counts as running
+     * for other executions of the flow.
      * 
-     * @param holder The execution of the flow to run
+     * @param flow The flow to run
+     * @param logicalTime The time the execution is for
+     * @param listener Told when the execution completes, or fails to start
+     * @return The id of the execution, or of the run of the slot in flight it
+     *         was coalesced onto, whose completion the listener is then told of
      */
-    public ScheduledFuture<?> scheduleNow(ExecutableFlow flow) {
-        final Props parentProps = produceParentProperties(flow);
+    public String scheduleNow(ExecutableFlow flow, DateTime logicalTime, FlowCallback listener) {
+        Claim claim = new Claim(idempotencyKey(flow.getName(), logicalTime, null), flow.getId());
+        Claim running = claim(claim, flow.getName(), listener);
+        if(running != null)
+            return running.getExecutionId();
+
+        final Props parentProps = produceParentProperties(flow, logicalTime);
         FlowExecutionHolder holder = new FlowExecutionHolder(flow, parentProps);
-        logger.info("Scheduling job '" + flow.getName() + "' for now");
+        logger.info("Scheduling job '" + flow.getName() + "' for now, for "
+                    + _dateFormat.print(logicalTime));
 
         final ScheduledJob schedJob = new ScheduledJob(flow.getName(),
                                                        _jobManager,
-                                                       new DateTime(),
+                                                       logicalTime,
                                                        true);
 
-        // mark the job as scheduled
-        _scheduled.put(flow.getName(), schedJob);
-
-        return _executor.schedule(new ScheduledFlow(holder, schedJob), 1, TimeUnit.MILLISECONDS);
+        ScheduledFlow runnable = new ScheduledFlow(holder, schedJob, listener, claim);
+        admitAlways(flow.getName(), runnable);
+        _executor.schedule(runnable, 1, TimeUnit.MILLISECONDS);
+        return flow.getId();
     }
     
     /**
@@ -483,78 +657,80 @@ public class Scheduler {
      * 
      * @param emailList email addresses of receivers
      */
-    private void sendErrorEmail(ScheduledJob job,
+    private void sendErrorEmail(final ScheduledJob job,
                                 Map<String, Throwable> exceptions,
                                 String senderAddress,
                                 List<String> emailList) {
         if((emailList == null || emailList.isEmpty()) && _jobFailureEmail != null)
             emailList = Arrays.asList(_jobFailureEmail);
 
-        if(emailList != null && _mailman != null) {
-            try {
-
-                StringBuffer body = new StringBuffer("The job '"
-                                                     + job.getId()
-                                                     + "' running on "
-                                                     + InetAddress.getLocalHost().getHostName()
-                                                     + " has failed with the following errors: \r\n\r\n");
-                int errorNo = 1;
-                String logUrlPrefix = _runtimeProps != null ? _runtimeProps.getProperty(AppCommon.DEFAULT_LOG_URL_PREFIX)
-                                                           : null;
-                if(logUrlPrefix == null && _runtimeProps != null) {
-                    logUrlPrefix = _runtimeProps.getProperty(AppCommon.LOG_URL_PREFIX);
-                }
-
-                final int lastLogLineNum = 60;
-                for(Map.Entry<String, Throwable> entry: exceptions.entrySet()) {
-                    final String jobId = entry.getKey();
-                    final Throwable exception = entry.getValue();
+        if(emailList != null && _notifications != null) {
+            // The logs are read on a notification thread, not the one
+            // finishing the flow.
+            final Map<String, Throwable> errors = new HashMap<String, Throwable>(exceptions);
+            _notifications.enqueue(senderAddress,
+                                   emailList,
+                                   "Job '" + job.getId() + "' has failed!",
+                                   new Callable<String>() {
+
+                                       public String call() {
+                                           return formatErrorEmail(job, errors);
+                                       }
+                                   });
+        }
+    }
 
-                    /* append job exception */
-                    String error = (exception instanceof ProcessFailureException) ? ((ProcessFailureException) exception).getLogSnippet()
-                                                                                 : Utils.stackTrace(exception);
-                    body.append(" Job " + errorNo + ". " + jobId + ":\n" + error + "\n");
+    private String formatErrorEmail(ScheduledJob job, Map<String, Throwable> exceptions) {
+        StringBuffer body = new StringBuffer("The job '" + job.getId() + "' running on "
+                                             + getHostName()
+                                             + " has failed with the following errors: \r\n\r\n");
+        int errorNo = 1;
+        String logUrlPrefix = _runtimeProps != null ? _runtimeProps.getProperty(AppCommon.DEFAULT_LOG_URL_PREFIX)
+                                                   : null;
+        if(logUrlPrefix == null && _runtimeProps != null) {
+            logUrlPrefix = _runtimeProps.getProperty(AppCommon.LOG_URL_PREFIX);
+        }
 
-                    /* append log file link */
-                    JobExecution jobExec = _jobManager.loadMostRecentJobExecution(jobId);
-                    if(jobExec == null) {
-                        body.append("Job execution object is null for jobId:" + jobId + "\n\n");
-                    }
+        final int lastLogLineNum = 60;
+        for(Map.Entry<String, Throwable> entry: exceptions.entrySet()) {
+            final String jobId = entry.getKey();
+            final Throwable exception = entry.getValue();
+
+            /* append job exception */
+            String error = (exception instanceof ProcessFailureException
+                            && ((ProcessFailureException) exception).getLogSnippet() != null)
+                    ? ((ProcessFailureException) exception).getLogSnippet()
+                    : Utils.stackTrace(exception);
+            body.append(" Job " + errorNo + ". " + jobId + ":\n" + error + "\n");
+
+            /* append log file link */
+            JobExecution jobExec = _jobManager.loadMostRecentJobExecution(jobId);
+            if(jobExec == null) {
+                body.append("Job execution object is null for jobId:" + jobId + "\n\n");
+            }
 
-                    String logPath = jobExec != null ? jobExec.getLog() : null;
-                    if(logPath == null) {
-                        body.append("Log path is null. \n\n");
-                    } else {
-                        body.append("See log in " + logUrlPrefix + logPath + "\n\n" + "The last "
-                                    + lastLogLineNum + " lines in the log are:\n");
-
-                        /* append last N lines of the log file */
-                        String logFilePath = this._jobManager.getLogDir() + File.separator
-                                             + logPath;
-                        Vector<String> lastNLines = Utils.tail(logFilePath, 60);
-
-                        if(lastNLines != null) {
-                            for(String line: lastNLines) {
-                                body.append(line + "\n");
-                            }
-                        }
+            String logPath = jobExec != null ? jobExec.getLog() : null;
+            if(logPath == null) {
+                body.append("Log path is null. \n\n");
+            } else {
+                body.append("See log in " + logUrlPrefix + logPath + "\n\n" + "The last "
+                            + lastLogLineNum + " lines in the log are:\n");
+
+                /* append last N lines of the log file */
+                File logFile = new File(this._jobManager.getLogDir(), logPath);
+                try {
+                    for(String line: LogTail.lastLines(logFile, lastLogLineNum)) {
+                        body.append(line).append("\n");
                     }
-
-                    errorNo++;
+                } catch(IOException e) {
+                    body.append("Could not read the log: " + e.getMessage() + "\n");
                 }
-
-                // logger.error("\n\n error email body: \n" + body.toString() +
-                // "\n");
-
-                _mailman.sendEmailIfPossible(senderAddress,
-                                             emailList,
-                                             "Job '" + job.getId() + "' has failed!",
-                                             body.toString());
-
-            } catch(UnknownHostException uhe) {
-                logger.error(uhe);
             }
+
+            errorNo++;
         }
+
+        return body.toString();
     }
 
     private void sendSuccessEmail(ScheduledJob job,
@@ -565,29 +741,194 @@ public class Scheduler {
             emailList = Arrays.asList(_jobSuccessEmail);
         }
 
-        if(emailList != null && _mailman != null) {
+        if(emailList != null && _notifications != null) {
+            final String body = "The job '" + job.getId() + "' completed in "
+                                + PeriodFormat.getDefault().print(duration.toPeriod()) + ".";
+            _notifications.enqueue(senderAddress,
+                                   emailList,
+                                   "Job '" + job.getId() + "' has completed on " + getHostName()
+                                           + "!",
+                                   new Callable<String>() {
+
+                                       public String call() {
+                                           return body;
+                                       }
+                                   });
+        }
+    }
+
+    /*
+     * The name of this host, looked up once since the lookup can be slow.
+     */
+    private String getHostName() {
+        String hostName = _hostName;
+        if(hostName == null) {
+            try {
+                hostName = InetAddress.getLocalHost().getHostName();
+            } catch(UnknownHostException e) {
+                logger.error(e);
+                hostName = "an unknown host";
+            }
+            _hostName = hostName;
+        }
+        return hostName;
+    }
+
+    /**
+     * Set the monitor that enforces the flow.timeout and flow.sla.finish.by
+     * times of executions. It also cancels the executions of jobs whose
+     * action is cancel-flow through this scheduler.
+     */
+    public void setSlaMonitor(SlaMonitor slaMonitor) {
+        _slaMonitor = slaMonitor;
+        if(slaMonitor != null)
+            slaMonitor.setScheduler(this);
+    }
+
+    /**
+     * Set how long after a run of a flow starts triggers of the same run are
+     * coalesced onto it, 0 to never coalesce them
+     */
+    public void setDedupWindowMs(long dedupWindowMs) {
+        _dedupWindowMs = dedupWindowMs;
+    }
+
+    /**
+     * @return The number of triggers of the named flow coalesced onto a run
+     *         already in flight
+     */
+    public long getNumCoalesced(String flowName) {
+        AtomicLong count = _numCoalesced.get(flowName);
+        return count == null ? 0 : count.get();
+    }
+
+    private static String idempotencyKey(String flowName, DateTime logicalTime, String token) {
+        if(token == null || token.trim().length() == 0)
+            return flowName + "@" + logicalTime.getMillis();
+        return flowName + "#" + token.trim();
+    }
+
+    /*
+     * The key of a run started by hand or a restart: that of the slot the
+     * flow's schedule last fired for, or of the flow if it has no recurring
+     * schedule
+     */
+    private String manualKey(String flowName, String token) {
+        if(token != null && token.trim().length() > 0)
+            return idempotencyKey(flowName, null, token);
+        ScheduledJob next = _scheduled.get(flowName);
+        if(next == null || !next.isRecurring())
+            return flowName;
+        DateTime slot = next.getScheduledExecution();
+        DateTime now = new DateTime();
+        while(slot.isAfter(now))
+            slot = slot.minus(next.getPeriod());
+        return idempotencyKey(flowName, slot, null);
+    }
+
+    /*
+     * Register a run under its key, unless a run with the same key started
+     * within the window is still in flight. Returns that run, which the
+     * listener, if any, is told the completion of, or null if the given run
+     * was registered and must be finished with finishClaim().
+     */
+    private Claim claim(Claim claim, String flowName, FlowCallback listener) {
+        long window = _dedupWindowMs;
+        if(window <= 0)
+            return null;
+        Claim running;
+        synchronized(_claims) {
+            running = _claims.get(claim.getKey());
+            if(running == null || System.currentTimeMillis() - running.getTime() >= window) {
+                _claims.put(claim.getKey(), claim);
+                return null;
+            }
+            if(listener != null)
+                running.addListener(listener);
+        }
+
+        COALESCED.inc();
+        AtomicLong count = _numCoalesced.get(flowName);
+        if(count == null) {
+            _numCoalesced.putIfAbsent(flowName, new AtomicLong(0));
+            count = _numCoalesced.get(flowName);
+        }
+        count.incrementAndGet();
+        logger.info("Coalescing trigger of " + flowName + " onto execution "
+                    + running.getExecutionId() + ", a run of " + claim.getKey()
+                    + " already in flight.");
+        return running;
+    }
+
+    /*
+     * The run of a claim is over, later triggers with its key start new runs
+     */
+    private void finishClaim(Claim claim, Status status) {
+        if(claim == null)
+            return;
+        List<FlowCallback> listeners;
+        synchronized(_claims) {
+            if(claim.isFinished())
+                return;
+            claim.setFinished();
+            if(_claims.get(claim.getKey()) == claim)
+                _claims.remove(claim.getKey());
+            listeners = claim.getListeners();
+        }
+        for(FlowCallback listener: listeners) {
             try {
-                _mailman.sendEmailIfPossible(senderAddress,
-                                             emailList,
-                                             "Job '" + job.getId() + "' has completed on "
-                                                     + InetAddress.getLocalHost().getHostName()
-                                                     + "!",
-                                             "The job '"
-                                                     + job.getId()
-                                                     + "' completed in "
-                                                     + PeriodFormat.getDefault()
-                                                                   .print(duration.toPeriod())
-                                                     + ".");
-            } catch(UnknownHostException uhe) {
-                logger.error(uhe);
+                listener.completed(status);
+            } catch(RuntimeException e) {
+                logger.warn("Exception while telling a coalesced trigger that " + claim.getKey()
+                            + " finished.", e);
             }
         }
     }
 
-    public void cancel(String name) throws Exception {
-        ScheduledJobAndInstance instance = _executing.get(name);
+    /**
+     * Set the triggers told when executions finish, to start the flows waiting
+     * for them
+     */
+    public void setTriggerManager(TriggerManager triggers) {
+        _triggers = triggers;
+    }
+
+    private void notifyTriggers(String name, Status status) {
+        TriggerManager triggers = _triggers;
+        if(triggers == null)
+            return;
+        try {
+            triggers.flowCompleted(name, status);
+        } catch(RuntimeException e) {
+            logger.warn("Failed to fire the triggers waiting for " + name, e);
+        }
+    }
+
+    /*
+     * Enforce the flow.timeout and flow.sla.finish.by time of an execution,
+     * returns null if it has neither
+     */
+    private SlaMonitor.Watch watchSla(JobDescriptor desc, final ExecutableFlow flow, DateTime logicalTime) {
+        SlaMonitor monitor = _slaMonitor;
+        if(monitor == null || desc == null || desc.getFlowSla().isEmpty())
+            return null;
+        return monitor.watchFlow(desc, flow.getId(), logicalTime, new Runnable() {
+
+            public void run() {
+                flow.cancel();
+            }
+        });
+    }
+
+    /**
+     * Cancel an execution
+     * 
+     * @param executionId The id of the execution
+     */
+    public void cancel(String executionId) throws Exception {
+        ScheduledJobAndInstance instance = _executing.get(executionId);
         if(instance == null) {
-            throw new IllegalArgumentException("'" + name + "' is not currently running.");
+            throw new IllegalArgumentException("Execution '" + executionId + "' is not currently running.");
         }
         instance.getExecutableFlow().cancel();
     }
@@ -600,14 +941,47 @@ public class Scheduler {
         return _scheduled.values();
     }
 
+    /**
+     * @return true if any execution of the named flow is running
+     */
     public boolean isExecuting(String name) {
-        return _executing.containsKey(name);
+        return !getExecutions(name).isEmpty();
     }
 
     public Collection<ScheduledJobAndInstance> getExecutingJobs() {
         return _executing.values();
     }
 
+    /**
+     * @return The running execution with the given id, or null
+     */
+    public ScheduledJobAndInstance getExecution(String executionId) {
+        return _executing.get(executionId);
+    }
+
+    /**
+     * @return The running executions of the named flow
+     */
+    public List<ScheduledJobAndInstance> getExecutions(String name) {
+        List<ScheduledJobAndInstance> executions = new ArrayList<ScheduledJobAndInstance>();
+        for(ScheduledJobAndInstance execution: _executing.values()) {
+            if(execution.getExecutableFlow().getName().equals(name))
+                executions.add(execution);
+        }
+        return executions;
+    }
+
+    /**
+     * @return The number of executions of the named flow waiting for others
+     *         to finish
+     */
+    public int getNumQueued(String name) {
+        synchronized(_admissionLock) {
+            Queue<AdmittedRunnable> waiting = _waiting.get(name);
+            return waiting == null ? 0 : waiting.size();
+        }
+    }
+
     public Multimap<String, ScheduledJob> getCompleted() {
         return _completed;
     }
@@ -628,6 +1002,108 @@ public class Scheduler {
         return job != null;
     }
 
+    /**
+     * Decide whether a new execution of a flow may start now, following the
+     * concurrent policy of the flow. If it may not, it is either dropped or
+     * queued to be run again, already admitted, when an execution of the flow
+     * finishes.
+     * 
+     * @return true if the execution may start, in which case finished() must
+     *         be called once it is done
+     */
+    private boolean admit(JobDescriptor desc, AdmittedRunnable runnable) {
+        String name = desc.getId();
+        List<ScheduledJobAndInstance> toCancel = null;
+        boolean skipped = false;
+        synchronized(_admissionLock) {
+            Integer running = _numRunning.get(name);
+            int numRunning = running == null ? 0 : running;
+            if(numRunning >= desc.getMaxConcurrent()) {
+                switch(desc.getConcurrentPolicy()) {
+                    case SKIP:
+                        logger.info("Skipping execution of " + name + ", " + numRunning
+                                    + " already running.");
+                        skipped = true;
+                        break;
+                    case CANCEL_PREVIOUS:
+                        toCancel = getExecutions(name);
+                        break;
+                    default:
+                        Queue<AdmittedRunnable> waiting = _waiting.get(name);
+                        if(waiting == null) {
+                            waiting = new LinkedList<AdmittedRunnable>();
+                            _waiting.put(name, waiting);
+                        }
+                        waiting.add(runnable);
+                        logger.info("Queueing execution of " + name + " behind the " + numRunning
+                                    + " running.");
+                        return false;
+                }
+            }
+            if(!skipped) {
+                _numRunning.put(name, numRunning + 1);
+                runnable.setAdmitted();
+            }
+        }
+
+        if(skipped) {
+            runnable.skipped();
+            return false;
+        }
+
+        if(toCancel != null) {
+            for(ScheduledJobAndInstance execution: toCancel) {
+                logger.info("Cancelling execution " + execution.getExecutionId() + " of " + name
+                            + " to start a new one.");
+                try {
+                    execution.getExecutableFlow().cancel();
+                } catch(Exception e) {
+                    logger.warn("Failed to cancel execution " + execution.getExecutionId(), e);
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Admit an execution regardless of the concurrent policy
+     */
+    private void admitAlways(String name, AdmittedRunnable runnable) {
+        synchronized(_admissionLock) {
+            Integer running = _numRunning.get(name);
+            _numRunning.put(name, running == null ? 1 : running + 1);
+            runnable.setAdmitted();
+        }
+    }
+
+    /**
+     * Called when an admitted execution is done, hands its place to the next
+     * queued execution of the flow if there is one.
+     */
+    private void finished(String name) {
+        AdmittedRunnable next = null;
+        synchronized(_admissionLock) {
+            Queue<AdmittedRunnable> waiting = _waiting.get(name);
+            if(waiting != null) {
+                next = waiting.poll();
+                if(waiting.isEmpty())
+                    _waiting.remove(name);
+            }
+            if(next == null) {
+                int running = _numRunning.get(name) - 1;
+                if(running > 0)
+                    _numRunning.put(name, running);
+                else
+                    _numRunning.remove(name);
+            }
+        }
+        if(next != null) {
+            logger.info("Starting queued execution of " + name);
+            next.setAdmitted();
+            _executor.execute(next);
+        }
+    }
+
     /**
      * A thread factory that sets the correct classloader for the thread
      */
@@ -653,6 +1129,10 @@ public class Scheduler {
             _scheduledJob = scheduledJob;
         }
 
+        public String getExecutionId() {
+            return flow.getId();
+        }
+
         public ExecutableFlow getExecutableFlow() {
             return flow;
         }
@@ -662,13 +1142,84 @@ public class Scheduler {
         }
     }
 
+    /**
+     * A runnable that goes through admit() the first time it runs
+     */
+    private abstract class AdmittedRunnable implements Runnable {
+
+        private volatile boolean _admitted = false;
+
+        protected boolean isAdmitted() {
+            return _admitted;
+        }
+
+        private void setAdmitted() {
+            _admitted = true;
+        }
+
+        /**
+         * Called when the concurrent policy drops the execution
+         */
+        protected void skipped() {}
+    }
+
+    /**
+     * A run of a flow in flight that later triggers of the same run are
+     * coalesced onto
+     */
+    private static class Claim {
+
+        private final String _key;
+        private final String _executionId;
+        private final long _time = System.currentTimeMillis();
+        private final List<FlowCallback> _listeners = new ArrayList<FlowCallback>();
+        private boolean _finished = false;
+
+        private Claim(String key, String executionId) {
+            _key = key;
+            _executionId = executionId;
+        }
+
+        public String getKey() {
+            return _key;
+        }
+
+        public long getTime() {
+            return _time;
+        }
+
+        public String getExecutionId() {
+            return _executionId;
+        }
+
+        public void addListener(FlowCallback listener) {
+            _listeners.add(listener);
+        }
+
+        public List<FlowCallback> getListeners() {
+            return _listeners;
+        }
+
+        public boolean isFinished() {
+            return _finished;
+        }
+
+        public void setFinished() {
+            _finished = true;
+        }
+    }
+
     /**
      * A runnable adapter for a Job
      */
-    private class ScheduledRunnable implements Runnable {
+    private class ScheduledRunnable extends AdmittedRunnable {
 
         private final ScheduledJob _scheduledJob;
         private final boolean _ignoreDep;
+        // created before the run is admitted, so a trigger coalesced onto it
+        // while it waits gets its id
+        private volatile ExecutableFlow _flowToRun = null;
+        private volatile Claim _claim = null;
 
         private ScheduledRunnable(ScheduledJob schedJob) {
             this._scheduledJob = schedJob;
@@ -678,9 +1229,36 @@ public class Scheduler {
         public void run() {
             List<String> emailList = null;
             String senderAddress = null;
+            ExecutableFlow watchedFlow = null;
+            SlaMonitor.Watch watchedSla = null;
+            final AtomicBoolean released = new AtomicBoolean(false);
             try {
-                if(_scheduledJob.isInvalid()) {
-                    return;
+                if(!isAdmitted()) {
+                    if(_scheduledJob.isInvalid()) {
+                        return;
+                    }
+                    TRIGGER_LATENESS.record(System.currentTimeMillis()
+                                            - _scheduledJob.getScheduledExecution().getMillis());
+
+                    // the next run is scheduled when this one is due rather than
+                    // when it finishes, so that the concurrent policy decides
+                    // whether they overlap
+                    _scheduled.remove(_scheduledJob.getId(), _scheduledJob);
+                    scheduleNextRun();
+
+                    _flowToRun = allKnownFlows.createNewExecutableFlow(_scheduledJob.getId());
+                    Claim claim = new Claim(idempotencyKey(_scheduledJob.getId(),
+                                                           _scheduledJob.getScheduledExecution(),
+                                                           null),
+                                            _flowToRun.getId());
+                    if(claim(claim, _scheduledJob.getId(), null) != null) {
+                        return;
+                    }
+                    _claim = claim;
+
+                    if(!admit(_jobManager.getJobDescriptor(_scheduledJob.getId()), this)) {
+                        return;
+                    }
                 }
 
                 JobDescriptor desc = _jobManager.loadJobDescriptors(null, null, _ignoreDep)
@@ -689,7 +1267,7 @@ public class Scheduler {
 
                 final List<String> finalEmailList = emailList;
 
-                final ExecutableFlow flowToRun = allKnownFlows.createNewExecutableFlow(_scheduledJob.getId());
+                final ExecutableFlow flowToRun = _flowToRun;
 
                 if(_ignoreDep) {
                     for(ExecutableFlow subFlow: flowToRun.getChildren()) {
@@ -700,17 +1278,24 @@ public class Scheduler {
                 senderAddress = desc.getSenderEmail();
                 final String senderEmail = senderAddress;
 
-                final Props parentProps = produceParentProperties(flowToRun);
+                final Props parentProps = produceParentProperties(flowToRun,
+                                                                  _scheduledJob.getScheduledExecution());
 
                 // mark the job as executing
-                _scheduled.remove(_scheduledJob.getId());
                 _scheduledJob.setStarted(new DateTime());
-                _executing.put(flowToRun.getName(), new ScheduledJobAndInstance(flowToRun,
-                                                                                _scheduledJob));
+                _executing.put(flowToRun.getId(), new ScheduledJobAndInstance(flowToRun,
+                                                                              _scheduledJob));
+                _eventStream.watch(flowToRun);
+                watchedFlow = flowToRun;
+                final SlaMonitor.Watch flowSla = watchSla(desc,
+                                                          flowToRun,
+                                                          _scheduledJob.getScheduledExecution());
+                watchedSla = flowSla;
                 flowToRun.execute(parentProps, new FlowCallback() {
 
                     @Override
                     public void progressMade() {
+                        _eventStream.update(flowToRun);
                         allKnownFlows.saveExecutableFlow(new FlowExecutionHolder(flowToRun,
                                                                                  parentProps));
                     }
@@ -718,6 +1303,9 @@ public class Scheduler {
                     @Override
                     public void completed(Status status) {
                         _scheduledJob.setEnded(new DateTime());
+                        _eventStream.completed(flowToRun);
+                        if(flowSla != null)
+                            flowSla.finished();
 
                         try {
                             allKnownFlows.saveExecutableFlow(new FlowExecutionHolder(flowToRun,
@@ -747,84 +1335,143 @@ public class Scheduler {
                             throw e;
                         } finally {
                             // mark the job as completed
-                            _executing.remove(_scheduledJob.getId());
+                            _executing.remove(flowToRun.getId());
                             _completed.put(_scheduledJob.getId(), _scheduledJob);
-
-                            // if this is a recurring job, schedule the next
-                            // execution as well
-                            if(_scheduledJob.isRecurring() && !_scheduledJob.isInvalid()) {
-                                DateTime nextRun = _scheduledJob.getScheduledExecution()
-                                                                .plus(_scheduledJob.getPeriod());
-                                // This call will also save state.
-                                schedule(_scheduledJob.getId(),
-                                         nextRun,
-                                         _scheduledJob.getPeriod(),
-                                         _ignoreDep);
-                            } else {
-                                try {
-                                    saveSchedule();
-                                } catch(IOException e) {
-                                    logger.warn("Error trying to update schedule.");
-                                }
+                            if(released.compareAndSet(false, true)) {
+                                finished(_scheduledJob.getId());
                             }
+                            finishClaim(_claim, status);
+                            notifyTriggers(_scheduledJob.getId(), status);
                         }
                     }
                 });
 
+                _eventStream.update(flowToRun);
                 allKnownFlows.saveExecutableFlow(new FlowExecutionHolder(flowToRun, parentProps));
             } catch(Throwable t) {
                 if(emailList != null) {
                     sendErrorEmail(_scheduledJob, t, senderAddress, emailList);
                 }
-                _scheduled.remove(_scheduledJob.getId());
-                _executing.remove(_scheduledJob.getId());
+                if(watchedFlow != null) {
+                    _executing.remove(watchedFlow.getId());
+                    _eventStream.completed(watchedFlow);
+                }
+                if(watchedSla != null)
+                    watchedSla.finished();
+                if(isAdmitted() && released.compareAndSet(false, true)) {
+                    finished(_scheduledJob.getId());
+                }
+                finishClaim(_claim, Status.FAILED);
                 logger.warn(String.format("An exception almost made it back to the ScheduledThreadPool from job[%s]",
                                           _scheduledJob),
                             t);
             }
         }
+
+        @Override
+        protected void skipped() {
+            finishClaim(_claim, Status.FAILED);
+        }
+
+        private void scheduleNextRun() {
+            if(_scheduledJob.isRecurring() && !_scheduledJob.isInvalid()) {
+                DateTime nextRun = _scheduledJob.getScheduledExecution()
+                                                .plus(_scheduledJob.getPeriod());
+                // This call will also save state.
+                schedule(_scheduledJob.getId(), nextRun, _scheduledJob.getPeriod(), _ignoreDep);
+            } else {
+                try {
+                    saveSchedule();
+                } catch(IOException e) {
+                    logger.warn("Error trying to update schedule.");
+                }
+            }
+        }
     }
 
     /**
      * A runnable adapter for a Job
      */
-    private class ScheduledFlow implements Runnable {
+    private class ScheduledFlow extends AdmittedRunnable {
 
         private final ScheduledJob _scheduledJob;
         private final FlowExecutionHolder holder;
+        private final FlowCallback _listener;
+        private final Claim _claim;
 
-        private ScheduledFlow(FlowExecutionHolder holder, ScheduledJob scheduledJob) {
+        private ScheduledFlow(FlowExecutionHolder holder,
+                              ScheduledJob scheduledJob,
+                              FlowCallback listener,
+                              Claim claim) {
             this.holder = holder;
             this._scheduledJob = scheduledJob;
+            this._listener = listener;
+            this._claim = claim;
+        }
+
+        private void release(AtomicBoolean released, Status status) {
+            if(released.compareAndSet(false, true)) {
+                finished(_scheduledJob.getId());
+                if(_listener != null) {
+                    _listener.completed(status);
+                }
+            }
+            finishClaim(_claim, status);
+        }
+
+        @Override
+        protected void skipped() {
+            finishClaim(_claim, Status.FAILED);
         }
 
         public void run() {
             final ExecutableFlow flow = holder.getFlow();
-            logger.info("Starting run of " + flow.getName());
 
             List<String> emailList = null;
             String senderAddress = null;
+            boolean watched = false;
+            SlaMonitor.Watch watchedSla = null;
+            final AtomicBoolean released = new AtomicBoolean(false);
             try {
-                emailList = _jobManager.getJobDescriptor(flow.getName()).getEmailNotificationList();
+                JobDescriptor desc = _jobManager.getJobDescriptor(flow.getName());
+                if(!isAdmitted() && !admit(desc, this)) {
+                    return;
+                }
+                logger.info("Starting run of " + flow.getName());
+
+                emailList = desc.getEmailNotificationList();
                 final List<String> finalEmailList = emailList;
 
-                senderAddress = _jobManager.getJobDescriptor(flow.getName()).getSenderEmail();
+                senderAddress = desc.getSenderEmail();
                 final String senderEmail = senderAddress;
 
                 // mark the job as executing
-                _scheduled.remove(_scheduledJob.getId());
                 _scheduledJob.setStarted(new DateTime());
-                _executing.put(flow.getName(), new ScheduledJobAndInstance(flow, _scheduledJob));
+                _executing.put(flow.getId(), new ScheduledJobAndInstance(flow, _scheduledJob));
+                _eventStream.watch(flow);
+                watched = true;
+                String logicalTime = holder.getParentProps() == null
+                        ? null
+                        : holder.getParentProps().getString("azkaban.flow.logical.timestamp", null);
+                final SlaMonitor.Watch flowSla = watchSla(desc,
+                                                          flow,
+                                                          logicalTime == null ? new DateTime()
+                                                                              : new DateTime(logicalTime));
+                watchedSla = flowSla;
                 flow.execute(holder.getParentProps(), new FlowCallback() {
 
                     @Override
                     public void progressMade() {
+                        _eventStream.update(flow);
                         allKnownFlows.saveExecutableFlow(holder);
                     }
 
                     @Override
                     public void completed(Status status) {
                         _scheduledJob.setEnded(new DateTime());
+                        _eventStream.completed(flow);
+                        if(flowSla != null)
+                            flowSla.finished();
 
                         try {
                             allKnownFlows.saveExecutableFlow(holder);
@@ -853,19 +1500,31 @@ public class Scheduler {
                             throw e;
                         } finally {
                             // mark the job as completed
-                            _executing.remove(_scheduledJob.getId());
+                            _executing.remove(flow.getId());
                             _completed.put(_scheduledJob.getId(), _scheduledJob);
+                            release(released, status);
+                            notifyTriggers(_scheduledJob.getId(), status);
                         }
                     }
                 });
 
+                _eventStream.update(flow);
                 allKnownFlows.saveExecutableFlow(holder);
             } catch(Throwable t) {
                 if(emailList != null) {
                     sendErrorEmail(_scheduledJob, t, senderAddress, emailList);
                 }
-                _scheduled.remove(_scheduledJob.getId());
-                _executing.remove(_scheduledJob.getId());
+                if(watched) {
+                    _executing.remove(flow.getId());
+                    _eventStream.completed(flow);
+                }
+                if(watchedSla != null)
+                    watchedSla.finished();
+                if(isAdmitted()) {
+                    release(released, Status.FAILED);
+                } else {
+                    finishClaim(_claim, Status.FAILED);
+                }
                 logger.warn(String.format("An exception almost made it back to the ScheduledThreadPool from job[%s]",
                                           _scheduledJob),
                             t);
@@ -873,7 +1532,12 @@ public class Scheduler {
         }
     }
 
-    private Props produceParentProperties(final ExecutableFlow flow) {
+    /**
+     * The properties every execution gets: its id, when it started, and the
+     * logical time it is for, which is when it was scheduled, or the slot of a
+     * backfill.
+     */
+    private Props produceParentProperties(final ExecutableFlow flow, DateTime logicalTime) {
         Props parentProps = new Props();
 
         parentProps.put("azkaban.flow.id", flow.getId());
@@ -890,6 +1554,15 @@ public class Scheduler {
         parentProps.put("azkaban.flow.start.seconds", loadTime.toString("ss"));
         parentProps.put("azkaban.flow.start.milliseconds", loadTime.toString("SSS"));
         parentProps.put("azkaban.flow.start.timezone", loadTime.toString("ZZZZ"));
+
+        parentProps.put("azkaban.flow.logical.timestamp", logicalTime.toString());
+        parentProps.put("azkaban.flow.logical.year", logicalTime.toString("yyyy"));
+        parentProps.put("azkaban.flow.logical.month", logicalTime.toString("MM"));
+        parentProps.put("azkaban.flow.logical.day", logicalTime.toString("dd"));
+        parentProps.put("azkaban.flow.logical.hour", logicalTime.toString("HH"));
+        parentProps.put("azkaban.flow.logical.minute", logicalTime.toString("mm"));
+        parentProps.put("azkaban.flow.logical.seconds", logicalTime.toString("ss"));
+        parentProps.put("azkaban.flow.logical.timezone", logicalTime.toString("ZZZZ"));
         return parentProps;
     }
 }
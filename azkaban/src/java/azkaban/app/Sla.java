@@ -0,0 +1,124 @@
+/*
+ * Copyright 2010 LinkedIn, Inc
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package azkaban.app;
+
+import org.joda.time.DateTime;
+import org.joda.time.LocalTime;
+import org.joda.time.format.DateTimeFormat;
+import org.joda.time.format.DateTimeFormatter;
+
+import azkaban.common.utils.Props;
+
+/**
+ * The runtime bounds of a job or flow: a timeout on how long it may run, and
+ * a time of day it should be finished by, each with the action to take when
+ * it is missed.
+ */
+public class Sla {
+
+    public static final String TIMEOUT = "timeout";
+    public static final String TIMEOUT_ACTION = "timeout.action";
+    public static final String FINISH_BY = "sla.finish.by";
+    public static final String FINISH_BY_ACTION = "sla.action";
+
+    public static final Sla NONE = new Sla(0, SlaAction.CANCEL, null, SlaAction.ALERT);
+
+    private static final DateTimeFormatter FINISH_BY_FORMAT = DateTimeFormat.forPattern("HH:mm");
+
+    private final long _timeoutMs;
+    private final SlaAction _timeoutAction;
+    private final LocalTime _finishBy;
+    private final SlaAction _finishByAction;
+
+    public Sla(long timeoutMs, SlaAction timeoutAction, LocalTime finishBy, SlaAction finishByAction) {
+        _timeoutMs = timeoutMs;
+        _timeoutAction = timeoutAction;
+        _finishBy = finishBy;
+        _finishByAction = finishByAction;
+    }
+
+    /**
+     * Read the bounds from job properties
+     *
+     * @param props The properties
+     * @param prefix Put before the property names, such as "flow." for the
+     *        bounds of the flow a job is the root of
+     */
+    public static Sla fromProps(Props props, String prefix) {
+        long timeoutMs = props.getLong(prefix + TIMEOUT, 0);
+        String finishBy = props.getString(prefix + FINISH_BY, null);
+        if(timeoutMs <= 0 && finishBy == null)
+            return NONE;
+
+        LocalTime finishByTime = null;
+        if(finishBy != null) {
+            try {
+                finishByTime = FINISH_BY_FORMAT.parseDateTime(finishBy.trim()).toLocalTime();
+            } catch(IllegalArgumentException e) {
+                throw new IllegalArgumentException(prefix + FINISH_BY + " must be a time of day like 06:30, not '"
+                                                   + finishBy + "'.");
+            }
+        }
+        return new Sla(timeoutMs,
+                       SlaAction.parse(props.getString(prefix + TIMEOUT_ACTION, "cancel")),
+                       finishByTime,
+                       SlaAction.parse(props.getString(prefix + FINISH_BY_ACTION, "alert")));
+    }
+
+    public boolean isEmpty() {
+        return _timeoutMs <= 0 && _finishBy == null;
+    }
+
+    /**
+     * @return The longest it may run in ms, or 0 for no limit
+     */
+    public long getTimeoutMs() {
+        return _timeoutMs;
+    }
+
+    public SlaAction getTimeoutAction() {
+        return _timeoutAction;
+    }
+
+    /**
+     * @return The time of day it should be finished by, or null
+     */
+    public LocalTime getFinishBy() {
+        return _finishBy;
+    }
+
+    public SlaAction getFinishByAction() {
+        return _finishByAction;
+    }
+
+    /**
+     * The time a run should be finished by: the first finish by time at or
+     * after the logical time of the run, so a run that starts late can miss
+     * it right away.
+     *
+     * @param logicalTime When the run was scheduled for
+     * @return The deadline, or null if there is no finish by time
+     */
+    public DateTime getFinishByDeadline(DateTime logicalTime) {
+        if(_finishBy == null)
+            return null;
+        DateTime deadline = logicalTime.withTime(_finishBy.getHourOfDay(), _finishBy.getMinuteOfHour(), 0, 0);
+        if(deadline.isBefore(logicalTime))
+            deadline = deadline.plusDays(1);
+        return deadline;
+    }
+}
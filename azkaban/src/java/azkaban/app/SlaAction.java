@@ -0,0 +1,52 @@
+/*
+ * Copyright 2010 LinkedIn, Inc
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package azkaban.app;
+
+/**
+ * What happens when a job or flow runs past its timeout or its sla.finish.by
+ * time. Every miss is also recorded by the SlaMonitor.
+ */
+public enum SlaAction {
+
+    /**
+     * Email the notification list of the job and let it run on.
+     */
+    ALERT,
+
+    /**
+     * Alert and cancel the job, or the flow for a flow's deadline.
+     */
+    CANCEL,
+
+    /**
+     * Alert and cancel the whole execution of the flow the job runs in.
+     */
+    CANCEL_FLOW;
+
+    /**
+     * Parse an action from the way it is written in job properties, such as
+     * "cancel-flow"
+     */
+    public static SlaAction parse(String value) {
+        try {
+            return valueOf(value.trim().toUpperCase().replace('-', '_'));
+        } catch(IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown SLA action '" + value
+                                               + "', expected alert, cancel or cancel-flow.");
+        }
+    }
+}
@@ -0,0 +1,414 @@
+/*
+ * Copyright 2010 LinkedIn, Inc
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package azkaban.app;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileReader;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+import org.apache.commons.io.IOUtils;
+import org.apache.log4j.Logger;
+import org.joda.time.DateTime;
+
+import azkaban.util.HashedWheelTimer;
+import azkaban.util.metrics.Counter;
+import azkaban.util.metrics.Metrics;
+
+/**
+ * Enforces the timeouts and finish by times of running jobs and flows.
+ * 
+ * Every bound of a run is a timeout on one shared timer wheel, canceled when
+ * the run finishes, so that watching thousands of runs costs no thread per
+ * run. A run that misses a bound is alerted about and, depending on the
+ * action, canceled or has its flow canceled. Misses are appended to a history
+ * file, and the most recent ones are kept for the pages.
+ */
+public class SlaMonitor {
+
+    private static final Logger logger = Logger.getLogger(SlaMonitor.class);
+
+    public static final String TIMEOUT = "timeout";
+    public static final String FINISH_BY = "finish.by";
+
+    private static final int WHEEL_SIZE = 512;
+    private static final int MAX_RECENT_MISSES = 1000;
+
+    private static final Counter TIMEOUTS = Metrics.getDefault().counter("azkaban_sla_misses_total",
+                                                                         "Runs past their timeout or finish by time",
+                                                                         "kind",
+                                                                         TIMEOUT);
+    private static final Counter FINISH_BY_MISSES = Metrics.getDefault()
+                                                           .counter("azkaban_sla_misses_total",
+                                                                    "Runs past their timeout or finish by time",
+                                                                    "kind",
+                                                                    FINISH_BY);
+
+    private final HashedWheelTimer _timer;
+    private final File _historyFile;
+    private final NotificationQueue _notifications;
+    private final String _defaultEmail;
+    // cancels can take a while, so they don't run on the timer's thread
+    private final ExecutorService _cancels;
+    private final LinkedList<Miss> _recentMisses = new LinkedList<Miss>();
+    private volatile Scheduler _scheduler;
+
+    /**
+     * @param historyFile The file misses are appended to
+     * @param notifications The queue for alerts, or null to only log them
+     * @param defaultEmail Alerted when a job has no notification list, or null
+     * @param tickMs How late a bound may be enforced
+     */
+    public SlaMonitor(File historyFile, NotificationQueue notifications, String defaultEmail, long tickMs) {
+        _historyFile = historyFile;
+        _notifications = notifications;
+        _defaultEmail = defaultEmail;
+        _timer = new HashedWheelTimer("azkaban-sla-timer", tickMs, WHEEL_SIZE);
+        _cancels = Executors.newCachedThreadPool(new ThreadFactory() {
+
+            public Thread newThread(Runnable r) {
+                Thread t = new Thread(r, "azkaban-sla-cancel");
+                t.setDaemon(true);
+                return t;
+            }
+        });
+        loadHistory();
+    }
+
+    /**
+     * Set the scheduler that cancels the flows of jobs whose action is
+     * cancel-flow
+     */
+    public void setScheduler(Scheduler scheduler) {
+        _scheduler = scheduler;
+    }
+
+    /**
+     * Start enforcing the timeout and sla.finish.by time of a job's run
+     * 
+     * @param desc The job
+     * @param executionId The id of the flow execution the job runs in, or null
+     * @param logicalTime When the run was scheduled for
+     * @param cancel Cancels the job
+     * @return The watch to finish once the run ends
+     */
+    public Watch watchJob(JobDescriptor desc, String executionId, DateTime logicalTime, Runnable cancel) {
+        return watch("job", desc, desc.getSla(), executionId, logicalTime, cancel);
+    }
+
+    /**
+     * Start enforcing the flow.timeout and flow.sla.finish.by time of the
+     * execution of the flow a job is the root of
+     * 
+     * @param desc The root job of the flow
+     * @param executionId The id of the execution
+     * @param logicalTime When the execution was scheduled for
+     * @param cancel Cancels the execution
+     * @return The watch to finish once the execution ends
+     */
+    public Watch watchFlow(JobDescriptor desc, String executionId, DateTime logicalTime, Runnable cancel) {
+        return watch("flow", desc, desc.getFlowSla(), executionId, logicalTime, cancel);
+    }
+
+    private Watch watch(String level,
+                        JobDescriptor desc,
+                        Sla sla,
+                        String executionId,
+                        DateTime logicalTime,
+                        Runnable cancel) {
+        Watch watch = new Watch(level, desc, executionId, cancel);
+        if(sla.getTimeoutMs() > 0)
+            watch.add(TIMEOUT, sla.getTimeoutAction(), sla.getTimeoutMs());
+        DateTime deadline = sla.getFinishByDeadline(logicalTime);
+        if(deadline != null)
+            watch.add(FINISH_BY, sla.getFinishByAction(), deadline.getMillis() - System.currentTimeMillis());
+        return watch;
+    }
+
+    /**
+     * @return The most recent misses of a job or flow, latest first
+     */
+    public List<Miss> getMisses(String name) {
+        List<Miss> misses = new ArrayList<Miss>();
+        synchronized(_recentMisses) {
+            for(Miss miss: _recentMisses)
+                if(miss.getName().equals(name))
+                    misses.add(miss);
+        }
+        Collections.reverse(misses);
+        return misses;
+    }
+
+    /**
+     * @return The most recent misses in an execution of a flow, latest first
+     */
+    public List<Miss> getExecutionMisses(String executionId) {
+        List<Miss> misses = new ArrayList<Miss>();
+        synchronized(_recentMisses) {
+            for(Miss miss: _recentMisses)
+                if(executionId.equals(miss.getExecutionId()))
+                    misses.add(miss);
+        }
+        Collections.reverse(misses);
+        return misses;
+    }
+
+    /**
+     * @return The number of bounds of running jobs and flows being enforced
+     */
+    public int getNumWatched() {
+        return _timer.getNumPending();
+    }
+
+    public void shutdown() {
+        _timer.stop();
+        _cancels.shutdown();
+    }
+
+    private void missed(final Watch watch, String kind, final SlaAction action) {
+        final Miss miss = new Miss(new DateTime(),
+                                   watch._level,
+                                   watch._desc.getId(),
+                                   watch._executionId,
+                                   kind,
+                                   action);
+        (TIMEOUT.equals(kind) ? TIMEOUTS : FINISH_BY_MISSES).inc();
+        logger.warn(miss.getDescription());
+        record(miss);
+        alert(watch._desc, miss);
+
+        if(action == SlaAction.ALERT)
+            return;
+        _cancels.execute(new Runnable() {
+
+            public void run() {
+                try {
+                    if(action == SlaAction.CANCEL_FLOW && "job".equals(watch._level))
+                        cancelFlow(watch._executionId);
+                    else
+                        watch._cancel.run();
+                } catch(Exception e) {
+                    logger.error("Could not cancel after " + miss.getDescription(), e);
+                }
+            }
+        });
+    }
+
+    private void cancelFlow(String executionId) throws Exception {
+        Scheduler scheduler = _scheduler;
+        if(scheduler == null || executionId == null)
+            throw new IllegalStateException("The job doesn't run in a flow that can be canceled.");
+        scheduler.cancel(executionId);
+    }
+
+    private void alert(JobDescriptor desc, final Miss miss) {
+        List<String> emails = desc.getEmailNotificationList();
+        if((emails == null || emails.isEmpty()) && _defaultEmail != null)
+            emails = Arrays.asList(_defaultEmail);
+        if(_notifications == null || emails == null || emails.isEmpty())
+            return;
+
+        _notifications.enqueue(desc.getSenderEmail(),
+                               emails,
+                               "SLA missed by " + miss.getLevel() + " '" + miss.getName() + "'",
+                               new Callable<String>() {
+
+                                   public String call() {
+                                       return miss.getDescription() + "\n";
+                                   }
+                               });
+    }
+
+    private void record(Miss miss) {
+        synchronized(_recentMisses) {
+            _recentMisses.add(miss);
+            if(_recentMisses.size() > MAX_RECENT_MISSES)
+                _recentMisses.removeFirst();
+
+            Writer writer = null;
+            try {
+                _historyFile.getParentFile().mkdirs();
+                writer = new FileWriter(_historyFile, true);
+                writer.write(miss.toLine() + "\n");
+            } catch(IOException e) {
+                logger.error("Could not record " + miss.getDescription() + " in " + _historyFile, e);
+            } finally {
+                IOUtils.closeQuietly(writer);
+            }
+        }
+    }
+
+    private void loadHistory() {
+        if(!_historyFile.exists())
+            return;
+        BufferedReader reader = null;
+        try {
+            reader = new BufferedReader(new FileReader(_historyFile));
+            for(String line = reader.readLine(); line != null; line = reader.readLine()) {
+                Miss miss = Miss.parse(line);
+                if(miss == null)
+                    continue;
+                _recentMisses.add(miss);
+                if(_recentMisses.size() > MAX_RECENT_MISSES)
+                    _recentMisses.removeFirst();
+            }
+        } catch(IOException e) {
+            logger.error("Could not load the SLA history from " + _historyFile, e);
+        } finally {
+            IOUtils.closeQuietly(reader);
+        }
+    }
+
+    /**
+     * The bounds being enforced on one run
+     */
+    public class Watch {
+
+        private final String _level;
+        private final JobDescriptor _desc;
+        private final String _executionId;
+        private final Runnable _cancel;
+        private final List<HashedWheelTimer.Timeout> _timeouts = new ArrayList<HashedWheelTimer.Timeout>();
+        private final List<String> _missed = Collections.synchronizedList(new ArrayList<String>());
+
+        private Watch(String level, JobDescriptor desc, String executionId, Runnable cancel) {
+            _level = level;
+            _desc = desc;
+            _executionId = executionId;
+            _cancel = cancel;
+        }
+
+        private void add(final String kind, final SlaAction action, long delayMs) {
+            _timeouts.add(_timer.schedule(new Runnable() {
+
+                public void run() {
+                    _missed.add(kind);
+                    missed(Watch.this, kind, action);
+                }
+            }, delayMs));
+        }
+
+        /**
+         * Stop enforcing the bounds, the run has ended
+         */
+        public void finished() {
+            for(HashedWheelTimer.Timeout timeout: _timeouts)
+                timeout.cancel();
+        }
+
+        /**
+         * @return The kinds of bounds missed so far, timeout or finish.by
+         */
+        public List<String> getMissed() {
+            return new ArrayList<String>(_missed);
+        }
+    }
+
+    /**
+     * A run past one of its bounds
+     */
+    public static class Miss {
+
+        private final DateTime _time;
+        private final String _level;
+        private final String _name;
+        private final String _executionId;
+        private final String _kind;
+        private final SlaAction _action;
+
+        public Miss(DateTime time, String level, String name, String executionId, String kind, SlaAction action) {
+            _time = time;
+            _level = level;
+            _name = name;
+            _executionId = executionId;
+            _kind = kind;
+            _action = action;
+        }
+
+        public DateTime getTime() {
+            return _time;
+        }
+
+        /**
+         * @return job or flow
+         */
+        public String getLevel() {
+            return _level;
+        }
+
+        public String getName() {
+            return _name;
+        }
+
+        /**
+         * @return The id of the flow execution, or null
+         */
+        public String getExecutionId() {
+            return _executionId;
+        }
+
+        /**
+         * @return timeout or finish.by
+         */
+        public String getKind() {
+            return _kind;
+        }
+
+        public SlaAction getAction() {
+            return _action;
+        }
+
+        public String getDescription() {
+            return "The " + _level + " '" + _name + "'"
+                   + (_executionId == null ? "" : " of execution " + _executionId)
+                   + (TIMEOUT.equals(_kind) ? " ran past its timeout" : " wasn't finished by its sla.finish.by time")
+                   + " at " + _time + ", action " + _action.name().toLowerCase() + ".";
+        }
+
+        private String toLine() {
+            return _time.getMillis() + "\t" + _level + "\t" + _name + "\t"
+                   + (_executionId == null ? "" : _executionId) + "\t" + _kind + "\t" + _action;
+        }
+
+        private static Miss parse(String line) {
+            String[] fields = line.split("\t", -1);
+            if(fields.length != 6)
+                return null;
+            try {
+                return new Miss(new DateTime(Long.parseLong(fields[0])),
+                                fields[1],
+                                fields[2],
+                                fields[3].length() == 0 ? null : fields[3],
+                                fields[4],
+                                SlaAction.valueOf(fields[5]));
+            } catch(IllegalArgumentException e) {
+                return null;
+            }
+        }
+    }
+}
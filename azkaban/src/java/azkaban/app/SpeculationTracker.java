@@ -0,0 +1,276 @@
+/*
+ * Copyright 2010 LinkedIn, Inc
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package azkaban.app;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.log4j.Logger;
+
+import azkaban.common.jobs.Job;
+import azkaban.common.utils.Props;
+import azkaban.jobcontrol.impl.jobs.SpeculativeJob;
+import azkaban.jobs.AbstractProcessJob;
+import azkaban.util.metrics.Counter;
+import azkaban.util.metrics.Metrics;
+
+import com.google.common.base.Function;
+
+/**
+ * Decides when jobs with speculative=true get a speculative attempt, sets the
+ * attempts up and keeps count of how they went.
+ * 
+ * A job is a straggler once it has run longer than a percentile of the
+ * durations of its recent successful runs, as found in the log directory.
+ * Its speculative attempt runs in a copy of its working directory, made in
+ * the work directory and deleted when the run is over.
+ * 
+ * The time saved by a speculative attempt that wins can't be measured, since
+ * the original attempt is cancelled. It is estimated as the mean of the past
+ * durations longer than the time the original had run, minus that time, and
+ * is 0 if there are none.
+ */
+public class SpeculationTracker {
+
+    private static final Logger logger = Logger.getLogger(SpeculationTracker.class);
+
+    private static final int MAX_HISTORY = 50;
+    private static final long HISTORY_REFRESH_MS = 10 * 60 * 1000;
+
+    private static final Counter WON = Metrics.getDefault().counter(
+            "azkaban_speculative_attempts_total", "Speculative attempts of straggling jobs", "result", "won");
+    private static final Counter LOST = Metrics.getDefault().counter(
+            "azkaban_speculative_attempts_total", "Speculative attempts of straggling jobs", "result", "lost");
+    private static final Counter SAVED_MS = Metrics.getDefault().counter(
+            "azkaban_speculative_saved_ms_total", "Estimated time saved by speculative attempts that won");
+
+    private final File _logDir;
+    private final File _workDir;
+    private final AtomicInteger _attemptCount = new AtomicInteger(0);
+    private final ConcurrentMap<String, History> _histories = new ConcurrentHashMap<String, History>();
+    private final ConcurrentMap<String, Stats> _stats = new ConcurrentHashMap<String, Stats>();
+
+    /**
+     * @param logDir The directory jobs log their runs to
+     * @param workDir The directory to make the working directories of
+     *        speculative attempts in
+     */
+    public SpeculationTracker(File logDir, File workDir) {
+        _logDir = logDir;
+        _workDir = workDir;
+    }
+
+    /**
+     * Get how long a run of a job can take before it gets a speculative
+     * attempt
+     * 
+     * @param desc The descriptor of the job
+     * @return The threshold in ms, or -1 if the job hasn't succeeded often
+     *         enough to tell
+     */
+    public long getThresholdMs(JobDescriptor desc) {
+        List<Long> durations = getDurations(desc.getId());
+        if(durations.size() < desc.getSpeculativeMinRuns())
+            return -1;
+
+        List<Long> sorted = new ArrayList<Long>(durations);
+        Collections.sort(sorted);
+        int index = (int) Math.ceil(desc.getSpeculativePercentile() / 100.0 * sorted.size()) - 1;
+        long percentile = sorted.get(Math.max(0, Math.min(sorted.size() - 1, index)));
+        return Math.max(percentile, desc.getSpeculativeMinMs());
+    }
+
+    /**
+     * Create what launches the speculative attempt of a run
+     * 
+     * @param desc The descriptor of the job, as loaded for the run
+     * @param constructor Makes a job from a descriptor, without any wrappers
+     * @return The backup
+     */
+    public SpeculativeJob.Backup newBackup(final JobDescriptor desc,
+                                           final Function<JobDescriptor, Job> constructor) {
+        return new SpeculativeJob.Backup() {
+
+            private volatile File _dir;
+
+            public Job create() throws Exception {
+                File source = new File(desc.getResolvedProps()
+                                           .getString(AbstractProcessJob.WORKING_DIR,
+                                                      new File(desc.getFullPath()).getParent()));
+                _dir = new File(_workDir, desc.getId() + "-" + System.currentTimeMillis() + "-"
+                                          + _attemptCount.incrementAndGet());
+                copyFiles(source, _dir);
+
+                Props props = new Props(desc.getProps());
+                props.put(AbstractProcessJob.WORKING_DIR, _dir.getAbsolutePath());
+                return constructor.apply(new JobDescriptor(desc.getId(),
+                                                           desc.getPath(),
+                                                           desc.getFullPath(),
+                                                           props,
+                                                           desc.getClassLoader()));
+            }
+
+            public void done(boolean launched, boolean speculativeWon, long originalMs, long backupMs) {
+                if(launched)
+                    recordRun(desc.getId(), speculativeWon, originalMs, backupMs);
+                if(_dir != null) {
+                    try {
+                        FileUtils.deleteDirectory(_dir);
+                    } catch(IOException e) {
+                        logger.warn("Couldn't delete the speculative working directory " + _dir, e);
+                    }
+                }
+            }
+        };
+    }
+
+    /**
+     * @return The speculative attempts of a job since startup, null if there
+     *         were none
+     */
+    public Stats getStats(String jobId) {
+        return _stats.get(jobId);
+    }
+
+    private void recordRun(String jobId, boolean speculativeWon, long originalMs, long backupMs) {
+        Stats stats = _stats.get(jobId);
+        if(stats == null) {
+            _stats.putIfAbsent(jobId, new Stats());
+            stats = _stats.get(jobId);
+        }
+
+        if(speculativeWon) {
+            long saved = estimateSavedMs(jobId, originalMs);
+            WON.inc();
+            SAVED_MS.inc(saved);
+            stats._won.incrementAndGet();
+            stats._savedMs.addAndGet(saved);
+        } else {
+            LOST.inc();
+            stats._lost.incrementAndGet();
+            stats._wastedMs.addAndGet(backupMs);
+        }
+    }
+
+    private long estimateSavedMs(String jobId, long originalMs) {
+        long total = 0;
+        int count = 0;
+        for(Long duration: getDurations(jobId)) {
+            if(duration > originalMs) {
+                total += duration;
+                count++;
+            }
+        }
+        return count == 0 ? 0 : total / count - originalMs;
+    }
+
+    private List<Long> getDurations(String jobId) {
+        History history = _histories.get(jobId);
+        long now = System.currentTimeMillis();
+        if(history != null && now - history._loaded < HISTORY_REFRESH_MS)
+            return history._durations;
+
+        List<Long> durations = new ArrayList<Long>();
+        try {
+            for(JobExecution exec: JobManager.loadJobExecutions(_logDir, jobId)) {
+                if(durations.size() >= MAX_HISTORY)
+                    break;
+                if(exec.isSucceeded() && exec.hasEnded())
+                    durations.add(exec.getEnded().getMillis() - exec.getStarted().getMillis());
+            }
+        } catch(IOException e) {
+            logger.warn("Couldn't load the past runs of job " + jobId, e);
+        }
+        _histories.put(jobId, new History(now, durations));
+        return durations;
+    }
+
+    private static void copyFiles(File source, File dest) throws IOException {
+        File[] files = source.listFiles();
+        if(files == null)
+            throw new IOException("Can't list the working directory " + source);
+        if(!dest.mkdirs())
+            throw new IOException("Can't create the speculative working directory " + dest);
+        for(File file: files) {
+            if(file.isFile())
+                FileUtils.copyFileToDirectory(file, dest, true);
+        }
+    }
+
+    private static class History {
+
+        private final long _loaded;
+        private final List<Long> _durations;
+
+        private History(long loaded, List<Long> durations) {
+            _loaded = loaded;
+            _durations = durations;
+        }
+    }
+
+    /**
+     * The speculative attempts of a job
+     */
+    public static class Stats {
+
+        private final AtomicLong _won = new AtomicLong(0);
+        private final AtomicLong _lost = new AtomicLong(0);
+        private final AtomicLong _savedMs = new AtomicLong(0);
+        private final AtomicLong _wastedMs = new AtomicLong(0);
+
+        public long getLaunched() {
+            return getWon() + getLost();
+        }
+
+        /**
+         * @return The speculative attempts that finished first
+         */
+        public long getWon() {
+            return _won.get();
+        }
+
+        /**
+         * @return The speculative attempts cancelled because the original
+         *         finished first
+         */
+        public long getLost() {
+            return _lost.get();
+        }
+
+        /**
+         * @return The estimated time the speculative attempts that won saved
+         */
+        public long getSavedMs() {
+            return _savedMs.get();
+        }
+
+        /**
+         * @return The time the speculative attempts that lost ran for nothing
+         */
+        public long getWastedMs() {
+            return _wastedMs.get();
+        }
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright 2010 LinkedIn, Inc
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package azkaban.app;
+
+import org.joda.time.DateTime;
+
+/**
+ * A condition that starts a flow when it is met, alongside or instead of a
+ * time schedule.
+ * 
+ * A FILE trigger is met when its path exists, locally or in HDFS, and is newer
+ * than when the trigger last fired, so a marker that is rewritten for each new
+ * batch of data starts the flow once per batch. A FLOW trigger is met when
+ * the named flow succeeds, and an EVENT trigger when an event of the given
+ * name is posted.
+ */
+public class Trigger {
+
+    public enum Type {
+        FILE, FLOW, EVENT
+    }
+
+    private final long _id;
+    private final String _flowName;
+    private final Type _type;
+    private final String _target;
+    // for a FILE trigger the modification time of the file it last fired for,
+    // otherwise when it last fired
+    private volatile long _lastFired;
+    private volatile long _numFired;
+
+    public Trigger(long id, String flowName, Type type, String target, long lastFired, long numFired) {
+        if(flowName == null || flowName.trim().length() == 0)
+            throw new IllegalArgumentException("A trigger needs a flow to start.");
+        if(target == null || target.trim().length() == 0)
+            throw new IllegalArgumentException("A " + type + " trigger needs something to wait for.");
+        if(type == Type.FLOW && target.trim().equals(flowName.trim()))
+            throw new IllegalArgumentException("Flow " + flowName + " can't trigger itself.");
+
+        _id = id;
+        _flowName = flowName.trim();
+        _type = type;
+        _target = target.trim();
+        _lastFired = lastFired;
+        _numFired = numFired;
+    }
+
+    public long getId() {
+        return _id;
+    }
+
+    public String getFlowName() {
+        return _flowName;
+    }
+
+    public Type getType() {
+        return _type;
+    }
+
+    /**
+     * @return The path of a FILE trigger, the flow of a FLOW trigger, or the
+     *         event name of an EVENT trigger
+     */
+    public String getTarget() {
+        return _target;
+    }
+
+    public long getLastFired() {
+        return _lastFired;
+    }
+
+    /**
+     * @return When the trigger last fired, or null if it never did
+     */
+    public DateTime getLastFiredTime() {
+        return _numFired == 0 ? null : new DateTime(_lastFired);
+    }
+
+    public long getNumFired() {
+        return _numFired;
+    }
+
+    void fired(long time) {
+        _lastFired = time;
+        _numFired++;
+    }
+
+    @Override
+    public String toString() {
+        return _type + " trigger " + _id + " of " + _flowName + " on " + _target;
+    }
+}
@@ -0,0 +1,409 @@
+/*
+ * Copyright 2010 LinkedIn, Inc
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package azkaban.app;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.FileStatus;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.log4j.Logger;
+
+import azkaban.common.utils.Props;
+import azkaban.flow.FlowManager;
+import azkaban.flow.Status;
+import azkaban.util.metrics.Counter;
+import azkaban.util.metrics.Metrics;
+
+/**
+ * Starts flows when their triggers are met.
+ * 
+ * The FILE triggers are checked by one poller for all of them rather than by
+ * a sleeping job per wait. Each round lists the directories holding the
+ * watched files, once per directory however many triggers watch files in it,
+ * and lists at most a fixed number of directories; the others wait for the
+ * next rounds. FLOW triggers are told by the scheduler when a flow finishes,
+ * EVENT triggers by whoever posts the event.
+ * 
+ * The triggers and when they last fired are kept in a file, so a restart
+ * neither loses them nor fires them again for files they already fired for.
+ */
+public class TriggerManager {
+
+    private static final Logger logger = Logger.getLogger(TriggerManager.class);
+
+    private static final String SUCCESS_MARKER = "_SUCCESS";
+
+    private static final Counter LISTINGS = Metrics.getDefault()
+                                                   .counter("azkaban_trigger_listings_total",
+                                                            "Directories listed to check file triggers");
+
+    private final FlowManager _flows;
+    private final Scheduler _scheduler;
+    private final Configuration _conf;
+    private final File _stateFile;
+    private final int _maxListings;
+    private final AtomicLong _nextId = new AtomicLong(1);
+    private final Map<Long, Trigger> _triggers = new LinkedHashMap<Long, Trigger>();
+    private final ScheduledExecutorService _poller;
+    // where the last round stopped listing directories
+    private int _nextDir = 0;
+    private long _numListings = 0;
+
+    /**
+     * @param flows The flows to start
+     * @param scheduler Runs the flows, following their concurrent policies
+     * @param conf The hadoop configuration, whose default filesystem holds the
+     *        paths without a scheme
+     * @param stateFile Where the triggers are kept
+     * @param pollMs The time between rounds of checking files, or 0 to only
+     *        check when poll() is called
+     * @param maxListings The most directories listed in a round
+     */
+    public TriggerManager(FlowManager flows,
+                          Scheduler scheduler,
+                          Configuration conf,
+                          File stateFile,
+                          long pollMs,
+                          int maxListings) {
+        if(maxListings < 1)
+            throw new IllegalArgumentException("A round must list at least one directory.");
+        _flows = flows;
+        _scheduler = scheduler;
+        _conf = conf;
+        _stateFile = stateFile;
+        _maxListings = maxListings;
+        load();
+
+        _poller = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+
+            public Thread newThread(Runnable r) {
+                Thread thread = new Thread(r, "trigger-poller");
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+        if(pollMs > 0) {
+            _poller.scheduleWithFixedDelay(new Runnable() {
+
+                public void run() {
+                    try {
+                        poll();
+                    } catch(RuntimeException e) {
+                        logger.warn("Exception while checking file triggers.", e);
+                    }
+                }
+            }, pollMs, pollMs, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Add a trigger. A FILE trigger on a path ending in / waits for the
+     * _SUCCESS marker in that directory.
+     * 
+     * @param flowName The flow to start
+     * @param type What the trigger waits for
+     * @param target The path, flow or event name it waits for
+     * @return The trigger
+     */
+    public Trigger add(String flowName, Trigger.Type type, String target) {
+        // fail fast if there is no such flow
+        if(!_flows.hasFlow(flowName))
+            throw new IllegalArgumentException("No flow named " + flowName);
+        if(type == Trigger.Type.FILE && target != null && target.trim().endsWith("/"))
+            target = target.trim() + SUCCESS_MARKER;
+
+        Trigger trigger = new Trigger(_nextId.getAndIncrement(), flowName, type, target, 0, 0);
+        synchronized(_triggers) {
+            _triggers.put(trigger.getId(), trigger);
+        }
+        logger.info("Added " + trigger);
+        save();
+        return trigger;
+    }
+
+    /**
+     * @return true if there was a trigger with the given id
+     */
+    public boolean remove(long id) {
+        Trigger trigger;
+        synchronized(_triggers) {
+            trigger = _triggers.remove(id);
+        }
+        if(trigger == null)
+            return false;
+        logger.info("Removed " + trigger);
+        save();
+        return true;
+    }
+
+    public Trigger getTrigger(long id) {
+        synchronized(_triggers) {
+            return _triggers.get(id);
+        }
+    }
+
+    public List<Trigger> getTriggers() {
+        synchronized(_triggers) {
+            return new ArrayList<Trigger>(_triggers.values());
+        }
+    }
+
+    /**
+     * Fire the EVENT triggers waiting for the named event
+     * 
+     * @return The ids of the executions started
+     */
+    public List<String> postEvent(String name) {
+        List<String> started = new ArrayList<String>();
+        for(Trigger trigger: getTriggers(Trigger.Type.EVENT)) {
+            if(trigger.getTarget().equals(name)) {
+                String id = fire(trigger, System.currentTimeMillis());
+                if(id != null)
+                    started.add(id);
+            }
+        }
+        if(started.size() > 0)
+            save();
+        return started;
+    }
+
+    /**
+     * Fire the FLOW triggers waiting for the named flow, if it succeeded
+     */
+    public void flowCompleted(String flowName, Status status) {
+        if(status != Status.SUCCEEDED)
+            return;
+        boolean fired = false;
+        for(Trigger trigger: getTriggers(Trigger.Type.FLOW)) {
+            if(trigger.getTarget().equals(flowName))
+                fired |= fire(trigger, System.currentTimeMillis()) != null;
+        }
+        if(fired)
+            save();
+    }
+
+    /**
+     * Check the FILE triggers in the next directories due, and fire those
+     * whose file appeared or changed since they last fired
+     */
+    public void poll() {
+        // the triggers by the directory of the file they wait for
+        Map<Path, List<Trigger>> byDir = new LinkedHashMap<Path, List<Trigger>>();
+        for(Trigger trigger: getTriggers(Trigger.Type.FILE)) {
+            Path dir;
+            try {
+                dir = qualify(new Path(trigger.getTarget())).getParent();
+            } catch(IllegalArgumentException e) {
+                logger.warn("Couldn't check " + trigger, e);
+                continue;
+            }
+            if(dir == null)
+                continue;
+            List<Trigger> inDir = byDir.get(dir);
+            if(inDir == null) {
+                inDir = new ArrayList<Trigger>();
+                byDir.put(dir, inDir);
+            }
+            inDir.add(trigger);
+        }
+        if(byDir.isEmpty())
+            return;
+
+        List<Path> dirs = new ArrayList<Path>(byDir.keySet());
+        int first;
+        int numDirs = Math.min(dirs.size(), _maxListings);
+        synchronized(this) {
+            first = _nextDir % dirs.size();
+            _nextDir = first + numDirs;
+        }
+
+        boolean fired = false;
+        for(int i = 0; i < numDirs; i++) {
+            Path dir = dirs.get((first + i) % dirs.size());
+            Map<Path, FileStatus> files = list(dir);
+            for(Trigger trigger: byDir.get(dir)) {
+                FileStatus status;
+                try {
+                    status = files.get(qualify(new Path(trigger.getTarget())));
+                } catch(IllegalArgumentException e) {
+                    logger.warn("Couldn't check " + trigger, e);
+                    continue;
+                }
+                if(status != null && status.getModificationTime() > trigger.getLastFired())
+                    fired |= fire(trigger, status.getModificationTime()) != null;
+            }
+        }
+        if(fired)
+            save();
+    }
+
+    /**
+     * @return The number of directory listings made so far
+     */
+    public synchronized long getNumListings() {
+        return _numListings;
+    }
+
+    public void shutdown() {
+        _poller.shutdownNow();
+    }
+
+    private List<Trigger> getTriggers(Trigger.Type type) {
+        List<Trigger> triggers = new ArrayList<Trigger>();
+        for(Trigger trigger: getTriggers()) {
+            if(trigger.getType() == type)
+                triggers.add(trigger);
+        }
+        return triggers;
+    }
+
+    private Path qualify(Path path) {
+        try {
+            return path.makeQualified(getFileSystem(path));
+        } catch(IOException e) {
+            throw new IllegalArgumentException("Can't resolve the filesystem of " + path, e);
+        }
+    }
+
+    // filesystems are only connected to when a trigger needs them, so an
+    // unreachable namenode doesn't keep the other triggers from working
+    private FileSystem getFileSystem(Path path) throws IOException {
+        return path.getFileSystem(_conf);
+    }
+
+    private Map<Path, FileStatus> list(Path dir) {
+        synchronized(this) {
+            _numListings++;
+        }
+        LISTINGS.inc();
+
+        Map<Path, FileStatus> files = new HashMap<Path, FileStatus>();
+        try {
+            FileSystem fs = getFileSystem(dir);
+            FileStatus[] statuses = fs.listStatus(dir);
+            // null if the directory doesn't exist yet
+            if(statuses != null) {
+                for(FileStatus status: statuses)
+                    files.put(status.getPath().makeQualified(fs), status);
+            }
+        } catch(IOException e) {
+            logger.warn("Couldn't list " + dir + " for file triggers.", e);
+        }
+        return files;
+    }
+
+    private static Counter firedCounter(Trigger.Type type) {
+        return Metrics.getDefault().counter("azkaban_triggers_fired_total",
+                                            "Flows started by triggers",
+                                            "type",
+                                            type.toString().toLowerCase());
+    }
+
+    /**
+     * Start the flow of a trigger. The trigger only counts as fired once the
+     * flow started, so one that failed to start is tried again the next round.
+     * 
+     * @param time What the trigger fired for
+     * @return The id of the execution, or null if it couldn't be started
+     */
+    private String fire(Trigger trigger, long time) {
+        try {
+            String id = _scheduler.runNow(trigger.getFlowName(), false, null);
+            trigger.fired(time);
+            logger.info("Started execution " + id + " of " + trigger.getFlowName() + " for " + trigger);
+            firedCounter(trigger.getType()).inc();
+            return id;
+        } catch(RuntimeException e) {
+            logger.warn("Failed to start the flow of " + trigger, e);
+            return null;
+        }
+    }
+
+    private void load() {
+        if(!_stateFile.exists())
+            return;
+
+        Props props;
+        try {
+            props = new Props(null, _stateFile.getAbsolutePath());
+        } catch(IOException e) {
+            throw new RuntimeException("Error loading triggers from " + _stateFile, e);
+        }
+
+        long maxId = 0;
+        for(String key: props.getKeySet()) {
+            if(!key.endsWith(".flow"))
+                continue;
+            String prefix = key.substring(0, key.length() - ".flow".length());
+            try {
+                Trigger trigger = new Trigger(Long.parseLong(prefix),
+                                              props.getString(key),
+                                              Trigger.Type.valueOf(props.getString(prefix + ".type")),
+                                              props.getString(prefix + ".target"),
+                                              props.getLong(prefix + ".last.fired", 0),
+                                              props.getLong(prefix + ".num.fired", 0));
+                _triggers.put(trigger.getId(), trigger);
+                maxId = Math.max(maxId, trigger.getId());
+            } catch(RuntimeException e) {
+                logger.warn("Error loading trigger " + prefix + " from " + _stateFile, e);
+            }
+        }
+        _nextId.set(maxId + 1);
+        logger.info("Loaded " + _triggers.size() + " triggers from " + _stateFile);
+    }
+
+    private synchronized void save() {
+        Props props = new Props();
+        for(Trigger trigger: getTriggers()) {
+            String prefix = String.valueOf(trigger.getId());
+            props.put(prefix + ".flow", trigger.getFlowName());
+            props.put(prefix + ".type", trigger.getType().toString());
+            props.put(prefix + ".target", trigger.getTarget());
+            props.put(prefix + ".last.fired", String.valueOf(trigger.getLastFired()));
+            props.put(prefix + ".num.fired", String.valueOf(trigger.getNumFired()));
+        }
+
+        // written aside and moved in place so a crash leaves the old state
+        File temp = new File(_stateFile.getPath() + ".tmp");
+        try {
+            if(_stateFile.getParentFile() != null)
+                _stateFile.getParentFile().mkdirs();
+            props.storeLocal(temp);
+            if(!temp.renameTo(_stateFile)) {
+                _stateFile.delete();
+                if(!temp.renameTo(_stateFile))
+                    throw new IOException("Couldn't move " + temp + " to " + _stateFile);
+            }
+        } catch(IOException e) {
+            logger.warn("Error saving triggers to " + _stateFile, e);
+        }
+    }
+}
@@ -19,59 +19,122 @@ package azkaban.flow;
 import azkaban.common.utils.Props;
 import azkaban.flow.ExecutableFlow;
 import azkaban.flow.Flow;
+import azkaban.util.metrics.Counter;
+import azkaban.util.metrics.Gauge;
+import azkaban.util.metrics.Metrics;
 import org.apache.log4j.Logger;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * A FlowManager that caches ExecutableFlows.
  *
  * That is, if "createNewExecutableFlow()" generated a Flow with id 2, subsequent calls to loadExecutableFlow(2) would
  * return the same instance.
+ *
+ * Executions are kept in three tiers:
+ *
+ * 1) Executions started through this manager are pinned until they complete, they are never evicted.
+ * 2) Other executions, and pinned ones once they complete, are cached up to a total estimated size in bytes.  When
+ *    the cache is over its size the least recently used executions are evicted, except running ones which are pinned
+ *    instead.
+ * 3) Evicted executions leave an ExecutionSummary behind, in a cache bounded by count.
+ *
+ * Lookups don't lock.
  */
 public class CachingFlowManager implements FlowManager
 {
     private static final Logger log = Logger.getLogger(CachingFlowManager.class);
 
+    // rough sizes, in bytes, for estimating the weight of an execution
+    private static final long HOLDER_BYTES = 512;
+    private static final long JOB_BYTES = 512;
+    private static final long PROPERTY_BYTES = 160;
+    private static final long EXCEPTION_BYTES = 4096;
+
+    // evict down to this fraction of the maximum weight, so evictions come in batches
+    private static final double EVICT_TO = 0.9;
+
+    private static final Counter PINNED_HITS = Metrics.getDefault().counter(
+            "azkaban_flow_cache_requests_total", "Executions looked up in the flow cache", "result", "pinned"
+    );
+    private static final Counter CACHE_HITS = Metrics.getDefault().counter(
+            "azkaban_flow_cache_requests_total", "Executions looked up in the flow cache", "result", "hit"
+    );
+    private static final Counter SUMMARY_HITS = Metrics.getDefault().counter(
+            "azkaban_flow_cache_requests_total", "Executions looked up in the flow cache", "result", "summary"
+    );
+    private static final Counter CACHE_MISSES = Metrics.getDefault().counter(
+            "azkaban_flow_cache_requests_total", "Executions looked up in the flow cache", "result", "miss"
+    );
+    private static final Counter EVICTIONS = Metrics.getDefault().counter(
+            "azkaban_flow_cache_evictions_total", "Executions evicted from the flow cache to a summary"
+    );
+
     private final FlowManager baseManager;
-    private final Map<String, FlowExecutionHolder> flowCache;
+    private final long maxBytes;
+
+    private final ConcurrentMap<String, FlowExecutionHolder> pinned;
+    private final ConcurrentMap<String, CachedExecution> cached;
+    private final AtomicLong cachedBytes = new AtomicLong(0);
+    private final AtomicLong accessClock = new AtomicLong(0);
+    private final Map<String, ExecutionSummary> summaries;
+    private final Object evictionLock = new Object();
 
-    public CachingFlowManager(FlowManager baseManager, final int cacheSize)
+    /**
+     * @param baseManager The manager to load executions from
+     * @param maxBytes The most bytes, estimated, of executions to cache, not counting running ones
+     * @param maxSummaries The most summaries of evicted executions to keep
+     */
+    public CachingFlowManager(FlowManager baseManager, long maxBytes, final int maxSummaries)
     {
         this.baseManager = baseManager;
-
-        this.flowCache = Collections.synchronizedMap(
-                new LinkedHashMap<String, FlowExecutionHolder>((int) (cacheSize * 1.5), 0.75f, true){
+        this.maxBytes = maxBytes;
+        this.pinned = new ConcurrentHashMap<String, FlowExecutionHolder>();
+        this.cached = new ConcurrentHashMap<String, CachedExecution>();
+        this.summaries = Collections.synchronizedMap(
+                new LinkedHashMap<String, ExecutionSummary>(16, 0.75f, true){
                     @Override
-                    protected boolean removeEldestEntry(Map.Entry<String, FlowExecutionHolder> eldest)
+                    protected boolean removeEldestEntry(Map.Entry<String, ExecutionSummary> eldest)
                     {
-                        final boolean tooManyElements = super.size() > cacheSize;
-
-                        if (tooManyElements) {
-                            final Status status = eldest.getValue().getFlow().getStatus();
-
-                            if (status != Status.RUNNING) {
-                                return true;
-                            }
-                            else {
-                                log.warn(String.format(
-                                        "Cache is at size[%s] and should have evicted an entry, but the oldest entry wasn't completed[%s].  Perhaps the cache size is too small",
-                                        super.size(),
-                                        status
-                                ));
-                            }
-                        }
-
-                        return false;
+                        return super.size() > maxSummaries;
                     }
                 }
         );
+
+        Metrics.getDefault().register(new Gauge("azkaban_flow_cache_bytes", "Estimated bytes of cached executions") {
+            @Override
+            public double getValue()
+            {
+                return getCachedBytes();
+            }
+        });
+        registerSizeGauge("pinned", pinned);
+        registerSizeGauge("cached", cached);
+        registerSizeGauge("summary", summaries);
+    }
+
+    private void registerSizeGauge(String tier, final Map<?, ?> map)
+    {
+        Metrics.getDefault().register(new Gauge("azkaban_flow_cache_entries", "Executions in the flow cache", "tier", tier) {
+            @Override
+            public double getValue()
+            {
+                return map.size();
+            }
+        });
     }
 
     public boolean hasFlow(String name)
@@ -106,18 +169,31 @@ public class CachingFlowManager implements FlowManager
 
         return new WrappingExecutableFlow(retVal){
             @Override
-            public void execute(Props parentProperties, FlowCallback callback) {
-
-                if (! flowCache.containsKey(getId())) {
-                    addToCache(
-                            new FlowExecutionHolder(
-                                    retVal,
-                                    parentProperties
-                            )
-                    );
+            public void execute(Props parentProperties, final FlowCallback callback) {
+                final String id = getId();
+
+                CachedExecution entry = removeCached(id);
+                FlowExecutionHolder holder = entry == null ? null : entry.holder;
+                if (holder == null) {
+                    holder = new FlowExecutionHolder(retVal, parentProperties);
                 }
+                pinned.putIfAbsent(id, holder);
+
+                super.execute(parentProperties, new FlowCallback()
+                {
+                    @Override
+                    public void progressMade()
+                    {
+                        callback.progressMade();
+                    }
 
-                super.execute(parentProperties, callback);
+                    @Override
+                    public void completed(Status status)
+                    {
+                        unpin(id);
+                        callback.completed(status);
+                    }
+                });
             }
         };
     }
@@ -132,6 +208,11 @@ public class CachingFlowManager implements FlowManager
         return baseManager.getCurrMaxId();
     }
 
+    public long getVersion()
+    {
+        return baseManager.getVersion();
+    }
+
     public FlowExecutionHolder saveExecutableFlow(FlowExecutionHolder holder)
     {
         return baseManager.saveExecutableFlow(holder);
@@ -139,16 +220,40 @@ public class CachingFlowManager implements FlowManager
 
     public FlowExecutionHolder loadExecutableFlow(long id)
     {
-        final FlowExecutionHolder executableFlow = flowCache.get(String.valueOf(id));
+        final FlowExecutionHolder executableFlow = getCached(String.valueOf(id));
         if (executableFlow != null) {
             return executableFlow;
         }
+        CACHE_MISSES.inc();
 
         final FlowExecutionHolder retVal = baseManager.loadExecutableFlow(id);
 
-        addToCache(retVal);
+        return addToCache(retVal);
+    }
 
-        return retVal;
+    /**
+     * Get the summary of an execution, without loading it if it was evicted.
+     *
+     * @param id The id of the execution
+     * @return The summary, or null if there is no such execution
+     */
+    public ExecutionSummary getExecutionSummary(long id)
+    {
+        final String key = String.valueOf(id);
+
+        FlowExecutionHolder holder = getCached(key);
+        if (holder != null) {
+            return new ExecutionSummary(holder.getFlow());
+        }
+
+        final ExecutionSummary summary = summaries.get(key);
+        if (summary != null) {
+            SUMMARY_HITS.inc();
+            return summary;
+        }
+
+        holder = loadExecutableFlow(id);
+        return holder == null ? null : new ExecutionSummary(holder.getFlow());
     }
 
     public void reload()
@@ -156,20 +261,199 @@ public class CachingFlowManager implements FlowManager
         baseManager.reload();
     }
 
-    private void addToCache(FlowExecutionHolder retVal)
+    /**
+     * @return The estimated bytes of the executions cached, not counting pinned ones
+     */
+    public long getCachedBytes()
+    {
+        return cachedBytes.get();
+    }
+
+    public int getNumPinned()
+    {
+        return pinned.size();
+    }
+
+    public int getNumCached()
+    {
+        return cached.size();
+    }
+
+    public int getNumSummaries()
+    {
+        return summaries.size();
+    }
+
+    private FlowExecutionHolder getCached(String key)
+    {
+        final FlowExecutionHolder pinnedHolder = pinned.get(key);
+        if (pinnedHolder != null) {
+            PINNED_HITS.inc();
+            return pinnedHolder;
+        }
+
+        final CachedExecution entry = cached.get(key);
+        if (entry != null) {
+            entry.lastAccess = accessClock.incrementAndGet();
+            CACHE_HITS.inc();
+            return entry.holder;
+        }
+
+        return null;
+    }
+
+    private FlowExecutionHolder addToCache(FlowExecutionHolder retVal)
     {
         if (retVal == null || retVal.getFlow() == null) {
-            return;
+            return retVal;
+        }
+
+        final String key = retVal.getFlow().getId();
+        final CachedExecution entry = new CachedExecution(retVal, estimateBytes(retVal), accessClock.incrementAndGet());
+        final CachedExecution existing = cached.putIfAbsent(key, entry);
+        if (existing != null) {
+            // someone else loaded it at the same time, keep one instance
+            return existing.holder;
+        }
+
+        summaries.remove(key);
+        if (cachedBytes.addAndGet(entry.bytes) > maxBytes) {
+            evict();
+        }
+
+        return retVal;
+    }
+
+    private CachedExecution removeCached(String key)
+    {
+        final CachedExecution entry = cached.remove(key);
+        if (entry != null) {
+            cachedBytes.addAndGet(-entry.bytes);
         }
+        return entry;
+    }
+
+    private void unpin(String key)
+    {
+        final FlowExecutionHolder holder = pinned.remove(key);
+        if (holder != null) {
+            addToCache(holder);
+        }
+    }
+
+    private void evict()
+    {
+        synchronized (evictionLock) {
+            if (cachedBytes.get() <= maxBytes) {
+                return;
+            }
+
+            final List<Map.Entry<String, CachedExecution>> entries =
+                    new ArrayList<Map.Entry<String, CachedExecution>>(cached.entrySet());
+            final Map<Map.Entry<String, CachedExecution>, Long> accessTimes =
+                    new IdentityHashMap<Map.Entry<String, CachedExecution>, Long>();
+            for (Map.Entry<String, CachedExecution> entry : entries) {
+                accessTimes.put(entry, entry.getValue().lastAccess);
+            }
+            Collections.sort(entries, new Comparator<Map.Entry<String, CachedExecution>>()
+            {
+                @Override
+                public int compare(Map.Entry<String, CachedExecution> a, Map.Entry<String, CachedExecution> b)
+                {
+                    return accessTimes.get(a).compareTo(accessTimes.get(b));
+                }
+            });
+
+            final long target = (long) (maxBytes * EVICT_TO);
+            for (Map.Entry<String, CachedExecution> entry : entries) {
+                if (cachedBytes.get() <= target) {
+                    break;
+                }
+
+                final String key = entry.getKey();
+                final CachedExecution value = entry.getValue();
+                if (!cached.remove(key, value)) {
+                    continue;
+                }
+                cachedBytes.addAndGet(-value.bytes);
+
+                final ExecutableFlow flow = value.holder.getFlow();
+                if (flow.getStatus() == Status.RUNNING) {
+                    // restarted outside of this manager, so nothing will unpin it, but it has to stay the same
+                    // instance while it runs
+                    log.info(String.format("Pinning running execution[%s] instead of evicting it.", key));
+                    pinned.putIfAbsent(key, value.holder);
+                }
+                else {
+                    summaries.put(key, new ExecutionSummary(flow));
+                    EVICTIONS.inc();
+                }
+            }
+        }
+
+        sweepPinned();
+    }
+
+    /**
+     * Unpins executions that completed without going through a callback of this manager
+     */
+    private void sweepPinned()
+    {
+        for (Map.Entry<String, FlowExecutionHolder> entry : pinned.entrySet()) {
+            final Status status = entry.getValue().getFlow().getStatus();
+            if (status != Status.RUNNING && status != Status.READY) {
+                unpin(entry.getKey());
+            }
+        }
+    }
+
+    /**
+     * @return A rough estimate of the memory held by an execution
+     */
+    static long estimateBytes(FlowExecutionHolder holder)
+    {
+        long bytes = HOLDER_BYTES + estimateBytes(holder.getParentProps());
+
+        // jobs can appear in several places of the tree
+        final Map<ExecutableFlow, Boolean> seen = new IdentityHashMap<ExecutableFlow, Boolean>();
+        final List<ExecutableFlow> toVisit = new ArrayList<ExecutableFlow>();
+        toVisit.add(holder.getFlow());
+        while (!toVisit.isEmpty()) {
+            final ExecutableFlow flow = toVisit.remove(toVisit.size() - 1);
+            if (seen.put(flow, Boolean.TRUE) != null) {
+                continue;
+            }
+
+            bytes += JOB_BYTES + 2 * flow.getName().length() + estimateBytes(flow.getReturnProps());
+            final Map<String, Throwable> exceptions = flow.getExceptions();
+            if (exceptions != null) {
+                bytes += EXCEPTION_BYTES * exceptions.size();
+            }
+            toVisit.addAll(flow.getChildren());
+            if (flow instanceof FanoutExecutableFlow) {
+                toVisit.addAll(((FanoutExecutableFlow) flow).getInstances());
+            }
+        }
+
+        return bytes;
+    }
+
+    private static long estimateBytes(Props props)
+    {
+        return props == null ? 0 : PROPERTY_BYTES * props.localSize();
+    }
+
+    private static class CachedExecution
+    {
+        private final FlowExecutionHolder holder;
+        private final long bytes;
+        private volatile long lastAccess;
 
-        if (flowCache.put(retVal.getFlow().getId(), retVal) != null) {
-            throw new IllegalStateException(
-                    String.format(
-                            "Attempted to add object to the cache but the id[%s] already existed.  Flow was [%s]",
-                            retVal.getFlow().getId(),
-                            retVal
-                    )
-            );
+        private CachedExecution(FlowExecutionHolder holder, long bytes, long lastAccess)
+        {
+            this.holder = holder;
+            this.bytes = bytes;
+            this.lastAccess = lastAccess;
         }
     }
 
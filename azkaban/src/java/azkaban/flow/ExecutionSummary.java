@@ -0,0 +1,101 @@
+/*
+ * Copyright 2010 LinkedIn, Inc
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package azkaban.flow;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.joda.time.DateTime;
+
+/**
+ * What is left in memory of a finished execution once its flow is no longer
+ * cached: enough to list it and to answer status polls, but not to view or
+ * restart it.
+ */
+public class ExecutionSummary
+{
+    private final String id;
+    private final String name;
+    private final Status status;
+    private final DateTime startTime;
+    private final DateTime endTime;
+    private final Map<String, Status> jobStatuses;
+
+    public ExecutionSummary(ExecutableFlow flow)
+    {
+        this.id = flow.getId();
+        this.name = flow.getName();
+        this.status = flow.getStatus();
+        this.startTime = flow.getStartTime();
+        this.endTime = flow.getEndTime();
+
+        Map<String, Status> statuses = new LinkedHashMap<String, Status>();
+        addStatuses(statuses, flow);
+        this.jobStatuses = Collections.unmodifiableMap(statuses);
+    }
+
+    private static void addStatuses(Map<String, Status> statuses, ExecutableFlow flow)
+    {
+        if (statuses.containsKey(flow.getName())) {
+            return;
+        }
+        statuses.put(flow.getName(), flow.getStatus());
+        for (ExecutableFlow child : flow.getChildren()) {
+            addStatuses(statuses, child);
+        }
+        // the instances of a fan-out aren't among its children
+        if (flow instanceof FanoutExecutableFlow) {
+            for (ExecutableFlow instance : ((FanoutExecutableFlow) flow).getInstances()) {
+                addStatuses(statuses, instance);
+            }
+        }
+    }
+
+    public String getId()
+    {
+        return id;
+    }
+
+    public String getName()
+    {
+        return name;
+    }
+
+    public Status getStatus()
+    {
+        return status;
+    }
+
+    public DateTime getStartTime()
+    {
+        return startTime;
+    }
+
+    public DateTime getEndTime()
+    {
+        return endTime;
+    }
+
+    /**
+     * @return The status of every job of the execution, by name
+     */
+    public Map<String, Status> getJobStatuses()
+    {
+        return jobStatuses;
+    }
+}
@@ -0,0 +1,592 @@
+/*
+ * Copyright 2010 LinkedIn, Inc
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package azkaban.flow;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+import org.apache.commons.lang.StringUtils;
+import org.apache.log4j.Logger;
+import org.joda.time.DateTime;
+
+import azkaban.app.JobDescriptor;
+import azkaban.app.JobManager;
+import azkaban.common.utils.Props;
+
+/**
+ * The executable flow of a job of type fanout. When it runs, it reads the
+ * list of items its dependencies returned in the property named by
+ * fanout.items, and runs an instance of the fanout.job template for each
+ * item, at most fanout.concurrency at a time. Each instance gets its item in
+ * the property named by fanout.item.prop, and its position in fanout.index.
+ *
+ * It is also the join of the instances: it succeeds once they all have, and
+ * returns each property they returned as the comma separated values of the
+ * instances, in the order of the items. It fails as soon as one of them fails.
+ *
+ * Like a single job it has no children, its dependencies are composed around
+ * it. The instances are kept apart from them, so that marking its dependencies
+ * completed leaves them be, and are kept when it is reset, so that running it
+ * again with the same items only reruns the instances that didn't succeed.
+ */
+public class FanoutExecutableFlow implements ExecutableFlow
+{
+    private static final Logger logger = Logger.getLogger(FanoutExecutableFlow.class);
+
+    public static final String INDEX_PROP = "fanout.index";
+
+    private final Object sync = new Object();
+    private final String id;
+    private final String name;
+    private final JobManager jobManager;
+
+    private volatile Status jobState;
+    private volatile List<FlowCallback> callbacksToCall;
+    private volatile DateTime startTime;
+    private volatile DateTime endTime;
+    private volatile Map<String, Throwable> exceptions = new HashMap<String, Throwable>();
+    private volatile Props parentProps;
+    private volatile Props returnProps;
+
+    private volatile List<String> items = Collections.emptyList();
+    private volatile List<IndividualJobExecutableFlow> instances = Collections.emptyList();
+    private String itemProp;
+    private int concurrency;
+    private int numRunning;
+    private boolean instanceFailed;
+
+    public FanoutExecutableFlow(String id, String name, JobManager jobManager)
+    {
+        this.id = id;
+        this.name = name;
+        this.jobManager = jobManager;
+
+        jobState = Status.READY;
+        callbacksToCall = new ArrayList<FlowCallback>();
+    }
+
+    @Override
+    public String getId()
+    {
+        return id;
+    }
+
+    @Override
+    public String getName()
+    {
+        return name;
+    }
+
+    @Override
+    public void execute(Props parentProps, FlowCallback callback)
+    {
+        if (parentProps == null) {
+            parentProps = new Props();
+        }
+
+        synchronized (sync) {
+            if (this.parentProps == null) {
+                this.parentProps = parentProps;
+            }
+            else if (jobState != Status.COMPLETED && ! this.parentProps.equalsProps(parentProps)) {
+                throw new IllegalArgumentException(
+                        String.format(
+                                "%s.execute() called with multiple differing parentProps objects. " +
+                                "Call reset() before executing again with a different Props object. this.parentProps[%s], parentProps[%s]",
+                                getClass().getSimpleName(),
+                                this.parentProps,
+                                parentProps
+                        )
+                );
+            }
+
+            switch (jobState) {
+                case READY:
+                    jobState = Status.RUNNING;
+                    startTime = new DateTime();
+                    instanceFailed = false;
+                    callbacksToCall.add(callback);
+                    break;
+                case RUNNING:
+                    callbacksToCall.add(callback);
+                    return;
+                case IGNORED:
+                    jobState = Status.COMPLETED;
+                    callback.completed(Status.SUCCEEDED);
+                    return;
+                case COMPLETED:
+                case SUCCEEDED:
+                    callback.completed(Status.SUCCEEDED);
+                    return;
+                case FAILED:
+                    callback.completed(Status.FAILED);
+                    return;
+            }
+        }
+
+        try {
+            expand(parentProps);
+        }
+        catch (RuntimeException e) {
+            logger.warn(String.format("Could not expand fan-out[%s]", getName()), e);
+            failed(e);
+            return;
+        }
+
+        launchInstances();
+    }
+
+    /**
+     * Create an instance per item, keeping the instances of an earlier run
+     * over the same items
+     */
+    private void expand(Props parentProps)
+    {
+        JobDescriptor desc = jobManager.getJobDescriptor(getName());
+        if (desc == null || ! desc.isFanout()) {
+            throw new IllegalStateException(String.format("Job[%s] is not a fan-out.", getName()));
+        }
+        if (! parentProps.containsKey(desc.getFanoutItems())) {
+            throw new IllegalStateException(
+                    String.format(
+                            "None of the dependencies of fan-out[%s] returned its items in [%s].",
+                            getName(),
+                            desc.getFanoutItems()
+                    )
+            );
+        }
+
+        List<String> newItems = new ArrayList<String>();
+        for (String item : parentProps.getStringList(desc.getFanoutItems())) {
+            if (item.trim().length() > 0) {
+                newItems.add(item.trim());
+            }
+        }
+
+        synchronized (sync) {
+            itemProp = desc.getFanoutItemProp();
+            concurrency = desc.getFanoutConcurrency();
+
+            if (newItems.equals(items) && instances.size() == items.size()) {
+                for (IndividualJobExecutableFlow instance : instances) {
+                    if (instance.getStatus() != Status.SUCCEEDED && instance.getStatus() != Status.COMPLETED) {
+                        instance.reset();
+                    }
+                }
+                return;
+            }
+
+            List<IndividualJobExecutableFlow> newInstances = new ArrayList<IndividualJobExecutableFlow>(newItems.size());
+            for (int i = 0; i < newItems.size(); i++) {
+                newInstances.add(new IndividualJobExecutableFlow(id, getName() + "." + i, desc.getFanoutJob(), jobManager));
+            }
+            items = Collections.unmodifiableList(newItems);
+            instances = Collections.unmodifiableList(newInstances);
+        }
+
+        logger.info(String.format("Fan-out[%s] runs job[%s] for %s items.", getName(), desc.getFanoutJob(), newItems.size()));
+    }
+
+    /**
+     * Start instances until as many run as allowed, and succeed once they all
+     * have. Once an instance failed no more are started, and the fan-out fails
+     * when the running ones are done, so that a retry never overlaps them.
+     */
+    private void launchInstances()
+    {
+        boolean fail;
+        while (true) {
+            int next = -1;
+            final Props instanceProps;
+            synchronized (sync) {
+                if (jobState != Status.RUNNING) {
+                    return;
+                }
+                if (instanceFailed) {
+                    if (numRunning > 0) {
+                        return;
+                    }
+                    fail = true;
+                    break;
+                }
+
+                boolean allSucceeded = true;
+                for (int i = 0; i < instances.size(); i++) {
+                    Status status = instances.get(i).getStatus();
+                    if (status != Status.SUCCEEDED && status != Status.COMPLETED) {
+                        allSucceeded = false;
+                    }
+                    if (next < 0 && status == Status.READY && numRunning < concurrency) {
+                        next = i;
+                    }
+                }
+
+                if (allSucceeded) {
+                    fail = false;
+                    break;
+                }
+                if (next < 0) {
+                    return;
+                }
+
+                numRunning++;
+                instanceProps = Props.of(
+                        parentProps,
+                        itemProp, items.get(next),
+                        INDEX_PROP, String.valueOf(next)
+                );
+            }
+
+            final IndividualJobExecutableFlow instance = instances.get(next);
+            try {
+                instance.execute(instanceProps, new InstanceCallback(instance));
+            }
+            catch (RuntimeException e) {
+                synchronized (sync) {
+                    numRunning--;
+                    instanceFailed = true;
+                    exceptions.put(getName(), e);
+                }
+            }
+        }
+
+        if (fail) {
+            failed(null);
+        }
+        else {
+            succeeded();
+        }
+    }
+
+    private void succeeded()
+    {
+        final List<FlowCallback> callbackList;
+        synchronized (sync) {
+            if (jobState != Status.RUNNING) {
+                return;
+            }
+
+            Map<String, List<String>> values = new LinkedHashMap<String, List<String>>();
+            for (IndividualJobExecutableFlow instance : instances) {
+                Props instanceProps = instance.getReturnProps();
+                if (instanceProps == null) {
+                    continue;
+                }
+                for (String key : new TreeSet<String>(instanceProps.getKeySet())) {
+                    if (! values.containsKey(key)) {
+                        values.put(key, new ArrayList<String>());
+                    }
+                    values.get(key).add(instanceProps.get(key));
+                }
+            }
+
+            returnProps = new Props();
+            for (Map.Entry<String, List<String>> entry : values.entrySet()) {
+                returnProps.put(entry.getKey(), StringUtils.join(entry.getValue(), ","));
+            }
+
+            jobState = Status.SUCCEEDED;
+            callbackList = callbacksToCall;
+        }
+
+        returnProps.logProperties(String.format("Return props for fan-out[%s]", getName()));
+        callCallbacks(callbackList, Status.SUCCEEDED);
+    }
+
+    private void failed(Throwable t)
+    {
+        final List<FlowCallback> callbackList;
+        synchronized (sync) {
+            if (jobState != Status.RUNNING) {
+                return;
+            }
+            jobState = Status.FAILED;
+            returnProps = new Props();
+            if (t != null) {
+                exceptions.put(getName(), t);
+            }
+            callbackList = callbacksToCall;
+        }
+
+        callCallbacks(callbackList, Status.FAILED);
+    }
+
+    @Override
+    public boolean cancel()
+    {
+        final List<FlowCallback> callbacks;
+        synchronized (sync) {
+            switch (jobState) {
+                case COMPLETED:
+                case SUCCEEDED:
+                case FAILED:
+                case IGNORED:
+                    return true;
+                default:
+                    jobState = Status.FAILED;
+                    callbacks = callbacksToCall;
+                    callbacksToCall = new ArrayList<FlowCallback>();
+                    returnProps = new Props();
+            }
+        }
+
+        for (FlowCallback callback : callbacks) {
+            callback.completed(Status.FAILED);
+        }
+
+        boolean retVal = true;
+        for (IndividualJobExecutableFlow instance : instances) {
+            if (instance.getStatus() == Status.RUNNING) {
+                retVal &= instance.cancel();
+            }
+        }
+        return retVal;
+    }
+
+    @Override
+    public Status getStatus()
+    {
+        return jobState;
+    }
+
+    @Override
+    public boolean reset()
+    {
+        synchronized (sync) {
+            switch (jobState) {
+                case RUNNING:
+                    return false;
+                default:
+                    jobState = Status.READY;
+                    callbacksToCall = new ArrayList<FlowCallback>();
+                    parentProps = null;
+                    returnProps = null;
+                    startTime = null;
+                    endTime = null;
+                    numRunning = 0;
+                    instanceFailed = false;
+                    exceptions.clear();
+            }
+        }
+
+        return true;
+    }
+
+    @Override
+    public boolean markCompleted()
+    {
+        synchronized (sync) {
+            switch (jobState) {
+                case RUNNING:
+                    return false;
+                default:
+                    jobState = Status.COMPLETED;
+                    parentProps = new Props();
+                    returnProps = new Props();
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public boolean hasChildren()
+    {
+        return false;
+    }
+
+    @Override
+    public List<ExecutableFlow> getChildren()
+    {
+        return Collections.emptyList();
+    }
+
+    /**
+     * @return The items of the last expansion, in the order of the instances
+     */
+    public List<String> getItems()
+    {
+        return items;
+    }
+
+    /**
+     * @return The instances of the last expansion, which aren't among its children
+     */
+    public List<IndividualJobExecutableFlow> getInstances()
+    {
+        return instances;
+    }
+
+    @Override
+    public DateTime getStartTime()
+    {
+        return startTime;
+    }
+
+    @Override
+    public DateTime getEndTime()
+    {
+        return endTime;
+    }
+
+    @Override
+    public Props getParentProps()
+    {
+        return parentProps;
+    }
+
+    @Override
+    public Props getReturnProps()
+    {
+        return returnProps;
+    }
+
+    @Override
+    public Map<String, Throwable> getExceptions()
+    {
+        return exceptions;
+    }
+
+    @Override
+    public String toString()
+    {
+        return "FanoutExecutableFlow{" + "name=" + name + ", instances=" + instances.size() + ", jobState=" + jobState + '}';
+    }
+
+    FanoutExecutableFlow setStatus(Status newStatus)
+    {
+        synchronized (sync) {
+            if (jobState != Status.READY) {
+                throw new IllegalStateException("Can only set status when job is in the READY state.");
+            }
+            jobState = newStatus;
+        }
+
+        return this;
+    }
+
+    FanoutExecutableFlow setStartTime(DateTime startTime)
+    {
+        this.startTime = startTime;
+
+        return this;
+    }
+
+    FanoutExecutableFlow setEndTime(DateTime endTime)
+    {
+        this.endTime = endTime;
+
+        return this;
+    }
+
+    FanoutExecutableFlow setParentProperties(Props parentProps)
+    {
+        synchronized (sync) {
+            if (this.parentProps != null) {
+                throw new IllegalStateException("Attempt to override parent properties.  " +
+                                                "This method should only really be called from deserialization code");
+            }
+            this.parentProps = parentProps;
+        }
+
+        return this;
+    }
+
+    FanoutExecutableFlow setReturnProperties(Props returnProps)
+    {
+        synchronized (sync) {
+            if (this.returnProps != null) {
+                throw new IllegalStateException("Attempt to override return properties.  " +
+                                                "This method should only really be called from deserialization code");
+            }
+            this.returnProps = returnProps;
+        }
+
+        return this;
+    }
+
+    FanoutExecutableFlow setInstances(List<String> items, List<IndividualJobExecutableFlow> instances)
+    {
+        if (items.size() != instances.size()) {
+            throw new IllegalArgumentException("Every item needs an instance.");
+        }
+        synchronized (sync) {
+            this.items = Collections.unmodifiableList(new ArrayList<String>(items));
+            this.instances = Collections.unmodifiableList(new ArrayList<IndividualJobExecutableFlow>(instances));
+        }
+
+        return this;
+    }
+
+    private void callCallbacks(final List<FlowCallback> callbackList, final Status status)
+    {
+        if (endTime == null) {
+            endTime = new DateTime();
+        }
+
+        for (FlowCallback callback : callbackList) {
+            try {
+                callback.completed(status);
+            }
+            catch (RuntimeException t) {
+                logger.error(String.format("Exception thrown while calling callback. fan-out[%s]", getName()), t);
+            }
+        }
+    }
+
+    private class InstanceCallback implements FlowCallback
+    {
+        private final IndividualJobExecutableFlow instance;
+
+        private InstanceCallback(IndividualJobExecutableFlow instance)
+        {
+            this.instance = instance;
+        }
+
+        @Override
+        public void progressMade()
+        {
+            final List<FlowCallback> callbackList;
+            synchronized (sync) {
+                callbackList = callbacksToCall;
+            }
+
+            for (FlowCallback flowCallback : callbackList) {
+                flowCallback.progressMade();
+            }
+        }
+
+        @Override
+        public void completed(Status status)
+        {
+            synchronized (sync) {
+                numRunning--;
+                if (status == Status.FAILED) {
+                    instanceFailed = true;
+                    exceptions.putAll(instance.getExceptions());
+                }
+            }
+
+            progressMade();
+            launchInstances();
+        }
+    }
+}
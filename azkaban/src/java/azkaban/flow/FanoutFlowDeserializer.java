@@ -0,0 +1,106 @@
+/*
+ * Copyright 2010 LinkedIn, Inc
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package azkaban.flow;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.joda.time.DateTime;
+
+import azkaban.app.JobManager;
+import azkaban.common.utils.Props;
+import azkaban.serialization.Verifier;
+
+import com.google.common.base.Function;
+
+/**
+ * Deserializes a fan-out along with the instances it expanded into
+ */
+public class FanoutFlowDeserializer implements Function<Map<String, Object>, ExecutableFlow>
+{
+    private final JobManager jobManager;
+    private final Function<Map<String, Object>, ExecutableFlow> instanceDeserializer;
+
+    public FanoutFlowDeserializer(
+            JobManager jobManager,
+            Function<Map<String, Object>, ExecutableFlow> instanceDeserializer
+    )
+    {
+        this.jobManager = jobManager;
+        this.instanceDeserializer = instanceDeserializer;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public ExecutableFlow apply(Map<String, Object> descriptor)
+    {
+        String name = Verifier.getString(descriptor, "name");
+        Status status = Verifier.getEnumType(descriptor, "status", Status.class);
+        String id = Verifier.getString(descriptor, "id");
+        DateTime startTime = Verifier.getOptionalDateTime(descriptor, "startTime");
+        DateTime endTime = Verifier.getOptionalDateTime(descriptor, "endTime");
+        Map<String, String> parentPropsMap = Verifier.getOptionalObject(descriptor, "overrideProps", Map.class);
+        Map<String, String> returnPropsMap = Verifier.getOptionalObject(descriptor, "returnProps", Map.class);
+        List<String> items = Verifier.getVerifiedObject(descriptor, "items", List.class);
+        List<Map<String, Object>> instanceMaps = Verifier.getVerifiedObject(descriptor, "instances", List.class);
+
+        final FanoutExecutableFlow retVal = new FanoutExecutableFlow(id, name, jobManager);
+
+        List<IndividualJobExecutableFlow> instances = new ArrayList<IndividualJobExecutableFlow>(instanceMaps.size());
+        for (Map<String, Object> instanceMap : instanceMaps) {
+            ExecutableFlow instance = instanceDeserializer.apply(instanceMap);
+            if (! (instance instanceof IndividualJobExecutableFlow)) {
+                throw new IllegalStateException(
+                        String.format("Instance[%s] of fan-out[%s] is not a job.", instance.getName(), name)
+                );
+            }
+            instances.add((IndividualJobExecutableFlow) instance);
+        }
+        retVal.setInstances(items, instances);
+
+        // a fan-out that was running when this was saved runs again, which
+        // reruns only the instances that hadn't succeeded
+        if (status != Status.RUNNING) {
+            retVal.setStatus(status);
+        }
+
+        if (startTime != null) {
+            retVal.setStartTime(startTime);
+        }
+
+        if (endTime != null) {
+            retVal.setEndTime(endTime);
+        }
+
+        if (parentPropsMap != null && status != Status.RUNNING) {
+            Props parentProps = new Props();
+            parentProps.putAll(parentPropsMap);
+
+            retVal.setParentProperties(parentProps);
+        }
+
+        if (returnPropsMap != null) {
+            Props returnProps = new Props();
+            returnProps.putAll(returnPropsMap);
+
+            retVal.setReturnProperties(returnProps);
+        }
+
+        return retVal;
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright 2010 LinkedIn, Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package azkaban.flow;
+
+/**
+ * A change of the status of a job in a running execution.
+ */
+public class FlowEvent
+{
+    private final long sequence;
+    private final String id;
+    private final String jobName;
+    private final Status status;
+    private final long time;
+
+    public FlowEvent(long sequence, String id, String jobName, Status status, long time)
+    {
+        this.sequence = sequence;
+        this.id = id;
+        this.jobName = jobName;
+        this.status = status;
+        this.time = time;
+    }
+
+    public long getSequence()
+    {
+        return sequence;
+    }
+
+    /**
+     * @return the id of the execution
+     */
+    public String getId()
+    {
+        return id;
+    }
+
+    public String getJobName()
+    {
+        return jobName;
+    }
+
+    public Status getStatus()
+    {
+        return status;
+    }
+
+    public long getTime()
+    {
+        return time;
+    }
+
+    @Override
+    public String toString()
+    {
+        return "FlowEvent{" + "sequence=" + sequence + ", id=" + id + ", jobName=" + jobName + ", status=" + status + '}';
+    }
+}
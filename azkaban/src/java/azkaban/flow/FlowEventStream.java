@@ -0,0 +1,351 @@
+/*
+ * Copyright 2010 LinkedIn, Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package azkaban.flow;
+
+import org.apache.log4j.Logger;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The job status changes of running executions, kept in memory so pages showing an execution can follow it without
+ * reloading the execution from disk.
+ *
+ * Each change gets a sequence number and goes into a ring buffer of fixed size. Readers ask for the changes after the
+ * last sequence number they saw, and may wait for new ones. A reader that fell so far behind that the changes it
+ * missed were overwritten is told to start over from a full status, and so is a reader of an earlier stream, since
+ * sequence numbers start over when the server restarts. The number of readers waiting at once is bounded
+ * so that waiting readers can't take all the http threads; the others get an immediate answer.
+ *
+ * Changes are found by comparing job statuses to the last ones seen, whenever a FlowCallback of the execution fires
+ * and, since a FlowCallback isn't told when jobs start, periodically.
+ */
+public class FlowEventStream
+{
+    private static final Logger logger = Logger.getLogger(FlowEventStream.class);
+
+    private final FlowEvent[] ring;
+    private final int maxWaiters;
+    private final Map<String, Watched> watched = new HashMap<String, Watched>();
+    private final ScheduledExecutorService sweeper;
+
+    // tells this stream's sequence numbers apart from those of an earlier one
+    private final long epoch = System.currentTimeMillis();
+    // the sequence number of the next event
+    private long nextSeq = 1;
+    private int waiters = 0;
+    private long numTurnedAway = 0;
+    private long numResets = 0;
+
+    /**
+     * @param capacity The number of events kept
+     * @param maxWaiters The maximum number of readers waiting for events at once
+     * @param sweepMs How often to look for jobs that started, in milliseconds
+     */
+    public FlowEventStream(int capacity, int maxWaiters, long sweepMs)
+    {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Event stream capacity must be positive.");
+        }
+        this.ring = new FlowEvent[capacity];
+        this.maxWaiters = maxWaiters;
+
+        this.sweeper = Executors.newSingleThreadScheduledExecutor(new ThreadFactory()
+        {
+            @Override
+            public Thread newThread(Runnable r)
+            {
+                Thread thread = new Thread(r, "flow-event-sweeper");
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+        if (sweepMs > 0) {
+            sweeper.scheduleWithFixedDelay(new Runnable()
+            {
+                @Override
+                public void run()
+                {
+                    try {
+                        sweep();
+                    }
+                    catch (RuntimeException e) {
+                        logger.warn("Exception while looking for job status changes.", e);
+                    }
+                }
+            }, sweepMs, sweepMs, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Start following an execution.
+     *
+     * @param flow the root of the execution
+     */
+    public synchronized void watch(ExecutableFlow flow)
+    {
+        Watched execution = watched.get(flow.getId());
+        if (execution == null) {
+            execution = new Watched(flow);
+            watched.put(flow.getId(), execution);
+        }
+        publishChanges(execution);
+    }
+
+    /**
+     * Publish the job status changes of an execution since the last call.
+     *
+     * @param flow the root of the execution
+     */
+    public synchronized void update(ExecutableFlow flow)
+    {
+        Watched execution = watched.get(flow.getId());
+        if (execution != null) {
+            publishChanges(execution);
+        }
+    }
+
+    /**
+     * Publish the last changes of an execution and stop following it.
+     *
+     * @param flow the root of the execution
+     */
+    public synchronized void completed(ExecutableFlow flow)
+    {
+        Watched execution = watched.remove(flow.getId());
+        if (execution != null) {
+            publishChanges(execution);
+            // wake readers so they learn the execution is over
+            notifyAll();
+        }
+    }
+
+    public synchronized boolean isWatched(String id)
+    {
+        return watched.containsKey(id);
+    }
+
+    private synchronized void sweep()
+    {
+        for (Watched execution : watched.values()) {
+            publishChanges(execution);
+        }
+    }
+
+    private void publishChanges(Watched execution)
+    {
+        Map<String, Status> statuses = new HashMap<String, Status>();
+        collectStatuses(statuses, execution.flow);
+
+        boolean published = false;
+        long now = System.currentTimeMillis();
+        for (Map.Entry<String, Status> entry : statuses.entrySet()) {
+            if (entry.getValue() != execution.statuses.get(entry.getKey())) {
+                long seq = nextSeq++;
+                ring[(int) (seq % ring.length)] = new FlowEvent(seq, execution.flow.getId(), entry.getKey(), entry.getValue(), now);
+                published = true;
+            }
+        }
+        execution.statuses = statuses;
+
+        if (published) {
+            notifyAll();
+        }
+    }
+
+    private void collectStatuses(Map<String, Status> statuses, ExecutableFlow flow)
+    {
+        if (statuses.containsKey(flow.getName())) {
+            return;
+        }
+        statuses.put(flow.getName(), flow.getStatus());
+        for (ExecutableFlow child : flow.getChildren()) {
+            collectStatuses(statuses, child);
+        }
+        // the instances of a fan-out aren't among its children
+        if (flow instanceof FanoutExecutableFlow) {
+            for (ExecutableFlow instance : ((FanoutExecutableFlow) flow).getInstances()) {
+                collectStatuses(statuses, instance);
+            }
+        }
+    }
+
+    /**
+     * Get the events of an execution after the given sequence number, waiting up to the given time for one if there
+     * are none yet.
+     *
+     * @param id the id of the execution
+     * @param epoch the epoch of the stream the reader saw the sequence number in
+     * @param after the last sequence number the reader saw, 0 for none
+     * @param waitMs the longest time to wait for an event
+     * @return the events
+     */
+    public Events getEvents(String id, long epoch, long after, long waitMs) throws InterruptedException
+    {
+        long deadline = System.currentTimeMillis() + waitMs;
+        boolean waiting = false;
+
+        synchronized (this) {
+            try {
+                while (true) {
+                    // Events the reader missed were overwritten, or it read them from an earlier stream.
+                    boolean stale = after > 0 && (epoch != this.epoch || after >= nextSeq);
+                    if (stale || after + 1 < nextSeq - ring.length) {
+                        numResets++;
+                        return new Events(nextSeq - 1, true, watched.containsKey(id), Collections.<FlowEvent>emptyList());
+                    }
+
+                    List<FlowEvent> events = new ArrayList<FlowEvent>();
+                    for (long seq = Math.max(after + 1, 1); seq < nextSeq; ++seq) {
+                        FlowEvent event = ring[(int) (seq % ring.length)];
+                        if (event.getId().equals(id)) {
+                            events.add(event);
+                        }
+                    }
+
+                    long remaining = deadline - System.currentTimeMillis();
+                    boolean running = watched.containsKey(id);
+                    if (!events.isEmpty() || !running || remaining <= 0) {
+                        return new Events(nextSeq - 1, false, running, events);
+                    }
+
+                    if (!waiting) {
+                        if (waiters >= maxWaiters) {
+                            numTurnedAway++;
+                            return new Events(nextSeq - 1, false, running, events);
+                        }
+                        waiting = true;
+                        waiters++;
+                    }
+                    // Events of other executions don't concern this reader.
+                    after = nextSeq - 1;
+                    wait(remaining);
+                }
+            }
+            finally {
+                if (waiting) {
+                    waiters--;
+                }
+            }
+        }
+    }
+
+    public synchronized long getLastSequence()
+    {
+        return nextSeq - 1;
+    }
+
+    /**
+     * @return the epoch of this stream, to be passed back with the sequence numbers read from it
+     */
+    public long getEpoch()
+    {
+        return epoch;
+    }
+
+    public synchronized int getNumWaiting()
+    {
+        return waiters;
+    }
+
+    /**
+     * @return the number of readers that weren't allowed to wait because too many already were
+     */
+    public synchronized long getNumTurnedAway()
+    {
+        return numTurnedAway;
+    }
+
+    /**
+     * @return the number of reads that asked for events no longer kept
+     */
+    public synchronized long getNumResets()
+    {
+        return numResets;
+    }
+
+    public void shutdown()
+    {
+        sweeper.shutdownNow();
+    }
+
+    private static class Watched
+    {
+        private final ExecutableFlow flow;
+        private Map<String, Status> statuses = Collections.emptyMap();
+
+        private Watched(ExecutableFlow flow)
+        {
+            this.flow = flow;
+        }
+    }
+
+    /**
+     * The events returned by a read.
+     */
+    public static class Events
+    {
+        private final long lastSequence;
+        private final boolean reset;
+        private final boolean running;
+        private final List<FlowEvent> events;
+
+        private Events(long lastSequence, boolean reset, boolean running, List<FlowEvent> events)
+        {
+            this.lastSequence = lastSequence;
+            this.reset = reset;
+            this.running = running;
+            this.events = events;
+        }
+
+        /**
+         * @return the sequence number to read after next time
+         */
+        public long getLastSequence()
+        {
+            return lastSequence;
+        }
+
+        /**
+         * @return whether events the reader asked for were overwritten or came from an earlier stream, so it has to
+         *         reload the full status
+         */
+        public boolean isReset()
+        {
+            return reset;
+        }
+
+        /**
+         * @return whether the execution is still followed
+         */
+        public boolean isRunning()
+        {
+            return running;
+        }
+
+        public List<FlowEvent> getEvents()
+        {
+            return events;
+        }
+    }
+}
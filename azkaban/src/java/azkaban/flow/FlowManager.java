@@ -137,4 +137,12 @@ public interface FlowManager extends Iterable<Flow>
      * Tells the FlowManager to reload its flows.
      */
     void reload();
+
+    /**
+     * Gets the version of the known flows.  The version changes whenever the flows are reloaded, so it can be used
+     * to cache things derived from them.
+     *
+     * @return the version of the known flows
+     */
+    long getVersion();
 }
@@ -51,18 +51,12 @@ public class Flows
             }
 
             retVal = new MultipleDependencyFlow(
-                    new IndividualJobFlow(
-                            rootDescriptor.getId(),
-                            jobManager
-                    ),
+                    buildJobFlow(jobManager, rootDescriptor),
                     depFlows
             );
         }
         else {
-            retVal = new IndividualJobFlow(
-                    rootDescriptor.getId(),
-                    jobManager
-            );
+            retVal = buildJobFlow(jobManager, rootDescriptor);
         }
 
         alreadyBuiltFlows.put(retVal.getName(), retVal);
@@ -70,6 +64,18 @@ public class Flows
         return retVal;
     }
 
+    /**
+     * The flow of a single job, which for a fan-out expands into instances of
+     * its template job when it runs
+     */
+    private static Flow buildJobFlow(final JobManager jobManager, final JobDescriptor descriptor)
+    {
+        if (descriptor.isFanout()) {
+            return new FanoutFlow(descriptor.getId(), jobManager);
+        }
+        return new IndividualJobFlow(descriptor.getId(), jobManager);
+    }
+
     public static ExecutableFlow resetFailedFlows(
             final ExecutableFlow theFlow
     )
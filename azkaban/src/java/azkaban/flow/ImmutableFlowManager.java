@@ -35,6 +35,9 @@ import azkaban.common.utils.Props;
 import azkaban.serialization.ExecutableFlowSerializer;
 import azkaban.serialization.de.ExecutableFlowDeserializer;
 import azkaban.util.JSONToJava;
+import azkaban.util.metrics.Counter;
+import azkaban.util.metrics.Histogram;
+import azkaban.util.metrics.Metrics;
 
 /**
  * An "append-only" set of Flows.  If you need to remove flows, this object should be thrown away and a
@@ -42,6 +45,19 @@ import azkaban.util.JSONToJava;
  */
 public class ImmutableFlowManager implements FlowManager
 {
+    private static final Histogram SAVE_TIME = Metrics.getDefault().histogram(
+            "azkaban_execution_storage_ms", "Time to write or read an execution", "op", "save"
+    );
+    private static final Histogram LOAD_TIME = Metrics.getDefault().histogram(
+            "azkaban_execution_storage_ms", "Time to write or read an execution", "op", "load"
+    );
+    private static final Counter SAVED_BYTES = Metrics.getDefault().counter(
+            "azkaban_execution_storage_bytes_total", "Bytes of executions written or read", "op", "save"
+    );
+    private static final Counter LOADED_BYTES = Metrics.getDefault().counter(
+            "azkaban_execution_storage_bytes_total", "Bytes of executions written or read", "op", "load"
+    );
+
     private final JSONToJava jsonToJava;
     private final Map<String, Flow> flowsMap;
     private final Set<String> rootFlowNames;
@@ -138,11 +154,14 @@ public class ImmutableFlowManager implements FlowManager
 
         JSONObject jsonObj = new JSONObject(serializer.apply(holder));
 
+        final long start = System.nanoTime();
         BufferedWriter out = null;
         try {
             out = new BufferedWriter(new FileWriter(storageFile));
             out.write(jsonObj.toString(2));
             out.flush();
+            SAVED_BYTES.inc(storageFile.length());
+            SAVE_TIME.recordSince(start);
         }
         catch (Exception e) {
             throw new RuntimeException(e);
@@ -163,13 +182,17 @@ public class ImmutableFlowManager implements FlowManager
             return null;
         }
 
+        final long start = System.nanoTime();
         BufferedInputStream in = null;
         try {
             in = new BufferedInputStream(new FileInputStream(storageFile));
 
             JSONObject jsonObj = new JSONObject(Streams.asString(in));
 
-            return deserializer.apply(jsonToJava.apply(jsonObj));
+            FlowExecutionHolder holder = deserializer.apply(jsonToJava.apply(jsonObj));
+            LOADED_BYTES.inc(storageFile.length());
+            LOAD_TIME.recordSince(start);
+            return holder;
         }
         catch (Exception e) {
             throw new RuntimeException(e);
@@ -185,6 +208,13 @@ public class ImmutableFlowManager implements FlowManager
         throw new UnsupportedOperationException();
     }
 
+    @Override
+    public long getVersion()
+    {
+        // never reloaded
+        return 0;
+    }
+
 	@Override
 	public List<String> getFolders() {
 		ArrayList<String> folders = new ArrayList<String>(folderToRoot.keySet());
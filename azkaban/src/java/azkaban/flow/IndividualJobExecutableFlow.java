@@ -29,6 +29,11 @@ import azkaban.app.JobManager;
 import azkaban.common.jobs.DelegatingJob;
 import azkaban.common.jobs.Job;
 import azkaban.common.utils.Props;
+import azkaban.jobcontrol.impl.jobs.ResourceThrottledJob;
+import azkaban.jobcontrol.impl.jobs.RetryingJob;
+import azkaban.util.metrics.Counter;
+import azkaban.util.metrics.Histogram;
+import azkaban.util.metrics.Metrics;
 
 /**
  * An implemention of the ExecutableFlow interface that just
@@ -40,9 +45,23 @@ public class IndividualJobExecutableFlow implements ExecutableFlow
 
     private static final AtomicLong threadCounter = new AtomicLong(0);
 
+    private static final Counter JOBS_STARTED = Metrics.getDefault().counter(
+            "azkaban_jobs_started_total", "Jobs started"
+    );
+    private static final Counter JOBS_SUCCEEDED = Metrics.getDefault().counter(
+            "azkaban_jobs_finished_total", "Jobs finished", "status", "succeeded"
+    );
+    private static final Counter JOBS_FAILED = Metrics.getDefault().counter(
+            "azkaban_jobs_finished_total", "Jobs finished", "status", "failed"
+    );
+    private static final Histogram JOB_TIME = Metrics.getDefault().histogram(
+            "azkaban_job_run_ms", "Time jobs ran, not counting waits for locks"
+    );
+
     private final Object sync = new Object();
     private final String id;
     private final String name;
+    private final String jobName;
     private final JobManager jobManager;
 
     private volatile Status jobState;
@@ -56,9 +75,19 @@ public class IndividualJobExecutableFlow implements ExecutableFlow
     private volatile Props returnProps;
 
     public IndividualJobExecutableFlow(String id, String name, JobManager jobManager)
+    {
+        this(id, name, name, jobManager);
+    }
+
+    /**
+     * @param name The name of this node, which is also the id its job runs under
+     * @param jobName The job to run, if it is an instance of another job
+     */
+    public IndividualJobExecutableFlow(String id, String name, String jobName, JobManager jobManager)
     {
         this.id = id;
         this.name = name;
+        this.jobName = jobName;
         this.jobManager = jobManager;
 
         resetState();
@@ -75,6 +104,13 @@ public class IndividualJobExecutableFlow implements ExecutableFlow
         return name;
     }
 
+    /**
+     * @return The job this runs, which differs from its name for instances
+     */
+    public String getJobName() {
+        return jobName;
+    }
+
     @Override
     public Props getParentProps() {
 		return parentProps;
@@ -133,7 +169,12 @@ public class IndividualJobExecutableFlow implements ExecutableFlow
         try {
             // Only one thread should ever be able to get to this point because of management of jobState
             // Thus, this should only ever get called once before the job finishes (at which point it could be reset)
-            job = jobManager.loadJob(getName(), parentProps, true);
+            if (jobName.equals(name)) {
+                job = jobManager.loadJob(getName(), parentProps, true);
+            }
+            else {
+                job = jobManager.loadJobInstance(jobName, name, parentProps);
+            }
         }
         catch (Exception e) {
             logger.warn(
@@ -158,7 +199,22 @@ public class IndividualJobExecutableFlow implements ExecutableFlow
             return;
         }
 
-        Thread theThread = new Thread(
+        // A retrying job's attempts are run here one by one, so that waiting for a retry holds
+        // no thread, and no locks since each attempt takes its own.
+        RetryingJob retryingJob = null;
+        Job attemptJob = job;
+        if (job instanceof RetryingJob) {
+            retryingJob = (RetryingJob) job;
+            attemptJob = retryingJob.getInnerJob();
+        }
+
+        JOBS_STARTED.inc();
+        launchAttempt(attemptJob, retryingJob);
+    }
+
+    private void launchAttempt(final Job attemptJob, final RetryingJob retryingJob)
+    {
+        final Thread theThread = new Thread(
                 new Runnable()
                 {
                     @Override
@@ -166,13 +222,23 @@ public class IndividualJobExecutableFlow implements ExecutableFlow
                     {
                         final List<FlowCallback> callbackList;
 
+                        final long runStart = System.nanoTime();
+                        if (retryingJob != null) {
+                            retryingJob.attemptStarted();
+                        }
                         try {
-                            job.run();
+                            attemptJob.run();
                         }
                         catch (Exception e) {
+                            JOB_TIME.recordSince(runStart);
+                            if (retryingJob != null && scheduleRetry(e, attemptJob, retryingJob)) {
+                                return;
+                            }
+
+                            JOBS_FAILED.inc();
                             synchronized (sync) {
-                                jobState = Status.FAILED;
                                 returnProps = new Props();
+                                jobState = Status.FAILED;
                                 exceptions.put(getName(), e);
                                 callbackList = callbacksToCall; // Get the reference before leaving the synchronized
                             }
@@ -181,9 +247,14 @@ public class IndividualJobExecutableFlow implements ExecutableFlow
                             throw new RuntimeException(e);
                         }
  
+                        JOBS_SUCCEEDED.inc();
+                        JOB_TIME.recordSince(runStart);
+
                         synchronized (sync) {
-                            jobState = Status.SUCCEEDED;
+                            // set before the status, since a fan-out reads the return props of an
+                            // instance it sees succeeded without taking the instance's lock
                             returnProps = job.getJobGeneratedProperties();
+                            jobState = Status.SUCCEEDED;
                             callbackList = callbacksToCall; // Get the reference before leaving the synchronized
                         }
 
@@ -195,9 +266,16 @@ public class IndividualJobExecutableFlow implements ExecutableFlow
                 String.format("%s thread-%s", job.getId(), threadCounter.getAndIncrement())
         );
 
-        Job currJob = job;
+        // Jobs that wait on permits or resource locks shouldn't hold a thread while they wait,
+        // so only start the thread once the locks are held.
+        ResourceThrottledJob throttledJob = null;
+        Job currJob = attemptJob;
         while (true) {
-            if (currJob instanceof DelegatingJob) {
+            if (currJob instanceof ResourceThrottledJob) {
+                throttledJob = (ResourceThrottledJob) currJob;
+                break;
+            }
+            else if (currJob instanceof DelegatingJob) {
                 currJob = ((DelegatingJob) currJob).getInnerJob();
             }
             else {
@@ -205,7 +283,48 @@ public class IndividualJobExecutableFlow implements ExecutableFlow
             }
         }
 
-        theThread.start();
+        if (throttledJob == null) {
+            theThread.start();
+        }
+        else {
+            throttledJob.acquireAsync(
+                    new Runnable()
+                    {
+                        @Override
+                        public void run()
+                        {
+                            theThread.start();
+                        }
+                    }
+            );
+        }
+    }
+
+    /**
+     * Schedule the next attempt of a failed job on the retry timer, if its policy allows
+     *
+     * @return true if there will be another attempt
+     */
+    private boolean scheduleRetry(Exception failure, final Job attemptJob, final RetryingJob retryingJob)
+    {
+        long delay = retryingJob.attemptFailed(failure);
+        if (delay < 0 || jobState != Status.RUNNING) {
+            return false;
+        }
+
+        return retryingJob.scheduleRetry(
+                new Runnable()
+                {
+                    @Override
+                    public void run()
+                    {
+                        if (jobState == Status.RUNNING) {
+                            launchAttempt(attemptJob, retryingJob);
+                        }
+                    }
+                },
+                delay
+        );
     }
 
 
@@ -47,7 +47,8 @@ public class JobManagerFlowDeserializer implements Function<Map<String, Object>,
     @Override
     public ExecutableFlow apply(Map<String, Object> descriptor)
     {
-        String jobName = Verifier.getString(descriptor, "name");
+        String name = Verifier.getString(descriptor, "name");
+        String jobName = Verifier.getOptionalObject(descriptor, "jobName", String.class);
         Status jobStatus = Verifier.getEnumType(descriptor, "status", Status.class);
         String id = Verifier.getString(descriptor, "id");
         DateTime startTime = Verifier.getOptionalDateTime(descriptor, "startTime");
@@ -57,7 +58,8 @@ public class JobManagerFlowDeserializer implements Function<Map<String, Object>,
 
         final IndividualJobExecutableFlow retVal = new IndividualJobExecutableFlow(
                 id,
-                jobName,
+                name,
+                jobName == null ? name : jobName,
                 jobManager
         );
         if (jobStatus != Status.RUNNING) {
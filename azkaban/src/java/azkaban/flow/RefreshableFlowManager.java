@@ -25,6 +25,7 @@ import azkaban.serialization.de.FlowExecutionDeserializer;
 
 import java.io.File;
 import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
 
 /**
@@ -40,6 +41,7 @@ public class RefreshableFlowManager implements FlowManager
     private final File storageDirectory;
 
     private final AtomicReference<ImmutableFlowManager> delegateManager;
+    private final AtomicLong version = new AtomicLong(0);
 
     public RefreshableFlowManager(
             JobManager jobManager,
@@ -174,9 +176,16 @@ public class RefreshableFlowManager implements FlowManager
                             lastId == null ? delegateManager.get().getCurrMaxId() : lastId
                     )
             );
+            version.incrementAndGet();
         }
     }
 
+    @Override
+    public long getVersion()
+    {
+        return version.get();
+    }
+
 	@Override
 	public List<String> getFolders() {
 		return delegateManager.get().getFolders();
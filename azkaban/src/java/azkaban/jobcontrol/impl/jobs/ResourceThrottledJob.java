@@ -16,73 +16,198 @@
 
 package azkaban.jobcontrol.impl.jobs;
 
+import java.util.concurrent.CountDownLatch;
+
 import org.apache.log4j.Logger;
 
 import azkaban.jobcontrol.impl.jobs.locks.JobLock;
+import azkaban.jobcontrol.impl.jobs.locks.LockWaitQueue;
+import azkaban.util.metrics.Histogram;
+import azkaban.util.metrics.Metrics;
 
 import azkaban.common.jobs.DelegatingJob;
 import azkaban.common.jobs.Job;
 
 /**
- * A wrapper that blocks the given job until the required number of permits
- * become available
+ * A wrapper that holds back the given job until the required number of permits
+ * become available.
+ *
+ * Callers that own the job's thread should call acquireAsync() and only start
+ * the thread once the continuation fires, so waiting jobs don't hold a thread.
+ * Calling run() directly still works and blocks until the locks are held.
+ * The locks are released when run() returns, after which the job can wait for
+ * them and run again.
  *
  * @author jkreps
  *
  */
 public class ResourceThrottledJob extends DelegatingJob {
 
+    private static final Histogram LOCK_WAIT = Metrics.getDefault()
+                                                      .histogram("azkaban_job_lock_wait_ms",
+                                                                 "Time jobs waited for their resource locks");
+
     private final JobLock _jobLock;
+    private final LockWaitQueue _waitQueue;
     private final Logger _logger;
 
     private final Object lock = new Object();
     private volatile boolean canceled = false;
+    private volatile long waitStart = -1;
+    private volatile boolean acquired = false;
+    private LockWaitQueue.Request request = null;
+    private CountDownLatch blockedRun = null;
 
-    public ResourceThrottledJob(Job job, JobLock lock) {
+    /**
+     * @param waitQueue The queue shared by every job that takes the locks, so
+     *        that releasing them wakes the jobs waiting for them
+     */
+    public ResourceThrottledJob(Job job, JobLock lock, LockWaitQueue waitQueue) {
         super(job);
         _jobLock = lock;
+        _waitQueue = waitQueue;
         this._logger = Logger.getLogger(job.getId());
     }
 
     /**
-     * Wrapper that acquires needed permits, runs job, and then releases permits
+     * Registers this job in the wait queue without blocking. onAcquired is
+     * called once the locks are held, possibly on the thread that released
+     * them, and should do nothing more than hand the job off to run. If the
+     * job is canceled while waiting it leaves the queue and onAcquired is never
+     * called.
+     *
+     * @return false if the job had already been canceled and was not queued
+     */
+    public boolean acquireAsync(final Runnable onAcquired)
+    {
+        synchronized(lock) {
+            if(canceled) {
+                _logger.info("Job was canceled before waiting for lock.  Not queueing.");
+                return false;
+            }
+            if(request != null || waitStart != -1) {
+                throw new IllegalStateException("Already waiting on " + _jobLock);
+            }
+            waitStart = System.currentTimeMillis();
+        }
+
+        _logger.info("Attempting to acquire " + _jobLock + " at time " + waitStart);
+        LockWaitQueue.Request newRequest = _waitQueue.enqueue(_jobLock, new Runnable() {
+            @Override
+            public void run() {
+                acquired = true;
+                onAcquired.run();
+            }
+        });
+        synchronized(lock) {
+            request = newRequest;
+            if(!canceled) {
+                return true;
+            }
+        }
+
+        // canceled while we were enqueueing
+        removeFromQueue(newRequest);
+        return true;
+    }
+
+    /**
+     * Wrapper that acquires needed permits (unless acquireAsync() already
+     * has), runs job, and then releases permits
      */
     @Override
     public void run() throws Exception
     {
-        long start = System.currentTimeMillis();
-        _logger.info("Attempting to acquire " + _jobLock + " at time " + start);
-        try {
-            _jobLock.acquireLock();
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
+        if(!acquired) {
+            final CountDownLatch latch = new CountDownLatch(1);
+            synchronized(lock) {
+                blockedRun = latch;
+            }
+            boolean queued = acquireAsync(new Runnable() {
+                @Override
+                public void run() {
+                    latch.countDown();
+                }
+            });
+            if(!queued) {
+                return;
+            }
+            try {
+                latch.await();
+            } catch (InterruptedException e) {
+                cancel();
+                LockWaitQueue.Request currRequest;
+                synchronized(lock) {
+                    currRequest = request;
+                }
+                // lost the race with the grant, so the locks are ours to give back
+                if(currRequest != null && currRequest.isGranted()) {
+                    _waitQueue.release(_jobLock);
+                }
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+
+        if(!acquired) {
+            _logger.info("Job was canceled while waiting for lock.  Not running.");
             return;
         }
-        long totalWait = System.currentTimeMillis() - start;
+
+        long totalWait = System.currentTimeMillis() - waitStart;
         _logger.info(_jobLock + " Time: " + totalWait + " ms.");
+        LOCK_WAIT.record(totalWait);
         try {
-            boolean shouldRunJob;
-            synchronized(lock) {
-                shouldRunJob = ! canceled;
-            }
-            if(shouldRunJob) {
+            if(!canceled) {
                 getInnerJob().run();
             }
             else {
                 _logger.info("Job was canceled while waiting for lock.  Not running.");
             }
         } finally {
-            _jobLock.releaseLock();
+            _waitQueue.release(_jobLock);
+            // ready to wait for the locks again, for a retry
+            synchronized(lock) {
+                acquired = false;
+                waitStart = -1;
+                request = null;
+                blockedRun = null;
+            }
         }
     }
 
     @Override
     public void cancel() throws Exception
     {
+        LockWaitQueue.Request currRequest;
         synchronized (lock) {
             canceled = true;
+            currRequest = request;
+        }
 
-            super.cancel();
+        // A job that never got its locks never started, so there's nothing else to cancel.
+        if(currRequest != null && removeFromQueue(currRequest)) {
+            return;
         }
+
+        super.cancel();
+    }
+
+    private boolean removeFromQueue(LockWaitQueue.Request toRemove)
+    {
+        if(_waitQueue.cancel(toRemove)) {
+            _logger.info("Job was canceled while waiting for " + _jobLock + ". Removed from wait queue.");
+
+            CountDownLatch latch;
+            synchronized(lock) {
+                latch = blockedRun;
+            }
+            if(latch != null) {
+                latch.countDown();
+            }
+            return true;
+        }
+
+        return false;
     }
 }
@@ -0,0 +1,147 @@
+/*
+ * Copyright 2010 LinkedIn, Inc
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package azkaban.jobcontrol.impl.jobs;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import azkaban.util.process.ProcessFailureException;
+
+/**
+ * When and how often to retry a failed job.
+ * 
+ * The wait before retry n (from 1) is the initial backoff times the multiplier
+ * to the power n - 1, capped at the maximum backoff, and then spread randomly
+ * by up to the jitter fraction either way, so that jobs that failed together
+ * don't retry together. No retry is made that would start later than the
+ * maximum elapsed time after the first attempt started.
+ * 
+ * If retryable exit codes are given, a process that failed with any other
+ * exit code is not retried. Failures that aren't a process exiting are always
+ * retried.
+ */
+public class RetryPolicy {
+
+    public static final long UNLIMITED = Long.MAX_VALUE;
+
+    private final int _maxRetries;
+    private final long _initialBackoffMs;
+    private final double _multiplier;
+    private final long _maxBackoffMs;
+    private final double _jitter;
+    private final long _maxElapsedMs;
+    private final Set<Integer> _retryableExitCodes;
+
+    /**
+     * A policy that retries after a fixed backoff, the way jobs always have
+     */
+    public RetryPolicy(int maxRetries, long backoffMs) {
+        this(maxRetries, backoffMs, 1.0, UNLIMITED, 0.0, UNLIMITED, Collections.<Integer> emptySet());
+    }
+
+    /**
+     * @param maxRetries The most retries after the first attempt
+     * @param initialBackoffMs The wait before the first retry
+     * @param multiplier What each wait is multiplied by for the next one
+     * @param maxBackoffMs The longest wait
+     * @param jitter The fraction, from 0 to 1, by which a wait is randomly
+     *        made shorter or longer
+     * @param maxElapsedMs The longest time after the first attempt started
+     *        that a retry may start
+     * @param retryableExitCodes The exit codes of failed processes to retry,
+     *        empty to retry them all
+     */
+    public RetryPolicy(int maxRetries,
+                       long initialBackoffMs,
+                       double multiplier,
+                       long maxBackoffMs,
+                       double jitter,
+                       long maxElapsedMs,
+                       Set<Integer> retryableExitCodes) {
+        if(maxRetries < 0 || initialBackoffMs < 0 || maxBackoffMs < 0 || maxElapsedMs < 0)
+            throw new IllegalArgumentException("Retries, backoffs and elapsed time can't be negative.");
+        if(multiplier < 1.0)
+            throw new IllegalArgumentException("The backoff multiplier must be at least 1.");
+        if(jitter < 0.0 || jitter > 1.0)
+            throw new IllegalArgumentException("The jitter must be between 0 and 1.");
+        _maxRetries = maxRetries;
+        _initialBackoffMs = initialBackoffMs;
+        _multiplier = multiplier;
+        _maxBackoffMs = maxBackoffMs;
+        _jitter = jitter;
+        _maxElapsedMs = maxElapsedMs;
+        _retryableExitCodes = Collections.unmodifiableSet(new HashSet<Integer>(retryableExitCodes));
+    }
+
+    public int getMaxRetries() {
+        return _maxRetries;
+    }
+
+    /**
+     * @return true if the failure is one worth retrying
+     */
+    public boolean isRetryable(Throwable failure) {
+        if(_retryableExitCodes.isEmpty())
+            return true;
+        for(Throwable t = failure; t != null; t = t.getCause()) {
+            if(t instanceof ProcessFailureException)
+                return _retryableExitCodes.contains(((ProcessFailureException) t).getExitCode());
+        }
+        return true;
+    }
+
+    /**
+     * Get the wait before a retry, without jitter
+     * 
+     * @param retry The number of the retry, from 1
+     * @return The wait in ms
+     */
+    public long getBackoffMs(int retry) {
+        double backoff = _initialBackoffMs * Math.pow(_multiplier, retry - 1);
+        return (long) Math.min(backoff, _maxBackoffMs);
+    }
+
+    /**
+     * Decide whether and when to retry after a failed attempt
+     * 
+     * @param retry The number of the retry this would be, from 1
+     * @param elapsedMs The time since the first attempt started
+     * @param failure Why the last attempt failed
+     * @param random Where the jitter comes from
+     * @return The wait in ms before the retry, or -1 not to retry
+     */
+    public long getRetryDelayMs(int retry, long elapsedMs, Throwable failure, Random random) {
+        if(retry > _maxRetries || !isRetryable(failure))
+            return -1;
+
+        long backoff = getBackoffMs(retry);
+        long delay = Math.max(0, Math.round(backoff * (1 + _jitter * (2 * random.nextDouble() - 1))));
+        if(_maxElapsedMs != UNLIMITED && elapsedMs + delay > _maxElapsedMs)
+            return -1;
+        return delay;
+    }
+
+    @Override
+    public String toString() {
+        return "RetryPolicy(retries=" + _maxRetries + ", backoff=" + _initialBackoffMs + "ms x" + _multiplier
+               + (_maxBackoffMs == UNLIMITED ? "" : " up to " + _maxBackoffMs + "ms") + ", jitter=" + _jitter
+               + (_maxElapsedMs == UNLIMITED ? "" : ", max elapsed=" + _maxElapsedMs + "ms")
+               + (_retryableExitCodes.isEmpty() ? "" : ", exit codes=" + _retryableExitCodes) + ")";
+    }
+}
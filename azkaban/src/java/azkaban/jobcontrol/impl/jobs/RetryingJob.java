@@ -16,59 +16,154 @@
 
 package azkaban.jobcontrol.impl.jobs;
 
+import java.util.Random;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
 import org.apache.log4j.Logger;
 
 import azkaban.common.jobs.DelegatingJob;
 import azkaban.common.jobs.Job;
-import azkaban.common.jobs.JobFailedException;
+import azkaban.util.metrics.Counter;
+import azkaban.util.metrics.Metrics;
 
+/**
+ * A wrapper that retries a failed job according to a RetryPolicy.
+ *
+ * Callers that own the job's thread should run the inner job themselves,
+ * calling attemptStarted() before each attempt and attemptFailed() after a
+ * failed one, and start the next attempt from scheduleRetry(), so that no
+ * thread waits out the backoff. The inner job should then hold its resource
+ * locks per attempt, so they are free between attempts. Calling run()
+ * directly still works and sleeps between attempts.
+ */
 public class RetryingJob extends DelegatingJob {
 
+    private static final Counter RETRIES = Metrics.getDefault().counter("azkaban_job_retries_total",
+                                                                        "Retries of failed jobs");
+
+    private static final ScheduledExecutorService TIMER = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+
+        public Thread newThread(Runnable r) {
+            Thread thread = new Thread(r, "azkaban-retry-timer");
+            thread.setDaemon(true);
+            return thread;
+        }
+    });
+
     private final Logger _logger;
-    private final int _retries;
-    private final long _retryBackoff;
+    private final RetryPolicy _policy;
+    private final Random _random = new Random();
+
+    private final Object _lock = new Object();
+    private long _firstStart = -1;
+    private int _attempts = 0;
+    private boolean _canceled = false;
+    private ScheduledFuture<?> _pendingRetry = null;
 
     public RetryingJob(Job innerJob, int retries, long retryBackoff) {
+        this(innerJob, new RetryPolicy(retries, retryBackoff));
+    }
+
+    public RetryingJob(Job innerJob, RetryPolicy policy) {
         super(innerJob);
         _logger = Logger.getLogger(innerJob.getId());
-        _retries = retries;
-        _retryBackoff = retryBackoff;
+        _policy = policy;
     }
 
-    @Override
-    public void run() {
-        for(int tries = 0; tries <= _retries; tries++) {
-            // helpful logging info
-            if(tries > 0) {
-                if(_retryBackoff > 0) {
-                    _logger.info("Chillaxing for " + _retryBackoff + " ms until next job retry.");
-                    try {
-                        Thread.sleep(_retryBackoff);
-                    } catch (InterruptedException e) {
-                        Thread.currentThread().interrupt();
-                        return;
-                    }
-                }
-                _logger.info("Retrying failed job '" + getInnerJob().getId() + " for attempt "
-                             + (tries + 1));
+    public RetryPolicy getPolicy() {
+        return _policy;
+    }
+
+    /**
+     * Note that an attempt is starting
+     */
+    public void attemptStarted() {
+        synchronized(_lock) {
+            if(_firstStart < 0)
+                _firstStart = System.currentTimeMillis();
+            _attempts++;
+            if(_attempts > 1)
+                _logger.info("Retrying failed job '" + getId() + "' for attempt " + _attempts);
+        }
+    }
+
+    /**
+     * Note that an attempt failed, and decide on a retry
+     *
+     * @param failure Why the attempt failed
+     * @return The wait in ms before the retry, or -1 if the job has failed
+     */
+    public long attemptFailed(Throwable failure) {
+        synchronized(_lock) {
+            _logger.error("Job '" + getId() + "' failed attempt " + _attempts, failure);
+            long delay = _canceled ? -1 : _policy.getRetryDelayMs(_attempts,
+                                                                   System.currentTimeMillis() - _firstStart,
+                                                                   failure,
+                                                                   _random);
+            if(delay < 0) {
+                _logger.info("Giving up on job '" + getId() + "' after " + _attempts + " attempt"
+                             + (_attempts > 1 ? "s" : "") + ", " + _policy);
+            } else {
+                RETRIES.inc();
+                _logger.info("Waiting " + delay + " ms until the next attempt.");
             }
+            return delay;
+        }
+    }
+
+    /**
+     * Run the next attempt after a wait, on a timer thread that should only
+     * hand the attempt off
+     *
+     * @return false if the job was canceled and won't be retried
+     */
+    public boolean scheduleRetry(Runnable nextAttempt, long delayMs) {
+        synchronized(_lock) {
+            if(_canceled)
+                return false;
+            _pendingRetry = TIMER.schedule(nextAttempt, delayMs, TimeUnit.MILLISECONDS);
+            return true;
+        }
+    }
 
+    public boolean isCanceled() {
+        synchronized(_lock) {
+            return _canceled;
+        }
+    }
+
+    @Override
+    public void run() throws Exception {
+        while(true) {
+            attemptStarted();
             try {
                 getInnerJob().run();
                 return;
             } catch(Exception e) {
-                _logger.error("Job '" + getInnerJob().getId() + " failed attempt " + (tries + 1), e);
-                String sadness = "";
-                for(int i = 0; i < tries + 1; i++)
-                    sadness += ":-( ";
-                _logger.info(sadness);
+                long delay = attemptFailed(e);
+                if(delay < 0)
+                    throw e;
+                try {
+                    Thread.sleep(delay);
+                } catch(InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    throw e;
+                }
             }
         }
-
-        // if we get here it means we haven't succeded (otherwise we would have
-        // returned)
-        throw new JobFailedException(_retries + " run attempt" + (_retries > 1 ? "s" : "")
-                                     + " failed.");
     }
 
+    @Override
+    public void cancel() throws Exception {
+        synchronized(_lock) {
+            _canceled = true;
+            if(_pendingRetry != null)
+                _pendingRetry.cancel(false);
+        }
+        super.cancel();
+    }
 }
@@ -0,0 +1,218 @@
+/*
+ * Copyright 2010 LinkedIn, Inc
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package azkaban.jobcontrol.impl.jobs;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.log4j.Logger;
+
+import azkaban.common.jobs.DelegatingJob;
+import azkaban.common.jobs.Job;
+import azkaban.common.utils.Props;
+
+/**
+ * A wrapper for an idempotent job that launches a second, speculative attempt
+ * if the first one is still running after a threshold. Whichever attempt
+ * succeeds first wins: its generated properties are the job's, and the other
+ * attempt is cancelled. The job only fails if both attempts fail.
+ */
+public class SpeculativeJob extends DelegatingJob {
+
+    /**
+     * Creates the speculative attempt and hears how the run went
+     */
+    public interface Backup {
+
+        /**
+         * @return A new attempt of the job, one that doesn't share a working
+         *         directory with the original
+         */
+        public Job create() throws Exception;
+
+        /**
+         * Called once the run is over, with the winner known
+         * 
+         * @param launched true if the speculative attempt was launched
+         * @param speculativeWon true if the speculative attempt won
+         * @param originalMs How long the original attempt ran, until it
+         *        finished or was cancelled
+         * @param backupMs How long the speculative attempt ran, 0 if it
+         *        wasn't launched
+         */
+        public void done(boolean launched, boolean speculativeWon, long originalMs, long backupMs);
+    }
+
+    private final Logger _logger;
+    private final long _thresholdMs;
+    private final Backup _backup;
+
+    private volatile Attempt _original;
+    private volatile Attempt _speculative;
+    private volatile Attempt _winner;
+    private volatile boolean _cancelled = false;
+
+    public SpeculativeJob(Job innerJob, long thresholdMs, Backup backup) {
+        super(innerJob);
+        _logger = Logger.getLogger(innerJob.getId());
+        _thresholdMs = thresholdMs;
+        _backup = backup;
+    }
+
+    @Override
+    public void run() throws Exception {
+        BlockingQueue<Attempt> finished = new LinkedBlockingQueue<Attempt>();
+        _original = new Attempt(getInnerJob(), "original", finished);
+        _original.start();
+
+        try {
+            Attempt first = finished.poll(_thresholdMs, TimeUnit.MILLISECONDS);
+            if(first == null && !_cancelled)
+                launchSpeculative(finished);
+            if(first == null)
+                first = finished.take();
+
+            Attempt other = first == _original ? _speculative : _original;
+            if(first.getFailure() != null && other != null) {
+                _logger.info("The " + first.getAttemptName() + " attempt of job '" + getId() + "' failed, waiting for the "
+                             + other.getAttemptName() + " one.");
+                Attempt second = finished.take();
+                if(second.getFailure() == null)
+                    first = second;
+            }
+
+            if(first.getFailure() != null)
+                throw first.getFailure();
+
+            _winner = first;
+            Attempt loser = first == _original ? _speculative : _original;
+            if(loser != null && !loser.isFinished()) {
+                _logger.info("The " + first.getAttemptName() + " attempt of job '" + getId() + "' won, cancelling the "
+                             + loser.getAttemptName() + " one.");
+                loser.cancel();
+            }
+        } catch(InterruptedException e) {
+            cancel();
+            throw e;
+        } finally {
+            _backup.done(_speculative != null,
+                         _winner != null && _winner == _speculative,
+                         _original.getElapsedMs(),
+                         _speculative == null ? 0 : _speculative.getElapsedMs());
+        }
+    }
+
+    private void launchSpeculative(BlockingQueue<Attempt> finished) {
+        _logger.info("Job '" + getId() + "' has run longer than " + _thresholdMs
+                     + " ms, launching a speculative attempt.");
+        try {
+            _speculative = new Attempt(_backup.create(), "speculative", finished);
+            _speculative.start();
+        } catch(Exception e) {
+            _logger.warn("Couldn't launch a speculative attempt of job '" + getId() + "'.", e);
+            _speculative = null;
+        }
+    }
+
+    @Override
+    public void cancel() throws Exception {
+        _cancelled = true;
+        Attempt speculative = _speculative;
+        if(speculative != null)
+            speculative.cancel();
+        super.cancel();
+    }
+
+    @Override
+    public double getProgress() throws Exception {
+        double progress = super.getProgress();
+        Attempt speculative = _speculative;
+        if(speculative != null)
+            progress = Math.max(progress, speculative.getJob().getProgress());
+        return progress;
+    }
+
+    @Override
+    public Props getJobGeneratedProperties() {
+        Attempt winner = _winner;
+        return winner == null ? super.getJobGeneratedProperties() : winner.getJob().getJobGeneratedProperties();
+    }
+
+    /**
+     * One attempt of the job, run on its own thread
+     */
+    private class Attempt extends Thread {
+
+        private final Job _job;
+        private final String _name;
+        private final BlockingQueue<Attempt> _finished;
+        private final long _started = System.currentTimeMillis();
+        private volatile long _ended = -1;
+        private volatile Exception _failure;
+
+        private Attempt(Job job, String name, BlockingQueue<Attempt> finished) {
+            super(job.getId() + "-" + name);
+            setDaemon(true);
+            _job = job;
+            _name = name;
+            _finished = finished;
+        }
+
+        @Override
+        public void run() {
+            try {
+                _job.run();
+            } catch(Exception e) {
+                _failure = e;
+            } finally {
+                _ended = System.currentTimeMillis();
+                _finished.add(this);
+            }
+        }
+
+        private void cancel() {
+            try {
+                _job.cancel();
+            } catch(Exception e) {
+                _logger.warn("Failed to cancel the " + _name + " attempt of job '"
+                             + SpeculativeJob.this.getId() + "'.", e);
+            }
+        }
+
+        private Job getJob() {
+            return _job;
+        }
+
+        private String getAttemptName() {
+            return _name;
+        }
+
+        private Exception getFailure() {
+            return _failure;
+        }
+
+        private boolean isFinished() {
+            return _ended >= 0;
+        }
+
+        private long getElapsedMs() {
+            long ended = _ended;
+            return (ended < 0 ? System.currentTimeMillis() : ended) - _started;
+        }
+    }
+}
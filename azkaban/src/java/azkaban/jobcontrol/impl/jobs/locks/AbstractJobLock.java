@@ -16,6 +16,8 @@
 
 package azkaban.jobcontrol.impl.jobs.locks;
 
+import java.util.Collection;
+import java.util.Collections;
 import java.util.concurrent.TimeUnit;
 
 public abstract class AbstractJobLock implements JobLock {
@@ -26,16 +28,36 @@ public abstract class AbstractJobLock implements JobLock {
 	
 	public synchronized void acquireLock() throws InterruptedException
 	{
-		if (_status == Status.UNUSED) 
+		if (isAcquirable()) 
 		{
-			_status = Status.ACQUIRING_LOCK;
-			_lockAcquireStartTime = System.currentTimeMillis();
+			startAcquiring();
 			lock();
 			_lockAcquireEndTime = System.currentTimeMillis();
 			_status = Status.ACQUIRED_LOCK;
 		}
 	}
 	
+	public synchronized boolean tryAcquireLock()
+	{
+		if (_status == Status.ACQUIRED_LOCK)
+		{
+			return true;
+		}
+		
+		if (isAcquirable()) 
+		{
+			startAcquiring();
+			if (tryLock())
+			{
+				_lockAcquireEndTime = System.currentTimeMillis();
+				_status = Status.ACQUIRED_LOCK;
+				return true;
+			}
+		}
+		
+		return false;
+	}
+	
 	public synchronized void releaseLock() 
 	{
 		if (_status == Status.ACQUIRED_LOCK)
@@ -68,8 +90,39 @@ public abstract class AbstractJobLock implements JobLock {
 	
 	protected abstract void lock() throws InterruptedException;
 	
+	/**
+	 * Non blocking version of lock(). Implementations must not tie ownership
+	 * to the calling thread, since the lock may be released by another one.
+	 */
+	protected abstract boolean tryLock();
+	
 	protected abstract void unlock();
 	
+	/**
+	 * The underlying shared resources this lock contends on. Used by the
+	 * LockWaitQueue to keep waiters from barging ahead of earlier ones.
+	 */
+	Collection<Object> getResources()
+	{
+		return Collections.<Object>singleton(this);
+	}
+	
+	private boolean isAcquirable()
+	{
+		return _status != Status.ACQUIRED_LOCK;
+	}
+	
+	private void startAcquiring()
+	{
+		if (_status != Status.ACQUIRING_LOCK)
+		{
+			_status = Status.ACQUIRING_LOCK;
+			_lockAcquireStartTime = System.currentTimeMillis();
+			_lockAcquireEndTime = -1;
+			_lockReleasedTime = -1;
+		}
+	}
+	
 	private long convertTime(TimeUnit unit, long time) 
 	{
 		if ( time == -1l ) 
@@ -18,6 +18,8 @@ package azkaban.jobcontrol.impl.jobs.locks;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
 
 /**
  * Groups a list of locks, attempts to reorder them, and then 
@@ -42,6 +44,29 @@ public class GroupLock extends AbstractJobLock
 		}
 	}
 	
+	/**
+	 * Acquires all of the locks or none of them, so that a group that can't
+	 * run doesn't sit on resources other jobs could be using.
+	 */
+	protected synchronized boolean tryLock()
+	{
+		List<JobLock> acquired = new ArrayList<JobLock>(_locks.size());
+		for (JobLock lock : _locks) 
+		{
+			if (!lock.tryAcquireLock())
+			{
+				for (JobLock held : acquired) 
+				{
+					held.releaseLock();
+				}
+				return false;
+			}
+			acquired.add(lock);
+		}
+		
+		return true;
+	}
+	
 	protected synchronized void unlock()
 	{
 		for (JobLock lock : _locks) 
@@ -65,4 +90,23 @@ public class GroupLock extends AbstractJobLock
 	{
 		return _locks.size();
 	}
+	
+	@Override
+	Collection<Object> getResources()
+	{
+		Collection<Object> resources = new LinkedHashSet<Object>();
+		for (JobLock lock : _locks) 
+		{
+			if (lock instanceof AbstractJobLock)
+			{
+				resources.addAll(((AbstractJobLock) lock).getResources());
+			}
+			else
+			{
+				resources.add(lock);
+			}
+		}
+		
+		return resources;
+	}
 }
@@ -28,6 +28,16 @@ public interface JobLock {
 	}
 	
 	public void acquireLock() throws InterruptedException;
+	
+	/**
+	 * Attempts to acquire the lock without blocking. A lock that could not
+	 * be acquired may be attempted again later, and a released lock may be
+	 * acquired again.
+	 * 
+	 * @return true if the lock is now held
+	 */
+	public boolean tryAcquireLock();
+	
 	public void releaseLock();
 	
 	public long getLockAcquireTime(TimeUnit unit);
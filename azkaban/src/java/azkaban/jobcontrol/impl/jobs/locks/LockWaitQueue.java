@@ -0,0 +1,169 @@
+/*
+ * Copyright 2010 LinkedIn, Inc
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package azkaban.jobcontrol.impl.jobs.locks;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Set;
+
+import org.apache.log4j.Logger;
+
+/**
+ * A queue of jobs waiting on locks that doesn't park a thread per waiter.
+ * 
+ * Waiters register a continuation that gets called once their lock is held.
+ * Whenever a lock is released through the queue, waiters are retried in
+ * arrival order. A waiter that can't be satisfied blocks the resources it
+ * wants for everyone behind it, so big requests aren't starved by a stream of
+ * small ones.
+ */
+public class LockWaitQueue 
+{
+	private static final Logger logger = Logger.getLogger(LockWaitQueue.class);
+	
+	private final LinkedList<Request> _waiting = new LinkedList<Request>();
+	
+	/**
+	 * Adds a waiter for the given lock. If the lock is available right away,
+	 * onAcquired is called before this method returns. Otherwise it is called
+	 * on whichever thread releases the resources it was waiting on.
+	 */
+	public Request enqueue(JobLock lock, Runnable onAcquired)
+	{
+		Request request = new Request(lock, onAcquired);
+		synchronized (this) 
+		{
+			_waiting.add(request);
+		}
+		signal();
+		
+		return request;
+	}
+	
+	/**
+	 * Removes a waiter from the queue.
+	 * 
+	 * @return true if the request was still waiting, false if it had already
+	 * been granted its lock (in which case the caller is responsible for it).
+	 */
+	public synchronized boolean cancel(Request request)
+	{
+		return _waiting.remove(request);
+	}
+	
+	/**
+	 * Releases the lock and lets waiters have a go at the freed resources.
+	 */
+	public void release(JobLock lock)
+	{
+		lock.releaseLock();
+		signal();
+	}
+	
+	public synchronized int getNumWaiting()
+	{
+		return _waiting.size();
+	}
+	
+	/**
+	 * Grants locks to as many waiters as possible and runs their
+	 * continuations outside of the queue's monitor.
+	 */
+	public void signal()
+	{
+		List<Request> granted = new ArrayList<Request>();
+		synchronized (this) 
+		{
+			Set<Object> blocked = new HashSet<Object>();
+			Iterator<Request> iter = _waiting.iterator();
+			while (iter.hasNext()) 
+			{
+				Request request = iter.next();
+				if (Collections.disjoint(blocked, request._resources) && request._lock.tryAcquireLock()) 
+				{
+					iter.remove();
+					request._granted = true;
+					granted.add(request);
+				}
+				else 
+				{
+					blocked.addAll(request._resources);
+				}
+			}
+		}
+		
+		boolean releasedAny = false;
+		for (Request request : granted) 
+		{
+			try 
+			{
+				request._onAcquired.run();
+			}
+			catch (RuntimeException e) 
+			{
+				logger.error("Lock continuation failed for " + request._lock + ", releasing.", e);
+				request._lock.releaseLock();
+				releasedAny = true;
+			}
+		}
+		
+		if (releasedAny) 
+		{
+			signal();
+		}
+	}
+	
+	private static Collection<Object> getResources(JobLock lock)
+	{
+		if (lock instanceof AbstractJobLock) 
+		{
+			return ((AbstractJobLock) lock).getResources();
+		}
+		
+		return Collections.<Object>singleton(lock);
+	}
+	
+	public static class Request 
+	{
+		private final JobLock _lock;
+		private final Runnable _onAcquired;
+		private final Collection<Object> _resources;
+		private volatile boolean _granted = false;
+		
+		private Request(JobLock lock, Runnable onAcquired) 
+		{
+			_lock = lock;
+			_onAcquired = onAcquired;
+			_resources = getResources(lock);
+		}
+		
+		public JobLock getLock()
+		{
+			return _lock;
+		}
+		
+		public boolean isGranted()
+		{
+			return _granted;
+		}
+	}
+}
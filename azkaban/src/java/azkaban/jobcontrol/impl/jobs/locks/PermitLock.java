@@ -16,6 +16,8 @@
 
 package azkaban.jobcontrol.impl.jobs.locks;
 
+import java.util.Collection;
+import java.util.Collections;
 import java.util.concurrent.Semaphore;
 
 public class PermitLock extends AbstractJobLock 
@@ -43,6 +45,11 @@ public class PermitLock extends AbstractJobLock
         _permitPool.acquire(_numPermits);
     }
 	
+	protected synchronized boolean tryLock()
+	{
+		return _permitPool.tryAcquire(_numPermits);
+	}
+	
 	protected synchronized void unlock()
 	{
 		_permitPool.release(_numPermits);
@@ -57,4 +64,10 @@ public class PermitLock extends AbstractJobLock
 	{
 		return _totalPermits;
 	}
+	
+	@Override
+	Collection<Object> getResources()
+	{
+		return Collections.<Object>singleton(_permitPool);
+	}
 }
@@ -17,39 +17,34 @@
 package azkaban.jobcontrol.impl.jobs.locks;
 
 import java.util.Hashtable;
-import java.util.concurrent.locks.ReadWriteLock;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 public class ReadWriteLockManager {
-	private final Hashtable<Object, ReadWriteLock > _readWriteLockMap;
-	private boolean _isFair = true;
+	private final Hashtable<Object, ReadWriteLockState > _readWriteLockMap;
 	
 	public ReadWriteLockManager() 
 	{
-		_readWriteLockMap = new Hashtable<Object, ReadWriteLock >();
+		_readWriteLockMap = new Hashtable<Object, ReadWriteLockState >();
 	}
 	
 	public ReadWriteResourceLock getReadLock(Object resource) 
 	{
-		ReadWriteLock rwl = _readWriteLockMap.get(resource);
-		if(rwl == null) 
-		{
-			rwl = new ReentrantReadWriteLock(_isFair);
-			_readWriteLockMap.put(resource, rwl);
-		}
-		
-		return new ReadWriteResourceLock( resource, rwl, false );
+		return new ReadWriteResourceLock( resource, getLockState(resource), false );
 	}
 	
 	public ReadWriteResourceLock getWriteLock(Object resource) 
 	{
-		ReadWriteLock rwl = _readWriteLockMap.get(resource);
+		return new ReadWriteResourceLock(resource, getLockState(resource), true);
+	}
+	
+	private synchronized ReadWriteLockState getLockState(Object resource)
+	{
+		ReadWriteLockState rwl = _readWriteLockMap.get(resource);
 		if (rwl == null) 
 		{
-			rwl = new ReentrantReadWriteLock(_isFair);
+			rwl = new ReadWriteLockState();
 			_readWriteLockMap.put(resource, rwl);
 		}
 		
-		return new ReadWriteResourceLock(resource, rwl, true);
+		return rwl;
 	}
 }
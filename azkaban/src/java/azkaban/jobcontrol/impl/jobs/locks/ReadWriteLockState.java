@@ -0,0 +1,91 @@
+/*
+ * Copyright 2010 LinkedIn, Inc
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package azkaban.jobcontrol.impl.jobs.locks;
+
+/**
+ * Reader/writer state for a single named resource.
+ * 
+ * Unlike ReentrantReadWriteLock, holds are not owned by a thread, so a lock
+ * taken by the thread that granted it can be released by the job thread that
+ * ran with it.
+ */
+public class ReadWriteLockState 
+{
+	private int _readers = 0;
+	private boolean _writer = false;
+	
+	public synchronized boolean tryReadLock()
+	{
+		if (_writer)
+		{
+			return false;
+		}
+		_readers++;
+		return true;
+	}
+	
+	public synchronized boolean tryWriteLock()
+	{
+		if (_writer || _readers > 0)
+		{
+			return false;
+		}
+		_writer = true;
+		return true;
+	}
+	
+	public synchronized void readLock() throws InterruptedException
+	{
+		while (!tryReadLock())
+		{
+			wait();
+		}
+	}
+	
+	public synchronized void writeLock() throws InterruptedException
+	{
+		while (!tryWriteLock())
+		{
+			wait();
+		}
+	}
+	
+	public synchronized void readUnlock()
+	{
+		if (_readers <= 0)
+		{
+			throw new IllegalStateException("Read lock is not held.");
+		}
+		_readers--;
+		notifyAll();
+	}
+	
+	public synchronized void writeUnlock()
+	{
+		if (!_writer)
+		{
+			throw new IllegalStateException("Write lock is not held.");
+		}
+		_writer = false;
+		notifyAll();
+	}
+	
+	public synchronized String toString()
+	{
+		return "readers:" + _readers + " writer:" + _writer;
+	}
+}
@@ -16,17 +16,18 @@
 
 package azkaban.jobcontrol.impl.jobs.locks;
 
-import java.util.concurrent.locks.ReadWriteLock;
+import java.util.Collection;
+import java.util.Collections;
 
 public class ReadWriteResourceLock extends AbstractJobLock
 {
 	public static final String WRITE = "write-lock";
 	public static final String READ = "read-lock";
-	private final ReadWriteLock _lock;
+	private final ReadWriteLockState _lock;
 	private final Object _resource;
 	private final boolean _write;
 	
-	public ReadWriteResourceLock( Object resource, ReadWriteLock lock, boolean write )
+	public ReadWriteResourceLock( Object resource, ReadWriteLockState lock, boolean write )
 	{
 		_lock = lock;
 		_resource = resource;
@@ -37,23 +38,28 @@ public class ReadWriteResourceLock extends AbstractJobLock
 	{
 		if (_write)
 		{
-			_lock.writeLock().lock();
+			_lock.writeLock();
 		}
 		else
 		{
-			_lock.readLock().lock();
+			_lock.readLock();
 		}
 	}
 	
+	protected synchronized boolean tryLock()
+	{
+		return _write ? _lock.tryWriteLock() : _lock.tryReadLock();
+	}
+	
 	protected synchronized void unlock()
 	{
 		if (_write) 
 		{
-			_lock.writeLock().unlock();
+			_lock.writeUnlock();
 		}
 		else 
 		{
-			_lock.readLock().unlock();
+			_lock.readUnlock();
 		}
 		
 	}
@@ -62,4 +68,10 @@ public class ReadWriteResourceLock extends AbstractJobLock
 	{
 		return "Resource Lock:" + _resource;
 	}
+	
+	@Override
+	Collection<Object> getResources()
+	{
+		return Collections.<Object>singleton(_lock);
+	}
 }
@@ -15,20 +15,22 @@
  */
 package azkaban.jobs;
 
-import java.io.BufferedInputStream;
+import java.io.BufferedReader;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.IOException;
-import java.io.InputStream;
-import java.util.HashMap;
+import java.io.InputStreamReader;
+import java.io.PushbackReader;
+import java.io.Reader;
 import java.util.Map;
-import java.util.Set;
+import java.util.Properties;
 
-import org.apache.commons.fileupload.util.Streams;
 import org.apache.commons.io.IOUtils;
 import org.apache.log4j.Logger;
+import org.json.JSONException;
 import org.json.JSONObject;
+import org.json.JSONTokener;
 
 import azkaban.app.JobDescriptor;
 import azkaban.app.PropsUtils;
@@ -50,6 +52,12 @@ public abstract class AbstractProcessJob extends AbstractJob {
     public static final String WORKING_DIR = "working.dir";
     public static final String JOB_PROP_ENV = "JOB_PROP_FILE";
     public static final String JOB_NAME_ENV = "JOB_NAME";
+    /**
+     * The file a job can write its output properties to, either as a single
+     * JSON object or as java properties lines. The latter can be appended to
+     * one at a time while the job runs, e.g. echo "key=value" >>
+     * $JOB_OUTPUT_PROP_FILE.
+     */
     public static final String JOB_OUTPUT_PROP_FILE = "JOB_OUTPUT_PROP_FILE";
         
     private static final JSONToJava jsonToJava = new JSONToJava();
@@ -100,7 +108,8 @@ public abstract class AbstractProcessJob extends AbstractJob {
     }
     
     /**
-     * initialize temporary and final property file
+     * initialize temporary and final property file. Both are created once per
+     * run and shared by all the commands the job runs.
      * 
     		* @return {tmpPropFile, outputPropFile}
      */
@@ -135,38 +144,83 @@ public abstract class AbstractProcessJob extends AbstractJob {
         return  _props.getString(WORKING_DIR,  new File(_jobPath).getParent());
     }
     
-    public Props loadOutputFileProps( File outputPropertiesFile)
+    /**
+     * Load the properties the job wrote to its output properties file
+     * 
+     * @param outputPropertiesFile The file
+     * @return The properties, empty if the file is missing or empty
+     * @throws RuntimeException If the file can't be read or parsed
+     */
+    public Props loadOutputFileProps(File outputPropertiesFile)
     {
-        InputStream reader = null;
+        Reader reader = null;
         try {
-            System.err.println("output properties file=" + outputPropertiesFile.getAbsolutePath());
-            reader = new BufferedInputStream(new FileInputStream(outputPropertiesFile));
-
-            Props outputProps = new Props();
-            final String content = Streams.asString(reader).trim();
-            
-            if (!content.isEmpty()) {
-                Map<String, Object> propMap = jsonToJava.apply(new JSONObject(content));
-
-                for (Map.Entry<String, Object> entry : propMap.entrySet()) {
-                    outputProps.put(entry.getKey(), entry.getValue().toString());
-                }
-            }
-            return outputProps;
+            log.debug("output properties file=" + outputPropertiesFile.getAbsolutePath());
+            reader = new BufferedReader(new InputStreamReader(new FileInputStream(outputPropertiesFile)));
+            return readOutputProps(reader);
         }
         catch (FileNotFoundException e) {
             log.info(String.format("File[%s] wasn't found, returning empty props.", outputPropertiesFile));
             return new Props();
         }
-        catch (Exception e) {
-            log.error("Exception thrown when trying to load output file props.  Returning empty Props instead of failing.  Is this really the best thing to do?", e);
-            return new Props();
+        catch (IOException e) {
+            throw new RuntimeException(String.format("Could not read output properties of job %s from file[%s]: %s",
+                                                     getId(),
+                                                     outputPropertiesFile,
+                                                     e.getMessage()), e);
         }
         finally {
             IOUtils.closeQuietly(reader);
         }
     }
 
+    /**
+     * Parse output properties, written either as a single JSON object or as
+     * java properties. Only the JSON object is read into memory as a whole.
+     * 
+     * @param reader The output properties
+     * @return The properties
+     * @throws IOException If reading fails or the content is malformed
+     */
+    public static Props readOutputProps(Reader reader) throws IOException {
+        PushbackReader input = new PushbackReader(reader);
+        Props outputProps = new Props();
+
+        int first = input.read();
+        while (first != -1 && Character.isWhitespace(first))
+            first = input.read();
+        if (first == -1)
+            return outputProps;
+        input.unread(first);
+
+        if (first == '{') {
+            try {
+                JSONTokener tokener = new JSONTokener(input);
+                Map<String, Object> propMap = jsonToJava.apply(new JSONObject(tokener));
+                if (tokener.nextClean() != 0)
+                    throw new IOException("Unexpected content after the JSON object, " + tokener);
+
+                for (Map.Entry<String, Object> entry : propMap.entrySet()) {
+                    outputProps.put(entry.getKey(), entry.getValue().toString());
+                }
+            }
+            catch (JSONException e) {
+                throw new IOException("Malformed JSON: " + e.getMessage(), e);
+            }
+        }
+        else {
+            Properties properties = new Properties();
+            try {
+                properties.load(input);
+            }
+            catch (IllegalArgumentException e) {
+                throw new IOException("Malformed properties: " + e.getMessage(), e);
+            }
+            outputProps.put(properties);
+        }
+        return outputProps;
+    }
+
     public File createFlattenedPropsFile(String workingDir) {
               File directory = new File(workingDir);
               File tempFile = null;
@@ -199,4 +253,8 @@ public abstract class AbstractProcessJob extends AbstractJob {
         generatedPropeties = loadOutputFileProps( outputFile);
     }
 
+    protected void setJobGeneratedProperties(Props props) {
+        generatedPropeties = props;
+    }
+
 }
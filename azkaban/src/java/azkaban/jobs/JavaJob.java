@@ -17,6 +17,7 @@
 package azkaban.jobs;
 
 import java.io.File;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.StringTokenizer;
 
@@ -65,7 +66,7 @@ public class JavaJob extends JavaProcessJob {
         return classPath;
 	}
 
-	private static String getSourcePathFromClass(Class containedClass) {
+	static String getSourcePathFromClass(Class<?> containedClass) {
 	    File file = new File(containedClass.getProtectionDomain().getCodeSource().getLocation().getPath());
 	    
         if (!file.isDirectory() && file.getName().endsWith(".class")) {
@@ -88,6 +89,20 @@ public class JavaJob extends JavaProcessJob {
     protected String getJavaClass() {
         return JavaJobRunnerMain.class.getName();
     }
+
+    /**
+     * Pooled java jobs go through JavaJobRunnerMain inside the worker rather
+     * than through its main(), which would register a shutdown hook per job.
+     */
+    @Override
+    protected JavaJobWorkerPool.WorkerRequest createWorkerRequest(List<String> classPath) {
+        return new JavaJobWorkerPool.WorkerRequest(getId(),
+                new File(getCwd()),
+                getEnv(),
+                classPath,
+                null,
+                new ArrayList<String>());
+    }
     
 	@Override
 	public String toString() {
@@ -69,60 +69,106 @@ public class JavaJobRunnerMain {
         );
 
         try {
-            _jobName = System.getenv(ProcessJob.JOB_NAME_ENV);
-            String propsFile = System.getenv(ProcessJob.JOB_PROP_ENV);
-
-            _logger = Logger.getRootLogger();
-            _logger.removeAllAppenders();
-            ConsoleAppender appender = new ConsoleAppender(DEFAULT_LAYOUT);
-            appender.activateOptions();
-            _logger.addAppender(appender);
-
-            Properties prop = new Properties();
-            prop.load(new BufferedReader(new FileReader(propsFile)));
-
-            _logger.info("Running job " + _jobName);
-            String className = prop.getProperty(JOB_CLASS);
-            if(className == null) {
-                throw new Exception("Class name is not set.");
-            }
-            _logger.info("Class name " + className);
-
-            // Create the object.
-            _javaObject = getObject(_jobName, className, prop);
-            if(_javaObject == null) {
-                _logger.info("Could not create java object to run job: " + className);
-                throw new Exception("Could not create running object");
-            }
+            _jobName = getSetting(ProcessJob.JOB_NAME_ENV);
+            _logger = createLogger();
 
-            _cancelMethod = prop.getProperty(CANCEL_METHOD_PARAM, DEFAULT_CANCEL_METHOD);
-
-            String runMethod = prop.getProperty(RUN_METHOD_PARAM, DEFAULT_RUN_METHOD);
-            _logger.info("Invoking method " + runMethod);
-            _javaObject.getClass().getMethod(runMethod, new Class<?>[] {}).invoke(_javaObject);
+            run();
+        } catch (Exception e) {
             _isFinished = true;
+            throw e;
+        }
+    }
 
-            // Get the generated properties and store them to disk, to be read by ProcessJob.
-            try {
-                final Method generatedPropertiesMethod = _javaObject.getClass().getMethod(GET_GENERATED_PROPERTIES_METHOD, new Class<?>[]{});
-                Props outputGendProps = (Props) generatedPropertiesMethod.invoke(_javaObject, new Object[] {});
-                outputGeneratedProperties(outputGendProps);
-            } catch (NoSuchMethodException e) {
-                _logger.info(
-                        String.format(
-                                "Apparently there isn't a method[%s] on object[%s], using empty Props object instead.",
-                                GET_GENERATED_PROPERTIES_METHOD,
-                                _javaObject
-                        )
-                );
-                outputGeneratedProperties(new Props());
-            }
+    /**
+     * Sets up a runner inside an already running JVM. Used by JavaJobWorkerMain,
+     * which loads this class through the job's own classloader and then calls
+     * runInWorker(). Cancellation is left to the worker.
+     */
+    public JavaJobRunnerMain(String jobName) {
+        _jobName = jobName;
+        _logger = createLogger();
+    }
+
+    /**
+     * Runs the job the same way main() does. The worker can't change its
+     * environment, so it passes the job's settings as system properties.
+     */
+    public void runInWorker() throws Exception {
+        try {
+            run();
         } catch (Exception e) {
             _isFinished = true;
             throw e;
         }
     }
 
+    private void run() throws Exception {
+        String propsFile = getSetting(ProcessJob.JOB_PROP_ENV);
+
+        Properties prop = new Properties();
+        BufferedReader reader = new BufferedReader(new FileReader(propsFile));
+        try {
+            prop.load(reader);
+        } finally {
+            IOUtils.closeQuietly(reader);
+        }
+
+        outputGeneratedProperties(runJob(prop));
+    }
+
+    private static String getSetting(String name) {
+        String value = System.getProperty(name);
+        return value != null ? value : System.getenv(name);
+    }
+
+    private static Logger createLogger() {
+        Logger logger = Logger.getRootLogger();
+        logger.removeAllAppenders();
+        ConsoleAppender appender = new ConsoleAppender(DEFAULT_LAYOUT);
+        appender.activateOptions();
+        logger.addAppender(appender);
+
+        return logger;
+    }
+
+    private Props runJob(Properties prop) throws Exception {
+        _logger.info("Running job " + _jobName);
+        String className = prop.getProperty(JOB_CLASS);
+        if(className == null) {
+            throw new Exception("Class name is not set.");
+        }
+        _logger.info("Class name " + className);
+
+        // Create the object.
+        _javaObject = getObject(_jobName, className, prop);
+        if(_javaObject == null) {
+            _logger.info("Could not create java object to run job: " + className);
+            throw new Exception("Could not create running object");
+        }
+
+        _cancelMethod = prop.getProperty(CANCEL_METHOD_PARAM, DEFAULT_CANCEL_METHOD);
+
+        String runMethod = prop.getProperty(RUN_METHOD_PARAM, DEFAULT_RUN_METHOD);
+        _logger.info("Invoking method " + runMethod);
+        _javaObject.getClass().getMethod(runMethod, new Class<?>[] {}).invoke(_javaObject);
+        _isFinished = true;
+
+        // Get the generated properties so they can be handed back to ProcessJob.
+        try {
+            final Method generatedPropertiesMethod = _javaObject.getClass().getMethod(GET_GENERATED_PROPERTIES_METHOD, new Class<?>[]{});
+            return (Props) generatedPropertiesMethod.invoke(_javaObject, new Object[] {});
+        } catch (NoSuchMethodException e) {
+            _logger.info(
+                    String.format(
+                            "Apparently there isn't a method[%s] on object[%s], using empty Props object instead.",
+                            GET_GENERATED_PROPERTIES_METHOD,
+                            _javaObject
+                    )
+            );
+            return new Props();
+        }
+    }
+
     private void outputGeneratedProperties(Props outputProperties)
     {
         _logger.info("Outputting generated properties to " + ProcessJob.JOB_OUTPUT_PROP_FILE);
@@ -133,7 +179,7 @@ public class JavaJobRunnerMain {
         for (String key : outputProperties.getKeySet()) {
             _logger.info("  gend prop " + key + " value:" + outputProperties.get(key));
         }
-        String outputFileStr = System.getenv(ProcessJob.JOB_OUTPUT_PROP_FILE);
+        String outputFileStr = getSetting(ProcessJob.JOB_OUTPUT_PROP_FILE);
         if (outputFileStr == null) {
             return;
         }
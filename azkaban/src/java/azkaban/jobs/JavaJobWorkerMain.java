@@ -0,0 +1,372 @@
+/*
+ * Copyright 2010 LinkedIn, Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package azkaban.jobs;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileDescriptor;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Main class of a pooled JVM worker, see JavaJobWorkerPool.
+ *
+ * The worker reads job requests from stdin and answers on stdout, one job at a
+ * time. Each job runs in its own classloader built from the job's classpath,
+ * so nothing but the JDK is shared between jobs. Whatever the job prints to
+ * System.out and System.err is sent back line by line, the same way a forked
+ * JavaJobRunnerMain's output would be read by ProcessJob.
+ *
+ * A JVM can't change its working directory or environment, so while a job
+ * runs user.dir is set to its working directory, which java.io.File resolves
+ * relative paths against, and its environment is set as system properties.
+ * Relative entries of its class path are resolved against its working
+ * directory, as a forked JVM started there would. That way any worker can run
+ * any job, wherever it was started. A job that calls System.exit() ends the
+ * worker with that exit code, just like a forked JVM.
+ *
+ * This class must only depend on the JDK, since the worker's own classpath is
+ * kept out of the jobs' way.
+ */
+public class JavaJobWorkerMain {
+
+    static final byte READY = 'H';
+    static final byte RUN_JOB = 'J';
+    static final byte OUTPUT = 'O';
+    static final byte ERROR_OUTPUT = 'E';
+    static final byte RESULT = 'R';
+
+    private static final String RUNNER_CLASS = "azkaban.jobs.JavaJobRunnerMain";
+
+    private final DataInputStream _in;
+    private final DataOutputStream _out;
+    // The worker's own stderr, which the pool logs.
+    private final PrintStream _log;
+
+    private volatile boolean _inJob = false;
+    private volatile Object _runner = null;
+
+    public static void main(String[] args) throws Exception {
+        JavaJobWorkerMain worker = new JavaJobWorkerMain(
+                new FileInputStream(FileDescriptor.in),
+                new FileOutputStream(FileDescriptor.out)
+        );
+        worker.serve();
+        System.exit(0);
+    }
+
+    public JavaJobWorkerMain(final InputStream in, final OutputStream out) {
+        _in = new DataInputStream(new BufferedInputStream(in));
+        _out = new DataOutputStream(new BufferedOutputStream(out));
+        _log = System.err;
+
+        System.setOut(new PrintStream(new FramingOutputStream(OUTPUT), true));
+        System.setErr(new PrintStream(new FramingOutputStream(ERROR_OUTPUT), true));
+
+        // Same as a forked job: being killed or exiting means the job gets canceled.
+        Runtime.getRuntime().addShutdownHook(new Thread() {
+            public void run() {
+                System.out.flush();
+                System.err.flush();
+
+                Object runner = _runner;
+                if(_inJob && runner != null) {
+                    try {
+                        runner.getClass().getMethod("cancelJob").invoke(runner);
+                    } catch(Exception e) {
+                        log("Unable to cancel the running job on shutdown.", e);
+                    }
+                }
+            }
+        });
+    }
+
+    public void serve() throws IOException {
+        synchronized(_out) {
+            _out.writeByte(READY);
+            _out.flush();
+        }
+
+        while(true) {
+            byte type;
+            try {
+                type = _in.readByte();
+            } catch(EOFException e) {
+                return;
+            }
+
+            if(type != RUN_JOB) {
+                throw new IOException("Unknown request type " + type);
+            }
+
+            String jobName = readString(_in);
+            String workingDir = readString(_in);
+            Map<String, String> env = readMap(_in);
+            List<String> classPath = readStrings(_in);
+            String mainClass = readString(_in);
+            List<String> mainArgs = readStrings(_in);
+
+            runJob(jobName, workingDir, env, classPath, mainClass, mainArgs);
+        }
+    }
+
+    private void runJob(final String jobName,
+                        final String workingDir,
+                        final Map<String, String> env,
+                        final List<String> classPath,
+                        final String mainClass,
+                        final List<String> mainArgs) throws IOException {
+        File dir = new File(workingDir).getAbsoluteFile();
+        final URL[] urls = new URL[classPath.size()];
+        for(int i = 0; i < urls.length; i++) {
+            File entry = new File(classPath.get(i));
+            if(!entry.isAbsolute()) {
+                entry = new File(dir, classPath.get(i));
+            }
+            urls[i] = entry.toURI().toURL();
+        }
+        final ClassLoader loader = new URLClassLoader(urls, ClassLoader.getSystemClassLoader().getParent());
+
+        final Throwable[] failure = new Throwable[1];
+        ThreadGroup group = new ThreadGroup("job-" + jobName);
+        Thread jobThread = new Thread(group, new Runnable() {
+            public void run() {
+                try {
+                    if(mainClass == null) {
+                        Class<?> runnerClass = loader.loadClass(RUNNER_CLASS);
+                        _runner = runnerClass.getConstructor(String.class).newInstance(jobName);
+                        runnerClass.getMethod("runInWorker").invoke(_runner);
+                    }
+                    else {
+                        Method method = loader.loadClass(mainClass).getMethod("main", String[].class);
+                        method.invoke(null, (Object) mainArgs.toArray(new String[mainArgs.size()]));
+                    }
+                } catch(Throwable t) {
+                    failure[0] = t instanceof InvocationTargetException ? t.getCause() : t;
+                }
+            }
+        }, jobName + "-main");
+        jobThread.setContextClassLoader(loader);
+
+        Map<String, String> properties = new LinkedHashMap<String, String>(env);
+        properties.put("user.dir", dir.getPath());
+        Map<String, String> previous = setProperties(properties);
+        _inJob = true;
+        try {
+            jobThread.start();
+            jobThread.join();
+            // A forked JVM only exits once its non-daemon threads are done.
+            joinNonDaemonThreads(group);
+        } catch(InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            _inJob = false;
+            _runner = null;
+            setProperties(previous);
+        }
+
+        // Fail the way an uncaught exception fails a forked JVM.
+        int exitCode = 0;
+        if(failure[0] != null) {
+            System.err.print("Exception in thread \"main\" ");
+            failure[0].printStackTrace();
+            exitCode = 1;
+        }
+        System.out.flush();
+        System.err.flush();
+
+        // Leftover daemon threads keep the group around until they finish.
+        group.setDaemon(true);
+        try {
+            group.destroy();
+        } catch(IllegalThreadStateException e) {
+        }
+
+        sendResult(exitCode, !(failure[0] instanceof Error));
+    }
+
+    private void sendResult(int exitCode, boolean clean) throws IOException {
+        Runtime runtime = Runtime.getRuntime();
+        System.gc();
+        long usedHeap = runtime.totalMemory() - runtime.freeMemory();
+
+        synchronized(_out) {
+            _out.writeByte(RESULT);
+            _out.writeInt(exitCode);
+            _out.writeLong(usedHeap);
+            _out.writeLong(runtime.maxMemory());
+            _out.writeBoolean(clean);
+            _out.flush();
+        }
+    }
+
+    /**
+     * Sets the given system properties, clearing the ones mapped to null.
+     *
+     * @return The values they had before
+     */
+    private static Map<String, String> setProperties(Map<String, String> properties) {
+        Map<String, String> previous = new LinkedHashMap<String, String>();
+        for(Map.Entry<String, String> entry: properties.entrySet()) {
+            if(entry.getKey() == null) {
+                continue;
+            }
+            previous.put(entry.getKey(), System.getProperty(entry.getKey()));
+            if(entry.getValue() == null) {
+                System.clearProperty(entry.getKey());
+            }
+            else {
+                System.setProperty(entry.getKey(), entry.getValue());
+            }
+        }
+        return previous;
+    }
+
+    private void log(String message, Throwable t) {
+        _log.println(message);
+        t.printStackTrace(_log);
+        _log.flush();
+    }
+
+    private static void joinNonDaemonThreads(ThreadGroup group) throws InterruptedException {
+        while(true) {
+            Thread[] threads = new Thread[group.activeCount() + 1];
+            int count = group.enumerate(threads, true);
+            Thread toJoin = null;
+            for(int i = 0; i < count; i++) {
+                if(!threads[i].isDaemon() && threads[i] != Thread.currentThread()) {
+                    toJoin = threads[i];
+                    break;
+                }
+            }
+            if(toJoin == null) {
+                return;
+            }
+            toJoin.join();
+        }
+    }
+
+    static void writeString(DataOutputStream out, String value) throws IOException {
+        if(value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes("UTF-8");
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    static String readString(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if(length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, "UTF-8");
+    }
+
+    static void writeStrings(DataOutputStream out, List<String> values) throws IOException {
+        out.writeInt(values.size());
+        for(String value: values) {
+            writeString(out, value);
+        }
+    }
+
+    static List<String> readStrings(DataInputStream in) throws IOException {
+        int size = in.readInt();
+        List<String> values = new ArrayList<String>(size);
+        for(int i = 0; i < size; i++) {
+            values.add(readString(in));
+        }
+        return values;
+    }
+
+    static void writeMap(DataOutputStream out, Map<String, String> values) throws IOException {
+        out.writeInt(values.size());
+        for(Map.Entry<String, String> entry: values.entrySet()) {
+            writeString(out, entry.getKey());
+            writeString(out, entry.getValue());
+        }
+    }
+
+    static Map<String, String> readMap(DataInputStream in) throws IOException {
+        int size = in.readInt();
+        Map<String, String> values = new LinkedHashMap<String, String>();
+        for(int i = 0; i < size; i++) {
+            values.put(readString(in), readString(in));
+        }
+        return values;
+    }
+
+    /**
+     * Cuts everything written to it into lines and sends each one as a frame.
+     */
+    private class FramingOutputStream extends OutputStream {
+
+        private final byte _type;
+        private final ByteArrayOutputStream _line = new ByteArrayOutputStream();
+
+        private FramingOutputStream(byte type) {
+            _type = type;
+        }
+
+        @Override
+        public synchronized void write(int b) throws IOException {
+            if(b == '\n') {
+                sendLine();
+            }
+            else {
+                _line.write(b);
+            }
+        }
+
+        @Override
+        public synchronized void flush() throws IOException {
+            if(_line.size() > 0) {
+                sendLine();
+            }
+        }
+
+        private void sendLine() throws IOException {
+            String line = _line.toString();
+            _line.reset();
+            synchronized(_out) {
+                _out.writeByte(_type);
+                writeString(_out, line);
+                _out.flush();
+            }
+        }
+    }
+}
@@ -0,0 +1,500 @@
+/*
+ * Copyright 2010 LinkedIn, Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package azkaban.jobs;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.log4j.Logger;
+
+import azkaban.common.utils.Props;
+import azkaban.util.process.ProcessFailureException;
+
+/**
+ * A pool of pre-started JVMs that run java jobs, so small jobs don't pay for
+ * JVM startup, class loading and warm up on every run.
+ *
+ * Workers run JavaJobWorkerMain and talk to the pool over their stdin/stdout.
+ * A worker runs one job at a time in a classloader of its own, and is
+ * replaced after a number of jobs, when its heap use after a job crosses a
+ * threshold, or when a job dies with an Error. Canceling a job kills its
+ * worker, just like a forked job would be killed.
+ *
+ * Jobs run in the worker's JVM, so they get the pool's JVM arguments rather
+ * than their own. Any worker runs any job: the job's working directory comes
+ * with the request, and the worker makes it the job's user.dir, see
+ * JavaJobWorkerMain. The job's props and output props files are handled
+ * exactly as for a forked job.
+ */
+public class JavaJobWorkerPool {
+
+    private static final Logger logger = Logger.getLogger(JavaJobWorkerPool.class);
+
+    public static final String POOL_SIZE = "java.worker.pool.size";
+    public static final String MAX_JOBS_PER_WORKER = "java.worker.pool.max.jobs";
+    public static final String MAX_HEAP_PERCENT = "java.worker.pool.max.heap.percent";
+    public static final String JVM_ARGS = "java.worker.pool.jvm.args";
+
+    public static final int DEFAULT_MAX_JOBS_PER_WORKER = 100;
+    public static final int DEFAULT_MAX_HEAP_PERCENT = 75;
+    public static final String DEFAULT_JVM_ARGS = "-Xms64M -Xmx512M";
+
+    private final int _size;
+    private final int _maxJobsPerWorker;
+    private final int _maxHeapPercent;
+    private final String _jvmArgs;
+
+    private final BlockingQueue<Worker> _idle = new LinkedBlockingQueue<Worker>();
+    private final ExecutorService _starter;
+    private final AtomicInteger _numWorkers = new AtomicInteger(0);
+    private final AtomicInteger _workerCounter = new AtomicInteger(0);
+    private final AtomicLong _jobsRun = new AtomicLong(0);
+    private final AtomicLong _workersRecycled = new AtomicLong(0);
+    private volatile boolean _shutdown = false;
+
+    public JavaJobWorkerPool(int size, int maxJobsPerWorker, int maxHeapPercent, String jvmArgs) {
+        if(size < 1) {
+            throw new IllegalArgumentException("Worker pool needs at least one worker, got " + size);
+        }
+
+        _size = size;
+        _maxJobsPerWorker = maxJobsPerWorker;
+        _maxHeapPercent = maxHeapPercent;
+        _jvmArgs = jvmArgs;
+        _starter = Executors.newSingleThreadExecutor(new ThreadFactory() {
+            public Thread newThread(Runnable r) {
+                Thread t = new Thread(r, "java-worker-pool-starter");
+                t.setDaemon(true);
+                return t;
+            }
+        });
+
+        for(int i = 0; i < size; i++) {
+            startWorkerAsync();
+        }
+    }
+
+    /**
+     * Creates a pool from the given props, or returns null if no pool is
+     * configured.
+     */
+    public static JavaJobWorkerPool fromProps(Props props) {
+        int size = props.getInt(POOL_SIZE, 0);
+        if(size <= 0) {
+            return null;
+        }
+
+        return new JavaJobWorkerPool(size,
+                                     props.getInt(MAX_JOBS_PER_WORKER, DEFAULT_MAX_JOBS_PER_WORKER),
+                                     props.getInt(MAX_HEAP_PERCENT, DEFAULT_MAX_HEAP_PERCENT),
+                                     props.getString(JVM_ARGS, DEFAULT_JVM_ARGS));
+    }
+
+    /**
+     * Runs the request on a pooled worker, blocking until it's done.
+     *
+     * @throws ProcessFailureException if the job failed, with the exit code a
+     *         forked JVM would have had
+     * @throws Exception if the job was canceled or the worker died
+     */
+    public void run(WorkerRequest request, OutputHandler handler) throws Exception {
+        Worker worker = borrowWorker();
+        boolean recycle = true;
+        try {
+            if(!request.assign(worker)) {
+                recycle = false;
+                throw new RuntimeException("Job " + request.getJobName() + " was canceled.");
+            }
+
+            WorkerResult result = worker.runJob(request, handler);
+            _jobsRun.incrementAndGet();
+            if(request.isCanceled()) {
+                throw new RuntimeException("Job " + request.getJobName() + " was canceled.");
+            }
+            recycle = shouldRecycle(worker, result);
+
+            if(result.exitCode != 0) {
+                throw new ProcessFailureException(result.exitCode, null);
+            }
+        }
+        catch(IOException e) {
+            if(request.isCanceled()) {
+                throw new RuntimeException("Job " + request.getJobName() + " was canceled.", e);
+            }
+            throw e;
+        }
+        finally {
+            request.assign(null);
+            returnWorker(worker, recycle);
+        }
+    }
+
+    public int getNumWorkers() {
+        return _numWorkers.get();
+    }
+
+    public int getNumIdleWorkers() {
+        return _idle.size();
+    }
+
+    public long getNumJobsRun() {
+        return _jobsRun.get();
+    }
+
+    public long getNumWorkersRecycled() {
+        return _workersRecycled.get();
+    }
+
+    public int getNumWorkersStarted() {
+        return _workerCounter.get();
+    }
+
+    public void shutdown() {
+        _shutdown = true;
+        _starter.shutdownNow();
+        Worker worker;
+        while((worker = _idle.poll()) != null) {
+            worker.destroy();
+        }
+    }
+
+    private boolean shouldRecycle(Worker worker, WorkerResult result) {
+        if(!worker.isAlive()) {
+            logger.info("Replacing " + worker + ", which exited with code " + result.exitCode + " during a job.");
+            return true;
+        }
+        if(!result.clean) {
+            logger.info("Recycling " + worker + " after a job died with an Error.");
+            return true;
+        }
+        if(worker.getJobsRun() >= _maxJobsPerWorker) {
+            logger.info("Recycling " + worker + " after " + worker.getJobsRun() + " jobs.");
+            return true;
+        }
+        if(result.maxHeap > 0 && result.usedHeap * 100 >= result.maxHeap * _maxHeapPercent) {
+            logger.info("Recycling " + worker + " using " + result.usedHeap + " of " + result.maxHeap
+                        + " bytes of heap.");
+            return true;
+        }
+
+        return false;
+    }
+
+    private Worker borrowWorker() throws IOException, InterruptedException {
+        while(true) {
+            Worker worker = _idle.poll();
+            if(worker == null) {
+                if(_numWorkers.incrementAndGet() <= _size) {
+                    try {
+                        return startWorker();
+                    }
+                    catch(IOException e) {
+                        _numWorkers.decrementAndGet();
+                        throw e;
+                    }
+                }
+                _numWorkers.decrementAndGet();
+                worker = _idle.take();
+            }
+
+            if(!worker.isAlive()) {
+                logger.warn(worker + " died while idle, discarding it.");
+                discard(worker);
+            }
+            else {
+                return worker;
+            }
+        }
+    }
+
+    private void returnWorker(Worker worker, boolean recycle) {
+        if(recycle || _shutdown || !worker.isAlive()) {
+            discard(worker);
+            _workersRecycled.incrementAndGet();
+            if(!_shutdown) {
+                startWorkerAsync();
+            }
+        }
+        else {
+            _idle.offer(worker);
+        }
+    }
+
+    private void discard(Worker worker) {
+        worker.destroy();
+        _numWorkers.decrementAndGet();
+    }
+
+    private void startWorkerAsync() {
+        if(_numWorkers.incrementAndGet() > _size) {
+            _numWorkers.decrementAndGet();
+            return;
+        }
+
+        _starter.submit(new Runnable() {
+            public void run() {
+                try {
+                    _idle.offer(startWorker());
+                }
+                catch(Exception e) {
+                    _numWorkers.decrementAndGet();
+                    logger.error("Unable to start pooled java worker.", e);
+                }
+            }
+        });
+    }
+
+    private Worker startWorker() throws IOException {
+        List<String> command = new ArrayList<String>();
+        command.add(JavaProcessJob.JAVA_COMMAND);
+        for(String arg: ProcessJob.partitionCommandLine(_jvmArgs)) {
+            command.add(arg);
+        }
+        command.add("-cp");
+        command.add(JavaJob.getSourcePathFromClass(JavaJobWorkerMain.class));
+        command.add(JavaJobWorkerMain.class.getName());
+
+        Worker worker = new Worker("java-worker-" + _workerCounter.getAndIncrement(),
+                                   new ProcessBuilder(command).start());
+        worker.awaitReady();
+        logger.info("Started " + worker);
+        return worker;
+    }
+
+    private static File canonical(File file) {
+        try {
+            return file.getCanonicalFile();
+        }
+        catch(IOException e) {
+            return file.getAbsoluteFile();
+        }
+    }
+
+    /**
+     * Receives the lines a pooled job writes to stdout and stderr.
+     */
+    public static interface OutputHandler {
+
+        public void output(String line, boolean isError);
+    }
+
+    /**
+     * What to run. A null main class means the job is run through
+     * JavaJobRunnerMain, the way JavaJob does when forked. The environment is
+     * seen by the job as system properties.
+     */
+    public static class WorkerRequest {
+
+        private final String _jobName;
+        private final File _workingDir;
+        private final Map<String, String> _env;
+        private final List<String> _classPath;
+        private final String _mainClass;
+        private final List<String> _mainArgs;
+
+        private Worker _worker = null;
+        private boolean _canceled = false;
+
+        public WorkerRequest(String jobName,
+                             File workingDir,
+                             Map<String, String> env,
+                             List<String> classPath,
+                             String mainClass,
+                             List<String> mainArgs) {
+            _jobName = jobName;
+            _workingDir = canonical(workingDir);
+            _env = env;
+            _classPath = classPath;
+            _mainClass = mainClass;
+            _mainArgs = mainArgs;
+        }
+
+        public String getJobName() {
+            return _jobName;
+        }
+
+        public synchronized boolean isCanceled() {
+            return _canceled;
+        }
+
+        /**
+         * Kills the worker running this request, or keeps it from starting.
+         */
+        public void cancel() {
+            Worker worker;
+            synchronized(this) {
+                _canceled = true;
+                worker = _worker;
+            }
+            if(worker != null) {
+                logger.info("Canceling " + _jobName + " by killing " + worker);
+                worker.destroy();
+            }
+        }
+
+        private synchronized boolean assign(Worker worker) {
+            if(_canceled && worker != null) {
+                return false;
+            }
+            _worker = worker;
+            return true;
+        }
+    }
+
+    private static class WorkerResult {
+
+        private int exitCode;
+        private long usedHeap;
+        private long maxHeap;
+        private boolean clean;
+    }
+
+    private static class Worker {
+
+        private final String _name;
+        private final Process _process;
+        private final DataInputStream _in;
+        private final DataOutputStream _out;
+        private int _jobsRun = 0;
+
+        private Worker(String name, Process process) {
+            _name = name;
+            _process = process;
+            _in = new DataInputStream(new BufferedInputStream(process.getInputStream()));
+            _out = new DataOutputStream(new BufferedOutputStream(process.getOutputStream()));
+
+            // Anything on stderr didn't come from a job, so it goes to our own log.
+            final BufferedReader errors = new BufferedReader(new InputStreamReader(process.getErrorStream()));
+            Thread errorGobbler = new Thread(new Runnable() {
+                public void run() {
+                    try {
+                        String line;
+                        while((line = errors.readLine()) != null) {
+                            logger.warn(_name + ": " + line);
+                        }
+                    }
+                    catch(IOException e) {
+                        // Worker went away.
+                    }
+                }
+            }, name + "-stderr");
+            errorGobbler.setDaemon(true);
+            errorGobbler.start();
+        }
+
+        private void awaitReady() throws IOException {
+            byte type = _in.readByte();
+            if(type != JavaJobWorkerMain.READY) {
+                destroy();
+                throw new IOException(_name + " sent " + type + " instead of a ready message.");
+            }
+        }
+
+        private WorkerResult runJob(WorkerRequest request, OutputHandler handler) throws IOException {
+            _jobsRun++;
+            _out.writeByte(JavaJobWorkerMain.RUN_JOB);
+            JavaJobWorkerMain.writeString(_out, request._jobName);
+            JavaJobWorkerMain.writeString(_out, request._workingDir.getPath());
+            JavaJobWorkerMain.writeMap(_out, request._env);
+            JavaJobWorkerMain.writeStrings(_out, request._classPath);
+            JavaJobWorkerMain.writeString(_out, request._mainClass);
+            JavaJobWorkerMain.writeStrings(_out, request._mainArgs);
+            _out.flush();
+
+            while(true) {
+                byte type;
+                try {
+                    type = _in.readByte();
+                }
+                catch(EOFException e) {
+                    // The job called System.exit(), or the worker was killed.
+                    WorkerResult result = new WorkerResult();
+                    result.exitCode = waitFor();
+                    return result;
+                }
+
+                switch(type) {
+                    case JavaJobWorkerMain.OUTPUT:
+                        handler.output(JavaJobWorkerMain.readString(_in), false);
+                        break;
+                    case JavaJobWorkerMain.ERROR_OUTPUT:
+                        handler.output(JavaJobWorkerMain.readString(_in), true);
+                        break;
+                    case JavaJobWorkerMain.RESULT:
+                        WorkerResult result = new WorkerResult();
+                        result.exitCode = _in.readInt();
+                        result.usedHeap = _in.readLong();
+                        result.maxHeap = _in.readLong();
+                        result.clean = _in.readBoolean();
+                        return result;
+                    default:
+                        throw new IOException(_name + " sent an unknown message type " + type);
+                }
+            }
+        }
+
+        private int waitFor() throws IOException {
+            try {
+                return _process.waitFor();
+            }
+            catch(InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrupted waiting for " + _name + " to exit.");
+            }
+        }
+
+        private int getJobsRun() {
+            return _jobsRun;
+        }
+
+        private boolean isAlive() {
+            try {
+                _process.exitValue();
+                return false;
+            }
+            catch(IllegalThreadStateException e) {
+                return true;
+            }
+        }
+
+        private void destroy() {
+            _process.destroy();
+        }
+
+        @Override
+        public String toString() {
+            return _name;
+        }
+    }
+}
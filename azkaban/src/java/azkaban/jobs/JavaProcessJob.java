@@ -20,6 +20,8 @@ import java.io.File;
 import java.util.ArrayList;
 import java.util.List;
 
+import org.apache.log4j.Level;
+
 import azkaban.app.JobDescriptor;
 
 public class JavaProcessJob extends ProcessJob {
@@ -29,16 +31,153 @@ public class JavaProcessJob extends ProcessJob {
 	public static final String MAX_MEMORY_SIZE = "Xmx";
 	public static final String MAIN_ARGS = "main.args";
 	public static final String JVM_PARAMS = "jvm.args";
+	public static final String POOLED = "java.pooled";
 
 	public static final String DEFAULT_INITIAL_MEMORY_SIZE = "64M";
 	public static final String DEFAULT_MAX_MEMORY_SIZE = "256M";
 
 	public static String JAVA_COMMAND = "java";
 
+	private static volatile JavaJobWorkerPool workerPool = null;
+
+	private volatile JavaJobWorkerPool.WorkerRequest _workerRequest = null;
+
 	public JavaProcessJob(JobDescriptor descriptor) {
 		super(descriptor);
 	}
 
+	/**
+	 * Sets the pool that jobs with java.pooled=true run on. Without a pool,
+	 * every job forks its own JVM.
+	 */
+	public static void setWorkerPool(JavaJobWorkerPool pool) {
+		workerPool = pool;
+	}
+
+	public static JavaJobWorkerPool getWorkerPool() {
+		return workerPool;
+	}
+
+	@Override
+	public void run() {
+		JavaJobWorkerPool pool = workerPool;
+		if (pool == null || !getProps().getBoolean(POOLED, false)) {
+			super.run();
+			return;
+		}
+
+		// The worker's JVM and environment are shared, so jobs that need their
+		// own can't be pooled without changing what they see.
+		if (getJVMArguments().trim().length() > 0) {
+			info("Job sets " + JVM_PARAMS + ", running in a forked JVM instead of the worker pool.");
+			super.run();
+			return;
+		}
+		if (!getEnvironmentVariables().isEmpty()) {
+			info("Job sets environment variables, running in a forked JVM instead of the worker pool.");
+			super.run();
+			return;
+		}
+
+		runInWorkerPool(pool);
+	}
+
+	@Override
+	public void cancel() throws Exception {
+		JavaJobWorkerPool.WorkerRequest request = _workerRequest;
+		if (request != null) {
+			request.cancel();
+			return;
+		}
+
+		super.cancel();
+	}
+
+	private void runInWorkerPool(JavaJobWorkerPool pool) {
+		resolveProps();
+
+		if (getProps().containsKey(INITIAL_MEMORY_SIZE) || getProps().containsKey(MAX_MEMORY_SIZE)) {
+			info("Running in pooled JVM worker, ignoring " + INITIAL_MEMORY_SIZE + " and " + MAX_MEMORY_SIZE + ".");
+		}
+		else {
+			info("Running in pooled JVM worker.");
+		}
+		// Same props and output props files as a forked job.
+		File[] propFiles = initPropsFiles();
+		try {
+			JavaJobWorkerPool.WorkerRequest request = createWorkerRequest(resolveClassPath(getClassPaths()));
+			_workerRequest = request;
+			pool.run(request, new JavaJobWorkerPool.OutputHandler() {
+				public void output(String line, boolean isError) {
+					logProcessOutput(line, isError ? Level.ERROR : Level.INFO);
+				}
+			});
+
+			generateProperties(propFiles[1]);
+		}
+		catch (RuntimeException e) {
+			throw e;
+		}
+		catch (Exception e) {
+			throw new RuntimeException(e);
+		}
+		finally {
+			_workerRequest = null;
+			for (File file : propFiles)
+				if (file != null && file.exists()) file.delete();
+		}
+	}
+
+	/**
+	 * Builds the request a pooled worker runs: the main class with its
+	 * arguments, in the job's working directory and environment.
+	 */
+	protected JavaJobWorkerPool.WorkerRequest createWorkerRequest(List<String> classPath) {
+		List<String> mainArgs = getMainArguments();
+		return new JavaJobWorkerPool.WorkerRequest(getId(),
+				new File(getCwd()),
+				getEnv(),
+				classPath,
+				getJavaClass(),
+				mainArgs == null ? new ArrayList<String>() : mainArgs);
+	}
+
+	/**
+	 * Turns class path entries into absolute paths, the way the java command
+	 * would see them when started in the job's working directory.
+	 */
+	private List<String> resolveClassPath(List<String> classPath) {
+		List<String> resolved = new ArrayList<String>();
+		for (String entry : classPath) {
+			for (String path : entry.split(File.pathSeparator)) {
+				if (path.length() == 0) {
+					continue;
+				}
+
+				File file = new File(path);
+				if (!file.isAbsolute()) {
+					file = new File(getCwd(), path);
+				}
+
+				if (file.getName().equals("*")) {
+					File[] jars = file.getParentFile().listFiles();
+					if (jars != null) {
+						for (File jar : jars) {
+							if (jar.getName().endsWith(".jar")) {
+								resolved.add(jar.getAbsolutePath());
+							}
+						}
+					}
+				}
+				else {
+					resolved.add(file.getAbsolutePath());
+				}
+			}
+		}
+
+		return resolved;
+	}
+
 	@Override
 	protected List<String> getCommandList() {
 		ArrayList<String> list = new ArrayList<String>();
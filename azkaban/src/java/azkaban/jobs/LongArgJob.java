@@ -83,10 +83,12 @@ public abstract class LongArgJob extends AbstractProcessJob {
         }
         
         // Get the output properties from this job.
-        generateProperties(propFiles[1]);
-                
-        for (File file: propFiles)
-            if (file != null && file.exists()) file.delete();
+        try {
+            generateProperties(propFiles[1]);
+        } finally {
+            for (File file: propFiles)
+                if (file != null && file.exists()) file.delete();
+        }
     }
     
     
@@ -19,6 +19,8 @@ package azkaban.jobs;
 import azkaban.app.JobDescriptor;
 import azkaban.common.jobs.Job;
 import azkaban.common.utils.Props;
+import azkaban.util.process.ProcessFailureException;
+import azkaban.util.process.ProcessTree;
 import org.apache.log4j.Level;
 import java.io.BufferedReader;
 import java.io.File;
@@ -97,7 +99,7 @@ public class ProcessJob extends AbstractProcessJob implements Job {
             _isComplete = true;
             if(exitCode != 0) {
                 for (File file: propFiles)   if (file != null && file.exists()) file.delete();
-                throw new RuntimeException("Processes ended with exit code " + exitCode + ".");
+                throw new ProcessFailureException(exitCode, null);
             }
 
             // try to wait for everything to get logged out before exiting
@@ -109,10 +111,12 @@ public class ProcessJob extends AbstractProcessJob implements Job {
         }
         
         // Get the output properties from this job.
-       generateProperties(propFiles[1]);
-               
-       for (File file: propFiles)
-           if (file != null && file.exists()) file.delete();
+        try {
+            generateProperties(propFiles[1]);
+        } finally {
+            for (File file: propFiles)
+                if (file != null && file.exists()) file.delete();
+        }
     
     }
        
@@ -134,19 +138,22 @@ public class ProcessJob extends AbstractProcessJob implements Job {
         if(_process != null) {
             int processId = getProcessId();
             if(processId != 0) {
-                warn("Attempting to kill the process " + processId);
+                // kill the whole tree, or the children of a script keep running
                 try {
-                    Runtime.getRuntime().exec("kill " + processId);
+                    warn("Attempting to kill the process tree " + ProcessTree.kill(processId, false));
                     synchronized(this) {
                         wait(CLEAN_UP_TIME_MS);
                     }
+                    if(!_isComplete) {
+                        error("After " + CLEAN_UP_TIME_MS
+                              + " ms, the job hasn't terminated. Will force terminate the job.");
+                        warn("Force kill the process tree " + ProcessTree.kill(processId, true));
+                    }
+                } catch(IOException e) {
+                    error("Could not kill the process tree of " + processId, e);
                 } catch(InterruptedException e) {
                     // Do nothing. We don't really care.
                 }
-                if(!_isComplete) {
-                    error("After " + CLEAN_UP_TIME_MS
-                          + " ms, the job hasn't terminated. Will force terminate the job.");
-                }
             } else {
                 info("Cound not get process id");
             }
@@ -202,28 +209,35 @@ public class ProcessJob extends AbstractProcessJob implements Job {
         }
 
         private void logMessage(String message) {
-            if(message.startsWith(Level.DEBUG.toString())) {
-                String newMsg = message.substring(Level.DEBUG.toString().length());
-                getLog().debug(newMsg);
-            } else if(message.startsWith(Level.ERROR.toString())) {
-                String newMsg = message.substring(Level.ERROR.toString().length());
-                getLog().error(newMsg);
-            } else if(message.startsWith(Level.INFO.toString())) {
-                String newMsg = message.substring(Level.INFO.toString().length());
-                getLog().info(newMsg);
-            } else if(message.startsWith(Level.WARN.toString())) {
-                String newMsg = message.substring(Level.WARN.toString().length());
-                getLog().warn(newMsg);
-            } else if(message.startsWith(Level.FATAL.toString())) {
-                String newMsg = message.substring(Level.FATAL.toString().length());
-                getLog().fatal(newMsg);
-            } else if(message.startsWith(Level.TRACE.toString())) {
-                String newMsg = message.substring(Level.TRACE.toString().length());
-                getLog().trace(newMsg);
-            } else {
-                getLog().log(_loggingLevel, message);
-            }
+            logProcessOutput(message, _loggingLevel);
+        }
+    }
 
+    /**
+     * Logs a line of the child's output, honoring a leading log level if the
+     * child wrote one.
+     */
+    protected void logProcessOutput(String message, Level defaultLevel) {
+        if(message.startsWith(Level.DEBUG.toString())) {
+            String newMsg = message.substring(Level.DEBUG.toString().length());
+            getLog().debug(newMsg);
+        } else if(message.startsWith(Level.ERROR.toString())) {
+            String newMsg = message.substring(Level.ERROR.toString().length());
+            getLog().error(newMsg);
+        } else if(message.startsWith(Level.INFO.toString())) {
+            String newMsg = message.substring(Level.INFO.toString().length());
+            getLog().info(newMsg);
+        } else if(message.startsWith(Level.WARN.toString())) {
+            String newMsg = message.substring(Level.WARN.toString().length());
+            getLog().warn(newMsg);
+        } else if(message.startsWith(Level.FATAL.toString())) {
+            String newMsg = message.substring(Level.FATAL.toString().length());
+            getLog().fatal(newMsg);
+        } else if(message.startsWith(Level.TRACE.toString())) {
+            String newMsg = message.substring(Level.TRACE.toString().length());
+            getLog().trace(newMsg);
+        } else {
+            getLog().log(defaultLevel, message);
         }
     }
 
@@ -0,0 +1,85 @@
+/*
+ * Copyright 2010 LinkedIn, Inc
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package azkaban.serialization;
+
+import azkaban.flow.ExecutableFlow;
+import azkaban.flow.FanoutExecutableFlow;
+import azkaban.flow.IndividualJobExecutableFlow;
+import com.google.common.base.Function;
+import com.google.common.collect.ImmutableMap;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Serializes a fan-out as a single job that carries the instances it expanded into
+ */
+public class FanoutEFSerializer implements Function<ExecutableFlow, Map<String, Object>>
+{
+    private final IndividualJobEFSerializer instanceSerializer = new IndividualJobEFSerializer();
+
+    @Override
+    public Map<String, Object> apply(ExecutableFlow executableFlow)
+    {
+        FanoutExecutableFlow flow = (FanoutExecutableFlow) executableFlow;
+        Map<String, Object> retVal = new HashMap<String, Object>();
+
+        final String jobName = flow.getName();
+
+        ImmutableMap.Builder<String, Object> jobInfoMapBuilder = ImmutableMap.builder();
+
+        jobInfoMapBuilder.put("type", "fanout");
+        jobInfoMapBuilder.put("name", jobName);
+        jobInfoMapBuilder.put("status", flow.getStatus().toString());
+        jobInfoMapBuilder.put("id", flow.getId());
+        if (flow.getParentProps() != null) {
+            jobInfoMapBuilder.put("overrideProps", flow.getParentProps().getMapByPrefix(""));
+        }
+
+        if (flow.getReturnProps() != null) {
+            jobInfoMapBuilder.put("returnProps", flow.getReturnProps().getMapByPrefix(""));
+        }
+
+        if (flow.getStartTime() != null) {
+            jobInfoMapBuilder.put("startTime", flow.getStartTime().toString());
+        }
+
+        if (flow.getEndTime() != null) {
+            jobInfoMapBuilder.put("endTime", flow.getEndTime().toString());
+        }
+
+        List<Object> instances = new ArrayList<Object>();
+        for (IndividualJobExecutableFlow instance : flow.getInstances()) {
+            @SuppressWarnings("unchecked")
+            Map<String, Object> jobs = (Map<String, Object>) instanceSerializer.apply(instance).get("jobs");
+            instances.add(jobs.get(instance.getName()));
+        }
+        jobInfoMapBuilder.put("items", new ArrayList<String>(flow.getItems()));
+        jobInfoMapBuilder.put("instances", instances);
+
+        retVal.put("jobs", ImmutableMap.<String, Object>of(jobName, jobInfoMapBuilder.build()));
+        retVal.put("root", Arrays.asList(jobName));
+        retVal.put("dependencies", Collections.<String, Object>emptyMap());
+        retVal.put("id", flow.getId());
+
+        return retVal;
+    }
+}
@@ -47,6 +47,9 @@ public class IndividualJobEFSerializer implements Function<ExecutableFlow, Map<S
         
         jobInfoMapBuilder.put("type", "jobManagerLoaded");
         jobInfoMapBuilder.put("name", jobName);
+        if (! flow.getJobName().equals(jobName)) {
+            jobInfoMapBuilder.put("jobName", flow.getJobName());
+        }
         jobInfoMapBuilder.put("status", flow.getStatus().toString());
         jobInfoMapBuilder.put("id", flow.getId());
         if (flow.getParentProps() != null) {
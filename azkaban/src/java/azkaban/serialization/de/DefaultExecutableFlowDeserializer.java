@@ -18,6 +18,7 @@ package azkaban.serialization.de;
 import azkaban.app.JobManager;
 import azkaban.app.JobWrappingFactory;
 import azkaban.flow.ExecutableFlow;
+import azkaban.flow.FanoutFlowDeserializer;
 import azkaban.flow.JobManagerFlowDeserializer;
 import com.google.common.base.Function;
 import com.google.common.collect.ImmutableMap;
@@ -33,10 +34,13 @@ public class DefaultExecutableFlowDeserializer extends ExecutableFlowDeserialize
             final JobWrappingFactory jobFactory
     )
     {
+        final JobManagerFlowDeserializer jobDeserializer = new JobManagerFlowDeserializer(jobManager, jobFactory);
+
         setJobDeserializer(
                 new JobFlowDeserializer(
                         ImmutableMap.<String, Function<Map<String, Object>, ExecutableFlow>>of(
-                                "jobManagerLoaded", new JobManagerFlowDeserializer(jobManager, jobFactory)
+                                "jobManagerLoaded", jobDeserializer,
+                                "fanout", new FanoutFlowDeserializer(jobManager, jobDeserializer)
                         )
                 )
         );
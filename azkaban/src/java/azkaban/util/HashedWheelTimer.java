@@ -0,0 +1,211 @@
+/*
+ * Copyright 2010 LinkedIn, Inc
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package azkaban.util;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.log4j.Logger;
+
+/**
+ * A timer for many timeouts that are mostly canceled before they expire, such
+ * as one per running job, served by a single thread.
+ *
+ * Timeouts hash by their deadline into the buckets of a wheel that the thread
+ * turns one bucket per tick, expiring what is due in each; timeouts further
+ * out than a turn of the wheel wait for as many turns. Scheduling and canceling
+ * are constant time, and a timeout fires up to a tick after its deadline.
+ * Tasks run on the timer's thread, so they should hand off anything slow.
+ */
+public class HashedWheelTimer {
+
+    private static final Logger logger = Logger.getLogger(HashedWheelTimer.class);
+
+    private static final int WAITING = 0;
+    private static final int CANCELED = 1;
+    private static final int EXPIRED = 2;
+
+    private final String _name;
+    private final long _tickMs;
+    private final List<Set<Timeout>> _wheel;
+    // timeouts scheduled since the last tick, put on the wheel by its thread
+    private final Queue<Timeout> _added = new ConcurrentLinkedQueue<Timeout>();
+    private final AtomicBoolean _started = new AtomicBoolean(false);
+    private final AtomicInteger _numPending = new AtomicInteger(0);
+    private final long _startNanos = System.nanoTime();
+    private volatile boolean _stopped = false;
+    private Thread _thread;
+    private long _tick = 0;
+
+    /**
+     * @param name The name of the timer's thread
+     * @param tickMs How often the wheel turns, which bounds how late timeouts
+     *        fire
+     * @param wheelSize The number of buckets of the wheel
+     */
+    public HashedWheelTimer(String name, long tickMs, int wheelSize) {
+        if(tickMs <= 0 || wheelSize <= 0)
+            throw new IllegalArgumentException("The tick and the wheel size must be positive.");
+        _name = name;
+        _tickMs = tickMs;
+        _wheel = new ArrayList<Set<Timeout>>(wheelSize);
+        for(int i = 0; i < wheelSize; i++)
+            _wheel.add(new LinkedHashSet<Timeout>());
+    }
+
+    /**
+     * Run a task once a delay has passed, unless its timeout is canceled first
+     *
+     * @param task The task
+     * @param delayMs The delay in ms, 0 or less to run on the next tick
+     * @return The timeout of the task
+     */
+    public Timeout schedule(Runnable task, long delayMs) {
+        if(_stopped)
+            throw new IllegalStateException("Timer " + _name + " is stopped.");
+        if(_started.compareAndSet(false, true)) {
+            _thread = new Thread(new Worker(), _name);
+            _thread.setDaemon(true);
+            _thread.start();
+        }
+
+        Timeout timeout = new Timeout(task, elapsedMs() + Math.max(0, delayMs));
+        _numPending.incrementAndGet();
+        _added.add(timeout);
+        return timeout;
+    }
+
+    /**
+     * Stop the timer, dropping the timeouts that haven't fired
+     */
+    public void stop() {
+        _stopped = true;
+        if(_thread != null)
+            _thread.interrupt();
+    }
+
+    /**
+     * @return The number of timeouts neither fired nor canceled
+     */
+    public int getNumPending() {
+        return _numPending.get();
+    }
+
+    private long elapsedMs() {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - _startNanos);
+    }
+
+    /**
+     * A task waiting for its deadline
+     */
+    public class Timeout {
+
+        private final Runnable _task;
+        private final long _deadlineMs;
+        private final AtomicInteger _state = new AtomicInteger(WAITING);
+        private long _remainingRounds;
+
+        private Timeout(Runnable task, long deadlineMs) {
+            _task = task;
+            _deadlineMs = deadlineMs;
+        }
+
+        /**
+         * Cancel the timeout
+         *
+         * @return true if the task will not run because of this call
+         */
+        public boolean cancel() {
+            if(!_state.compareAndSet(WAITING, CANCELED))
+                return false;
+            // the timer's thread drops it from the wheel when it gets to it
+            _numPending.decrementAndGet();
+            return true;
+        }
+
+        public boolean isCanceled() {
+            return _state.get() == CANCELED;
+        }
+
+        public boolean isExpired() {
+            return _state.get() == EXPIRED;
+        }
+
+        private void expire() {
+            if(!_state.compareAndSet(WAITING, EXPIRED))
+                return;
+            _numPending.decrementAndGet();
+            try {
+                _task.run();
+            } catch(RuntimeException e) {
+                logger.error("Timer task of " + _name + " failed.", e);
+            }
+        }
+    }
+
+    private class Worker implements Runnable {
+
+        public void run() {
+            while(!_stopped) {
+                long tickEnd = (_tick + 1) * _tickMs;
+                long sleepMs = tickEnd - elapsedMs();
+                if(sleepMs > 0) {
+                    try {
+                        Thread.sleep(sleepMs);
+                    } catch(InterruptedException e) {
+                        continue;
+                    }
+                }
+
+                addScheduled();
+                Set<Timeout> bucket = _wheel.get((int) (_tick % _wheel.size()));
+                for(Iterator<Timeout> i = bucket.iterator(); i.hasNext();) {
+                    Timeout timeout = i.next();
+                    if(timeout.isCanceled()) {
+                        i.remove();
+                    } else if(timeout._remainingRounds <= 0) {
+                        i.remove();
+                        timeout.expire();
+                    } else {
+                        timeout._remainingRounds--;
+                    }
+                }
+                _tick++;
+            }
+        }
+
+        private void addScheduled() {
+            for(Timeout timeout = _added.poll(); timeout != null; timeout = _added.poll()) {
+                if(timeout.isCanceled())
+                    continue;
+                // the first tick ending at or after the deadline, or this one
+                // if that is already past
+                long ticks = Math.max((timeout._deadlineMs + _tickMs - 1) / _tickMs - 1, _tick);
+                timeout._remainingRounds = (ticks - _tick) / _wheel.size();
+                _wheel.get((int) (ticks % _wheel.size())).add(timeout);
+            }
+        }
+    }
+}
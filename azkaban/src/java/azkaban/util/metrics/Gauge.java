@@ -0,0 +1,46 @@
+/*
+ * Copyright 2010 LinkedIn, Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package azkaban.util.metrics;
+
+import java.util.Map;
+
+/**
+ * A value that is looked up when the metrics are read
+ */
+public abstract class Gauge extends Metric {
+
+    public Gauge(String name, String help, String... labels) {
+        super(name, help, labels);
+    }
+
+    public abstract double getValue();
+
+    @Override
+    public String getType() {
+        return "gauge";
+    }
+
+    @Override
+    public void writePrometheus(StringBuilder out) {
+        writeSample(out, "", null, getValue());
+    }
+
+    @Override
+    public void addTo(Map<String, Object> values) {
+        values.put("value", getValue());
+    }
+}
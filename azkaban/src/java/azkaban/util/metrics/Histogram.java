@@ -0,0 +1,141 @@
+/*
+ * Copyright 2010 LinkedIn, Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package azkaban.util.metrics;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * The distribution of values such as latencies, recorded without locks.
+ *
+ * Values are counted in buckets whose width grows with the value, eight
+ * buckets per power of two, so quantiles are accurate to within 12.5% over the
+ * whole range of long, in a fixed 4 KB of counters.
+ */
+public class Histogram extends Metric {
+
+    private static final int SUB_BITS = 3;
+    private static final int SUB_BUCKETS = 1 << SUB_BITS;
+    private static final int NUM_BUCKETS = (64 - SUB_BITS) * SUB_BUCKETS;
+    private static final double[] QUANTILES = { 0.5, 0.9, 0.99 };
+
+    private final AtomicLongArray _buckets = new AtomicLongArray(NUM_BUCKETS);
+    private final AtomicLong _count = new AtomicLong(0);
+    private final AtomicLong _sum = new AtomicLong(0);
+    private final AtomicLong _max = new AtomicLong(0);
+
+    public Histogram(String name, String help, String... labels) {
+        super(name, help, labels);
+    }
+
+    /**
+     * Record a value, negative ones count as 0
+     */
+    public void record(long value) {
+        value = Math.max(0, value);
+        _buckets.incrementAndGet(bucket(value));
+        _count.incrementAndGet();
+        _sum.addAndGet(value);
+        for(long max = _max.get(); value > max; max = _max.get()) {
+            if(_max.compareAndSet(max, value))
+                break;
+        }
+    }
+
+    /**
+     * Record the milliseconds since a start time from System.nanoTime()
+     */
+    public void recordSince(long startNanos) {
+        record(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos));
+    }
+
+    public long getCount() {
+        return _count.get();
+    }
+
+    public long getSum() {
+        return _sum.get();
+    }
+
+    public long getMax() {
+        return _max.get();
+    }
+
+    /**
+     * @param quantile Between 0 and 1
+     * @return The upper bound of the bucket holding the quantile, 0 if nothing
+     *         was recorded
+     */
+    public long getQuantile(double quantile) {
+        long count = _count.get();
+        if(count == 0)
+            return 0;
+        long rank = (long) Math.ceil(quantile * count);
+        long seen = 0;
+        for(int i = 0; i < NUM_BUCKETS; i++) {
+            seen += _buckets.get(i);
+            if(seen >= rank && seen > 0)
+                return Math.min(upperBound(i), _max.get());
+        }
+        return _max.get();
+    }
+
+    static int bucket(long value) {
+        if(value < SUB_BUCKETS)
+            return (int) value;
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int sub = (int) (value >>> (exponent - SUB_BITS)) & (SUB_BUCKETS - 1);
+        return (exponent - SUB_BITS + 1) * SUB_BUCKETS + sub;
+    }
+
+    static long upperBound(int bucket) {
+        if(bucket < SUB_BUCKETS)
+            return bucket;
+        int exponent = bucket / SUB_BUCKETS + SUB_BITS - 1;
+        long sub = bucket % SUB_BUCKETS;
+        long upper = ((SUB_BUCKETS + sub + 1) << (exponent - SUB_BITS)) - 1;
+        return upper < 0 ? Long.MAX_VALUE : upper;
+    }
+
+    @Override
+    public String getType() {
+        return "summary";
+    }
+
+    @Override
+    public void writePrometheus(StringBuilder out) {
+        for(double quantile: QUANTILES)
+            writeSample(out, "", "quantile=\"" + quantile + "\"", getQuantile(quantile));
+        writeSample(out, "_sum", null, getSum());
+        writeSample(out, "_count", null, getCount());
+        writeSample(out, "_max", null, getMax());
+    }
+
+    @Override
+    public void addTo(Map<String, Object> values) {
+        values.put("count", getCount());
+        values.put("sum", getSum());
+        values.put("max", getMax());
+        Map<String, Object> quantiles = new LinkedHashMap<String, Object>();
+        for(double quantile: QUANTILES)
+            quantiles.put(Double.toString(quantile), getQuantile(quantile));
+        values.put("quantiles", quantiles);
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright 2010 LinkedIn, Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package azkaban.util.metrics;
+
+import java.util.Map;
+
+/**
+ * A named measurement, optionally told apart from others of the same name by
+ * labels.
+ */
+public abstract class Metric {
+
+    private final String _name;
+    private final String _help;
+    private final String _labels;
+
+    protected Metric(String name, String help, String... labels) {
+        if(labels.length % 2 != 0)
+            throw new IllegalArgumentException("Labels must be given as name, value pairs.");
+        _name = name;
+        _help = help;
+        StringBuilder builder = new StringBuilder();
+        for(int i = 0; i < labels.length; i += 2) {
+            builder.append(builder.length() == 0 ? "" : ",");
+            builder.append(labels[i]).append("=\"").append(escape(labels[i + 1])).append('"');
+        }
+        _labels = builder.toString();
+    }
+
+    public String getName() {
+        return _name;
+    }
+
+    public String getHelp() {
+        return _help;
+    }
+
+    /**
+     * @return The labels in the Prometheus format, without braces, empty if
+     *         there are none
+     */
+    public String getLabels() {
+        return _labels;
+    }
+
+    /**
+     * @return The Prometheus type of the metric
+     */
+    public abstract String getType();
+
+    /**
+     * Write the samples of this metric in the Prometheus text format
+     */
+    public abstract void writePrometheus(StringBuilder out);
+
+    /**
+     * Add the values of this metric to a map that is rendered as JSON
+     */
+    public abstract void addTo(Map<String, Object> values);
+
+    protected void writeSample(StringBuilder out, String suffix, String extraLabel, Object value) {
+        out.append(_name).append(suffix);
+        if(_labels.length() > 0 || extraLabel != null) {
+            out.append('{').append(_labels);
+            if(extraLabel != null)
+                out.append(_labels.length() > 0 ? "," : "").append(extraLabel);
+            out.append('}');
+        }
+        out.append(' ').append(value).append('\n');
+    }
+
+    /**
+     * @return The name and labels, sorting metrics of the same name together
+     */
+    String getKey() {
+        return _name + '\0' + _labels;
+    }
+
+    private static String escape(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+}
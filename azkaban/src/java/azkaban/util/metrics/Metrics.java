@@ -0,0 +1,133 @@
+/*
+ * Copyright 2010 LinkedIn, Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package azkaban.util.metrics;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * A registry of the metrics of the process.
+ *
+ * Components look up their metrics once, when they are created, and then
+ * update them without locks. The same name and labels always give the same
+ * counter or histogram, so several instances of a component add up. A gauge
+ * registered again replaces the earlier one.
+ */
+public class Metrics {
+
+    private static final Metrics DEFAULT = new Metrics();
+
+    private final ConcurrentMap<String, Metric> _metrics = new ConcurrentSkipListMap<String, Metric>();
+
+    /**
+     * @return The registry shared by the whole process
+     */
+    public static Metrics getDefault() {
+        return DEFAULT;
+    }
+
+    /**
+     * Get or create a counter
+     *
+     * @param name The name
+     * @param help What it counts
+     * @param labels Label names and values, alternating
+     */
+    public Counter counter(String name, String help, String... labels) {
+        return get(new Counter(name, help, labels));
+    }
+
+    /**
+     * Get or create a histogram
+     *
+     * @param name The name
+     * @param help What it measures
+     * @param labels Label names and values, alternating
+     */
+    public Histogram histogram(String name, String help, String... labels) {
+        return get(new Histogram(name, help, labels));
+    }
+
+    /**
+     * Register a gauge, replacing one with the same name and labels
+     */
+    public void register(Gauge gauge) {
+        _metrics.put(gauge.getKey(), gauge);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T extends Metric> T get(T metric) {
+        Metric existing = _metrics.putIfAbsent(metric.getKey(), metric);
+        if(existing == null)
+            return metric;
+        if(existing.getClass() != metric.getClass())
+            throw new IllegalArgumentException("Metric " + metric.getName() + " is a "
+                                               + existing.getType() + ".");
+        return (T) existing;
+    }
+
+    public List<Metric> getMetrics() {
+        return new ArrayList<Metric>(_metrics.values());
+    }
+
+    /**
+     * @return All metrics in the Prometheus text format
+     */
+    public String toPrometheus() {
+        StringBuilder out = new StringBuilder();
+        String lastName = null;
+        for(Metric metric: _metrics.values()) {
+            // the metrics are sorted by name, so the ones sharing it are
+            // together
+            if(!metric.getName().equals(lastName)) {
+                out.append("# HELP ").append(metric.getName()).append(' ');
+                out.append(metric.getHelp().replace("\\", "\\\\").replace("\n", "\\n")).append('\n');
+                out.append("# TYPE ").append(metric.getName()).append(' ');
+                out.append(metric.getType()).append('\n');
+                lastName = metric.getName();
+            }
+            metric.writePrometheus(out);
+        }
+        return out.toString();
+    }
+
+    /**
+     * @return All metrics as a map from name to a list of samples, to be
+     *         rendered as JSON
+     */
+    public Map<String, Object> toMap() {
+        Map<String, Object> all = new LinkedHashMap<String, Object>();
+        for(Metric metric: _metrics.values()) {
+            @SuppressWarnings("unchecked")
+            List<Object> samples = (List<Object>) all.get(metric.getName());
+            if(samples == null) {
+                samples = new ArrayList<Object>();
+                all.put(metric.getName(), samples);
+            }
+            Map<String, Object> sample = new LinkedHashMap<String, Object>();
+            if(metric.getLabels().length() > 0)
+                sample.put("labels", metric.getLabels());
+            metric.addTo(sample);
+            samples.add(sample);
+        }
+        return all;
+    }
+}
@@ -73,13 +73,14 @@ public class AzkabanProcess {
 		builder.directory(new File(workingDir));
 		builder.environment().putAll(env);
 		this.process = builder.start();
+		// known before startup is signalled, so a kill right after startup finds it
+		this.processId = processId(process);
 		this.startupLatch.countDown();
 		LogGobbler outputGobbler = new LogGobbler(new InputStreamReader(
 				process.getInputStream()), logger, Level.INFO, 30);
 		LogGobbler errorGobbler = new LogGobbler(new InputStreamReader(process
 				.getErrorStream()), logger, Level.ERROR, 30);
 
-		this.processId = processId(process);
 		if (processId == 0)
 			logger.debug("Spawned thread with unknown process id");
 		else
@@ -131,16 +132,16 @@ public class AzkabanProcess {
 	}
 	
 	/**
-	 * Attempt to kill the process, waiting up to the given time for it to die
+	 * Attempt to kill the process and its children, waiting up to the given time for it to die
 	 * @param time The amount of time to wait
 	 * @param unit The time unit
 	 * @return true iff this soft kill kills the process in the given wait time.
 	 */
 	public boolean softKill(long time, TimeUnit unit) throws InterruptedException {
     	checkStarted();
-        if(processId != 0 && isStarted()) {
+        if(processId > 0 && isStarted()) {
             try {
-                Runtime.getRuntime().exec("kill " + processId);
+                ProcessTree.kill(processId, false);
                 return completeLatch.await(time, unit);
             } catch(IOException e) {
             	logger.error("Kill attempt failed.", e);
@@ -165,7 +166,6 @@ public class AzkabanProcess {
      * @return The id of the process
      */
     private int processId(java.lang.Process process) {
-    	checkStarted();
         int processId = 0;
         try {
             Field f = process.getClass().getDeclaredField("pid");
@@ -23,6 +23,7 @@ public class ProcessFailureException extends RuntimeException {
 	private final String logSnippet;
 	
 	public ProcessFailureException(int exitCode, String logSnippet) {
+		super("Process ended with exit code " + exitCode + ".");
 		this.exitCode = exitCode;
 		this.logSnippet = logSnippet;
 	}
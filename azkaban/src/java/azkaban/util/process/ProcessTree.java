@@ -0,0 +1,116 @@
+/*
+ * Copyright 2010 LinkedIn, Inc
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package azkaban.util.process;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.commons.io.IOUtils;
+
+/**
+ * Kills a unix process together with the processes it started, so that a
+ * shell script's children don't outlive it.
+ * 
+ * The tree is read from ps before anything is killed, since the children of
+ * a killed process are handed to init and can't be found from it anymore.
+ */
+public class ProcessTree {
+
+    private ProcessTree() {}
+
+    /**
+     * Get a process and all its descendants
+     * 
+     * @param pid The id of the process
+     * @return The ids, the process first and then its descendants breadth first
+     * @throws IOException If ps can't be run
+     */
+    public static List<Integer> getTree(int pid) throws IOException {
+        // kill takes 0 and negative ids as process groups, or everything
+        if(pid <= 0)
+            throw new IllegalArgumentException("Not a process id: " + pid);
+        Map<Integer, List<Integer>> children = new HashMap<Integer, List<Integer>>();
+        Process ps = new ProcessBuilder("ps", "-e", "-o", "pid=", "-o", "ppid=").redirectErrorStream(true)
+                                                                              .start();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(ps.getInputStream()));
+        try {
+            for(String line = reader.readLine(); line != null; line = reader.readLine()) {
+                String[] fields = line.trim().split("\\s+");
+                if(fields.length != 2)
+                    continue;
+                try {
+                    Integer child = Integer.valueOf(fields[0]);
+                    Integer parent = Integer.valueOf(fields[1]);
+                    if(!children.containsKey(parent))
+                        children.put(parent, new ArrayList<Integer>());
+                    children.get(parent).add(child);
+                } catch(NumberFormatException e) {
+                    // a header or garbage, not a process
+                }
+            }
+            ps.waitFor();
+        } catch(InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while listing processes.");
+        } finally {
+            IOUtils.closeQuietly(reader);
+        }
+
+        List<Integer> tree = new ArrayList<Integer>();
+        tree.add(pid);
+        for(int i = 0; i < tree.size(); i++) {
+            List<Integer> found = children.get(tree.get(i));
+            if(found != null)
+                tree.addAll(found);
+        }
+        return tree;
+    }
+
+    /**
+     * Signal a process and all its descendants
+     * 
+     * @param pid The id of the process
+     * @param force true to send SIGKILL, false for SIGTERM
+     * @return The ids of the processes signalled
+     * @throws IOException If ps or kill can't be run
+     */
+    public static List<Integer> kill(int pid, boolean force) throws IOException {
+        List<Integer> tree = getTree(pid);
+        List<String> command = new ArrayList<String>();
+        command.add("kill");
+        if(force)
+            command.add("-9");
+        for(Integer id: tree)
+            command.add(id.toString());
+        Process kill = new ProcessBuilder(command).redirectErrorStream(true).start();
+        try {
+            // some of the processes may be gone already, that's fine
+            IOUtils.toString(kill.getInputStream());
+            kill.waitFor();
+        } catch(InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            IOUtils.closeQuietly(kill.getInputStream());
+        }
+        return tree;
+    }
+}
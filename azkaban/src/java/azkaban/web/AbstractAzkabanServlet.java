@@ -18,6 +18,7 @@ package azkaban.web;
 
 import azkaban.app.AzkabanApplication;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -28,6 +29,8 @@ import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 
 import azkaban.common.web.Page;
+import azkaban.util.metrics.Histogram;
+import azkaban.util.metrics.Metrics;
 
 /**
  * Base Servlet for pages
@@ -41,6 +44,7 @@ public class AbstractAzkabanServlet extends HttpServlet {
     private static final String AZKABAN_NAME = "instancename";
     
     private AzkabanApplication _app;
+    private Histogram _requestTime;
 
     public AzkabanApplication getApplication() {
         return _app;
@@ -49,6 +53,22 @@ public class AbstractAzkabanServlet extends HttpServlet {
     @Override
     public void init(ServletConfig config) throws ServletException {
         _app = WebUtils.getApp(config);
+        _requestTime = Metrics.getDefault().histogram("azkaban_http_request_ms",
+                                                      "Time to serve HTTP requests",
+                                                      "servlet",
+                                                      getClass().getSimpleName());
+    }
+
+    @Override
+    protected void service(HttpServletRequest req, HttpServletResponse resp)
+            throws ServletException, IOException {
+        long start = System.nanoTime();
+        try {
+            super.service(req, resp);
+        } finally {
+            if(_requestTime != null)
+                _requestTime.recordSince(start);
+        }
     }
 
     public boolean hasParam(HttpServletRequest request, String param) {
@@ -16,28 +16,25 @@
 
 package azkaban.web;
 
-import azkaban.app.AzkabanApplication;
-import java.io.BufferedOutputStream;
 import java.io.File;
-import java.io.FileOutputStream;
 import java.io.IOException;
-import java.io.OutputStream;
+import java.io.InputStream;
+import java.util.HashMap;
 import java.util.Map;
-import java.util.zip.ZipFile;
 
-import javax.servlet.ServletConfig;
 import javax.servlet.ServletException;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 
-import azkaban.flow.FlowManager;
-import org.apache.commons.fileupload.FileItem;
+import org.apache.commons.fileupload.FileItemIterator;
+import org.apache.commons.fileupload.FileItemStream;
 import org.apache.commons.fileupload.servlet.ServletFileUpload;
-import org.apache.commons.io.IOUtils;
+import org.apache.commons.fileupload.util.Streams;
+import org.apache.commons.io.FileUtils;
+import org.apache.log4j.Logger;
 
 import azkaban.app.JobManager;
 import azkaban.common.utils.Utils;
-import org.apache.log4j.Logger;
 
 /**
  * Deploy and undeploy jobs
@@ -48,20 +45,8 @@ import org.apache.log4j.Logger;
 public class JobManagerServlet extends AbstractAzkabanServlet {
 
     private static final long serialVersionUID = 1;
-    private static final int DEFAULT_UPLOAD_DISK_SPOOL_SIZE = 20 * 1024 * 1024;
 
     private static final Logger log = Logger.getLogger(JobManagerServlet.class);
-    
-    private MultipartParser _multipartParser;
-    private String _tempDir;
-    
-    @Override
-    public void init(ServletConfig config) throws ServletException {
-        super.init(config);
-        this._multipartParser = new MultipartParser(DEFAULT_UPLOAD_DISK_SPOOL_SIZE);
-        
-        _tempDir = this.getApplication().getTempDirectory();
-    }
 
     @Override
     protected void doGet(HttpServletRequest request, HttpServletResponse response) throws ServletException, IOException
@@ -75,53 +60,56 @@ public class JobManagerServlet extends AbstractAzkabanServlet {
         doPut(request, response);
     }
 
+    /**
+     * Deploy a zipped job package. The zip file is unpacked as it is read
+     * from the request, into a staging directory that is then swapped in.
+     */
     @Override
     protected void doPut(HttpServletRequest request, HttpServletResponse response) throws ServletException, IOException
     {
         if(!ServletFileUpload.isMultipartContent(request))
             throw new ServletException("No job file found!");
 
-        Map<String, Object> params = this._multipartParser.parseMultipart(request);
-
+        final JobManager jobManager = getApplication().getJobManager();
+        Map<String, String> params = new HashMap<String, String>();
+        File staging = null;
         try {
-            final AzkabanApplication app = getApplication();
-            final JobManager jobManager = app.getJobManager();
-            final FlowManager allFlows = app.getAllFlows();
-
-            FileItem item = (FileItem) params.get("file");
-            String deployPath = (String) params.get("path");
-            File jobDir = unzipFile(item);
-
-            jobManager.deployJobDir(jobDir.getAbsolutePath(), deployPath);
+            FileItemIterator items = new ServletFileUpload().getItemIterator(request);
+            while(items.hasNext()) {
+                FileItemStream item = items.next();
+                InputStream in = item.openStream();
+                try {
+                    if(item.isFormField()) {
+                        params.put(item.getFieldName(), Streams.asString(in));
+                    } else if("file".equals(item.getFieldName()) && staging == null) {
+                        staging = jobManager.createStagingDir();
+                        Utils.unzip(in, staging);
+                    }
+                } finally {
+                    in.close();
+                }
+            }
+            if(staging == null)
+                throw new ServletException("No job file found!");
+            if(params.get("path") == null)
+                throw new ServletException("No path to deploy to given!");
+
+            jobManager.deployJobDir(staging.getAbsolutePath(), params.get("path"));
         } catch (Exception e) {
             log.info("Installation Failed.", e);
-            String redirectError = (String)params.get("redirect_error");
-            setMessagedUrl(response, redirectError, "Installation Failed: " + e.getLocalizedMessage());
+            if(staging != null && staging.exists())
+                FileUtils.deleteDirectory(staging);
+            setMessagedUrl(response, params.get("redirect_error"), "Installation Failed: " + e.getLocalizedMessage());
 
             return;
         }
 
-        String redirectSuccess = (String)params.get("redirect_success");
-        setMessagedUrl(response, redirectSuccess, "Installation Succeeded");
+        setMessagedUrl(response, params.get("redirect_success"), "Installation Succeeded");
     }
 
     private void setMessagedUrl(HttpServletResponse response, String redirectUrl, String message) throws IOException {
         String url = redirectUrl + "/" + message;
         response.sendRedirect(response.encodeRedirectUrl(url));
     }
-    
-    @SuppressWarnings("unchecked")
-    private File unzipFile(FileItem item) throws ServletException, IOException {
-        File temp = File.createTempFile("job-temp", ".zip");
-        temp.deleteOnExit();
-        OutputStream out = new BufferedOutputStream(new FileOutputStream(temp));
-        IOUtils.copy(item.getInputStream(), out);
-        out.close();
-        ZipFile zipfile = new ZipFile(temp);
-        File unzipped = Utils.createTempDir(new File(_tempDir));
-        Utils.unzip(zipfile, unzipped);
-        temp.delete();
-        return unzipped;
-    }
 
 }
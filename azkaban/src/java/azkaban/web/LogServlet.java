@@ -30,8 +30,11 @@ import javax.servlet.http.HttpServlet;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 
+import azkaban.common.utils.LogTail;
+
 /**
- * A servlet that reads log files from the filesystem
+ * A servlet that reads log files from the filesystem. The optional parameter
+ * lines=N shows only the last N lines.
  * 
  * @author jkreps
  * 
@@ -54,6 +57,15 @@ public class LogServlet extends AbstractAzkabanServlet {
             return;
         }
 
+        if(hasParam(req, "lines")) {
+            Writer writer = resp.getWriter();
+            for(String line: LogTail.lastLines(new File(fileName), getIntParam(req, "lines"))) {
+                writer.write(line);
+                writer.write("\n");
+            }
+            return;
+        }
+
         long size = new File(fileName).length();
         FileInputStream f = new FileInputStream(fileName);
         long skipped = 0;
@@ -83,6 +95,7 @@ public class LogServlet extends AbstractAzkabanServlet {
 
     @Override
     public void init(ServletConfig config) throws ServletException {
+        super.init(config);
         _logDir = WebUtils.getApp(config).getLogDirectory();
     }
 
@@ -0,0 +1,49 @@
+/*
+ * Copyright 2010 LinkedIn, Inc
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package azkaban.web;
+
+import java.io.IOException;
+
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.json.simple.JSONValue;
+
+import azkaban.util.metrics.Metrics;
+
+/**
+ * A servlet that exposes the metrics of the server, in the Prometheus text
+ * format, or as JSON with format=json.
+ */
+public class MetricsServlet extends AbstractAzkabanServlet {
+
+    private static final long serialVersionUID = 1;
+
+    @Override
+    protected void doGet(HttpServletRequest req, HttpServletResponse resp) throws ServletException,
+            IOException {
+        Metrics metrics = Metrics.getDefault();
+        if("json".equals(req.getParameter("format"))) {
+            resp.setContentType("application/json; charset=UTF-8");
+            resp.getWriter().write(JSONValue.toJSONString(metrics.toMap()));
+        } else {
+            resp.setContentType("text/plain; version=0.0.4; charset=UTF-8");
+            resp.getWriter().write(metrics.toPrometheus());
+        }
+    }
+}
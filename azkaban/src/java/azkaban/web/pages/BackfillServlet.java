@@ -0,0 +1,175 @@
+/*
+ * Copyright 2010 LinkedIn, Inc
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package azkaban.web.pages;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.joda.time.DateTime;
+import org.joda.time.Days;
+import org.joda.time.Duration;
+import org.joda.time.Hours;
+import org.joda.time.Minutes;
+import org.joda.time.ReadablePeriod;
+import org.json.simple.JSONArray;
+import org.json.simple.JSONObject;
+
+import azkaban.app.Backfill;
+import azkaban.app.BackfillManager;
+import azkaban.common.web.Page;
+import azkaban.web.AbstractAzkabanServlet;
+
+/**
+ * Starts, lists and cancels backfills. Answers with JSON instead of a page
+ * when given format=json.
+ */
+public class BackfillServlet extends AbstractAzkabanServlet {
+
+    private static final long serialVersionUID = 1L;
+
+    @Override
+    protected void doGet(HttpServletRequest req, HttpServletResponse resp) throws ServletException,
+            IOException {
+        BackfillManager backfills = getApplication().getBackfillManager();
+        List<Backfill> shown = new ArrayList<Backfill>();
+        if(hasParam(req, "id")) {
+            Backfill backfill = backfills.getBackfill(Long.parseLong(getParam(req, "id")));
+            if(backfill == null) {
+                resp.sendError(HttpServletResponse.SC_NOT_FOUND, "No backfill with id "
+                                                                 + getParam(req, "id"));
+                return;
+            }
+            shown.add(backfill);
+        } else {
+            shown.addAll(backfills.getBackfills());
+        }
+
+        if("json".equals(req.getParameter("format"))) {
+            writeJson(resp, shown);
+            return;
+        }
+
+        /* set runtime properties from request and response */
+        super.setRuntimeProperties(req, resp);
+
+        Page page = newPage(req, resp, "azkaban/web/pages/backfill.vm");
+        page.add("backfills", shown);
+        page.add("rootJobNames", getApplication().getAllFlows().getRootFlowNames());
+        page.render();
+    }
+
+    @Override
+    protected void doPost(HttpServletRequest req, HttpServletResponse resp)
+            throws ServletException, IOException {
+        BackfillManager backfills = getApplication().getBackfillManager();
+        String action = getParam(req, "action");
+        Backfill backfill = null;
+        try {
+            if("start".equals(action)) {
+                Backfill.Order order = "newest".equals(req.getParameter("order"))
+                        ? Backfill.Order.NEWEST_FIRST : Backfill.Order.OLDEST_FIRST;
+                backfill = backfills.start(getParam(req, "flow"),
+                                           new DateTime(getParam(req, "start")),
+                                           new DateTime(getParam(req, "end")),
+                                           parsePeriod(req),
+                                           hasParam(req, "parallelism") ? getIntParam(req, "parallelism") : 1,
+                                           order);
+                addMessage(req, "Backfill " + backfill.getId() + " of " + backfill.getFlowName()
+                                + " started, " + backfill.getNumSlots() + " slots.");
+            } else if("cancel".equals(action)) {
+                long id = Long.parseLong(getParam(req, "id"));
+                backfills.cancel(id);
+                backfill = backfills.getBackfill(id);
+                addMessage(req, "Backfill " + id + " canceled.");
+            } else {
+                throw new ServletException("Unknown action: " + action);
+            }
+        } catch(IllegalArgumentException e) {
+            if("json".equals(req.getParameter("format"))) {
+                resp.sendError(HttpServletResponse.SC_BAD_REQUEST, e.getMessage());
+                return;
+            }
+            addError(req, e.getMessage());
+        }
+
+        if("json".equals(req.getParameter("format"))) {
+            List<Backfill> shown = new ArrayList<Backfill>();
+            shown.add(backfill);
+            writeJson(resp, shown);
+        } else {
+            resp.sendRedirect(req.getContextPath() + "/backfill");
+        }
+    }
+
+    private ReadablePeriod parsePeriod(HttpServletRequest req) throws ServletException {
+        int period = hasParam(req, "period") ? getIntParam(req, "period") : 1;
+        String periodUnits = hasParam(req, "period_units") ? getParam(req, "period_units") : "d";
+        if("d".equals(periodUnits))
+            return Days.days(period);
+        else if("h".equals(periodUnits))
+            return Hours.hours(period);
+        else if("m".equals(periodUnits))
+            return Minutes.minutes(period);
+        else
+            throw new ServletException("Unknown period unit: " + periodUnits);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void writeJson(HttpServletResponse resp, List<Backfill> backfills) throws IOException {
+        JSONArray json = new JSONArray();
+        for(Backfill backfill: backfills) {
+            JSONObject jsonBackfill = new JSONObject();
+            jsonBackfill.put("id", backfill.getId());
+            jsonBackfill.put("flow", backfill.getFlowName());
+            jsonBackfill.put("start", backfill.getStart().toString());
+            jsonBackfill.put("end", backfill.getEnd().toString());
+            jsonBackfill.put("parallelism", backfill.getParallelism());
+            jsonBackfill.put("order", backfill.getOrder().toString());
+            jsonBackfill.put("finished", backfill.isFinished());
+            jsonBackfill.put("canceled", backfill.isCanceled());
+            jsonBackfill.put("slots", backfill.getNumSlots());
+            jsonBackfill.put("succeeded", backfill.getNumSucceeded());
+            jsonBackfill.put("failed", backfill.getNumFailed());
+            jsonBackfill.put("skipped", backfill.getNumSkipped());
+            jsonBackfill.put("running", backfill.getNumRunning());
+            jsonBackfill.put("slotsPerHour", backfill.getSlotsPerHour());
+            Duration eta = backfill.getEstimatedRemaining();
+            jsonBackfill.put("etaMs", eta == null ? null : eta.getMillis());
+
+            JSONArray slots = new JSONArray();
+            for(Backfill.Slot slot: backfill.getSlots()) {
+                JSONObject jsonSlot = new JSONObject();
+                jsonSlot.put("time", slot.getTime().toString());
+                jsonSlot.put("status", slot.getStatus().toString());
+                jsonSlot.put("execution", slot.getExecutionId());
+                slots.add(jsonSlot);
+            }
+            jsonBackfill.put("slotStatuses", slots);
+            json.add(jsonBackfill);
+        }
+
+        resp.setHeader("Cache-Control", "no-cache");
+        resp.setContentType("application/json");
+        resp.getWriter().print(json.toJSONString());
+        resp.getWriter().flush();
+    }
+}
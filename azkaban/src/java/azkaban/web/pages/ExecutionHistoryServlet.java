@@ -16,6 +16,7 @@
 
 package azkaban.web.pages;
 
+import azkaban.app.SlaMonitor;
 import azkaban.common.web.Page;
 import azkaban.flow.ExecutableFlow;
 import azkaban.flow.FlowExecutionHolder;
@@ -28,7 +29,9 @@ import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 public class ExecutionHistoryServlet extends AbstractAzkabanServlet {
 
@@ -54,9 +57,14 @@ public class ExecutionHistoryServlet extends AbstractAzkabanServlet {
                     }
                     else {
                         Flows.resetFailedFlows(holder.getFlow());
-                        this.getApplication().getScheduler().scheduleNow(holder);
-
-                        addMessage(req, String.format("Flow[%s] restarted.", id));
+                        String running = this.getApplication().getScheduler().restartNow(holder);
+
+                        if (holder.getFlow().getId().equals(running)) {
+                            addMessage(req, String.format("Flow[%s] restarted.", id));
+                        }
+                        else {
+                            addMessage(req, String.format("Flow[%s] is already running as execution[%s].", id, running));
+                        }
                     }
                 }
                 catch (NumberFormatException e) {
@@ -74,18 +82,24 @@ public class ExecutionHistoryServlet extends AbstractAzkabanServlet {
         int size = sizeParam == null? 20 : Integer.parseInt(sizeParam);
 
         List<ExecutableFlow> execs = new ArrayList<ExecutableFlow>(size);
+        Map<String, List<SlaMonitor.Miss>> slaMisses = new HashMap<String, List<SlaMonitor.Miss>>();
         for (int i = begin; i < begin + size; i++) {
             final FlowExecutionHolder holder = allFlows.loadExecutableFlow(currMaxId - i);
             ExecutableFlow flow = null;
             if (holder != null)
                 flow = holder.getFlow();
 
-            if (flow != null)
+            if (flow != null) {
                 execs.add(flow);
+                List<SlaMonitor.Miss> misses = getApplication().getSlaMonitor().getExecutionMisses(flow.getId());
+                if (!misses.isEmpty())
+                    slaMisses.put(flow.getId(), misses);
+            }
         }
 
         Page page = newPage(req, resp, "azkaban/web/pages/execution_history.vm");
         page.add("executions", execs);
+        page.add("sla_misses", slaMisses);
         page.add("begin", begin);
         page.add("size", size);
         page.render();
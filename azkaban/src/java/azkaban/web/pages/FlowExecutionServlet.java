@@ -20,6 +20,9 @@ import azkaban.common.utils.Props;
 import azkaban.common.web.Page;
 import azkaban.flow.ComposedExecutableFlow;
 import azkaban.flow.ExecutableFlow;
+import azkaban.flow.ExecutionSummary;
+import azkaban.flow.FlowEvent;
+import azkaban.flow.FlowEventStream;
 import azkaban.flow.FlowExecutionHolder;
 import azkaban.flow.FlowManager;
 import azkaban.flow.Flows;
@@ -30,15 +33,14 @@ import azkaban.flow.Status;
 import azkaban.flow.WrappingExecutableFlow;
 import azkaban.web.AbstractAzkabanServlet;
 import azkaban.workflow.Flow;
-import azkaban.workflow.flow.DagLayout;
 import azkaban.workflow.flow.Dependency;
 import azkaban.workflow.flow.FlowNode;
-import azkaban.workflow.flow.SugiyamaLayout;
 
 import javax.servlet.ServletException;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 
+import org.apache.commons.codec.digest.DigestUtils;
 import org.apache.hadoop.fs.Path;
 import org.joda.time.DateTime;
 import org.joda.time.Duration;
@@ -50,12 +52,24 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 
 public class FlowExecutionServlet extends AbstractAzkabanServlet {
 
+    private static final long MAX_EVENT_WAIT_MS = 30000;
+
     @Override
     protected void doGet(HttpServletRequest req, HttpServletResponse resp) throws ServletException,
             IOException {
+        if ("status".equals(req.getParameter("action"))) {
+            writeStatuses(req, resp);
+            return;
+        }
+        if ("events".equals(req.getParameter("action"))) {
+            writeEvents(req, resp);
+            return;
+        }
+
         resp.setContentType("application/xhtml+xml");
         Page page = newPage(req, resp, "azkaban/web/pages/flow_instance.vm");
         final FlowManager allFlows = this.getApplication().getAllFlows();
@@ -80,11 +94,17 @@ public class FlowExecutionServlet extends AbstractAzkabanServlet {
         	
         	String flowJSON = createJsonFlow(displayFlow);
         	page.add("jsonflow", flowJSON);
+        	page.add("running", false);
+        	page.add("eventSeq", 0);
+        	page.add("eventEpoch", 0);
         	page.add("action", "run");
         	page.add("joblist", createJsonJobList(displayFlow));
         }
         else if (hasParam(req, "id")) {
         	long id = Long.parseLong(getParam(req, "id"));
+        	// Taken first, so the page misses no change made while it renders.
+        	page.add("eventSeq", this.getApplication().getFlowEventStream().getLastSequence());
+        	page.add("eventEpoch", this.getApplication().getFlowEventStream().getEpoch());
            	FlowExecutionHolder holder = allFlows.loadExecutableFlow(id);
         	ExecutableFlow executableFlow = holder.getFlow();
 
@@ -95,6 +115,7 @@ public class FlowExecutionServlet extends AbstractAzkabanServlet {
         	
         	String flowJSON = createJsonFlow(displayFlow);
         	page.add("jsonflow", flowJSON);
+        	page.add("running", executableFlow.getStatus() == Status.RUNNING);
         	page.add("id", id);
         	if (executableFlow.getStartTime() != null) {
         		page.add("startTime", executableFlow.getStartTime());
@@ -116,6 +137,89 @@ public class FlowExecutionServlet extends AbstractAzkabanServlet {
         page.render();
     }
     
+    /*
+     * Answers the polls of a displayed execution with just the job statuses,
+     * the page already has the layout.
+     */
+    @SuppressWarnings("unchecked")
+    private void writeStatuses(HttpServletRequest req, HttpServletResponse resp) throws ServletException,
+            IOException {
+        long id = Long.parseLong(getParam(req, "id"));
+        // Finished executions are answered from their summary, without loading them again.
+        ExecutionSummary summary = this.getApplication().getAllFlows().getExecutionSummary(id);
+        if (summary == null) {
+            resp.sendError(HttpServletResponse.SC_NOT_FOUND, "No flow execution with id " + id);
+            return;
+        }
+
+        JSONObject statuses = new JSONObject();
+        for (Map.Entry<String, Status> jobStatus : summary.getJobStatuses().entrySet()) {
+            statuses.put(jobStatus.getKey(), getStringStatus(jobStatus.getValue()));
+        }
+
+        JSONObject jsonStatus = new JSONObject();
+        jsonStatus.put("running", summary.getStatus() == Status.RUNNING);
+        jsonStatus.put("statuses", statuses);
+        String json = jsonStatus.toJSONString();
+
+        // Polls between two status changes get an empty 304.
+        String etag = "\"" + DigestUtils.md5Hex(json) + "\"";
+        resp.setHeader("Cache-Control", "no-cache");
+        resp.setHeader("ETag", etag);
+        String ifNoneMatch = req.getHeader("If-None-Match");
+        if (ifNoneMatch != null && ifNoneMatch.contains(etag)) {
+            resp.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+
+        resp.setContentType("application/json");
+        resp.getWriter().print(json);
+        resp.getWriter().flush();
+    }
+
+    /*
+     * Answers the status changes of an execution after the given sequence
+     * number, waiting a while for one if there are none yet. A sequence
+     * number from before a restart gets a reset.
+     */
+    @SuppressWarnings("unchecked")
+    private void writeEvents(HttpServletRequest req, HttpServletResponse resp) throws ServletException,
+            IOException {
+        String id = getParam(req, "id");
+        long after = hasParam(req, "after") ? Long.parseLong(getParam(req, "after")) : 0;
+        long epoch = hasParam(req, "epoch") ? Long.parseLong(getParam(req, "epoch")) : 0;
+        long waitMs = hasParam(req, "wait") ? Math.min(Long.parseLong(getParam(req, "wait")), MAX_EVENT_WAIT_MS) : 0;
+
+        FlowEventStream.Events events;
+        try {
+            events = this.getApplication().getFlowEventStream().getEvents(id, epoch, after, waitMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServletException(e);
+        }
+
+        JSONArray jsonEvents = new JSONArray();
+        for (FlowEvent event : events.getEvents()) {
+            JSONObject jsonEvent = new JSONObject();
+            jsonEvent.put("seq", event.getSequence());
+            jsonEvent.put("job", event.getJobName());
+            jsonEvent.put("status", getStringStatus(event.getStatus()));
+            jsonEvents.add(jsonEvent);
+        }
+
+        JSONObject json = new JSONObject();
+        json.put("seq", events.getLastSequence());
+        json.put("epoch", this.getApplication().getFlowEventStream().getEpoch());
+        json.put("reset", events.isReset());
+        json.put("running", events.isRunning());
+        json.put("events", jsonEvents);
+
+        resp.setHeader("Cache-Control", "no-cache");
+        resp.setContentType("application/json");
+        resp.getWriter().print(json.toJSONString());
+        resp.getWriter().flush();
+    }
+
     private void fillFlow(Flow displayFlow, ExecutableFlow executableFlow) {
     	List<String> dependencies = new ArrayList<String>();
     	for( ExecutableFlow depFlow : executableFlow.getChildren()) {
@@ -163,8 +267,7 @@ public class FlowExecutionServlet extends AbstractAzkabanServlet {
 		jsonFlow.put("flow_id", flow.getId());
 
 		if (!flow.isLayedOut()) {
-			DagLayout layout = new SugiyamaLayout(flow);
-			layout.setLayout();
+			this.getApplication().getFlowLayoutCache().layout(flow);
 		}
 
 		JSONArray jsonNodes = new JSONArray();
@@ -222,8 +325,13 @@ public class FlowExecutionServlet extends AbstractAzkabanServlet {
         	traverseFlow(disabledJobs, executableFlow);
         	
         	try {
-        		this.getApplication().getScheduler().scheduleNow(holder);
-            	addMessage(req, String.format("Flow[%s] restarted.", id));
+        		String running = this.getApplication().getScheduler().restartNow(holder);
+        		if (executableFlow.getId().equals(running)) {
+        			addMessage(req, String.format("Flow[%s] restarted.", id));
+        		}
+        		else {
+        			addMessage(req, String.format("Flow[%s] is already running as execution[%s].", id, running));
+        		}
         	} catch(Exception e) {
         	}
         }
@@ -245,8 +353,13 @@ public class FlowExecutionServlet extends AbstractAzkabanServlet {
            	traverseFlow(disabledJobs, flow);
            	
         	try {
-        		this.getApplication().getScheduler().scheduleNow(flow);
-            	addMessage(req, String.format("Flow[%s] running.", name));
+        		String running = this.getApplication().getScheduler().scheduleNow(flow, req.getParameter("token"));
+        		if (flow.getId().equals(running)) {
+        			addMessage(req, String.format("Flow[%s] running.", name));
+        		}
+        		else {
+        			addMessage(req, String.format("Flow[%s] is already running as execution[%s].", name, running));
+        		}
         	} catch(Exception e) {
         	}
         }
@@ -16,11 +16,15 @@
 
 package azkaban.web.pages;
 
+import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 import javax.servlet.ServletConfig;
 import javax.servlet.ServletException;
@@ -28,6 +32,8 @@ import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 
 import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.FSDataInputStream;
+import org.apache.hadoop.fs.FileStatus;
 import org.apache.hadoop.fs.FileSystem;
 import org.apache.hadoop.fs.Path;
 import org.apache.log4j.Logger;
@@ -35,6 +41,7 @@ import org.apache.log4j.Logger;
 import azkaban.common.web.HdfsAvroFileViewer;
 import azkaban.common.web.HdfsFileViewer;
 import azkaban.common.web.JsonSequenceFileViewer;
+import azkaban.common.web.OpenFileSystem;
 import azkaban.common.web.Page;
 import azkaban.common.web.TextFileViewer;
 import azkaban.web.AbstractAzkabanServlet;
@@ -43,6 +50,12 @@ import azkaban.web.WebUtils;
 /**
  * A servlet that shows the filesystem contents
  * 
+ * The status of a path, the listing of a directory and the viewer chosen for
+ * a file are cached for a short while, so that paging through a directory or
+ * a file doesn't go back to the namenode on every click. A file is opened once
+ * per request: its first bytes pick the viewers to try, and the chosen viewer
+ * reads from the same stream.
+ * 
  * @author jkreps
  * 
  */
@@ -50,19 +63,45 @@ public class HdfsBrowserServlet extends AbstractAzkabanServlet {
 
     private static final long serialVersionUID = 1;
 
+    private static final long CACHE_TTL_MS = 30 * 1000;
+    private static final int MAX_CACHE_ENTRIES = 1000;
+    private static final int DEFAULT_PAGE_SIZE = 200;
+    private static final int MAX_PAGE_LINES = 1000;
+
+    private static final byte[] AVRO_MAGIC = new byte[] { 'O', 'b', 'j', 1 };
+    private static final byte[] SEQUENCE_FILE_MAGIC = new byte[] { 'S', 'E', 'Q' };
+
+    private final long _cacheTtlMs;
     private FileSystem _fs;
 
-    private ArrayList<HdfsFileViewer> _viewers = new ArrayList<HdfsFileViewer>();
+    private ArrayList<HdfsFileViewer> _avroViewers = new ArrayList<HdfsFileViewer>();
+    private ArrayList<HdfsFileViewer> _sequenceFileViewers = new ArrayList<HdfsFileViewer>();
 
     // Default viewer will be a text viewer
     private HdfsFileViewer _defaultViewer = new TextFileViewer();
 
+    private final Map<Path, CachedPath> _cache = new LinkedHashMap<Path, CachedPath>(16, 0.75f, true) {
+
+        private static final long serialVersionUID = 1;
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Path, CachedPath> eldest) {
+            return size() > MAX_CACHE_ENTRIES;
+        }
+    };
+
     private static Logger logger = Logger.getLogger(HdfsBrowserServlet.class);
 
     public HdfsBrowserServlet() {
+        this(null, CACHE_TTL_MS);
+    }
+
+    HdfsBrowserServlet(FileSystem fs, long cacheTtlMs) {
         super();
-        _viewers.add(new HdfsAvroFileViewer());
-        _viewers.add(new JsonSequenceFileViewer());
+        _fs = fs;
+        _cacheTtlMs = cacheTtlMs;
+        _avroViewers.add(new HdfsAvroFileViewer());
+        _sequenceFileViewers.add(new JsonSequenceFileViewer());
     }
 
     @Override
@@ -90,15 +129,37 @@ public class HdfsBrowserServlet extends AbstractAzkabanServlet {
             logger.debug("path=" + fsPath);
 
         Path path = new Path(fsPath);
-        if(!_fs.exists(path))
+        CachedPath cached = getCached(path);
+        if(cached == null)
             throw new IllegalArgumentException(path.toUri().getPath() + " does not exist.");
-        else if(_fs.isFile(path))
-            displayFile(req, resp, path);
-        else if(_fs.getFileStatus(path).isDir())
-            displayDir(req, resp, path);
+        else if(cached.status.isDir())
+            displayDir(req, resp, path, cached);
         else
-            throw new IllegalStateException("It exists, it is not a file, and it is not a directory, what is it precious?");
+            displayFile(req, resp, cached);
+    }
 
+    /**
+     * @return What is known about the path, or null if it doesn't exist
+     */
+    CachedPath getCached(Path path) throws IOException {
+        long now = System.currentTimeMillis();
+        synchronized(_cache) {
+            CachedPath cached = _cache.get(path);
+            if(cached != null && now - cached.time < _cacheTtlMs)
+                return cached;
+        }
+
+        FileStatus status;
+        try {
+            status = _fs.getFileStatus(path);
+        } catch(FileNotFoundException e) {
+            return null;
+        }
+        CachedPath cached = new CachedPath(status, now);
+        synchronized(_cache) {
+            _cache.put(path, cached);
+        }
+        return cached;
     }
 
     @Override
@@ -107,16 +168,24 @@ public class HdfsBrowserServlet extends AbstractAzkabanServlet {
 
         String action = req.getParameter("action");
         if("delete".equals(action)) {
-            Path theFile = new Path(req.getParameter("file"));
-            _fs.delete(theFile, true);
+            delete(new Path(req.getParameter("file")));
         } else {
             throw new ServletException("Unknown action '" + action + "'!");
         }
 
     }
 
-    private void displayDir(HttpServletRequest req, HttpServletResponse resp, Path path)
-            throws IOException {
+    void delete(Path path) throws IOException {
+        _fs.delete(path, true);
+        synchronized(_cache) {
+            _cache.clear();
+        }
+    }
+
+    private void displayDir(HttpServletRequest req,
+                            HttpServletResponse resp,
+                            Path path,
+                            CachedPath cached) throws IOException {
 
         Page page = newPage(req, resp, "azkaban/web/pages/hdfs_browser_dir.vm");
 
@@ -132,37 +201,165 @@ public class HdfsBrowserServlet extends AbstractAzkabanServlet {
         Collections.reverse(paths);
         Collections.reverse(segments);
 
+        DirPage dirPage = listDir(cached,
+                                  WebUtils.getInt(req, "page", 1),
+                                  WebUtils.getInt(req, "page_size", DEFAULT_PAGE_SIZE));
+
         page.add("paths", paths);
         page.add("segments", segments);
-        page.add("subdirs", _fs.listStatus(path)); // ??? line
+        page.add("subdirs", dirPage.children);
+        page.add("numChildren", dirPage.numChildren);
+        page.add("pageNum", dirPage.pageNum);
+        page.add("numPages", dirPage.numPages);
+        page.add("pageSize", dirPage.pageSize);
         page.render();
 
     }
 
-    private void displayFile(HttpServletRequest req, HttpServletResponse resp, Path path)
+    /**
+     * Get a page of the children of a directory. The listing is taken once
+     * and then sliced, since Hadoop 0.20 can't list part of a directory.
+     * 
+     * @param cached The directory
+     * @param pageNum The page, starting at 1, moved into the existing pages
+     * @param pageSize The number of children per page, at least 1
+     */
+    DirPage listDir(CachedPath cached, int pageNum, int pageSize) throws IOException {
+        FileStatus[] children;
+        synchronized(cached) {
+            if(cached.children == null)
+                cached.children = _fs.listStatus(cached.status.getPath());
+            children = cached.children;
+        }
+        if(children == null)
+            children = new FileStatus[0];
+
+        pageSize = Math.max(1, pageSize);
+        int numPages = Math.max(1, (children.length + pageSize - 1) / pageSize);
+        pageNum = Math.min(Math.max(1, pageNum), numPages);
+        int from = (pageNum - 1) * pageSize;
+        return new DirPage(Arrays.asList(children).subList(from, Math.min(children.length, from + pageSize)),
+                           children.length,
+                           pageNum,
+                           numPages,
+                           pageSize);
+    }
+
+    private void displayFile(HttpServletRequest req, HttpServletResponse resp, CachedPath cached)
             throws IOException {
 
-        int startLine = WebUtils.getInt(req, "start_line", 1);
-        int endLine = WebUtils.getInt(req, "end_line", 1000);
+        int startLine = Math.max(1, WebUtils.getInt(req, "start_line", 1));
+        int endLine = WebUtils.getInt(req, "end_line", startLine + MAX_PAGE_LINES - 1);
+        endLine = Math.min(endLine, startLine + MAX_PAGE_LINES - 1);
+        boolean pretty = hasParam(req, "pretty");
 
-        // use registered viewers to show the file content
-        boolean outputed = false;
+        Path path = cached.status.getPath();
         OutputStream output = resp.getOutputStream();
-        for(HdfsFileViewer viewer: _viewers) {
-            if(viewer.canReadFile(_fs, path)) {
-                viewer.displayFile(_fs, path, output, startLine, endLine);
-                outputed = true;
-                break; // don't need to try other viewers
-            }
+        FSDataInputStream in = _fs.open(path);
+        try {
+            FileSystem fs = new OpenFileSystem(_fs, cached.status, in);
+            HdfsFileViewer viewer = getViewer(cached, fs, in);
+            if(viewer == null)
+                output.write(("Sorry, no viewer available for this file. ").getBytes("UTF-8"));
+            else
+                viewer.displayFile(fs, path, output, startLine, endLine, pretty);
+        } finally {
+            in.close();
+        }
+    }
+
+    /**
+     * Get the viewer for a file, choosing it on the first call
+     * 
+     * @param cached The file
+     * @param fs The filesystem serving the file from the open stream
+     * @param in The open stream of the file
+     * @return The viewer, or null if none can read the file
+     */
+    HdfsFileViewer getViewer(CachedPath cached, FileSystem fs, FSDataInputStream in) throws IOException {
+        synchronized(cached) {
+            if(cached.viewer == null)
+                cached.viewer = findViewer(fs, cached.status.getPath(), in);
+            return cached.viewer;
+        }
+    }
+
+    private HdfsFileViewer findViewer(FileSystem fs, Path path, FSDataInputStream in)
+            throws IOException {
+        byte[] magic = new byte[AVRO_MAGIC.length];
+        int read = 0;
+        in.seek(0);
+        while(read < magic.length) {
+            int n = in.read(magic, read, magic.length - read);
+            if(n < 0)
+                break;
+            read += n;
+        }
+
+        // use registered viewers to show the file content
+        List<HdfsFileViewer> candidates = Collections.emptyList();
+        if(startsWith(magic, read, AVRO_MAGIC))
+            candidates = _avroViewers;
+        else if(startsWith(magic, read, SEQUENCE_FILE_MAGIC))
+            candidates = _sequenceFileViewers;
+        for(HdfsFileViewer viewer: candidates) {
+            if(viewer.canReadFile(fs, path))
+                return viewer;
         }
 
         // use default text viewer
-        if(!outputed) {
-            if(_defaultViewer.canReadFile(_fs, path)) {
-                _defaultViewer.displayFile(_fs, path, output, startLine, endLine);
-            } else {
-                output.write(("Sorry, no viewer available for this file. ").getBytes("UTF-8"));
-            }
+        if(_defaultViewer.canReadFile(fs, path))
+            return _defaultViewer;
+        return null;
+    }
+
+    private static boolean startsWith(byte[] bytes, int length, byte[] prefix) {
+        if(length < prefix.length)
+            return false;
+        for(int i = 0; i < prefix.length; i++) {
+            if(bytes[i] != prefix[i])
+                return false;
+        }
+        return true;
+    }
+
+    /**
+     * A page of a directory listing
+     */
+    static class DirPage {
+
+        final List<FileStatus> children;
+        final int numChildren;
+        final int pageNum;
+        final int numPages;
+        final int pageSize;
+
+        private DirPage(List<FileStatus> children, int numChildren, int pageNum, int numPages, int pageSize) {
+            this.children = children;
+            this.numChildren = numChildren;
+            this.pageNum = pageNum;
+            this.numPages = numPages;
+            this.pageSize = pageSize;
+        }
+    }
+
+    /**
+     * What is known about a path, cached for a short while
+     */
+    static class CachedPath {
+
+        private final FileStatus status;
+        private final long time;
+        private FileStatus[] children;
+        private HdfsFileViewer viewer;
+
+        private CachedPath(FileStatus status, long time) {
+            this.status = status;
+            this.time = time;
+        }
+
+        FileStatus getStatus() {
+            return status;
         }
     }
 }
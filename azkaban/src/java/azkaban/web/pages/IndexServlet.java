@@ -17,18 +17,21 @@
 package azkaban.web.pages;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.Comparator;
+import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import javax.servlet.ServletContext;
 import javax.servlet.ServletException;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 
+import org.apache.commons.codec.digest.DigestUtils;
 import org.apache.log4j.Logger;
 import org.joda.time.DateTime;
 import org.joda.time.Days;
@@ -64,6 +67,8 @@ public class IndexServlet extends AbstractAzkabanServlet {
 
     private static final long serialVersionUID = 1;
 
+    private final ConcurrentMap<String, FolderJobs> _folderJobs = new ConcurrentHashMap<String, FolderJobs>();
+
     @Override
     protected void doGet(HttpServletRequest req, HttpServletResponse resp) throws ServletException,
             IOException {
@@ -71,6 +76,11 @@ public class IndexServlet extends AbstractAzkabanServlet {
         super.setRuntimeProperties(req, resp);
 
         AzkabanApplication app = getApplication();
+        if ("loadjobs".equals(req.getParameter("action"))) {
+            writeJobsForFolder(app, req, resp);
+            return;
+        }
+
         @SuppressWarnings("unused")
         Map<String, JobDescriptor> descriptors = app.getJobManager().loadJobDescriptors();
         Page page = newPage(req, resp, "azkaban/web/pages/index.vm");
@@ -95,11 +105,8 @@ public class IndexServlet extends AbstractAzkabanServlet {
         AzkabanApplication app = getApplication();
         String action = getParam(req, "action");
         if ("loadjobs".equals(action)) {
-            resp.setContentType("application/json");
-        	String folder = getParam(req, "folder");
-        	resp.getWriter().print(getJSONJobsForFolder(app.getAllFlows(), folder));
-        	resp.getWriter().flush();
-        	return;
+            writeJobsForFolder(app, req, resp);
+            return;
         }
         else if("unschedule".equals(action)) {
             String job = getParam(req, "job");
@@ -118,73 +125,120 @@ public class IndexServlet extends AbstractAzkabanServlet {
         resp.sendRedirect(req.getContextPath());
     }
 
+    private void writeJobsForFolder(AzkabanApplication app,
+                                    HttpServletRequest req,
+                                    HttpServletResponse resp) throws ServletException, IOException {
+        String folder = getParam(req, "folder");
+        FolderJobs jobs = getJobsForFolder(app.getAllFlows(), folder);
+
+        // Let the browser keep the jobs until the flows get reloaded.
+        resp.setHeader("Cache-Control", "no-cache");
+        resp.setHeader("ETag", jobs.etag);
+        String ifNoneMatch = req.getHeader("If-None-Match");
+        if (ifNoneMatch != null && (ifNoneMatch.contains(jobs.etag) || ifNoneMatch.trim().equals("*"))) {
+            resp.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+
+        resp.setContentType("application/json");
+        resp.getWriter().print(jobs.json);
+        resp.getWriter().flush();
+    }
+
+    private FolderJobs getJobsForFolder(FlowManager manager, String folder) {
+        // Read the version first: if the flows get reloaded meanwhile, the
+        // newer jobs get cached under the older version and rebuilt next time.
+        long version = manager.getVersion();
+        FolderJobs cached = _folderJobs.get(folder);
+        if (cached != null && cached.version == version)
+            return cached;
+
+        FolderJobs jobs = new FolderJobs(version, getJSONJobsForFolder(manager, folder));
+        for (Map.Entry<String, FolderJobs> entry: _folderJobs.entrySet())
+            if (entry.getValue().version != version)
+                _folderJobs.remove(entry.getKey());
+        _folderJobs.put(folder, jobs);
+        return jobs;
+    }
+
+    /*
+     * Lists every job reachable from the folder's root jobs once, along with
+     * the names of the jobs it depends on:
+     * {"roots": [names], "deps": {name: [names]}}
+     */
     @SuppressWarnings("unchecked")
 	private String getJSONJobsForFolder(FlowManager manager, String folder) {
     	List<String> rootJobs = manager.getRootNamesByFolder(folder);
     	Collections.sort(rootJobs);
 
     	JSONArray rootJobObj = new JSONArray();
+    	JSONObject deps = new JSONObject();
+    	LinkedList<Flow> toVisit = new LinkedList<Flow>();
     	for (String root: rootJobs) {
-    		Flow flow = manager.getFlow(root);
-    		JSONObject flowObj = getJSONDependencyTree(flow);
-    		rootJobObj.add(flowObj);
+    		rootJobObj.add(root);
+    		toVisit.add(manager.getFlow(root));
     	}
-    	
-    	return rootJobObj.toJSONString();
-    }
-    
-    @SuppressWarnings("unchecked")
-	private JSONObject getJSONDependencyTree(Flow flow) {
-    	JSONObject jobObject = new JSONObject();
-    	jobObject.put("name", flow.getName());
-    	
-    	if (flow.hasChildren()) {
-    		JSONArray dependencies = new JSONArray();
-    		for(Flow child : flow.getChildren()) {
-    			JSONObject childObj = getJSONDependencyTree(child);
-    			dependencies.add(childObj);
+
+    	while (!toVisit.isEmpty()) {
+    		Flow flow = toVisit.removeFirst();
+    		if (deps.containsKey(flow.getName()))
+    			continue;
+
+    		List<String> children = new ArrayList<String>();
+    		if (flow.hasChildren()) {
+    			for (Flow child: flow.getChildren()) {
+    				children.add(child.getName());
+    				toVisit.add(child);
+    			}
     		}
-    		
-    		Collections.sort(dependencies, new FlowComparator());
-    		jobObject.put("dep", dependencies);
+    		Collections.sort(children);
+
+    		JSONArray childArray = new JSONArray();
+    		childArray.addAll(children);
+    		deps.put(flow.getName(), childArray);
     	}
-    	
-    	return jobObject;
+
+    	JSONObject result = new JSONObject();
+    	result.put("roots", rootJobObj);
+    	result.put("deps", deps);
+    	return result.toJSONString();
     }
-    
-    private class FlowComparator implements Comparator<JSONObject> {
-
-		@Override
-		public int compare(JSONObject arg0, JSONObject arg1) {
-			String first = (String)arg0.get("name");
-			String second = (String)arg1.get("name");
-			return first.compareTo(second);
-		}
-    	
+
+    private static class FolderJobs {
+
+        private final long version;
+        private final String json;
+        private final String etag;
+
+        private FolderJobs(long version, String json) {
+            this.version = version;
+            this.json = json;
+            this.etag = "\"" + DigestUtils.md5Hex(json) + "\"";
+        }
     }
-    
+
     private void cancelJob(AzkabanApplication app, HttpServletRequest req) throws ServletException {
 
-        String jobId = getParam(req, "job");
-        Collection<ScheduledJobAndInstance> executing = app.getScheduler().getExecutingJobs();
-        for(ScheduledJobAndInstance curr: executing) {
-            ExecutableFlow flow = curr.getExecutableFlow();
-            final String flowId = flow.getId();
-            if(flowId.equals(jobId)) {
-                final String flowName = flow.getName();
-                try {
-                    if(flow.cancel()) {
-                        addMessage(req, "Cancelled " + flowName);
-                        logger.info("Job '" + flowName + "' cancelled from gui.");
-                    } else {
-                        logger.info("Couldn't cancel flow '" + flowName + "' for some reason.");
-                        addError(req, "Failed to cancel flow " + flowName + ".");
-                    }
-                } catch(Exception e) {
-                    logger.error("Exception while attempting to cancel flow '" + flowName + "'.", e);
-                    addError(req, "Failed to cancel flow " + flowName + ": " + e.getMessage());
-                }
+        String executionId = getParam(req, "id");
+        ScheduledJobAndInstance execution = app.getScheduler().getExecution(executionId);
+        if(execution == null) {
+            addError(req, "Execution " + executionId + " is not running.");
+            return;
+        }
+
+        ExecutableFlow flow = execution.getExecutableFlow();
+        final String flowName = flow.getName();
+        try {
+            if(flow.cancel()) {
+                addMessage(req, "Cancelled " + flowName + " (execution " + executionId + ")");
+                logger.info("Job '" + flowName + "' execution " + executionId + " cancelled from gui.");
+            } else {
+                logger.info("Couldn't cancel flow '" + flowName + "' for some reason.");
+                addError(req, "Failed to cancel flow " + flowName + ".");
             }
+        } catch(Exception e) {
+            logger.error("Exception while attempting to cancel flow '" + flowName + "'.", e);
+            addError(req, "Failed to cancel flow " + flowName + ": " + e.getMessage());
         }
     }
 
@@ -250,9 +304,8 @@ public class IndexServlet extends AbstractAzkabanServlet {
 	                addMessage(req, job + " scheduled.");
 	            } else if(hasParam(req, "run_now")) {
 	                boolean ignoreDeps = !hasParam(req, "include_deps");
-	                @SuppressWarnings("unused")
-	                ScheduledFuture<?> f = app.getScheduler().schedule(job, new DateTime(), ignoreDeps);
-	                addMessage(req, "Running " + job);
+	                String id = app.getScheduler().runNow(job, ignoreDeps, req.getParameter("token"));
+	                addMessage(req, "Running " + job + ", execution " + id);
 	            }
 	            else {
 	                addError(req, "Neither run_now nor schedule param is set.");
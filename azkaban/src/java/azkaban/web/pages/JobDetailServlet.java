@@ -82,6 +82,10 @@ public class JobDetailServlet extends AbstractAzkabanServlet {
                     successes++;
             page.add("executions", execs);
             page.add("successful_executions", successes);
+            page.add("output_cache", app.getJobOutputCache().getStats(jobId));
+            page.add("speculation", app.getSpeculationTracker().getStats(jobId));
+            page.add("sla_misses", app.getSlaMonitor().getMisses(jobId));
+            page.add("num_coalesced", app.getScheduler().getNumCoalesced(jobId));
 
             page.render();
         }
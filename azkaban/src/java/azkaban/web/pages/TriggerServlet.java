@@ -0,0 +1,142 @@
+/*
+ * Copyright 2010 LinkedIn, Inc
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package azkaban.web.pages;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.json.simple.JSONArray;
+import org.json.simple.JSONObject;
+
+import azkaban.app.Trigger;
+import azkaban.app.TriggerManager;
+import azkaban.common.web.Page;
+import azkaban.web.AbstractAzkabanServlet;
+
+/**
+ * Adds, lists and removes the triggers that start flows, and takes the events
+ * EVENT triggers wait for. Answers with JSON instead of a page when given
+ * format=json.
+ */
+public class TriggerServlet extends AbstractAzkabanServlet {
+
+    private static final long serialVersionUID = 1L;
+
+    @Override
+    protected void doGet(HttpServletRequest req, HttpServletResponse resp) throws ServletException,
+            IOException {
+        List<Trigger> triggers = getApplication().getTriggerManager().getTriggers();
+
+        if("json".equals(req.getParameter("format"))) {
+            writeJson(resp, triggers);
+            return;
+        }
+
+        /* set runtime properties from request and response */
+        super.setRuntimeProperties(req, resp);
+
+        Page page = newPage(req, resp, "azkaban/web/pages/triggers.vm");
+        page.add("triggers", triggers);
+        page.add("rootJobNames", getApplication().getAllFlows().getRootFlowNames());
+        page.render();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    protected void doPost(HttpServletRequest req, HttpServletResponse resp)
+            throws ServletException, IOException {
+        TriggerManager triggers = getApplication().getTriggerManager();
+        String action = getParam(req, "action");
+        boolean json = "json".equals(req.getParameter("format"));
+        List<Trigger> shown = new ArrayList<Trigger>();
+        try {
+            if("add".equals(action)) {
+                Trigger.Type type;
+                try {
+                    type = Trigger.Type.valueOf(getParam(req, "type").toUpperCase());
+                } catch(IllegalArgumentException e) {
+                    throw new IllegalArgumentException("Unknown trigger type: " + getParam(req, "type"));
+                }
+                Trigger trigger = triggers.add(getParam(req, "flow"), type, getParam(req, "target"));
+                shown.add(trigger);
+                addMessage(req, "Added " + trigger + ".");
+            } else if("remove".equals(action)) {
+                long id = Long.parseLong(getParam(req, "id"));
+                if(!triggers.remove(id))
+                    throw new IllegalArgumentException("No trigger with id " + id);
+                addMessage(req, "Removed trigger " + id + ".");
+            } else if("event".equals(action)) {
+                String name = getParam(req, "name");
+                List<String> started = triggers.postEvent(name);
+                if(json) {
+                    JSONObject result = new JSONObject();
+                    result.put("event", name);
+                    JSONArray executions = new JSONArray();
+                    executions.addAll(started);
+                    result.put("executions", executions);
+                    writeJson(resp, result.toJSONString());
+                    return;
+                }
+                addMessage(req, "Event " + name + " started " + started.size() + " flows.");
+            } else {
+                throw new ServletException("Unknown action: " + action);
+            }
+        } catch(IllegalArgumentException e) {
+            if(json) {
+                resp.sendError(HttpServletResponse.SC_BAD_REQUEST, e.getMessage());
+                return;
+            }
+            addError(req, e.getMessage());
+        }
+
+        if(json) {
+            writeJson(resp, shown);
+        } else {
+            resp.sendRedirect(req.getContextPath() + "/triggers");
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void writeJson(HttpServletResponse resp, List<Trigger> triggers) throws IOException {
+        JSONArray json = new JSONArray();
+        for(Trigger trigger: triggers) {
+            JSONObject jsonTrigger = new JSONObject();
+            jsonTrigger.put("id", trigger.getId());
+            jsonTrigger.put("flow", trigger.getFlowName());
+            jsonTrigger.put("type", trigger.getType().toString());
+            jsonTrigger.put("target", trigger.getTarget());
+            jsonTrigger.put("numFired", trigger.getNumFired());
+            jsonTrigger.put("lastFired",
+                            trigger.getLastFiredTime() == null ? null
+                                                               : trigger.getLastFiredTime().toString());
+            json.add(jsonTrigger);
+        }
+        writeJson(resp, json.toJSONString());
+    }
+
+    private void writeJson(HttpServletResponse resp, String json) throws IOException {
+        resp.setHeader("Cache-Control", "no-cache");
+        resp.setContentType("application/json");
+        resp.getWriter().print(json);
+        resp.getWriter().flush();
+    }
+}
@@ -0,0 +1,230 @@
+/*
+ * Copyright 2010 LinkedIn, Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package azkaban.workflow.flow;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+import org.apache.commons.codec.digest.DigestUtils;
+import org.apache.commons.io.IOUtils;
+import org.apache.log4j.Logger;
+
+import azkaban.workflow.Flow;
+
+/**
+ * Keeps the node positions computed by LayeredDagLayout, keyed by a hash of the
+ * flow's structure, so a flow is only laid out once no matter how often it is
+ * displayed or executed.
+ *
+ * The most recently used layouts are kept in memory. If given a directory,
+ * layouts are also written there and read back when they are not in memory.
+ */
+public class FlowLayoutCache {
+	private static final Logger logger = Logger.getLogger(FlowLayoutCache.class);
+
+	private static final String LAYOUT_SUFFIX = ".layout";
+
+	private final File layoutDir;
+	private final Map<String, Map<String, double[]>> layouts;
+
+	private long hits = 0;
+	private long misses = 0;
+
+	/**
+	 * @param maxSize The maximum number of layouts kept in memory
+	 * @param layoutDir The directory to persist layouts to, or null
+	 */
+	public FlowLayoutCache(final int maxSize, File layoutDir) {
+		this.layoutDir = layoutDir;
+		this.layouts = new LinkedHashMap<String, Map<String, double[]>>(16, 0.75f, true) {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String, Map<String, double[]>> eldest) {
+				return size() > maxSize;
+			}
+		};
+
+		if (layoutDir != null && !layoutDir.exists()) {
+			layoutDir.mkdirs();
+		}
+	}
+
+	/**
+	 * Positions the nodes of the flow, using the cached layout of a flow with
+	 * the same structure if there is one.
+	 *
+	 * @param flow The flow to lay out
+	 */
+	public void layout(Flow flow) {
+		String hash = getStructureHash(flow);
+		Map<String, double[]> positions = get(hash);
+
+		if (positions == null || !positions.keySet().containsAll(getAliases(flow))) {
+			new LayeredDagLayout(flow).setLayout();
+
+			positions = new HashMap<String, double[]>();
+			for (FlowNode node : flow.getFlowNodes()) {
+				positions.put(node.getAlias(), new double[] {node.getX(), node.getY()});
+			}
+			put(hash, positions);
+		}
+		else {
+			for (FlowNode node : flow.getFlowNodes()) {
+				double[] position = positions.get(node.getAlias());
+				node.setPosition(position[0], position[1]);
+			}
+			flow.setLayedOut(true);
+		}
+	}
+
+	private static List<String> getAliases(Flow flow) {
+		List<String> aliases = new ArrayList<String>();
+		for (FlowNode node : flow.getFlowNodes()) {
+			aliases.add(node.getAlias());
+		}
+		return aliases;
+	}
+
+	/**
+	 * Hash of the flow's jobs and their dependencies, independent of the order
+	 * they were added in.
+	 */
+	public static String getStructureHash(Flow flow) {
+		List<String> lines = new ArrayList<String>();
+		for (FlowNode node : flow.getFlowNodes()) {
+			List<String> dependents = new ArrayList<String>(node.getDependents());
+			Collections.sort(dependents);
+
+			StringBuilder line = new StringBuilder(node.getAlias());
+			for (String dependent : dependents) {
+				line.append('\0').append(dependent);
+			}
+			lines.add(line.toString());
+		}
+		Collections.sort(lines);
+
+		StringBuilder structure = new StringBuilder();
+		for (String line : lines) {
+			structure.append(line).append('\n');
+		}
+		return DigestUtils.md5Hex(structure.toString());
+	}
+
+	private synchronized Map<String, double[]> get(String hash) {
+		Map<String, double[]> positions = layouts.get(hash);
+		if (positions == null && layoutDir != null) {
+			positions = read(new File(layoutDir, hash + LAYOUT_SUFFIX));
+			if (positions != null) {
+				layouts.put(hash, positions);
+			}
+		}
+
+		if (positions == null) {
+			misses++;
+		}
+		else {
+			hits++;
+		}
+		return positions;
+	}
+
+	private synchronized void put(String hash, Map<String, double[]> positions) {
+		layouts.put(hash, positions);
+		if (layoutDir != null) {
+			write(new File(layoutDir, hash + LAYOUT_SUFFIX), positions);
+		}
+	}
+
+	private Map<String, double[]> read(File file) {
+		if (!file.exists()) {
+			return null;
+		}
+
+		InputStream input = null;
+		try {
+			input = new BufferedInputStream(new FileInputStream(file));
+			Properties props = new Properties();
+			props.load(input);
+
+			Map<String, double[]> positions = new HashMap<String, double[]>();
+			for (String name : props.stringPropertyNames()) {
+				String[] position = props.getProperty(name).split(",");
+				positions.put(name, new double[] {Double.parseDouble(position[0]), Double.parseDouble(position[1])});
+			}
+			return positions;
+		}
+		catch (Exception e) {
+			logger.warn("Ignoring unreadable flow layout " + file, e);
+			return null;
+		}
+		finally {
+			IOUtils.closeQuietly(input);
+		}
+	}
+
+	private void write(File file, Map<String, double[]> positions) {
+		Properties props = new Properties();
+		for (Map.Entry<String, double[]> entry : positions.entrySet()) {
+			props.setProperty(entry.getKey(), entry.getValue()[0] + "," + entry.getValue()[1]);
+		}
+
+		// Write to a temp file first so readers never see a partial layout.
+		File tmp = new File(file.getPath() + ".tmp");
+		OutputStream output = null;
+		try {
+			output = new BufferedOutputStream(new FileOutputStream(tmp));
+			props.store(output, null);
+			output.close();
+			output = null;
+			if (!tmp.renameTo(file)) {
+				throw new IOException("Could not rename " + tmp + " to " + file);
+			}
+		}
+		catch (IOException e) {
+			logger.warn("Could not persist flow layout " + file, e);
+			tmp.delete();
+		}
+		finally {
+			IOUtils.closeQuietly(output);
+		}
+	}
+
+	public synchronized int size() {
+		return layouts.size();
+	}
+
+	public synchronized long getNumHits() {
+		return hits;
+	}
+
+	public synchronized long getNumMisses() {
+		return misses;
+	}
+}
@@ -0,0 +1,733 @@
+/*
+ * Copyright 2010 LinkedIn, Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package azkaban.workflow.flow;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import azkaban.workflow.Flow;
+
+/**
+ * Layered layout for large flows. The graph is kept in int arrays indexed by
+ * node id rather than in node objects, so flows with thousands of jobs and long
+ * dependency chains can be laid out in well under a second.
+ *
+ * Jobs are layered by longest path, edges spanning several layers are split by
+ * virtual nodes, crossings are reduced by barycenter sweeps and x coordinates
+ * are assigned with the method of Brandes and Kopf, balanced over its four
+ * alignments.
+ */
+public class LayeredDagLayout extends DagLayout {
+	public static final float LEVEL_HEIGHT = 120;
+	public static final float LEVEL_WIDTH = 80;
+	public static final float LEVEL_WIDTH_ADJUSTMENT = 5;
+	public static final float VIRTUAL_WIDTH = 20;
+	public static final int DEFAULT_MAX_ITERATIONS = 12;
+
+	private final int maxIterations;
+
+	// Ids below numJobs are the flow's jobs in getFlowNodes() order, the rest
+	// are virtual nodes.
+	private int numJobs;
+	private int numNodes;
+	private int[] layer;
+	private double[] width;
+	private int[][] layers;
+	private int[] pos;
+
+	// Edges between adjacent layers, indexed from both ends.
+	private int numEdges;
+	private int[] upStart;
+	private int[] upAdj;
+	private int[] upEdge;
+	private int[] downStart;
+	private int[] downAdj;
+	private int[] downEdge;
+	private boolean[] conflict;
+
+	private long crossings;
+
+	public LayeredDagLayout(Flow flow) {
+		this(flow, DEFAULT_MAX_ITERATIONS);
+	}
+
+	/**
+	 * @param flow The flow to lay out
+	 * @param maxIterations The maximum number of down and up barycenter sweeps
+	 */
+	public LayeredDagLayout(Flow flow, int maxIterations) {
+		super(flow);
+		this.maxIterations = maxIterations;
+	}
+
+	public void setLayout() {
+		List<FlowNode> nodes = flow.getFlowNodes();
+		numJobs = nodes.size();
+		if (numJobs == 0) {
+			flow.setLayedOut(true);
+			return;
+		}
+
+		Map<String, Integer> ids = new HashMap<String, Integer>(numJobs * 2);
+		width = new double[numJobs];
+		for (int i = 0; i < numJobs; ++i) {
+			FlowNode node = nodes.get(i);
+			ids.put(node.getAlias(), i);
+			width[i] = LEVEL_WIDTH + node.getAlias().length() * LEVEL_WIDTH_ADJUSTMENT;
+		}
+
+		int count = 0;
+		for (FlowNode node : nodes) {
+			count += node.getDependents().size();
+		}
+		int[] outStart = new int[numJobs + 1];
+		int[] outAdj = new int[count];
+		count = 0;
+		for (int i = 0; i < numJobs; ++i) {
+			outStart[i] = count;
+			for (String dependent : nodes.get(i).getDependents()) {
+				Integer id = ids.get(dependent);
+				if (id != null && id != i) {
+					outAdj[count++] = id;
+				}
+			}
+		}
+		outStart[numJobs] = count;
+
+		assignLayers(outStart, outAdj);
+		splitLongEdges(outStart, outAdj);
+		orderLayers();
+		reduceCrossings();
+		markConflicts();
+
+		double[] x = assignCoordinates();
+		double min = Double.POSITIVE_INFINITY;
+		double max = Double.NEGATIVE_INFINITY;
+		for (int v = 0; v < numJobs; ++v) {
+			min = Math.min(min, x[v]);
+			max = Math.max(max, x[v]);
+		}
+		double center = (min + max) / 2;
+		for (int v = 0; v < numJobs; ++v) {
+			nodes.get(v).setPosition(x[v] - center, layer[v] * LEVEL_HEIGHT);
+		}
+
+		flow.setLayedOut(true);
+	}
+
+	/**
+	 * Longest path layering, with jobs that have no dependencies moved down
+	 * to just above their first dependent. Edges closing a cycle are ignored.
+	 */
+	private void assignLayers(int[] outStart, int[] outAdj) {
+		layer = new int[numJobs];
+		int[] indegree = new int[numJobs];
+		for (int e = 0; e < outStart[numJobs]; ++e) {
+			indegree[outAdj[e]]++;
+		}
+		boolean[] hasDependencies = new boolean[numJobs];
+
+		int[] queue = new int[numJobs];
+		int head = 0;
+		int tail = 0;
+		for (int v = 0; v < numJobs; ++v) {
+			hasDependencies[v] = indegree[v] > 0;
+			if (indegree[v] == 0) {
+				queue[tail++] = v;
+			}
+		}
+
+		while (head < numJobs) {
+			if (head == tail) {
+				// Flows are validated before they are shown, but a cycle
+				// shouldn't hang the page.
+				for (int v = 0; v < numJobs; ++v) {
+					if (indegree[v] > 0) {
+						indegree[v] = 0;
+						queue[tail++] = v;
+						break;
+					}
+				}
+			}
+
+			int u = queue[head++];
+			for (int e = outStart[u]; e < outStart[u + 1]; ++e) {
+				int v = outAdj[e];
+				if (indegree[v] > 0) {
+					layer[v] = Math.max(layer[v], layer[u] + 1);
+					if (--indegree[v] == 0) {
+						queue[tail++] = v;
+					}
+				}
+			}
+		}
+
+		for (int u = 0; u < numJobs; ++u) {
+			if (!hasDependencies[u] && outStart[u + 1] > outStart[u]) {
+				int below = Integer.MAX_VALUE;
+				for (int e = outStart[u]; e < outStart[u + 1]; ++e) {
+					below = Math.min(below, layer[outAdj[e]]);
+				}
+				layer[u] = Math.max(layer[u], below - 1);
+			}
+		}
+	}
+
+	/**
+	 * Replaces every edge spanning more than one layer by a chain of virtual
+	 * nodes, and indexes the resulting edges by both their ends.
+	 */
+	private void splitLongEdges(int[] outStart, int[] outAdj) {
+		int numVirtual = 0;
+		numEdges = 0;
+		for (int u = 0; u < numJobs; ++u) {
+			for (int e = outStart[u]; e < outStart[u + 1]; ++e) {
+				int span = layer[outAdj[e]] - layer[u];
+				if (span > 0) {
+					numVirtual += span - 1;
+					numEdges += span;
+				}
+			}
+		}
+
+		numNodes = numJobs + numVirtual;
+		layer = Arrays.copyOf(layer, numNodes);
+		width = Arrays.copyOf(width, numNodes);
+		Arrays.fill(width, numJobs, numNodes, VIRTUAL_WIDTH);
+
+		int[] from = new int[numEdges];
+		int[] to = new int[numEdges];
+		int next = numJobs;
+		int edge = 0;
+		for (int u = 0; u < numJobs; ++u) {
+			for (int e = outStart[u]; e < outStart[u + 1]; ++e) {
+				int v = outAdj[e];
+				if (layer[v] <= layer[u]) {
+					continue;
+				}
+
+				int previous = u;
+				for (int l = layer[u] + 1; l < layer[v]; ++l) {
+					layer[next] = l;
+					from[edge] = previous;
+					to[edge++] = next;
+					previous = next++;
+				}
+				from[edge] = previous;
+				to[edge++] = v;
+			}
+		}
+
+		downStart = new int[numNodes + 1];
+		downAdj = new int[numEdges];
+		downEdge = new int[numEdges];
+		index(from, to, downStart, downAdj, downEdge);
+
+		upStart = new int[numNodes + 1];
+		upAdj = new int[numEdges];
+		upEdge = new int[numEdges];
+		index(to, from, upStart, upAdj, upEdge);
+	}
+
+	private void index(int[] from, int[] to, int[] start, int[] adj, int[] edges) {
+		for (int e = 0; e < numEdges; ++e) {
+			start[from[e] + 1]++;
+		}
+		for (int v = 0; v < numNodes; ++v) {
+			start[v + 1] += start[v];
+		}
+
+		int[] fill = Arrays.copyOf(start, numNodes);
+		for (int e = 0; e < numEdges; ++e) {
+			int slot = fill[from[e]]++;
+			adj[slot] = to[e];
+			edges[slot] = e;
+		}
+	}
+
+	/**
+	 * Initial order of each layer: depth first from the jobs without
+	 * dependencies, which keeps chains of virtual nodes together.
+	 */
+	private void orderLayers() {
+		int numLayers = 0;
+		for (int v = 0; v < numNodes; ++v) {
+			numLayers = Math.max(numLayers, layer[v] + 1);
+		}
+		int[] sizes = new int[numLayers];
+		for (int v = 0; v < numNodes; ++v) {
+			sizes[layer[v]]++;
+		}
+		layers = new int[numLayers][];
+		for (int l = 0; l < numLayers; ++l) {
+			layers[l] = new int[sizes[l]];
+		}
+
+		int[] filled = new int[numLayers];
+		boolean[] visited = new boolean[numNodes];
+		int[] stack = new int[numEdges + numNodes];
+		for (int pass = 0; pass < 2; ++pass) {
+			for (int s = 0; s < numNodes; ++s) {
+				// Jobs without dependencies first, then whatever is left.
+				if (visited[s] || (pass == 0 && upStart[s + 1] > upStart[s])) {
+					continue;
+				}
+
+				int top = 0;
+				stack[top++] = s;
+				while (top > 0) {
+					int u = stack[--top];
+					if (visited[u]) {
+						continue;
+					}
+					visited[u] = true;
+					layers[layer[u]][filled[layer[u]]++] = u;
+					for (int e = downStart[u + 1] - 1; e >= downStart[u]; --e) {
+						if (!visited[downAdj[e]]) {
+							stack[top++] = downAdj[e];
+						}
+					}
+				}
+			}
+		}
+
+		pos = new int[numNodes];
+		for (int[] nodes : layers) {
+			for (int k = 0; k < nodes.length; ++k) {
+				pos[nodes[k]] = k;
+			}
+		}
+	}
+
+	/**
+	 * Alternating down and up barycenter sweeps, keeping the order with the
+	 * fewest crossings seen.
+	 */
+	private void reduceCrossings() {
+		int widest = 0;
+		for (int[] nodes : layers) {
+			widest = Math.max(widest, nodes.length);
+		}
+		double[] keys = new double[numNodes];
+		int[] buffer = new int[widest];
+		int[] tree = new int[widest + 1];
+
+		crossings = countCrossings(buffer, tree);
+		int[][] best = copy(layers);
+		for (int i = 0; i < maxIterations && crossings > 0; ++i) {
+			boolean changed = false;
+			for (int l = 1; l < layers.length; ++l) {
+				changed |= sortByBarycenter(layers[l], upStart, upAdj, keys, buffer);
+			}
+			for (int l = layers.length - 2; l >= 0; --l) {
+				changed |= sortByBarycenter(layers[l], downStart, downAdj, keys, buffer);
+			}
+			if (!changed) {
+				break;
+			}
+
+			long current = countCrossings(buffer, tree);
+			if (current < crossings) {
+				crossings = current;
+				best = copy(layers);
+			}
+		}
+
+		layers = best;
+		for (int[] nodes : layers) {
+			for (int k = 0; k < nodes.length; ++k) {
+				pos[nodes[k]] = k;
+			}
+		}
+	}
+
+	private boolean sortByBarycenter(int[] nodes, int[] start, int[] adj, double[] keys, int[] buffer) {
+		for (int k = 0; k < nodes.length; ++k) {
+			int v = nodes[k];
+			int degree = start[v + 1] - start[v];
+			if (degree == 0) {
+				// Nodes without neighbours on the fixed layer stay put.
+				keys[v] = k;
+			}
+			else {
+				double sum = 0;
+				for (int e = start[v]; e < start[v + 1]; ++e) {
+					sum += pos[adj[e]];
+				}
+				keys[v] = sum / degree;
+			}
+		}
+
+		sort(nodes, keys, buffer);
+
+		boolean changed = false;
+		for (int k = 0; k < nodes.length; ++k) {
+			changed |= pos[nodes[k]] != k;
+			pos[nodes[k]] = k;
+		}
+		return changed;
+	}
+
+	// Stable bottom up merge sort of the nodes by key.
+	private static void sort(int[] nodes, double[] keys, int[] buffer) {
+		int n = nodes.length;
+		int[] src = nodes;
+		int[] dst = buffer;
+		for (int run = 1; run < n; run *= 2) {
+			for (int lo = 0; lo < n; lo += 2 * run) {
+				int mid = Math.min(lo + run, n);
+				int hi = Math.min(lo + 2 * run, n);
+				int i = lo;
+				int j = mid;
+				int k = lo;
+				while (i < mid && j < hi) {
+					dst[k++] = keys[src[j]] < keys[src[i]] ? src[j++] : src[i++];
+				}
+				while (i < mid) {
+					dst[k++] = src[i++];
+				}
+				while (j < hi) {
+					dst[k++] = src[j++];
+				}
+			}
+			int[] swap = src;
+			src = dst;
+			dst = swap;
+		}
+
+		if (src != nodes) {
+			System.arraycopy(src, 0, nodes, 0, n);
+		}
+	}
+
+	/**
+	 * Counts crossings between each pair of adjacent layers by counting
+	 * inversions of the lower end positions with a Fenwick tree.
+	 */
+	private long countCrossings(int[] buffer, int[] tree) {
+		long total = 0;
+		for (int l = 0; l + 1 < layers.length; ++l) {
+			int size = layers[l + 1].length;
+			Arrays.fill(tree, 0, size + 1, 0);
+			int inserted = 0;
+
+			for (int u : layers[l]) {
+				int degree = downStart[u + 1] - downStart[u];
+				for (int e = 0; e < degree; ++e) {
+					buffer[e] = pos[downAdj[downStart[u] + e]];
+				}
+				Arrays.sort(buffer, 0, degree);
+
+				for (int e = 0; e < degree; ++e) {
+					int p = buffer[e] + 1;
+					int atMost = 0;
+					for (int i = p; i > 0; i -= i & -i) {
+						atMost += tree[i];
+					}
+					total += inserted - atMost;
+
+					for (int i = p; i <= size; i += i & -i) {
+						tree[i]++;
+					}
+					inserted++;
+				}
+			}
+		}
+		return total;
+	}
+
+	/**
+	 * Marks the edges crossing an edge between two virtual nodes, so the
+	 * alignment keeps long edges straight.
+	 */
+	private void markConflicts() {
+		conflict = new boolean[numEdges];
+		for (int l = 0; l + 1 < layers.length; ++l) {
+			int[] upper = layers[l];
+			int[] lower = layers[l + 1];
+			int k0 = 0;
+			int scan = 0;
+
+			for (int l1 = 0; l1 < lower.length; ++l1) {
+				int inner = innerSegmentEnd(lower[l1]);
+				if (l1 != lower.length - 1 && inner < 0) {
+					continue;
+				}
+
+				int k1 = inner >= 0 ? pos[inner] : upper.length - 1;
+				for (; scan <= l1; ++scan) {
+					int w = lower[scan];
+					for (int e = upStart[w]; e < upStart[w + 1]; ++e) {
+						int u = upAdj[e];
+						boolean innerSegment = u >= numJobs && w >= numJobs;
+						if ((pos[u] < k0 || pos[u] > k1) && !innerSegment) {
+							conflict[upEdge[e]] = true;
+						}
+					}
+				}
+				k0 = k1;
+			}
+		}
+	}
+
+	// The upper end of the edge between two virtual nodes ending at v, or -1.
+	private int innerSegmentEnd(int v) {
+		if (v < numJobs || upStart[v + 1] == upStart[v]) {
+			return -1;
+		}
+		int u = upAdj[upStart[v]];
+		return u >= numJobs ? u : -1;
+	}
+
+	/**
+	 * Runs the four alignments, moves them onto the narrowest one and takes
+	 * the average median of the four x coordinates of each node.
+	 */
+	private double[] assignCoordinates() {
+		double[][] xs = new double[4][];
+		xs[0] = alignAndCompact(true, true);
+		xs[1] = alignAndCompact(true, false);
+		xs[2] = alignAndCompact(false, true);
+		xs[3] = alignAndCompact(false, false);
+
+		double[] mins = new double[4];
+		double[] maxs = new double[4];
+		int narrowest = 0;
+		for (int a = 0; a < 4; ++a) {
+			mins[a] = Double.POSITIVE_INFINITY;
+			maxs[a] = Double.NEGATIVE_INFINITY;
+			for (int v = 0; v < numNodes; ++v) {
+				mins[a] = Math.min(mins[a], xs[a][v] - width[v] / 2);
+				maxs[a] = Math.max(maxs[a], xs[a][v] + width[v] / 2);
+			}
+			if (maxs[a] - mins[a] < maxs[narrowest] - mins[narrowest]) {
+				narrowest = a;
+			}
+		}
+
+		for (int a = 0; a < 4; ++a) {
+			boolean leftToRight = a % 2 == 0;
+			double shift = leftToRight ? mins[narrowest] - mins[a] : maxs[narrowest] - maxs[a];
+			for (int v = 0; v < numNodes; ++v) {
+				xs[a][v] += shift;
+			}
+		}
+
+		double[] x = new double[numNodes];
+		double[] values = new double[4];
+		for (int v = 0; v < numNodes; ++v) {
+			for (int a = 0; a < 4; ++a) {
+				values[a] = xs[a][v];
+			}
+			Arrays.sort(values);
+			x[v] = (values[1] + values[2]) / 2;
+		}
+		return x;
+	}
+
+	/**
+	 * One of the four Brandes-Kopf alignments. Nodes are aligned into
+	 * vertical blocks with their median neighbour on the previous layer, and
+	 * the blocks are then packed as tightly as their order allows.
+	 *
+	 * @param downward Align with neighbours above rather than below
+	 * @param leftToRight Pack blocks to the left rather than to the right
+	 */
+	private double[] alignAndCompact(boolean downward, boolean leftToRight) {
+		int numLayers = layers.length;
+		int[][] view = new int[numLayers][];
+		int[] p = new int[numNodes];
+		for (int i = 0; i < numLayers; ++i) {
+			int[] nodes = layers[downward ? i : numLayers - 1 - i];
+			if (!leftToRight) {
+				int[] reversed = new int[nodes.length];
+				for (int k = 0; k < nodes.length; ++k) {
+					reversed[nodes.length - 1 - k] = nodes[k];
+				}
+				nodes = reversed;
+			}
+			view[i] = nodes;
+			for (int k = 0; k < nodes.length; ++k) {
+				p[nodes[k]] = k;
+			}
+		}
+
+		int[] start = downward ? upStart : downStart;
+		int[] adj = downward ? upAdj : downAdj;
+		int[] edges = downward ? upEdge : downEdge;
+
+		int[] root = new int[numNodes];
+		int[] align = new int[numNodes];
+		for (int v = 0; v < numNodes; ++v) {
+			root[v] = v;
+			align[v] = v;
+		}
+
+		int[] neighbours = new int[numEdges];
+		for (int i = 1; i < numLayers; ++i) {
+			int r = -1;
+			for (int v : view[i]) {
+				int degree = start[v + 1] - start[v];
+				if (degree == 0) {
+					continue;
+				}
+
+				// Neighbours' edge slots by position, insertion sorted since
+				// degrees are small.
+				for (int d = 0; d < degree; ++d) {
+					int slot = start[v] + d;
+					int j = d;
+					while (j > 0 && p[adj[neighbours[j - 1]]] > p[adj[slot]]) {
+						neighbours[j] = neighbours[j - 1];
+						--j;
+					}
+					neighbours[j] = slot;
+				}
+
+				for (int m = (degree - 1) / 2; m <= degree / 2 && align[v] == v; ++m) {
+					int slot = neighbours[m];
+					int u = adj[slot];
+					if (!conflict[edges[slot]] && r < p[u]) {
+						align[u] = v;
+						root[v] = root[u];
+						align[v] = root[v];
+						r = p[u];
+					}
+				}
+			}
+		}
+
+		return compact(view, root, leftToRight);
+	}
+
+	/**
+	 * Places the blocks by longest path in the graph of blocks that are
+	 * neighbours on some layer, then pulls each block towards its right
+	 * neighbours as far as its left neighbours allow.
+	 */
+	private double[] compact(int[][] view, int[] root, boolean leftToRight) {
+		int count = 0;
+		for (int[] nodes : view) {
+			count += Math.max(0, nodes.length - 1);
+		}
+
+		int[] from = new int[count];
+		int[] to = new int[count];
+		double[] separation = new double[count];
+		int e = 0;
+		for (int[] nodes : view) {
+			for (int k = 1; k < nodes.length; ++k) {
+				from[e] = root[nodes[k - 1]];
+				to[e] = root[nodes[k]];
+				separation[e++] = (width[nodes[k - 1]] + width[nodes[k]]) / 2;
+			}
+		}
+
+		int[] outStart = new int[numNodes + 1];
+		int[] outSlots = new int[count];
+		int[] inStart = new int[numNodes + 1];
+		int[] inSlots = new int[count];
+		int[] indegree = new int[numNodes];
+		for (int i = 0; i < count; ++i) {
+			outStart[from[i] + 1]++;
+			inStart[to[i] + 1]++;
+			indegree[to[i]]++;
+		}
+		for (int v = 0; v < numNodes; ++v) {
+			outStart[v + 1] += outStart[v];
+			inStart[v + 1] += inStart[v];
+		}
+		int[] outFill = Arrays.copyOf(outStart, numNodes);
+		int[] inFill = Arrays.copyOf(inStart, numNodes);
+		for (int i = 0; i < count; ++i) {
+			outSlots[outFill[from[i]]++] = i;
+			inSlots[inFill[to[i]]++] = i;
+		}
+
+		int[] order = new int[numNodes];
+		int head = 0;
+		int tail = 0;
+		for (int v = 0; v < numNodes; ++v) {
+			if (indegree[v] == 0) {
+				order[tail++] = v;
+			}
+		}
+		while (head < tail) {
+			int b = order[head++];
+			for (int s = outStart[b]; s < outStart[b + 1]; ++s) {
+				if (--indegree[to[outSlots[s]]] == 0) {
+					order[tail++] = to[outSlots[s]];
+				}
+			}
+		}
+
+		double[] blockX = new double[numNodes];
+		for (int i = 0; i < tail; ++i) {
+			int b = order[i];
+			for (int s = inStart[b]; s < inStart[b + 1]; ++s) {
+				int edge = inSlots[s];
+				blockX[b] = Math.max(blockX[b], blockX[from[edge]] + separation[edge]);
+			}
+		}
+		for (int i = tail - 1; i >= 0; --i) {
+			int b = order[i];
+			if (outStart[b + 1] == outStart[b]) {
+				continue;
+			}
+			double limit = Double.POSITIVE_INFINITY;
+			for (int s = outStart[b]; s < outStart[b + 1]; ++s) {
+				int edge = outSlots[s];
+				limit = Math.min(limit, blockX[to[edge]] - separation[edge]);
+			}
+			blockX[b] = Math.max(blockX[b], limit);
+		}
+
+		double[] x = new double[numNodes];
+		for (int v = 0; v < numNodes; ++v) {
+			x[v] = leftToRight ? blockX[root[v]] : -blockX[root[v]];
+		}
+		return x;
+	}
+
+	private static int[][] copy(int[][] layers) {
+		int[][] copy = new int[layers.length][];
+		for (int l = 0; l < layers.length; ++l) {
+			copy[l] = layers[l].clone();
+		}
+		return copy;
+	}
+
+	/**
+	 * @return The number of edge crossings in the last layout
+	 */
+	public long getCrossings() {
+		return crossings;
+	}
+
+	/**
+	 * @return The number of virtual nodes added to split long edges in the
+	 *         last layout
+	 */
+	public int getNumVirtualNodes() {
+		return numNodes - numJobs;
+	}
+
+	public int getNumLayers() {
+		return layers == null ? 0 : layers.length;
+	}
+}
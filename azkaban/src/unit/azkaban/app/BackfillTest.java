@@ -0,0 +1,146 @@
+package azkaban.app;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.commons.io.FileUtils;
+import org.easymock.IAnswer;
+import org.easymock.classextension.EasyMock;
+import org.joda.time.DateTime;
+import org.joda.time.Days;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+import azkaban.flow.ExecutableFlow;
+import azkaban.flow.FlowCallback;
+import azkaban.flow.FlowManager;
+import azkaban.flow.Status;
+
+public class BackfillTest {
+
+    private static final DateTime START = new DateTime(2010, 6, 1, 0, 0, 0, 0);
+
+    private File stateDir;
+    private JobManager jobManager;
+    private FlowManager flowManager;
+    private Scheduler scheduler;
+    private BackfillManager manager;
+    private final List<DateTime> started = Collections.synchronizedList(new ArrayList<DateTime>());
+    private final List<FlowCallback> callbacks = Collections.synchronizedList(new ArrayList<FlowCallback>());
+
+    @Before
+    public void setUp() throws Exception {
+        stateDir = File.createTempFile("backfill-test", "");
+        stateDir.delete();
+
+        jobManager = EasyMock.createNiceMock(JobManager.class);
+        flowManager = EasyMock.createMock(FlowManager.class);
+        final AtomicInteger ids = new AtomicInteger(0);
+        EasyMock.expect(flowManager.createNewExecutableFlow("flow")).andAnswer(new IAnswer<ExecutableFlow>() {
+
+            public ExecutableFlow answer() {
+                ExecutableFlow flow = EasyMock.createNiceMock(ExecutableFlow.class);
+                EasyMock.expect(flow.getId()).andReturn(String.valueOf(ids.incrementAndGet())).anyTimes();
+                EasyMock.replay(flow);
+                return flow;
+            }
+        }).anyTimes();
+
+        scheduler = EasyMock.createMock(Scheduler.class);
+        scheduler.scheduleNow(EasyMock.isA(ExecutableFlow.class),
+                              EasyMock.isA(DateTime.class),
+                              EasyMock.isA(FlowCallback.class));
+        EasyMock.expectLastCall().andAnswer(new IAnswer<Object>() {
+
+            public Object answer() {
+                started.add((DateTime) EasyMock.getCurrentArguments()[1]);
+                callbacks.add((FlowCallback) EasyMock.getCurrentArguments()[2]);
+                return ((ExecutableFlow) EasyMock.getCurrentArguments()[0]).getId();
+            }
+        }).anyTimes();
+        scheduler.cancel(EasyMock.isA(String.class));
+        EasyMock.expectLastCall().anyTimes();
+        EasyMock.replay(jobManager, flowManager, scheduler);
+
+        manager = new BackfillManager(jobManager, flowManager, scheduler, stateDir);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        FileUtils.deleteDirectory(stateDir);
+    }
+
+    @Test
+    public void testSlots() {
+        Backfill backfill = new Backfill(1,
+                                         "flow",
+                                         START,
+                                         START.plusDays(2),
+                                         Days.ONE,
+                                         1,
+                                         Backfill.Order.NEWEST_FIRST,
+                                         10);
+        assertEquals(3, backfill.getNumSlots());
+        assertEquals(START.plusDays(2), backfill.getSlots().get(0).getTime());
+        assertEquals(START, backfill.getSlots().get(2).getTime());
+        assertNull(backfill.getEstimatedRemaining());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testTooManySlots() {
+        new Backfill(1, "flow", START, START.plusDays(20), Days.ONE, 1, Backfill.Order.OLDEST_FIRST, 10);
+    }
+
+    @Test
+    public void testRunsBoundedNumberOfSlots() {
+        Backfill backfill = manager.start("flow", START, START.plusDays(3), Days.ONE, 2, Backfill.Order.OLDEST_FIRST);
+        assertEquals(2, started.size());
+        assertEquals(START, started.get(0));
+        assertEquals(START.plusDays(1), started.get(1));
+
+        callbacks.get(1).completed(Status.SUCCEEDED);
+        assertEquals(3, started.size());
+        assertEquals(START.plusDays(2), started.get(2));
+        assertEquals(2, backfill.getNumRunning());
+
+        callbacks.get(0).completed(Status.FAILED);
+        callbacks.get(2).completed(Status.SUCCEEDED);
+        callbacks.get(3).completed(Status.SUCCEEDED);
+        assertTrue(backfill.isFinished());
+        assertEquals(3, backfill.getNumSucceeded());
+        assertEquals(1, backfill.getNumFailed());
+        assertEquals(1.0, backfill.getProgress(), 0.0);
+        assertTrue(backfill.getSlotsPerHour() > 0);
+    }
+
+    @Test
+    public void testSkipsSucceededSlots() throws Exception {
+        manager.start("flow", START, START.plusDays(1), Days.ONE, 2, Backfill.Order.OLDEST_FIRST);
+        callbacks.get(0).completed(Status.SUCCEEDED);
+        callbacks.get(1).completed(Status.FAILED);
+
+        // a new manager reads what succeeded from the state directory
+        started.clear();
+        manager = new BackfillManager(jobManager, flowManager, scheduler, stateDir);
+        Backfill backfill = manager.start("flow", START, START.plusDays(1), Days.ONE, 2, Backfill.Order.OLDEST_FIRST);
+        assertEquals(1, backfill.getNumSkipped());
+        assertEquals(1, started.size());
+        assertEquals(START.plusDays(1), started.get(0));
+    }
+
+    @Test
+    public void testCancel() throws Exception {
+        Backfill backfill = manager.start("flow", START, START.plusDays(3), Days.ONE, 1, Backfill.Order.OLDEST_FIRST);
+        manager.cancel(backfill.getId());
+        assertFalse(backfill.isFinished());
+        callbacks.get(0).completed(Status.FAILED);
+        assertTrue(backfill.isFinished());
+        assertEquals(1, started.size());
+    }
+}
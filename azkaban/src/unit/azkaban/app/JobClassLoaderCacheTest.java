@@ -0,0 +1,77 @@
+package azkaban.app;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.Test;
+
+import azkaban.TestUtils;
+
+import static org.junit.Assert.*;
+
+public class JobClassLoaderCacheTest {
+
+    private final ClassLoader parent = getClass().getClassLoader();
+
+    @Test
+    public void testIdenticalJarsShareClassLoader() {
+        JobClassLoaderCache cache = new JobClassLoaderCache(10);
+        File jar = TestUtils.writeString("some jar", ".jar");
+        File copy = TestUtils.writeString("some jar", ".jar");
+        File other = TestUtils.writeString("another jar", ".jar");
+
+        ClassLoader first = cache.acquire(parent, Arrays.asList(jar));
+        ClassLoader second = cache.acquire(parent, Arrays.asList(copy));
+        ClassLoader third = cache.acquire(parent, Arrays.asList(other));
+
+        assertSame(first, second);
+        assertNotSame(first, third);
+        assertEquals(1, cache.getNumHits());
+        assertEquals(2, cache.getNumMisses());
+        assertEquals(2, cache.getNumInUse());
+    }
+
+    @Test
+    public void testNoJarsUsesParent() {
+        JobClassLoaderCache cache = new JobClassLoaderCache(10);
+        assertSame(parent, cache.acquire(parent, Collections.<File>emptyList()));
+        cache.release(parent);
+        assertEquals(0, cache.getNumCached());
+    }
+
+    @Test
+    public void testIdleClassLoadersEvicted() {
+        JobClassLoaderCache cache = new JobClassLoaderCache(1);
+        ClassLoader first = cache.acquire(parent, Arrays.asList(TestUtils.writeString("1", ".jar")));
+        ClassLoader second = cache.acquire(parent, Arrays.asList(TestUtils.writeString("2", ".jar")));
+
+        cache.release(first);
+        assertEquals("One idle classloader may stay cached.", 2, cache.getNumCached());
+        cache.release(second);
+        assertEquals(1, cache.getNumCached());
+        assertEquals(1, cache.getNumEvictions());
+
+        assertNotSame(first, cache.acquire(parent, Arrays.asList(TestUtils.writeString("1", ".jar"))));
+        assertSame(second, cache.acquire(parent, Arrays.asList(TestUtils.writeString("2", ".jar"))));
+    }
+
+    @Test
+    public void testDeletedJarInvalidatesClassLoader() {
+        JobClassLoaderCache cache = new JobClassLoaderCache(10);
+        File jar = TestUtils.writeString("jar", ".jar");
+        File copy = TestUtils.writeString("jar", ".jar");
+
+        ClassLoader first = cache.acquire(parent, Arrays.asList(jar));
+        assertTrue(jar.delete());
+        ClassLoader second = cache.acquire(parent, Arrays.asList(copy));
+
+        assertNotSame(first, second);
+        assertEquals(1, cache.getNumInvalidations());
+
+        cache.release(first);
+        cache.release(second);
+        assertEquals(1, cache.getNumCached());
+        assertEquals(0, cache.getNumInUse());
+    }
+}
@@ -0,0 +1,131 @@
+package azkaban.app;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Map;
+
+import org.apache.commons.io.FileUtils;
+import org.easymock.classextension.EasyMock;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import azkaban.common.utils.Props;
+import azkaban.flow.FlowManager;
+
+import static org.junit.Assert.*;
+
+public class JobManagerTest {
+
+    private File root;
+
+    @Before
+    public void setUp() throws IOException {
+        root = File.createTempFile("azktest", "jobs");
+        root.delete();
+        root.mkdirs();
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        FileUtils.deleteDirectory(root);
+    }
+
+    @Test
+    public void testLoadsNestedDirectories() throws IOException {
+        write("top.properties", "shared=top\nlevel=top");
+        write("a.job", "type=command\ncommand=ls");
+        write("sub/sub.properties", "level=sub");
+        write("sub/b.job", "type=command\ncommand=ls\ndependencies=a");
+        write("sub/deeper/c.job", "type=command\ncommand=ls\nlevel=c");
+
+        Map<String, JobDescriptor> jobs = newJobManager(null).loadJobDescriptors();
+
+        assertEquals(3, jobs.size());
+        assertEquals("top", jobs.get("a").getProps().get("level"));
+        assertEquals("sub", jobs.get("b").getProps().get("level"));
+        assertEquals("top", jobs.get("b").getProps().get("shared"));
+        assertEquals("c", jobs.get("c").getProps().get("level"));
+        assertEquals(File.separator + "sub" + File.separator + "deeper", jobs.get("c").getPath());
+        assertTrue(jobs.get("b").getDependencies().contains(jobs.get("a")));
+    }
+
+    @Test(expected = JobLoadException.class)
+    public void testDuplicateJobNames() throws IOException {
+        write("one/a.job", "type=command\ncommand=ls");
+        write("two/a.job", "type=command\ncommand=ls");
+        newJobManager(null).loadJobDescriptors();
+    }
+
+    @Test
+    public void testParseCacheSurvivesRestart() throws IOException {
+        File cacheFile = File.createTempFile("azktest", "cache");
+        cacheFile.delete();
+        cacheFile.deleteOnExit();
+        write("a.job", "type=command\ncommand=ls");
+
+        PropsFileCache cache = new PropsFileCache(cacheFile);
+        cache.load(new File(root, "a.job"));
+        cache.retainAndSave(Collections.singleton(new File(root, "a.job").getAbsolutePath()));
+        assertTrue(cacheFile.exists());
+
+        PropsFileCache restarted = new PropsFileCache(cacheFile);
+        assertEquals("ls", restarted.load(new File(root, "a.job")).get("command"));
+        assertEquals(1, restarted.getNumHits());
+        assertEquals(0, restarted.getNumMisses());
+    }
+
+    @Test
+    public void testDeploySwapsDirectory() throws IOException {
+        write("a.job", "type=command\ncommand=ls");
+        write("sub/old.job", "type=command\ncommand=ls");
+        JobManager manager = newJobManager(null);
+        manager.setFlowManager(EasyMock.createNiceMock(FlowManager.class));
+
+        File staging = manager.createStagingDir();
+        FileUtils.writeStringToFile(new File(staging, "b.job"), "type=command\ncommand=ls\ndependencies=a");
+        manager.deployJobDir(staging.getAbsolutePath(), "sub");
+
+        assertFalse(staging.exists());
+        assertTrue(new File(root, "sub/b.job").exists());
+        assertFalse(new File(root, "sub/old.job").exists());
+        // a.job and sub, no staging or undeployed directory left over
+        assertEquals(2, root.list().length);
+        assertNull(manager.getJobDescriptor("old"));
+        assertNotNull(manager.getJobDescriptor("b"));
+    }
+
+    @Test
+    public void testInvalidDeployLeavesJobs() throws IOException {
+        write("sub/old.job", "type=command\ncommand=ls");
+        JobManager manager = newJobManager(null);
+        manager.setFlowManager(EasyMock.createNiceMock(FlowManager.class));
+
+        File staging = manager.createStagingDir();
+        FileUtils.writeStringToFile(new File(staging, "b.job"), "type=command\ncommand=ls\ndependencies=missing");
+        try {
+            manager.deployJobDir(staging.getAbsolutePath(), "sub");
+            fail("Deployed a job with a missing dependency.");
+        } catch(AppConfigurationException e) {
+            // expected
+        }
+        assertTrue(new File(root, "sub/old.job").exists());
+        assertNotNull(manager.getJobDescriptor("old"));
+    }
+
+    private JobManager newJobManager(File cacheFile) {
+        return new JobManager(null,
+                              root.getAbsolutePath(),
+                              new Props(),
+                              Collections.singletonList(root),
+                              getClass().getClassLoader(),
+                              cacheFile);
+    }
+
+    private void write(String path, String contents) throws IOException {
+        File file = new File(root, path);
+        file.getParentFile().mkdirs();
+        FileUtils.writeStringToFile(file, contents);
+    }
+}
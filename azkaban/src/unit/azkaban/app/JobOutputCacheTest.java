@@ -0,0 +1,150 @@
+package azkaban.app;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+import azkaban.common.jobs.AbstractJob;
+import azkaban.common.utils.Props;
+
+public class JobOutputCacheTest {
+
+    private File dir;
+    private File jobDir;
+    private File jobFile;
+    private JobOutputCache cache;
+
+    @Before
+    public void setUp() throws Exception {
+        dir = File.createTempFile("job-output-cache-test", "");
+        dir.delete();
+        jobDir = new File(dir, "jobs");
+        jobDir.mkdirs();
+        jobFile = new File(jobDir, "job.job");
+        FileUtils.writeStringToFile(jobFile, "type=command\ncommand=echo\n");
+        FileUtils.writeStringToFile(new File(jobDir, "script.sh"), "echo one\n");
+        cache = new JobOutputCache(new File(dir, "cache"), 60 * 1000, 60 * 60 * 1000);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        FileUtils.deleteDirectory(dir);
+    }
+
+    @Test
+    public void testFingerprintIgnoresStartTime() throws Exception {
+        String first = cache.fingerprint(descriptor(Props.of("azkaban.flow.start.timestamp", "1",
+                                                             "azkaban.flow.id", "1",
+                                                             "input", "a")));
+        String second = cache.fingerprint(descriptor(Props.of("azkaban.flow.start.timestamp", "2",
+                                                              "azkaban.flow.id", "2",
+                                                              "input", "a")));
+        assertEquals(first, second);
+        assertFalse(first.equals(cache.fingerprint(descriptor(Props.of("input", "b")))));
+        assertFalse(first.equals(cache.fingerprint(descriptor(Props.of("input", "a",
+                                                                       "azkaban.flow.logical.day",
+                                                                       "02")))));
+    }
+
+    @Test
+    public void testFingerprintFollowsFiles() throws Exception {
+        String before = cache.fingerprint(descriptor(new Props()));
+        FileUtils.writeStringToFile(new File(jobDir, "script.sh"), "echo two\n");
+        // a different length, so the change shows whatever the file time resolution
+        assertFalse(before.equals(cache.fingerprint(descriptor(new Props()))));
+    }
+
+    @Test
+    public void testFingerprintFollowsSubdirectories() throws Exception {
+        FileUtils.writeStringToFile(new File(jobDir, "lib/udf.py"), "one\n");
+        String before = cache.fingerprint(descriptor(new Props()));
+        FileUtils.writeStringToFile(new File(jobDir, "lib/udf.py"), "three\n");
+        assertFalse(before.equals(cache.fingerprint(descriptor(new Props()))));
+    }
+
+    @Test
+    public void testFingerprintFollowsParentDirectoryJars() throws Exception {
+        JobClassLoaderCache loaders = new JobClassLoaderCache(0);
+        cache.setClassLoaderCache(loaders);
+        File parentJar = new File(dir, "lib/parent.jar");
+        FileUtils.writeStringToFile(parentJar, "one");
+        File jobJar = new File(jobDir, "job.jar");
+        FileUtils.writeStringToFile(jobJar, "job");
+
+        ClassLoader parent = loaders.acquire(getClass().getClassLoader(), Arrays.asList(parentJar));
+        ClassLoader loader = loaders.acquire(parent, Arrays.asList(jobJar));
+        String before = cache.fingerprint(descriptor(new Props(), loader));
+        assertEquals(before, cache.fingerprint(descriptor(new Props(), loader)));
+
+        FileUtils.writeStringToFile(parentJar, "three");
+        parent = loaders.acquire(getClass().getClassLoader(), Arrays.asList(parentJar));
+        loader = loaders.acquire(parent, Arrays.asList(jobJar));
+        assertFalse(before.equals(cache.fingerprint(descriptor(new Props(), loader))));
+    }
+
+    @Test
+    public void testTtl() throws Exception {
+        cache.put("abc", Props.of("output", "/data/1"));
+        assertEquals("/data/1", cache.get("abc", -1).get("output"));
+        assertNull(cache.get("def", -1));
+
+        new File(new File(dir, "cache"), "abc.outputs").setLastModified(System.currentTimeMillis() - 120 * 1000);
+        assertNull(cache.get("abc", -1));
+        assertEquals("/data/1", cache.get("abc", 300 * 1000).get("output"));
+    }
+
+    @Test
+    public void testReplaysWithoutRunning() throws Exception {
+        final AtomicInteger runs = new AtomicInteger(0);
+        CachedOutputsJob miss = new CachedOutputsJob(new CountingJob(runs), cache, "abc", null);
+        miss.run();
+        assertEquals(1, runs.get());
+        assertEquals("/data/1", miss.getJobGeneratedProperties().get("output"));
+
+        Props cached = cache.get("abc", -1);
+        CachedOutputsJob hit = new CachedOutputsJob(new CountingJob(runs), cache, "abc", cached);
+        hit.run();
+        assertEquals(1, runs.get());
+        assertEquals("/data/1", hit.getJobGeneratedProperties().get("output"));
+
+        JobOutputCache.Stats stats = cache.getStats("counting");
+        assertEquals(1, stats.getHits());
+        assertEquals(1, stats.getMisses());
+        assertEquals(0.5, stats.getHitRate(), 0.0001);
+    }
+
+    private JobDescriptor descriptor(Props overrides) {
+        return descriptor(overrides, getClass().getClassLoader());
+    }
+
+    private JobDescriptor descriptor(Props overrides, ClassLoader loader) {
+        Props props = new Props(overrides, Props.of("type", "command", "command", "echo"));
+        return new JobDescriptor("job", "job", jobFile.getPath(), props, loader);
+    }
+
+    private static class CountingJob extends AbstractJob {
+
+        private final AtomicInteger _runs;
+
+        public CountingJob(AtomicInteger runs) {
+            super("counting");
+            _runs = runs;
+        }
+
+        public void run() {
+            _runs.incrementAndGet();
+        }
+
+        @Override
+        public Props getJobGeneratedProperties() {
+            return Props.of("output", "/data/1");
+        }
+    }
+}
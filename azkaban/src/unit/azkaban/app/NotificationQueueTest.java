@@ -0,0 +1,108 @@
+package azkaban.app;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class NotificationQueueTest {
+
+    private final List<Notification> sent = Collections.synchronizedList(new ArrayList<Notification>());
+
+    private final NotificationSink recordingSink = new NotificationSink() {
+
+        public void send(Notification notification) {
+            sent.add(notification);
+        }
+    };
+
+    @Test
+    public void testSendsFirstRightAwayAndDigestsTheRest() throws Exception {
+        NotificationQueue queue = new NotificationQueue(recordingSink, 1, 60000, 0, 0);
+        queue.enqueue("me", Arrays.asList("a", "b"), "one", body("1"));
+        queue.enqueue("me", Arrays.asList("b", "a"), "two", body("2"));
+        queue.enqueue("me", Arrays.asList("a", "b"), "three", body("3"));
+        queue.enqueue("me", Arrays.asList("c"), "four", body("4"));
+        waitFor(2);
+        assertEquals("one", sent.get(0).getSubject());
+        assertEquals("four", sent.get(1).getSubject());
+        assertEquals(2, queue.getNumPending());
+
+        queue.shutdown(5000);
+        assertEquals(3, sent.size());
+        assertEquals(4, queue.getNumEnqueued());
+        assertEquals(2, queue.getNumDigested());
+        Notification digest = sent.get(2);
+        assertEquals("two (and 1 more notifications)", digest.getSubject());
+        assertTrue(digest.getBody().contains("2"));
+        assertTrue(digest.getBody().contains("3"));
+    }
+
+    @Test
+    public void testSendsRightAwayWithoutWindow() throws Exception {
+        NotificationQueue queue = new NotificationQueue(recordingSink, 1, 0, 0, 0);
+        queue.enqueue(null, Arrays.asList("a"), "subject", body("text"));
+        waitFor(1);
+
+        assertEquals("text", sent.get(0).getBody());
+        assertEquals(0, queue.getNumPending());
+    }
+
+    @Test
+    public void testRetriesFailedDelivery() throws Exception {
+        final AtomicInteger attempts = new AtomicInteger(0);
+        NotificationQueue queue = new NotificationQueue(new NotificationSink() {
+
+            public void send(Notification notification) throws Exception {
+                if(attempts.incrementAndGet() < 3)
+                    throw new Exception("mail server down");
+                sent.add(notification);
+            }
+        }, 1, 0, 3, 10);
+        queue.enqueue(null, Arrays.asList("a"), "subject", body("text"));
+        waitFor(1);
+
+        assertEquals(2, queue.getNumRetries());
+        assertEquals(1, queue.getNumSent());
+        assertEquals(0, queue.getNumFailed());
+    }
+
+    @Test
+    public void testGivesUpAfterMaxRetries() throws Exception {
+        NotificationQueue queue = new NotificationQueue(new NotificationSink() {
+
+            public void send(Notification notification) throws Exception {
+                throw new Exception("mail server down");
+            }
+        }, 1, 0, 1, 10);
+        queue.enqueue(null, Arrays.asList("a"), "subject", body("text"));
+
+        long deadline = System.currentTimeMillis() + 5000;
+        while(queue.getNumFailed() == 0 && System.currentTimeMillis() < deadline)
+            Thread.sleep(10);
+        assertEquals(1, queue.getNumFailed());
+        assertEquals(1, queue.getNumRetries());
+    }
+
+    private void waitFor(int count) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while(sent.size() < count && System.currentTimeMillis() < deadline)
+            Thread.sleep(10);
+        assertEquals(count, sent.size());
+    }
+
+    private static Callable<String> body(final String text) {
+        return new Callable<String>() {
+
+            public String call() {
+                return text;
+            }
+        };
+    }
+}
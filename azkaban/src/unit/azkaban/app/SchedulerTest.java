@@ -0,0 +1,268 @@
+package azkaban.app;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.easymock.classextension.EasyMock;
+import org.joda.time.DateTime;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+import azkaban.common.utils.Props;
+import azkaban.flow.ExecutableFlow;
+import azkaban.flow.FlowCallback;
+import azkaban.flow.FlowEventStream;
+import azkaban.flow.FlowExecutionHolder;
+import azkaban.flow.FlowManager;
+import azkaban.flow.Status;
+
+public class SchedulerTest {
+
+    @Test
+    public void testQueuesExecutionsOfSameFlow() throws Exception {
+        Scheduler scheduler = scheduler(Props.of("concurrent.policy", "queue"));
+        TestFlow first = new TestFlow("1");
+        TestFlow second = new TestFlow("2");
+        scheduler.scheduleNow(first);
+        first.awaitStarted();
+        scheduler.scheduleNow(second);
+        waitForQueued(scheduler, 1);
+
+        assertSame(first, scheduler.getExecution("1").getExecutableFlow());
+        assertNull(scheduler.getExecution("2"));
+        assertEquals(1, scheduler.getExecutions("flow").size());
+
+        first.complete();
+        second.awaitStarted();
+        assertNull(scheduler.getExecution("1"));
+        assertSame(second, scheduler.getExecution("2").getExecutableFlow());
+        assertEquals(0, scheduler.getNumQueued("flow"));
+    }
+
+    @Test
+    public void testAllowsUpToMax() throws Exception {
+        Scheduler scheduler = scheduler(Props.of("concurrent.policy", "allow", "concurrent.max", "2"));
+        TestFlow first = new TestFlow("1");
+        TestFlow second = new TestFlow("2");
+        TestFlow third = new TestFlow("3");
+        scheduler.scheduleNow(first);
+        scheduler.scheduleNow(second);
+        first.awaitStarted();
+        second.awaitStarted();
+        scheduler.scheduleNow(third);
+        waitForQueued(scheduler, 1);
+        assertEquals(2, scheduler.getExecutions("flow").size());
+
+        second.complete();
+        third.awaitStarted();
+        assertEquals(2, scheduler.getExecutions("flow").size());
+    }
+
+    @Test
+    public void testSkipsWhileRunning() throws Exception {
+        Scheduler scheduler = scheduler(Props.of("concurrent.policy", "skip"));
+        TestFlow first = new TestFlow("1");
+        TestFlow second = new TestFlow("2");
+        scheduler.scheduleNow(first);
+        first.awaitStarted();
+        scheduler.scheduleNow(second).get(5, TimeUnit.SECONDS);
+
+        assertFalse(second.started.await(100, TimeUnit.MILLISECONDS));
+        assertEquals(0, scheduler.getNumQueued("flow"));
+
+        first.complete();
+        TestFlow third = new TestFlow("3");
+        scheduler.scheduleNow(third);
+        third.awaitStarted();
+    }
+
+    @Test
+    public void testCancelsPrevious() throws Exception {
+        Scheduler scheduler = scheduler(Props.of("concurrent.policy", "cancel-previous"));
+        TestFlow first = new TestFlow("1");
+        TestFlow second = new TestFlow("2");
+        scheduler.scheduleNow(first);
+        first.awaitStarted();
+        scheduler.scheduleNow(second);
+        second.awaitStarted();
+
+        assertTrue(first.canceled);
+        assertNull(scheduler.getExecution("1"));
+        assertSame(second, scheduler.getExecution("2").getExecutableFlow());
+    }
+
+    @Test
+    public void testCoalescesDuplicateTriggers() throws Exception {
+        Scheduler scheduler = scheduler(Props.of("concurrent.policy", "allow", "concurrent.max", "5"));
+        scheduler.setDedupWindowMs(60000);
+        TestFlow first = new TestFlow("1");
+        assertEquals("1", scheduler.scheduleNow(first, null));
+        first.awaitStarted();
+
+        // runs started by hand and restarts of an unscheduled flow are all
+        // the same run
+        TestFlow duplicate = new TestFlow("2");
+        assertEquals("1", scheduler.scheduleNow(duplicate, null));
+        TestFlow restarted = new TestFlow("3");
+        assertEquals("1", scheduler.restartNow(new FlowExecutionHolder(restarted, new Props())));
+        assertEquals(2, scheduler.getNumCoalesced("flow"));
+
+        // a token keys a run of its own
+        TestFlow tokened = new TestFlow("4");
+        assertEquals("4", scheduler.scheduleNow(tokened, "daily"));
+        tokened.awaitStarted();
+        assertEquals("4", scheduler.scheduleNow(new TestFlow("5"), "daily"));
+        assertEquals(3, scheduler.getNumCoalesced("flow"));
+        assertFalse(duplicate.started.await(100, TimeUnit.MILLISECONDS));
+        assertFalse(restarted.started.await(0, TimeUnit.MILLISECONDS));
+
+        first.complete();
+        TestFlow next = new TestFlow("6");
+        assertEquals("6", scheduler.restartNow(new FlowExecutionHolder(next, new Props())));
+        next.awaitStarted();
+    }
+
+    @Test
+    public void testCoalescedSlotIsToldOfCompletion() throws Exception {
+        Scheduler scheduler = scheduler(Props.of("concurrent.policy", "allow", "concurrent.max", "5"));
+        scheduler.setDedupWindowMs(60000);
+        DateTime slot = new DateTime(2010, 6, 1, 0, 0, 0, 0);
+        final CountDownLatch told = new CountDownLatch(2);
+        FlowCallback listener = new FlowCallback() {
+
+            public void progressMade() {}
+
+            public void completed(Status status) {
+                assertEquals(Status.SUCCEEDED, status);
+                told.countDown();
+            }
+        };
+
+        TestFlow first = new TestFlow("1");
+        assertEquals("1", scheduler.scheduleNow(first, slot, listener));
+        first.awaitStarted();
+        assertEquals("The id of the run it was coalesced onto",
+                     "1",
+                     scheduler.scheduleNow(new TestFlow("2"), slot, listener));
+        TestFlow otherSlot = new TestFlow("3");
+        assertEquals("3", scheduler.scheduleNow(otherSlot, slot.plusDays(1), null));
+        otherSlot.awaitStarted();
+
+        first.complete();
+        assertTrue(told.await(5, TimeUnit.SECONDS));
+    }
+
+    private Scheduler scheduler(Props props) {
+        JobManager jobManager = EasyMock.createNiceMock(JobManager.class);
+        EasyMock.expect(jobManager.getJobDescriptor("flow"))
+                .andReturn(new JobDescriptor("flow", "flow", "flow", props, null))
+                .anyTimes();
+        FlowManager flowManager = EasyMock.createNiceMock(FlowManager.class);
+        EasyMock.replay(jobManager, flowManager);
+
+        return new Scheduler(jobManager,
+                             flowManager,
+                             null,
+                             null,
+                             null,
+                             null,
+                             null,
+                             null,
+                             2,
+                             new FlowEventStream(100, 1, 1000));
+    }
+
+    private void waitForQueued(Scheduler scheduler, int queued) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while(scheduler.getNumQueued("flow") < queued && System.currentTimeMillis() < deadline)
+            Thread.sleep(10);
+        assertEquals(queued, scheduler.getNumQueued("flow"));
+    }
+
+    private static class TestFlow implements ExecutableFlow {
+
+        private final String id;
+        private final CountDownLatch started = new CountDownLatch(1);
+        private volatile Status status = Status.READY;
+        private volatile FlowCallback callback;
+        private volatile boolean canceled = false;
+
+        private TestFlow(String id) {
+            this.id = id;
+        }
+
+        private void awaitStarted() throws InterruptedException {
+            assertTrue("Flow " + id + " didn't start", started.await(5, TimeUnit.SECONDS));
+        }
+
+        private void complete() {
+            status = Status.SUCCEEDED;
+            callback.completed(status);
+        }
+
+        public String getId() {
+            return id;
+        }
+
+        public String getName() {
+            return "flow";
+        }
+
+        public void execute(Props parentProperties, FlowCallback callback) {
+            this.status = Status.RUNNING;
+            this.callback = callback;
+            started.countDown();
+        }
+
+        public boolean cancel() {
+            canceled = true;
+            status = Status.FAILED;
+            callback.completed(status);
+            return true;
+        }
+
+        public Status getStatus() {
+            return status;
+        }
+
+        public boolean reset() {
+            return false;
+        }
+
+        public boolean markCompleted() {
+            return false;
+        }
+
+        public boolean hasChildren() {
+            return false;
+        }
+
+        public List<ExecutableFlow> getChildren() {
+            return Collections.emptyList();
+        }
+
+        public DateTime getStartTime() {
+            return null;
+        }
+
+        public DateTime getEndTime() {
+            return null;
+        }
+
+        public Props getParentProps() {
+            return null;
+        }
+
+        public Props getReturnProps() {
+            return null;
+        }
+
+        public Map<String, Throwable> getExceptions() {
+            return Collections.emptyMap();
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package azkaban.app;
+
+import java.io.File;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.io.FileUtils;
+import org.joda.time.DateTime;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+import azkaban.common.jobs.AbstractJob;
+import azkaban.common.utils.Props;
+
+public class SlaMonitorTest {
+
+    private File dir;
+    private SlaMonitor monitor;
+
+    @Before
+    public void setUp() throws Exception {
+        dir = File.createTempFile("sla-monitor-test", "");
+        dir.delete();
+        dir.mkdirs();
+        monitor = new SlaMonitor(new File(dir, "sla-misses.log"), null, null, 10);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        monitor.shutdown();
+        FileUtils.deleteDirectory(dir);
+    }
+
+    @Test
+    public void testTimeoutCancelsJob() throws Exception {
+        JobDescriptor desc = descriptor(Props.of("timeout", "100", "azkaban.flow.id", "7"));
+        DeadlineJob job = new DeadlineJob(new HangingJob(), monitor, desc);
+        long start = System.currentTimeMillis();
+        try {
+            job.run();
+            fail("The job should have been canceled.");
+        } catch(JobExecutionException e) {
+            assertTrue(e.getMessage().contains("timeout of 100 ms"));
+        }
+        assertTrue(System.currentTimeMillis() - start >= 100);
+
+        List<SlaMonitor.Miss> misses = monitor.getMisses("job");
+        assertEquals(1, misses.size());
+        assertEquals(SlaMonitor.TIMEOUT, misses.get(0).getKind());
+        assertEquals(SlaAction.CANCEL, misses.get(0).getAction());
+        assertEquals(1, monitor.getExecutionMisses("7").size());
+        assertEquals(0, monitor.getNumWatched());
+    }
+
+    @Test
+    public void testAlertLetsJobFinish() throws Exception {
+        JobDescriptor desc = descriptor(Props.of("timeout", "50", "timeout.action", "alert"));
+        new DeadlineJob(new SleepingJob(200), monitor, desc).run();
+        assertEquals(1, monitor.getMisses("job").size());
+        assertEquals(SlaAction.ALERT, monitor.getMisses("job").get(0).getAction());
+    }
+
+    @Test
+    public void testFinishedRunsDontMiss() throws Exception {
+        JobDescriptor desc = descriptor(Props.of("timeout", "100", "flow.timeout", "100"));
+        new DeadlineJob(new SleepingJob(0), monitor, desc).run();
+        final CountDownLatch canceled = new CountDownLatch(1);
+        SlaMonitor.Watch watch = monitor.watchFlow(desc, "1", new DateTime(), new Runnable() {
+
+            public void run() {
+                canceled.countDown();
+            }
+        });
+        assertEquals(1, monitor.getNumWatched());
+        watch.finished();
+        assertEquals(0, monitor.getNumWatched());
+        assertFalse(canceled.await(200, TimeUnit.MILLISECONDS));
+        assertTrue(monitor.getMisses("job").isEmpty());
+    }
+
+    @Test
+    public void testFlowFinishByCancelsFlowAndIsRecorded() throws Exception {
+        // an execution for 05:00 yesterday that should finish by 06:00 is
+        // already past its deadline
+        DateTime logicalTime = new DateTime().minusDays(1).withTime(5, 0, 0, 0);
+        JobDescriptor desc = descriptor(Props.of("flow.sla.finish.by", "06:00", "flow.sla.action", "cancel"));
+        assertEquals(logicalTime.withTime(6, 0, 0, 0), desc.getFlowSla().getFinishByDeadline(logicalTime));
+        assertEquals(logicalTime.plusDays(1).withTime(6, 0, 0, 0),
+                     desc.getFlowSla().getFinishByDeadline(logicalTime.withTime(7, 0, 0, 0)));
+
+        final CountDownLatch canceled = new CountDownLatch(1);
+        monitor.watchFlow(desc, "3", logicalTime, new Runnable() {
+
+            public void run() {
+                canceled.countDown();
+            }
+        });
+        assertTrue(canceled.await(5, TimeUnit.SECONDS));
+        assertEquals("flow", monitor.getExecutionMisses("3").get(0).getLevel());
+
+        // misses outlive a restart
+        SlaMonitor reloaded = new SlaMonitor(new File(dir, "sla-misses.log"), null, null, 10);
+        assertEquals(SlaMonitor.FINISH_BY, reloaded.getMisses("job").get(0).getKind());
+        reloaded.shutdown();
+    }
+
+    private JobDescriptor descriptor(Props overrides) {
+        Props props = new Props(overrides, Props.of("type", "command", "command", "echo"));
+        return new JobDescriptor("job", "job", new File(dir, "job.job").getPath(), props, getClass().getClassLoader());
+    }
+
+    private static class SleepingJob extends AbstractJob {
+
+        private final long _ms;
+
+        public SleepingJob(long ms) {
+            super("job");
+            _ms = ms;
+        }
+
+        @Override
+        public void run() throws Exception {
+            Thread.sleep(_ms);
+        }
+    }
+
+    private static class HangingJob extends AbstractJob {
+
+        private final CountDownLatch _canceled = new CountDownLatch(1);
+
+        public HangingJob() {
+            super("job");
+        }
+
+        @Override
+        public void run() throws Exception {
+            if(!_canceled.await(10, TimeUnit.SECONDS))
+                return;
+            throw new RuntimeException("Canceled.");
+        }
+
+        @Override
+        public void cancel() {
+            _canceled.countDown();
+        }
+    }
+}
@@ -0,0 +1,179 @@
+package azkaban.app;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.hadoop.conf.Configuration;
+import org.easymock.IAnswer;
+import org.easymock.classextension.EasyMock;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+import azkaban.flow.FlowManager;
+import azkaban.flow.Status;
+
+public class TriggerManagerTest {
+
+    private File dir;
+    private File stateFile;
+    private FlowManager flowManager;
+    private Scheduler scheduler;
+    private final List<String> started = Collections.synchronizedList(new ArrayList<String>());
+
+    @Before
+    public void setUp() throws Exception {
+        dir = File.createTempFile("trigger-test", "");
+        dir.delete();
+        dir.mkdirs();
+        stateFile = new File(dir, "triggers");
+
+        flowManager = EasyMock.createMock(FlowManager.class);
+        EasyMock.expect(flowManager.hasFlow(EasyMock.isA(String.class))).andReturn(true).anyTimes();
+
+        scheduler = EasyMock.createMock(Scheduler.class);
+        EasyMock.expect(scheduler.runNow(EasyMock.isA(String.class),
+                                         EasyMock.eq(false),
+                                         (String) EasyMock.isNull())).andAnswer(new IAnswer<String>() {
+
+            public String answer() {
+                started.add((String) EasyMock.getCurrentArguments()[0]);
+                return String.valueOf(started.size());
+            }
+        }).anyTimes();
+        EasyMock.replay(flowManager, scheduler);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        FileUtils.deleteDirectory(dir);
+    }
+
+    private TriggerManager newManager() {
+        return new TriggerManager(flowManager, scheduler, new Configuration(), stateFile, 0, 10);
+    }
+
+    @Test
+    public void testFileTrigger() throws Exception {
+        File data = new File(dir, "data");
+        TriggerManager triggers = newManager();
+        Trigger trigger = triggers.add("load", Trigger.Type.FILE, data.getAbsolutePath() + "/");
+        assertEquals(new File(data, "_SUCCESS").getAbsolutePath(), trigger.getTarget());
+
+        // the directory doesn't exist yet
+        triggers.poll();
+        assertEquals(0, started.size());
+
+        File marker = new File(data, "_SUCCESS");
+        FileUtils.touch(marker);
+        marker.setLastModified(100000);
+        triggers.poll();
+        assertEquals(Collections.singletonList("load"), started);
+
+        // fires once per version of the marker
+        triggers.poll();
+        assertEquals(1, started.size());
+        marker.setLastModified(200000);
+        triggers.poll();
+        assertEquals(2, started.size());
+        assertEquals(2, trigger.getNumFired());
+
+        // a restart doesn't fire again for the same marker
+        triggers.shutdown();
+        TriggerManager restarted = newManager();
+        assertEquals(1, restarted.getTriggers().size());
+        restarted.poll();
+        assertEquals(2, started.size());
+        marker.setLastModified(300000);
+        restarted.poll();
+        assertEquals(3, started.size());
+
+        // ids keep counting after a restart
+        assertEquals(trigger.getId() + 1, restarted.add("load", Trigger.Type.EVENT, "go").getId());
+        restarted.shutdown();
+    }
+
+    @Test
+    public void testRetriesTriggerWhoseFlowFailedToStart() throws Exception {
+        Scheduler failing = EasyMock.createMock(Scheduler.class);
+        EasyMock.expect(failing.runNow("load", false, null)).andThrow(new IllegalStateException("down"));
+        EasyMock.expect(failing.runNow("load", false, null)).andReturn("1");
+        EasyMock.replay(failing);
+
+        File marker = new File(dir, "_SUCCESS");
+        FileUtils.touch(marker);
+        TriggerManager triggers = new TriggerManager(flowManager, failing, new Configuration(), stateFile, 0, 10);
+        Trigger trigger = triggers.add("load", Trigger.Type.FILE, marker.getAbsolutePath());
+        triggers.add("load", Trigger.Type.FILE, "bad-scheme://x/" + marker.getName());
+
+        triggers.poll();
+        assertEquals(0, trigger.getNumFired());
+        assertEquals(0, trigger.getLastFired());
+        triggers.poll();
+        assertEquals(1, trigger.getNumFired());
+        assertEquals(marker.lastModified(), trigger.getLastFired());
+        EasyMock.verify(failing);
+        triggers.shutdown();
+    }
+
+    @Test
+    public void testListsEachDirectoryOncePerRound() throws Exception {
+        TriggerManager triggers = new TriggerManager(flowManager,
+                                                     scheduler,
+                                                     new Configuration(),
+                                                     stateFile,
+                                                     0,
+                                                     2);
+        for(int i = 0; i < 3; i++) {
+            File sub = new File(dir, "dir" + i);
+            for(int j = 0; j < 5; j++)
+                triggers.add("flow" + i, Trigger.Type.FILE, new File(sub, "file" + j).getAbsolutePath());
+        }
+        for(int j = 0; j < 5; j++)
+            FileUtils.touch(new File(dir, "dir2/file" + j));
+
+        // the third directory is listed in the second round only
+        triggers.poll();
+        assertEquals(2, triggers.getNumListings());
+        assertEquals(0, started.size());
+        triggers.poll();
+        assertEquals(4, triggers.getNumListings());
+        assertEquals(5, started.size());
+        assertEquals("flow2", started.get(0));
+        triggers.shutdown();
+    }
+
+    @Test
+    public void testFlowAndEventTriggers() throws Exception {
+        TriggerManager triggers = newManager();
+        triggers.add("after", Trigger.Type.FLOW, "before");
+        Trigger event = triggers.add("onEvent", Trigger.Type.EVENT, "data-ready");
+
+        triggers.flowCompleted("before", Status.FAILED);
+        triggers.flowCompleted("other", Status.SUCCEEDED);
+        assertEquals(0, started.size());
+        triggers.flowCompleted("before", Status.SUCCEEDED);
+        assertEquals(Collections.singletonList("after"), started);
+
+        assertEquals(0, triggers.postEvent("other-event").size());
+        assertEquals(1, triggers.postEvent("data-ready").size());
+        assertEquals("onEvent", started.get(1));
+
+        assertTrue(triggers.remove(event.getId()));
+        assertFalse(triggers.remove(event.getId()));
+        assertEquals(0, triggers.postEvent("data-ready").size());
+        triggers.shutdown();
+
+        assertEquals(1, newManager().getTriggers().size());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testFlowCantTriggerItself() {
+        newManager().add("flow", Trigger.Type.FLOW, "flow");
+    }
+}
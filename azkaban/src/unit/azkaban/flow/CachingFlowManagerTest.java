@@ -0,0 +1,219 @@
+package azkaban.flow;
+
+import azkaban.common.utils.Props;
+import org.easymock.classextension.EasyMock;
+import org.joda.time.DateTime;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ *
+ */
+public class CachingFlowManagerTest
+{
+    private FlowManager baseManager;
+
+    @Before
+    public void setUp() throws Exception
+    {
+        baseManager = EasyMock.createMock(FlowManager.class);
+    }
+
+    @After
+    public void tearDown() throws Exception
+    {
+        EasyMock.verify(baseManager);
+    }
+
+    @Test
+    public void testLoadsOnce() throws Exception
+    {
+        FlowExecutionHolder holder = holder("1", Status.SUCCEEDED);
+        EasyMock.expect(baseManager.loadExecutableFlow(1)).andReturn(holder).once();
+        EasyMock.expect(baseManager.loadExecutableFlow(2)).andReturn(null).times(2);
+        EasyMock.replay(baseManager);
+
+        CachingFlowManager manager = new CachingFlowManager(baseManager, 1024 * 1024, 10);
+        Assert.assertSame(holder, manager.loadExecutableFlow(1));
+        Assert.assertSame(holder, manager.loadExecutableFlow(1));
+        Assert.assertNull(manager.loadExecutableFlow(2));
+        Assert.assertNull(manager.loadExecutableFlow(2));
+        Assert.assertEquals(1, manager.getNumCached());
+        Assert.assertEquals(CachingFlowManager.estimateBytes(holder), manager.getCachedBytes());
+    }
+
+    @Test
+    public void testEvictsLeastRecentlyUsedToSummaries() throws Exception
+    {
+        FlowExecutionHolder holder1 = holder("1", Status.SUCCEEDED);
+        FlowExecutionHolder holder2 = holder("2", Status.FAILED);
+        FlowExecutionHolder holder3 = holder("3", Status.SUCCEEDED);
+        EasyMock.expect(baseManager.loadExecutableFlow(1)).andReturn(holder1).once();
+        EasyMock.expect(baseManager.loadExecutableFlow(2)).andReturn(holder2).once();
+        EasyMock.expect(baseManager.loadExecutableFlow(3)).andReturn(holder3).once();
+        EasyMock.replay(baseManager);
+
+        long bytes = CachingFlowManager.estimateBytes(holder1);
+        // room for two and a half executions
+        CachingFlowManager manager = new CachingFlowManager(baseManager, bytes * 5 / 2, 10);
+        manager.loadExecutableFlow(1);
+        manager.loadExecutableFlow(2);
+        manager.loadExecutableFlow(1);
+        manager.loadExecutableFlow(3);
+
+        Assert.assertEquals(2, manager.getNumCached());
+        Assert.assertEquals(1, manager.getNumSummaries());
+        Assert.assertEquals(2 * bytes, manager.getCachedBytes());
+
+        // answered from the summary, without loading it again
+        ExecutionSummary summary = manager.getExecutionSummary(2);
+        Assert.assertEquals(Status.FAILED, summary.getStatus());
+        Assert.assertEquals(Collections.singletonMap("job-2", Status.FAILED), summary.getJobStatuses());
+        Assert.assertSame(holder1, manager.loadExecutableFlow(1));
+        Assert.assertSame(holder3, manager.loadExecutableFlow(3));
+    }
+
+    @Test
+    public void testRunningExecutionsArePinned() throws Exception
+    {
+        FlowExecutionHolder running = holder("1", Status.RUNNING);
+        FlowExecutionHolder done = holder("2", Status.SUCCEEDED);
+        EasyMock.expect(baseManager.loadExecutableFlow(1)).andReturn(running).once();
+        EasyMock.expect(baseManager.loadExecutableFlow(2)).andReturn(done).once();
+        EasyMock.replay(baseManager);
+
+        long bytes = CachingFlowManager.estimateBytes(running);
+        CachingFlowManager manager = new CachingFlowManager(baseManager, bytes * 3 / 2, 10);
+        manager.loadExecutableFlow(1);
+        manager.loadExecutableFlow(2);
+
+        Assert.assertEquals(1, manager.getNumPinned());
+        Assert.assertSame(running, manager.loadExecutableFlow(1));
+        Assert.assertSame(done, manager.loadExecutableFlow(2));
+        Assert.assertEquals(0, manager.getNumSummaries());
+    }
+
+    @Test
+    public void testExecutionsArePinnedUntilCompleted() throws Exception
+    {
+        TestFlow flow = new TestFlow("1", Status.READY);
+        EasyMock.expect(baseManager.createNewExecutableFlow("job")).andReturn(flow).once();
+        EasyMock.replay(baseManager);
+
+        CachingFlowManager manager = new CachingFlowManager(baseManager, 1024 * 1024, 10);
+        final OneCallFlowCallback callback = new OneCallFlowCallback(new AtomicBoolean())
+        {
+            @Override
+            protected void theCallback(Status status)
+            {
+            }
+        };
+        manager.createNewExecutableFlow("job").execute(new Props(), callback);
+
+        Assert.assertEquals(1, manager.getNumPinned());
+        Assert.assertSame(flow, manager.loadExecutableFlow(1).getFlow());
+
+        flow.status = Status.SUCCEEDED;
+        flow.callback.completed(Status.SUCCEEDED);
+
+        Assert.assertEquals(0, manager.getNumPinned());
+        Assert.assertEquals(1, manager.getNumCached());
+        Assert.assertSame(flow, manager.loadExecutableFlow(1).getFlow());
+    }
+
+    private static FlowExecutionHolder holder(String id, Status status)
+    {
+        return new FlowExecutionHolder(new TestFlow(id, status), null);
+    }
+
+    private static class TestFlow implements ExecutableFlow
+    {
+        private final String id;
+        private volatile Status status;
+        private volatile FlowCallback callback;
+
+        private TestFlow(String id, Status status)
+        {
+            this.id = id;
+            this.status = status;
+        }
+
+        public String getId()
+        {
+            return id;
+        }
+
+        public String getName()
+        {
+            return "job-" + id;
+        }
+
+        public void execute(Props parentProperties, FlowCallback callback)
+        {
+            this.status = Status.RUNNING;
+            this.callback = callback;
+        }
+
+        public boolean cancel()
+        {
+            return false;
+        }
+
+        public Status getStatus()
+        {
+            return status;
+        }
+
+        public boolean reset()
+        {
+            return false;
+        }
+
+        public boolean markCompleted()
+        {
+            return false;
+        }
+
+        public boolean hasChildren()
+        {
+            return false;
+        }
+
+        public List<ExecutableFlow> getChildren()
+        {
+            return Collections.emptyList();
+        }
+
+        public DateTime getStartTime()
+        {
+            return null;
+        }
+
+        public DateTime getEndTime()
+        {
+            return null;
+        }
+
+        public Props getParentProps()
+        {
+            return null;
+        }
+
+        public Props getReturnProps()
+        {
+            return null;
+        }
+
+        public Map<String, Throwable> getExceptions()
+        {
+            return Collections.emptyMap();
+        }
+    }
+}
@@ -0,0 +1,207 @@
+package azkaban.flow;
+
+import azkaban.app.JobDescriptor;
+import azkaban.app.JobManager;
+import azkaban.common.jobs.AbstractJob;
+import azkaban.common.jobs.Job;
+import azkaban.common.utils.Props;
+import azkaban.serialization.DefaultExecutableFlowSerializer;
+import azkaban.serialization.de.DefaultExecutableFlowDeserializer;
+
+import org.easymock.IAnswer;
+import org.easymock.classextension.EasyMock;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class FanoutExecutableFlowTest
+{
+    private volatile JobManager jobManager;
+
+    private final AtomicInteger numRunning = new AtomicInteger(0);
+    private final AtomicInteger maxRunning = new AtomicInteger(0);
+    private final Map<String, AtomicInteger> numRuns = new ConcurrentHashMap<String, AtomicInteger>();
+    private volatile String failingItem;
+
+    @Before
+    public void setUp()
+    {
+        Props props = Props.of(
+                "type", JobDescriptor.FANOUT_TYPE,
+                JobDescriptor.FANOUT_JOB, "load-table",
+                JobDescriptor.FANOUT_ITEMS, "tables",
+                JobDescriptor.FANOUT_CONCURRENCY, "2"
+        );
+
+        jobManager = EasyMock.createMock(JobManager.class);
+        EasyMock.expect(jobManager.getJobDescriptor("fan"))
+                .andReturn(new JobDescriptor("fan", "fan", "fan", props, null))
+                .anyTimes();
+        EasyMock.expect(jobManager.loadJobInstance(
+                EasyMock.eq("load-table"),
+                (String) EasyMock.anyObject(),
+                (Props) EasyMock.anyObject()
+        )).andAnswer(new IAnswer<Job>()
+        {
+            @Override
+            public Job answer() throws Throwable
+            {
+                return new ItemJob(
+                        (String) EasyMock.getCurrentArguments()[1],
+                        (Props) EasyMock.getCurrentArguments()[2]
+                );
+            }
+        }).anyTimes();
+        EasyMock.replay(jobManager);
+    }
+
+    @Test
+    public void testRunsInstancesPerItem() throws Exception
+    {
+        FanoutExecutableFlow flow = new FanoutExecutableFlow("1", "fan", jobManager);
+
+        Assert.assertEquals(Status.SUCCEEDED, run(flow, Props.of("tables", "a, b,c,d,e")));
+
+        Assert.assertEquals(Arrays.asList("a", "b", "c", "d", "e"), flow.getItems());
+        Assert.assertEquals(5, flow.getInstances().size());
+        Assert.assertEquals("fan.3", flow.getInstances().get(3).getName());
+        Assert.assertFalse("The instances aren't dependencies", flow.hasChildren());
+        Assert.assertTrue(flow.getChildren().isEmpty());
+        Assert.assertEquals(Status.SUCCEEDED, new ExecutionSummary(flow).getJobStatuses().get("fan.3"));
+        Assert.assertEquals("a,b,c,d,e", flow.getReturnProps().get("loaded"));
+        Assert.assertEquals("0,1,2,3,4", flow.getReturnProps().get("index"));
+        Assert.assertTrue(maxRunning.get() <= 2);
+        Assert.assertEquals(0, numRunning.get());
+    }
+
+    @Test
+    public void testMissingItemsFails() throws Exception
+    {
+        FanoutExecutableFlow flow = new FanoutExecutableFlow("1", "fan", jobManager);
+
+        Assert.assertEquals(Status.FAILED, run(flow, new Props()));
+        Assert.assertFalse(flow.hasChildren());
+        Assert.assertTrue(flow.getExceptions().containsKey("fan"));
+    }
+
+    @Test
+    public void testRetryRerunsOnlyFailedInstances() throws Exception
+    {
+        FanoutExecutableFlow flow = new FanoutExecutableFlow("1", "fan", jobManager);
+        Props parentProps = Props.of("tables", "a,b,c");
+
+        failingItem = "b";
+        Assert.assertEquals(Status.FAILED, run(flow, parentProps));
+        Assert.assertEquals(Status.SUCCEEDED, flow.getInstances().get(0).getStatus());
+        Assert.assertEquals(Status.FAILED, flow.getInstances().get(1).getStatus());
+
+        failingItem = null;
+        Flows.resetFailedFlows(flow);
+        Assert.assertEquals(Status.SUCCEEDED, run(flow, parentProps));
+
+        Assert.assertEquals(1, numRuns.get("a").get());
+        Assert.assertEquals(2, numRuns.get("b").get());
+        Assert.assertEquals(1, numRuns.get("c").get());
+        Assert.assertEquals("a,b,c", flow.getReturnProps().get("loaded"));
+    }
+
+    @Test
+    public void testSerializationRoundTrip() throws Exception
+    {
+        FanoutExecutableFlow flow = new FanoutExecutableFlow("1", "fan", jobManager);
+        failingItem = "c";
+        Assert.assertEquals(Status.FAILED, run(flow, Props.of("tables", "a,b,c")));
+
+        Map<String, Object> descriptor = new DefaultExecutableFlowSerializer().apply(flow);
+        ExecutableFlow read = new DefaultExecutableFlowDeserializer(jobManager, null).apply(descriptor);
+
+        Assert.assertTrue(read instanceof FanoutExecutableFlow);
+        FanoutExecutableFlow readFlow = (FanoutExecutableFlow) read;
+        Assert.assertEquals(Status.FAILED, readFlow.getStatus());
+        Assert.assertEquals(Arrays.asList("a", "b", "c"), readFlow.getItems());
+        Assert.assertEquals(3, readFlow.getInstances().size());
+        for (int i = 0; i < 3; i++) {
+            IndividualJobExecutableFlow instance = readFlow.getInstances().get(i);
+            Assert.assertEquals("fan." + i, instance.getName());
+            Assert.assertEquals("load-table", instance.getJobName());
+            Assert.assertEquals(flow.getInstances().get(i).getStatus(), instance.getStatus());
+        }
+
+        failingItem = null;
+        Flows.resetFailedFlows(readFlow);
+        Assert.assertEquals(Status.SUCCEEDED, run(readFlow, Props.of("tables", "a,b,c")));
+        Assert.assertEquals(2, numRuns.get("c").get());
+        Assert.assertEquals(1, numRuns.get("a").get());
+    }
+
+    private Status run(ExecutableFlow flow, Props parentProps) throws InterruptedException
+    {
+        final CountDownLatch latch = new CountDownLatch(1);
+        final Status[] result = new Status[1];
+        flow.execute(parentProps, new FlowCallback()
+        {
+            @Override
+            public void progressMade()
+            {
+            }
+
+            @Override
+            public void completed(Status status)
+            {
+                result[0] = status;
+                latch.countDown();
+            }
+        });
+
+        Assert.assertTrue("Fan-out never completed.", latch.await(10, TimeUnit.SECONDS));
+        return result[0];
+    }
+
+    private class ItemJob extends AbstractJob
+    {
+        private final Props props;
+
+        public ItemJob(String id, Props props)
+        {
+            super(id);
+            this.props = props;
+        }
+
+        @Override
+        public void run() throws Exception
+        {
+            String item = props.get("fanout.item");
+            if (! numRuns.containsKey(item)) {
+                numRuns.put(item, new AtomicInteger(0));
+            }
+            numRuns.get(item).incrementAndGet();
+
+            int running = numRunning.incrementAndGet();
+            synchronized (maxRunning) {
+                maxRunning.set(Math.max(maxRunning.get(), running));
+            }
+            try {
+                Thread.sleep(20);
+                if (item.equals(failingItem)) {
+                    throw new RuntimeException("Could not load " + item);
+                }
+            }
+            finally {
+                numRunning.decrementAndGet();
+            }
+        }
+
+        @Override
+        public Props getJobGeneratedProperties()
+        {
+            return Props.of("loaded", props.get("fanout.item"), "index", props.get(FanoutExecutableFlow.INDEX_PROP));
+        }
+    }
+}
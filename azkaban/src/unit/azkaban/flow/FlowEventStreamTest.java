@@ -0,0 +1,132 @@
+package azkaban.flow;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class FlowEventStreamTest
+{
+    private FlowEventStream stream;
+
+    @After
+    public void tearDown()
+    {
+        if (stream != null) {
+            stream.shutdown();
+        }
+    }
+
+    @Test
+    public void testPublishesStatusChanges() throws Exception
+    {
+        stream = new FlowEventStream(100, 10, 0);
+        IndividualJobExecutableFlow flow = new IndividualJobExecutableFlow("1", "job", null);
+
+        stream.watch(flow);
+        FlowEventStream.Events events = stream.getEvents("1", stream.getEpoch(), 0, 0);
+        Assert.assertEquals(1, events.getEvents().size());
+        Assert.assertEquals(Status.READY, events.getEvents().get(0).getStatus());
+
+        stream.update(flow);
+        Assert.assertTrue("Nothing changed", stream.getEvents("1", stream.getEpoch(), events.getLastSequence(), 0).getEvents().isEmpty());
+
+        flow.markCompleted();
+        stream.completed(flow);
+        events = stream.getEvents("1", stream.getEpoch(), events.getLastSequence(), 0);
+        Assert.assertEquals(1, events.getEvents().size());
+        Assert.assertEquals("job", events.getEvents().get(0).getJobName());
+        Assert.assertEquals(Status.COMPLETED, events.getEvents().get(0).getStatus());
+        Assert.assertFalse(events.isRunning());
+    }
+
+    @Test
+    public void testOnlyReturnsEventsOfExecution() throws Exception
+    {
+        stream = new FlowEventStream(100, 10, 0);
+        stream.watch(new IndividualJobExecutableFlow("1", "job", null));
+        stream.watch(new IndividualJobExecutableFlow("2", "job", null));
+
+        FlowEventStream.Events events = stream.getEvents("2", stream.getEpoch(), 0, 0);
+        Assert.assertEquals(1, events.getEvents().size());
+        Assert.assertEquals("2", events.getEvents().get(0).getId());
+        Assert.assertEquals(2, events.getLastSequence());
+    }
+
+    @Test
+    public void testSlowReaderIsReset() throws Exception
+    {
+        stream = new FlowEventStream(2, 10, 0);
+        for (int i = 1; i <= 4; i++) {
+            stream.watch(new IndividualJobExecutableFlow("" + i, "job", null));
+        }
+
+        Assert.assertTrue(stream.getEvents("1", stream.getEpoch(), 0, 0).isReset());
+        Assert.assertFalse(stream.getEvents("4", stream.getEpoch(), 2, 0).isReset());
+        Assert.assertEquals(1, stream.getNumResets());
+    }
+
+    @Test
+    public void testReaderOfEarlierStreamIsReset() throws Exception
+    {
+        stream = new FlowEventStream(10, 10, 0);
+        stream.watch(new IndividualJobExecutableFlow("1", "job", null));
+
+        Assert.assertTrue("Ahead of the stream", stream.getEvents("1", stream.getEpoch(), 5, 0).isReset());
+        Assert.assertTrue("Other epoch", stream.getEvents("1", stream.getEpoch() - 1, 1, 0).isReset());
+        Assert.assertFalse(stream.getEvents("1", stream.getEpoch() - 1, 0, 0).isReset());
+        Assert.assertFalse(stream.getEvents("1", stream.getEpoch(), 1, 0).isReset());
+    }
+
+    @Test
+    public void testWaitingReaderWokenByEvent() throws Exception
+    {
+        stream = new FlowEventStream(100, 10, 0);
+        final IndividualJobExecutableFlow flow = new IndividualJobExecutableFlow("1", "job", null);
+        stream.watch(flow);
+        final long after = stream.getLastSequence();
+
+        final AtomicReference<FlowEventStream.Events> result = new AtomicReference<FlowEventStream.Events>();
+        Thread reader = new Thread()
+        {
+            @Override
+            public void run()
+            {
+                try {
+                    result.set(stream.getEvents("1", stream.getEpoch(), after, 10000));
+                }
+                catch (InterruptedException e) {
+                    // result stays empty
+                }
+            }
+        };
+        reader.start();
+        while (stream.getNumWaiting() == 0) {
+            Thread.sleep(10);
+        }
+
+        flow.markCompleted();
+        stream.update(flow);
+        reader.join(5000);
+
+        Assert.assertNotNull(result.get());
+        Assert.assertEquals(1, result.get().getEvents().size());
+        Assert.assertEquals(0, stream.getNumWaiting());
+    }
+
+    @Test
+    public void testReadersBeyondLimitDontWait() throws Exception
+    {
+        stream = new FlowEventStream(100, 0, 0);
+        stream.watch(new IndividualJobExecutableFlow("1", "job", null));
+
+        long start = System.currentTimeMillis();
+        FlowEventStream.Events events = stream.getEvents("1", stream.getEpoch(), stream.getLastSequence(), 10000);
+
+        Assert.assertTrue(System.currentTimeMillis() - start < 5000);
+        Assert.assertTrue(events.getEvents().isEmpty());
+        Assert.assertTrue(events.isRunning());
+        Assert.assertEquals(1, stream.getNumTurnedAway());
+    }
+}
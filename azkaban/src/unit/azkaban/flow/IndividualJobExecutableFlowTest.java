@@ -1,8 +1,17 @@
 package azkaban.flow;
 
 import azkaban.app.JobManager;
+import azkaban.common.jobs.AbstractJob;
+import azkaban.common.jobs.DoNothingJob;
 import azkaban.common.jobs.Job;
 import azkaban.common.utils.Props;
+import azkaban.jobcontrol.impl.jobs.ResourceThrottledJob;
+import azkaban.jobcontrol.impl.jobs.RetryPolicy;
+import azkaban.jobcontrol.impl.jobs.RetryingJob;
+import azkaban.jobcontrol.impl.jobs.locks.GroupLock;
+import azkaban.jobcontrol.impl.jobs.locks.JobLock;
+import azkaban.jobcontrol.impl.jobs.locks.LockWaitQueue;
+import azkaban.jobcontrol.impl.jobs.locks.NamedPermitManager;
 
 import org.easymock.IAnswer;
 import org.easymock.classextension.EasyMock;
@@ -12,11 +21,14 @@ import org.junit.Before;
 import org.junit.BeforeClass;
 import org.junit.Test;
 
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * These tests could probably be simplified by adding a "ThreadFactory" dependency on IndividualJobExecutableFlow
@@ -635,4 +647,93 @@ public class IndividualJobExecutableFlowTest
         Assert.assertTrue("Expected callback to be called once.", runOnce.get());
         Assert.assertEquals(0, executableFlow.getReturnProps().size());
     }
+
+    @Test
+    public void testRetryWaitsWithoutLocks() throws Exception
+    {
+        NamedPermitManager permits = new NamedPermitManager();
+        permits.createNamedPermit("default", 1);
+        LockWaitQueue queue = new LockWaitQueue();
+
+        final AtomicInteger runs = new AtomicInteger(0);
+        Job flakyJob = new AbstractJob("blah")
+        {
+            @Override
+            public void run()
+            {
+                if (runs.incrementAndGet() == 1) {
+                    throw new RuntimeException("First attempt fails.");
+                }
+            }
+
+            @Override
+            public Props getJobGeneratedProperties()
+            {
+                return Props.of("attempt", String.valueOf(runs.get()));
+            }
+        };
+        RetryingJob retryingJob = new RetryingJob(
+                new ResourceThrottledJob(flakyJob, defaultPermit(permits), queue),
+                new RetryPolicy(1, 1000)
+        );
+        ResourceThrottledJob otherJob = new ResourceThrottledJob(
+                new DoNothingJob("other", null), defaultPermit(permits), queue
+        );
+
+        final Props overrideProps = new Props();
+        EasyMock.expect(jobManager.loadJob("blah", overrideProps, true)).andReturn(retryingJob).once();
+        EasyMock.replay(jobManager);
+
+        final IndividualJobExecutableFlow executableFlow = new IndividualJobExecutableFlow("blah", "blah", jobManager);
+        final CountDownLatch doneLatch = new CountDownLatch(1);
+        final AtomicReference<Status> finalStatus = new AtomicReference<Status>();
+        executableFlow.execute(
+                overrideProps,
+                new FlowCallback()
+                {
+                    @Override
+                    public void progressMade()
+                    {
+                    }
+
+                    @Override
+                    public void completed(Status status)
+                    {
+                        finalStatus.set(status);
+                        doneLatch.countDown();
+                    }
+                }
+        );
+
+        for (int i = 0; i < 100 && runs.get() == 0; i++) {
+            Thread.sleep(10);
+        }
+        Thread.sleep(100);
+
+        // the first attempt has failed and the retry is waiting, without the permit
+        final AtomicBoolean otherStarted = new AtomicBoolean(false);
+        otherJob.acquireAsync(
+                new Runnable()
+                {
+                    @Override
+                    public void run()
+                    {
+                        otherStarted.set(true);
+                    }
+                }
+        );
+        Assert.assertTrue("The permit should be free while the retry waits.", otherStarted.get());
+        Assert.assertEquals(1, runs.get());
+        otherJob.run();
+
+        Assert.assertTrue(doneLatch.await(5, TimeUnit.SECONDS));
+        Assert.assertEquals(Status.SUCCEEDED, finalStatus.get());
+        Assert.assertEquals(2, runs.get());
+        Assert.assertEquals("2", executableFlow.getReturnProps().get("attempt"));
+    }
+
+    private JobLock defaultPermit(NamedPermitManager permits)
+    {
+        return new GroupLock(Arrays.<JobLock>asList(permits.getNamedPermit("default", 1)));
+    }
 }
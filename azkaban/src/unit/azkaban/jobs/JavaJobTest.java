@@ -126,5 +126,26 @@ public class JavaJobTest
     }
   }
   
+  @Test
+  public void testPooledJavaJob() {
+    JavaJobWorkerPool pool = new JavaJobWorkerPool(1, 10, 90, "-Xmx128M");
+    JavaProcessJob.setWorkerPool(pool);
+    try {
+      props.put(JavaJob.JOB_CLASS, "azkaban.test.WordCountLocal");
+      props.put(JavaProcessJob.POOLED, "true");
+      props.put("input", inputFile);
+      props.put("output", outputFile);
+      props.put("classpath", classPaths);
+      job.run();
+
+      Assert.assertEquals(1, pool.getNumJobsRun());
+      Assert.assertNotNull(job.getJobGeneratedProperties());
+    }
+    finally {
+      JavaProcessJob.setWorkerPool(null);
+      pool.shutdown();
+    }
+  }
+  
 }
 
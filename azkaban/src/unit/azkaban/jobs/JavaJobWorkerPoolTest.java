@@ -0,0 +1,158 @@
+package azkaban.jobs;
+
+import java.io.File;
+import java.io.IOException;
+
+import org.apache.commons.io.FileUtils;
+import org.easymock.classextension.EasyMock;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import azkaban.app.JobDescriptor;
+import azkaban.common.utils.Props;
+import azkaban.util.process.ProcessFailureException;
+
+import static org.junit.Assert.*;
+
+/**
+ * Runs the same jobs forked and on the worker pool, and checks they behave
+ * the same.
+ */
+public class JavaJobWorkerPoolTest {
+
+    private File _workingDir;
+    private JavaJobWorkerPool _pool;
+
+    @Before
+    public void setUp() throws IOException {
+        _workingDir = File.createTempFile("azkaban_worker_pool_test", "");
+        _workingDir.delete();
+        _workingDir.mkdirs();
+        _pool = new JavaJobWorkerPool(1, 10, 90, "-Xmx128M");
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        JavaProcessJob.setWorkerPool(null);
+        _pool.shutdown();
+        FileUtils.deleteDirectory(_workingDir);
+    }
+
+    @Test
+    public void testOutputPropsMatchForkedJob() throws Exception {
+        Props forked = run(false, new Props()).getJobGeneratedProperties();
+        Props pooled = run(true, new Props()).getJobGeneratedProperties();
+
+        assertEquals("pooled-job", pooled.get("job.name"));
+        assertEquals(_workingDir.getCanonicalPath(), pooled.get("cwd"));
+        assertEquals("some input", pooled.get("input"));
+        assertTrue("Expected " + forked + " but got " + pooled, forked.equalsProps(pooled));
+        assertEquals(1, _pool.getNumJobsRun());
+        assertEquals("No props files should be left behind.", 0, _workingDir.list().length);
+    }
+
+    @Test
+    public void testPreStartedWorkerRunsJobsOfAnyDirectory() throws Exception {
+        long deadline = System.currentTimeMillis() + 30000;
+        while(_pool.getNumIdleWorkers() == 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+        assertEquals(1, _pool.getNumIdleWorkers());
+
+        File otherDir = new File(_workingDir, "other");
+        otherDir.mkdirs();
+        Props props = new Props();
+        props.put(AbstractProcessJob.WORKING_DIR, otherDir.getPath());
+        assertEquals(otherDir.getCanonicalPath(), run(true, props).getJobGeneratedProperties().get("cwd"));
+        assertEquals(_workingDir.getCanonicalPath(), run(true, new Props()).getJobGeneratedProperties().get("cwd"));
+
+        assertEquals("The pre-started worker should have run both jobs.", 1, _pool.getNumWorkersStarted());
+        assertEquals(2, _pool.getNumJobsRun());
+    }
+
+    @Test
+    public void testFailureMatchesForkedJob() throws Exception {
+        Props props = new Props();
+        props.put("fail", "true");
+
+        assertEquals(1, runAndGetExitCode(false, props));
+        assertEquals(1, runAndGetExitCode(true, props));
+        assertEquals(1, _pool.getNumJobsRun());
+        assertEquals("No props files should be left behind.", 0, _workingDir.list().length);
+    }
+
+    @Test
+    public void testExitMatchesForkedJob() throws Exception {
+        Props props = new Props();
+        props.put("exit.code", "3");
+
+        assertEquals(3, runAndGetExitCode(false, props));
+        assertEquals(3, runAndGetExitCode(true, props));
+        assertTrue("The exited worker should have been replaced.", _pool.getNumWorkersRecycled() >= 1);
+    }
+
+    private int runAndGetExitCode(boolean pooled, Props props) {
+        try {
+            run(pooled, props);
+            fail("Job should have failed.");
+            return 0;
+        }
+        catch(ProcessFailureException e) {
+            return e.getExitCode();
+        }
+    }
+
+    private JavaJob run(boolean pooled, Props extra) {
+        Props props = new Props();
+        props.put(AbstractProcessJob.WORKING_DIR, _workingDir.getPath());
+        props.put(JavaJob.JOB_CLASS, TestJob.class.getName());
+        props.put(JavaProcessJob.CLASSPATH, System.getProperty("java.class.path"));
+        props.put(JavaProcessJob.POOLED, Boolean.toString(pooled));
+        props.put("input", "some input");
+        props.putAll(extra);
+
+        JobDescriptor descriptor = EasyMock.createMock(JobDescriptor.class);
+        EasyMock.expect(descriptor.getId()).andReturn("pooled-job").anyTimes();
+        EasyMock.expect(descriptor.getResolvedProps()).andReturn(props).anyTimes();
+        EasyMock.expect(descriptor.getFullPath()).andReturn(new File(_workingDir, "pooled-job.job").getPath())
+                .anyTimes();
+        EasyMock.replay(descriptor);
+
+        JavaProcessJob.setWorkerPool(_pool);
+        JavaJob job = new JavaJob(descriptor);
+        job.run();
+        return job;
+    }
+
+    public static class TestJob {
+
+        private final String _name;
+        private final Props _props;
+
+        public TestJob(String name, Props props) {
+            _name = name;
+            _props = props;
+        }
+
+        public void run() {
+            if(_props.containsKey("exit.code")) {
+                System.exit(_props.getInt("exit.code"));
+            }
+            if(_props.getBoolean("fail", false)) {
+                throw new IllegalStateException("Failing as asked.");
+            }
+        }
+
+        public void cancel() {
+        }
+
+        public Props getJobGeneratedProperties() throws IOException {
+            Props generated = new Props();
+            generated.put("job.name", _name);
+            generated.put("cwd", new File(".").getCanonicalPath());
+            generated.put("input", _props.getString("input"));
+            return generated;
+        }
+    }
+}
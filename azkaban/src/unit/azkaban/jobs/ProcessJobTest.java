@@ -68,6 +68,31 @@ public class ProcessJobTest
       
       job.run();
     }
-}
 
+    @Test
+    public void testOutputPropertiesAppendedByCommands() {
+      props.put(ProcessJob.COMMAND, "bash -c 'echo first=1 >> $JOB_OUTPUT_PROP_FILE'");
+      props.put("command.1", "bash -c 'echo second=2 >> $JOB_OUTPUT_PROP_FILE'");
+
+      job.run();
+
+      Assert.assertEquals("1", job.getJobGeneratedProperties().get("first"));
+      Assert.assertEquals("2", job.getJobGeneratedProperties().get("second"));
+    }
+
+    @Test
+    public void testJsonOutputProperties() {
+      props.put(ProcessJob.COMMAND, "bash -c 'echo \"{ \\\"key\\\": \\\"value\\\" }\" > $JOB_OUTPUT_PROP_FILE'");
+
+      job.run();
+
+      Assert.assertEquals("value", job.getJobGeneratedProperties().get("key"));
+    }
+
+    @Test(expected = RuntimeException.class)
+    public void testMalformedOutputPropertiesFailJob() {
+      props.put(ProcessJob.COMMAND, "bash -c 'echo { broken > $JOB_OUTPUT_PROP_FILE'");
 
+      job.run();
+    }
+}
@@ -0,0 +1,130 @@
+package azkaban.jobs;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import azkaban.common.jobs.DoNothingJob;
+import azkaban.jobcontrol.impl.jobs.ResourceThrottledJob;
+import azkaban.jobcontrol.impl.jobs.locks.GroupLock;
+import azkaban.jobcontrol.impl.jobs.locks.JobLock;
+import azkaban.jobcontrol.impl.jobs.locks.LockWaitQueue;
+import azkaban.jobcontrol.impl.jobs.locks.NamedPermitManager;
+import azkaban.jobcontrol.impl.jobs.locks.ReadWriteLockManager;
+
+import static org.junit.Assert.*;
+
+public class ResourceThrottledJobTest {
+
+    @Test
+    public void testWaitersHoldNoThreadAndRunInOrder() throws Exception {
+        NamedPermitManager permits = new NamedPermitManager();
+        permits.createNamedPermit("default", 2);
+        LockWaitQueue queue = new LockWaitQueue();
+
+        ResourceThrottledJob first = throttled("first", permits, 2, queue);
+        ResourceThrottledJob second = throttled("second", permits, 2, queue);
+        AtomicInteger started = new AtomicInteger(0);
+
+        assertTrue(first.acquireAsync(counter(started)));
+        assertEquals(1, started.get());
+
+        assertTrue(second.acquireAsync(counter(started)));
+        assertEquals("Second job should be waiting.", 1, started.get());
+        assertEquals(1, queue.getNumWaiting());
+
+        first.run();
+        assertEquals("Releasing should have handed the permits on.", 2, started.get());
+        assertEquals(0, queue.getNumWaiting());
+        second.run();
+    }
+
+    @Test
+    public void testCancelRemovesWaiter() throws Exception {
+        NamedPermitManager permits = new NamedPermitManager();
+        permits.createNamedPermit("default", 1);
+        LockWaitQueue queue = new LockWaitQueue();
+
+        ResourceThrottledJob holder = throttled("holder", permits, 1, queue);
+        ResourceThrottledJob canceled = throttled("canceled", permits, 1, queue);
+        ResourceThrottledJob last = throttled("last", permits, 1, queue);
+        AtomicInteger started = new AtomicInteger(0);
+        AtomicInteger canceledStarted = new AtomicInteger(0);
+
+        holder.acquireAsync(counter(started));
+        canceled.acquireAsync(counter(canceledStarted));
+        last.acquireAsync(counter(started));
+        assertEquals(2, queue.getNumWaiting());
+
+        canceled.cancel();
+        assertEquals(1, queue.getNumWaiting());
+
+        holder.run();
+        assertEquals(0, canceledStarted.get());
+        assertEquals(2, started.get());
+        last.run();
+    }
+
+    @Test
+    public void testLargeRequestIsNotStarvedBySmallOnes() throws Exception {
+        NamedPermitManager permits = new NamedPermitManager();
+        permits.createNamedPermit("default", 2);
+        LockWaitQueue queue = new LockWaitQueue();
+        AtomicInteger bigStarted = new AtomicInteger(0);
+        AtomicInteger smallStarted = new AtomicInteger(0);
+
+        ResourceThrottledJob holder = throttled("holder", permits, 1, queue);
+        holder.acquireAsync(counter(smallStarted));
+        throttled("big", permits, 2, queue).acquireAsync(counter(bigStarted));
+        throttled("small", permits, 1, queue).acquireAsync(counter(smallStarted));
+
+        assertEquals("Small job must queue behind the big one.", 1, smallStarted.get());
+        holder.run();
+        assertEquals(1, bigStarted.get());
+    }
+
+    @Test
+    public void testWriteLockExcludesReaders() throws Exception {
+        ReadWriteLockManager locks = new ReadWriteLockManager();
+        LockWaitQueue queue = new LockWaitQueue();
+        AtomicInteger started = new AtomicInteger(0);
+
+        final ResourceThrottledJob writer = new ResourceThrottledJob(new DoNothingJob("writer", null),
+                new GroupLock(Arrays.<JobLock>asList(locks.getWriteLock("table"))), queue);
+        ResourceThrottledJob reader = new ResourceThrottledJob(new DoNothingJob("reader", null),
+                new GroupLock(Arrays.<JobLock>asList(locks.getReadLock("table"))), queue);
+
+        writer.acquireAsync(counter(started));
+        reader.acquireAsync(counter(started));
+        assertEquals(1, started.get());
+
+        // release happens on a different thread than the acquire
+        Thread t = new Thread(new Runnable() {
+            public void run() {
+                try {
+                    writer.run();
+                } catch (Exception e) {
+                    throw new RuntimeException(e);
+                }
+            }
+        });
+        t.start();
+        t.join();
+        assertEquals(2, started.get());
+        reader.run();
+    }
+
+    private ResourceThrottledJob throttled(String id, NamedPermitManager permits, int num, LockWaitQueue queue) {
+        JobLock lock = new GroupLock(Arrays.<JobLock>asList(permits.getNamedPermit("default", num)));
+        return new ResourceThrottledJob(new DoNothingJob(id, null), lock, queue);
+    }
+
+    private Runnable counter(final AtomicInteger count) {
+        return new Runnable() {
+            public void run() {
+                count.incrementAndGet();
+            }
+        };
+    }
+}
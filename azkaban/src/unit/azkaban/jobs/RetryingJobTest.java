@@ -0,0 +1,87 @@
+package azkaban.jobs;
+
+import java.util.Collections;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import azkaban.common.jobs.AbstractJob;
+import azkaban.jobcontrol.impl.jobs.RetryPolicy;
+import azkaban.jobcontrol.impl.jobs.RetryingJob;
+import azkaban.util.process.ProcessFailureException;
+
+import static org.junit.Assert.*;
+
+public class RetryingJobTest {
+
+    @Test
+    public void testExponentialBackoffIsCapped() {
+        RetryPolicy policy = new RetryPolicy(10, 100, 2.0, 1000, 0.0, RetryPolicy.UNLIMITED,
+                                             Collections.<Integer> emptySet());
+        assertEquals(100, policy.getBackoffMs(1));
+        assertEquals(200, policy.getBackoffMs(2));
+        assertEquals(800, policy.getBackoffMs(4));
+        assertEquals(1000, policy.getBackoffMs(5));
+        assertEquals(-1, policy.getRetryDelayMs(11, 0, new RuntimeException(), new Random()));
+    }
+
+    @Test
+    public void testJitterSpreadsRetries() {
+        RetryPolicy policy = new RetryPolicy(3, 1000, 1.0, RetryPolicy.UNLIMITED, 0.5, RetryPolicy.UNLIMITED,
+                                             Collections.<Integer> emptySet());
+        Random random = new Random(1);
+        boolean differ = false;
+        long first = policy.getRetryDelayMs(1, 0, new RuntimeException(), random);
+        for(int i = 0; i < 20; i++) {
+            long delay = policy.getRetryDelayMs(1, 0, new RuntimeException(), random);
+            assertTrue(delay >= 500 && delay <= 1500);
+            differ |= delay != first;
+        }
+        assertTrue(differ);
+    }
+
+    @Test
+    public void testMaxElapsedAndExitCodes() {
+        RetryPolicy policy = new RetryPolicy(3, 1000, 1.0, RetryPolicy.UNLIMITED, 0.0, 5000,
+                                             Collections.singleton(75));
+        Random random = new Random();
+        assertEquals(1000, policy.getRetryDelayMs(1, 3000, new ProcessFailureException(75, null), random));
+        assertEquals(-1, policy.getRetryDelayMs(1, 4500, new ProcessFailureException(75, null), random));
+        assertEquals(-1, policy.getRetryDelayMs(1, 0, new ProcessFailureException(1, null), random));
+        assertEquals(1000, policy.getRetryDelayMs(1, 0, new RuntimeException(new ProcessFailureException(75, null)),
+                                                  random));
+        assertEquals(1000, policy.getRetryDelayMs(1, 0, new IllegalStateException(), random));
+    }
+
+    @Test
+    public void testBlockingRunRetries() throws Exception {
+        final AtomicInteger runs = new AtomicInteger(0);
+        RetryingJob job = new RetryingJob(new AbstractJob("flaky") {
+
+            public void run() {
+                if(runs.incrementAndGet() < 3)
+                    throw new ProcessFailureException(1, null);
+            }
+        }, 2, 1);
+        job.run();
+        assertEquals(3, runs.get());
+    }
+
+    @Test
+    public void testGivesUpWithLastFailure() throws Exception {
+        final AtomicInteger runs = new AtomicInteger(0);
+        RetryingJob job = new RetryingJob(new AbstractJob("failing") {
+
+            public void run() {
+                throw new ProcessFailureException(runs.incrementAndGet(), null);
+            }
+        }, 2, 1);
+        try {
+            job.run();
+            fail("The job should have failed.");
+        } catch(ProcessFailureException e) {
+            assertEquals(3, e.getExitCode());
+        }
+    }
+}
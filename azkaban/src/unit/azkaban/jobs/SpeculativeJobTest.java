@@ -0,0 +1,111 @@
+package azkaban.jobs;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.Test;
+
+import azkaban.common.jobs.AbstractJob;
+import azkaban.common.jobs.Job;
+import azkaban.common.utils.Props;
+import azkaban.jobcontrol.impl.jobs.SpeculativeJob;
+
+import static org.junit.Assert.*;
+
+public class SpeculativeJobTest {
+
+    @Test
+    public void testFastJobIsNotSpeculated() throws Exception {
+        RecordingBackup backup = new RecordingBackup(new TestJob("backup", 0, false));
+        SpeculativeJob job = new SpeculativeJob(new TestJob("original", 0, false), 5000, backup);
+        job.run();
+        assertEquals("original", job.getJobGeneratedProperties().get("attempt"));
+        assertFalse(backup.launched.get());
+    }
+
+    @Test
+    public void testStragglerIsCancelled() throws Exception {
+        TestJob original = new TestJob("original", 10000, false);
+        RecordingBackup backup = new RecordingBackup(new TestJob("backup", 0, false));
+        SpeculativeJob job = new SpeculativeJob(original, 50, backup);
+        job.run();
+        assertEquals("backup", job.getJobGeneratedProperties().get("attempt"));
+        assertTrue(backup.launched.get());
+        assertTrue(backup.speculativeWon.get());
+        assertTrue(original.cancelled.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testOriginalWinsIfBackupFails() throws Exception {
+        RecordingBackup backup = new RecordingBackup(new TestJob("backup", 0, true));
+        SpeculativeJob job = new SpeculativeJob(new TestJob("original", 300, false), 50, backup);
+        job.run();
+        assertEquals("original", job.getJobGeneratedProperties().get("attempt"));
+        assertTrue(backup.launched.get());
+        assertFalse(backup.speculativeWon.get());
+    }
+
+    @Test
+    public void testFailsIfBothFail() throws Exception {
+        RecordingBackup backup = new RecordingBackup(new TestJob("backup", 0, true));
+        SpeculativeJob job = new SpeculativeJob(new TestJob("original", 200, true), 50, backup);
+        try {
+            job.run();
+            fail("The job should have failed.");
+        } catch(RuntimeException e) {
+            // expected
+        }
+        assertTrue(backup.launched.get());
+    }
+
+    private static class RecordingBackup implements SpeculativeJob.Backup {
+
+        private final Job attempt;
+        private final AtomicBoolean launched = new AtomicBoolean(false);
+        private final AtomicBoolean speculativeWon = new AtomicBoolean(false);
+
+        private RecordingBackup(Job attempt) {
+            this.attempt = attempt;
+        }
+
+        public Job create() {
+            return attempt;
+        }
+
+        public void done(boolean launched, boolean speculativeWon, long originalMs, long backupMs) {
+            this.launched.set(launched);
+            this.speculativeWon.set(speculativeWon);
+        }
+    }
+
+    private static class TestJob extends AbstractJob {
+
+        private final long sleepMs;
+        private final boolean fail;
+        private final CountDownLatch cancelled = new CountDownLatch(1);
+
+        private TestJob(String id, long sleepMs, boolean fail) {
+            super(id);
+            this.sleepMs = sleepMs;
+            this.fail = fail;
+        }
+
+        public void run() throws Exception {
+            if(cancelled.await(sleepMs, TimeUnit.MILLISECONDS))
+                throw new RuntimeException(getId() + " was cancelled.");
+            if(fail)
+                throw new RuntimeException(getId() + " failed.");
+        }
+
+        @Override
+        public void cancel() {
+            cancelled.countDown();
+        }
+
+        @Override
+        public Props getJobGeneratedProperties() {
+            return Props.of("attempt", getId());
+        }
+    }
+}
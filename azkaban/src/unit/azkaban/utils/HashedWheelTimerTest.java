@@ -0,0 +1,76 @@
+package azkaban.utils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+import azkaban.util.HashedWheelTimer;
+
+public class HashedWheelTimerTest {
+
+    private HashedWheelTimer timer;
+
+    @Before
+    public void setUp() {
+        // one turn of the wheel is 80 ms
+        timer = new HashedWheelTimer("test-timer", 10, 8);
+    }
+
+    @After
+    public void tearDown() {
+        timer.stop();
+    }
+
+    @Test
+    public void testFiresInOrderAfterDelay() throws Exception {
+        final List<Long> fired = Collections.synchronizedList(new ArrayList<Long>());
+        final CountDownLatch latch = new CountDownLatch(3);
+        final long start = System.currentTimeMillis();
+        // 250 ms is past several turns of the wheel
+        for(long delay: new long[] { 250, 0, 50 }) {
+            final long d = delay;
+            timer.schedule(new Runnable() {
+
+                public void run() {
+                    // a task fired early shows as its negated delay
+                    fired.add(System.currentTimeMillis() - start >= d ? d : -d);
+                    latch.countDown();
+                }
+            }, delay);
+        }
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertEquals(Arrays.asList(0L, 50L, 250L), fired);
+        assertEquals(0, timer.getNumPending());
+    }
+
+    @Test
+    public void testCanceledTimeoutsDontFire() throws Exception {
+        final CountDownLatch fired = new CountDownLatch(1);
+        Runnable task = new Runnable() {
+
+            public void run() {
+                fired.countDown();
+            }
+        };
+        HashedWheelTimer.Timeout timeout = timer.schedule(task, 50);
+        assertEquals(1, timer.getNumPending());
+        assertTrue(timeout.cancel());
+        assertFalse(timeout.cancel());
+        assertEquals(0, timer.getNumPending());
+        assertFalse(fired.await(200, TimeUnit.MILLISECONDS));
+
+        HashedWheelTimer.Timeout expired = timer.schedule(task, 0);
+        assertTrue(fired.await(5, TimeUnit.SECONDS));
+        assertTrue(expired.isExpired());
+        assertFalse(expired.cancel());
+    }
+}
@@ -0,0 +1,74 @@
+package azkaban.utils;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+import azkaban.common.utils.LogTail;
+
+public class LogTailTest {
+
+    private File file;
+
+    @Before
+    public void setUp() throws IOException {
+        file = File.createTempFile("log-tail-test", ".log");
+    }
+
+    @After
+    public void tearDown() {
+        file.delete();
+    }
+
+    @Test
+    public void testLastLines() throws Exception {
+        FileUtils.writeStringToFile(file, "one\ntwo\r\nthree\nfour\n", "UTF-8");
+        assertEquals(Arrays.asList("three", "four"), LogTail.lastLines(file, 2));
+        assertEquals(Arrays.asList("one", "two", "three", "four"), LogTail.lastLines(file, 10));
+    }
+
+    @Test
+    public void testLastLineWithoutNewline() throws Exception {
+        FileUtils.writeStringToFile(file, "one\n\ntwo", "UTF-8");
+        assertEquals(Arrays.asList("one", "", "two"), LogTail.lastLines(file, 3));
+    }
+
+    @Test
+    public void testEmptyFile() throws Exception {
+        assertEquals(Collections.emptyList(), LogTail.lastLines(file, 5));
+    }
+
+    @Test
+    public void testDecodesUtf8() throws Exception {
+        FileUtils.writeStringToFile(file, "x\n\u00e9t\u00e9\n", "UTF-8");
+        assertEquals(Arrays.asList("\u00e9t\u00e9"), LogTail.lastLines(file, 1));
+    }
+
+    @Test
+    public void testSkipsLineCutByRegion() throws Exception {
+        FileUtils.writeStringToFile(file, "aaaaaaaa\nbb\ncc\n", "UTF-8");
+        LogTail tail = LogTail.open(file, 8);
+        assertEquals(7, tail.getStartOffset());
+        assertEquals(Arrays.asList("bb", "cc"), tail.lastLines(10));
+    }
+
+    @Test
+    public void testLineOffsets() throws Exception {
+        FileUtils.writeStringToFile(file, "one\ntwo\nthree", "UTF-8");
+        LogTail.Lines lines = LogTail.open(file, 100).lines();
+        assertEquals(8, lines.next());
+        assertEquals(5, lines.getLength());
+        assertEquals(4, lines.next());
+        assertEquals(0, lines.next());
+        assertEquals("one", lines.getText());
+        assertFalse(lines.hasNext());
+    }
+}
@@ -0,0 +1,94 @@
+package azkaban.utils;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+import azkaban.util.metrics.Counter;
+import azkaban.util.metrics.Gauge;
+import azkaban.util.metrics.Histogram;
+import azkaban.util.metrics.Metrics;
+
+public class MetricsTest {
+
+    @Test
+    public void testCountersAreShared() {
+        Metrics metrics = new Metrics();
+        Counter a = metrics.counter("requests_total", "Requests", "result", "hit");
+        Counter b = metrics.counter("requests_total", "Requests", "result", "hit");
+        Counter miss = metrics.counter("requests_total", "Requests", "result", "miss");
+        assertSame(a, b);
+        assertNotSame(a, miss);
+        a.inc();
+        b.inc(2);
+        assertEquals(3, a.get());
+        assertEquals(0, miss.get());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testTypeClash() {
+        Metrics metrics = new Metrics();
+        metrics.counter("x", "X");
+        metrics.histogram("x", "X");
+    }
+
+    @Test
+    public void testHistogramQuantiles() {
+        Histogram histogram = new Histogram("latency_ms", "Latency");
+        assertEquals(0, histogram.getQuantile(0.5));
+        for(int i = 1; i <= 1000; i++)
+            histogram.record(i);
+        assertEquals(1000, histogram.getCount());
+        assertEquals(500500, histogram.getSum());
+        assertEquals(1000, histogram.getMax());
+        assertWithin(500, histogram.getQuantile(0.5));
+        assertWithin(900, histogram.getQuantile(0.9));
+        assertWithin(990, histogram.getQuantile(0.99));
+        assertEquals(1000, histogram.getQuantile(1.0));
+
+        histogram.record(Long.MAX_VALUE);
+        assertEquals(Long.MAX_VALUE, histogram.getQuantile(1.0));
+    }
+
+    @Test
+    public void testPrometheusFormat() {
+        Metrics metrics = new Metrics();
+        metrics.counter("jobs_total", "Jobs", "status", "ok").inc(2);
+        metrics.counter("jobs_total", "Jobs", "status", "say \"hi\"").inc();
+        metrics.register(new Gauge("queue", "Queue size") {
+
+            @Override
+            public double getValue() {
+                return 4;
+            }
+        });
+        metrics.histogram("time_ms", "Time").record(3);
+        assertEquals("# HELP jobs_total Jobs\n" + "# TYPE jobs_total counter\n"
+                     + "jobs_total{status=\"ok\"} 2\n" + "jobs_total{status=\"say \\\"hi\\\"\"} 1\n"
+                     + "# HELP queue Queue size\n" + "# TYPE queue gauge\n" + "queue 4.0\n"
+                     + "# HELP time_ms Time\n" + "# TYPE time_ms summary\n"
+                     + "time_ms{quantile=\"0.5\"} 3\n" + "time_ms{quantile=\"0.9\"} 3\n"
+                     + "time_ms{quantile=\"0.99\"} 3\n" + "time_ms_sum 3\n" + "time_ms_count 1\n"
+                     + "time_ms_max 3\n", metrics.toPrometheus());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testToMap() {
+        Metrics metrics = new Metrics();
+        metrics.counter("jobs_total", "Jobs", "status", "ok").inc(2);
+        List<Object> samples = (List<Object>) metrics.toMap().get("jobs_total");
+        assertEquals(1, samples.size());
+        Map<String, Object> sample = (Map<String, Object>) samples.get(0);
+        assertEquals("status=\"ok\"", sample.get("labels"));
+        assertEquals(2L, sample.get("count"));
+    }
+
+    // the buckets hold values to within 12.5%
+    private void assertWithin(long expected, long actual) {
+        assertTrue(actual + " is not near " + expected, Math.abs(actual - expected) <= expected / 8);
+    }
+}
@@ -0,0 +1,117 @@
+package azkaban.utils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+
+import org.apache.avro.Schema;
+import org.apache.avro.file.DataFileWriter;
+import org.apache.avro.generic.GenericData;
+import org.apache.avro.generic.GenericDatumWriter;
+import org.apache.avro.util.Utf8;
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.io.SequenceFile;
+import org.apache.hadoop.io.Text;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+import azkaban.common.web.HdfsAvroFileViewer;
+import azkaban.common.web.HdfsSequenceFileViewer;
+import azkaban.common.web.RecordIndex;
+
+public class RecordIndexTest {
+
+    // enough records to fill several splits of the index
+    private static final int NUM_RECORDS = 400000;
+
+    private FileSystem fs;
+    private File file;
+
+    @Before
+    public void setUp() throws IOException {
+        fs = FileSystem.getLocal(new Configuration());
+        file = File.createTempFile("record-index-test", ".dat");
+    }
+
+    @After
+    public void tearDown() {
+        file.delete();
+        new File(file.getParentFile(), "." + file.getName() + ".crc").delete();
+    }
+
+    @Test
+    public void testSequenceFileRanges() throws Exception {
+        Path path = new Path(file.getAbsolutePath());
+        SequenceFile.Writer writer = SequenceFile.createWriter(fs,
+                                                               fs.getConf(),
+                                                               path,
+                                                               Text.class,
+                                                               Text.class);
+        for(int i = 1; i <= NUM_RECORDS; i++)
+            writer.append(new Text("key-" + i), new Text("value-" + i));
+        writer.close();
+        assertTrue(file.length() > 2 * RecordIndex.DEFAULT_SPLIT_BYTES);
+
+        HdfsSequenceFileViewer viewer = new HdfsSequenceFileViewer() {
+
+            protected boolean canReadFile(SequenceFile.Reader reader) {
+                return true;
+            }
+
+            protected void displaySequenceFile(SequenceFile.Reader reader,
+                                               PrintWriter output,
+                                               int startLine,
+                                               int endLine) throws IOException {
+                Text key = new Text();
+                Text value = new Text();
+                for(int i = startLine; i <= endLine && reader.next(key, value); i++)
+                    output.println(key);
+            }
+        };
+
+        assertEquals("key-350000\nkey-350001\n", display(viewer, path, 350000, 350001));
+        assertEquals("key-1\n", display(viewer, path, 1, 1));
+        assertEquals("key-200000\n", display(viewer, path, 200000, 200000));
+        assertEquals("key-400000\n", display(viewer, path, 400000, 400005));
+        assertEquals("", display(viewer, path, 400001, 400005));
+    }
+
+    @Test
+    public void testAvroRanges() throws Exception {
+        Schema schema = Schema.parse("{\"type\": \"record\", \"name\": \"Test\", \"fields\": "
+                                     + "[{\"name\": \"id\", \"type\": \"int\"}, "
+                                     + "{\"name\": \"name\", \"type\": \"string\"}]}");
+        DataFileWriter<Object> writer = new DataFileWriter<Object>(new GenericDatumWriter<Object>(schema));
+        writer.create(schema, file);
+        for(int i = 1; i <= NUM_RECORDS; i++) {
+            GenericData.Record record = new GenericData.Record(schema);
+            record.put("id", i);
+            record.put("name", new Utf8("name-of-record-" + i));
+            writer.append(record);
+        }
+        writer.close();
+        assertTrue(file.length() > 2 * RecordIndex.DEFAULT_SPLIT_BYTES);
+
+        Path path = new Path(file.getAbsolutePath());
+        HdfsAvroFileViewer viewer = new HdfsAvroFileViewer();
+        assertEquals("\n{\"id\":350000,\"name\":\"name-of-record-350000\"}",
+                     display(viewer, path, 350000, 350000));
+        assertEquals("\n{\"id\":1,\"name\":\"name-of-record-1\"}", display(viewer, path, 1, 1));
+        assertEquals("", display(viewer, path, 400001, 400001));
+    }
+
+    private String display(azkaban.common.web.HdfsFileViewer viewer,
+                           Path path,
+                           int startLine,
+                           int endLine) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        viewer.displayFile(fs, path, out, startLine, endLine, false);
+        return new String(out.toByteArray(), "UTF-8");
+    }
+}
@@ -1,8 +1,10 @@
 package azkaban.utils;
 
 import java.io.File;
+import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.OutputStream;
 import java.util.Random;
 import java.util.zip.ZipFile;
@@ -32,6 +34,25 @@ public class UtilsTest {
         FileUtils.deleteDirectory(testDir);
     }
 
+    @Test
+    public void unzipStream() throws Exception {
+        String[] fileNames = { "blah", "a/b", "a/d/f" };
+        File testDir = createTestFiles(fileNames);
+        File zip = File.createTempFile("junit-zip-test", ".zip");
+        zip.deleteOnExit();
+        Utils.zip(testDir, zip);
+        File unzipped = Utils.createTempDir();
+        InputStream in = new FileInputStream(zip);
+        Utils.unzip(in, unzipped);
+        in.close();
+        File baseOutput = unzipped.listFiles()[0];
+        for(String name: fileNames)
+            assertTrue("File contents not equal for " + name,
+                       FileUtils.contentEquals(new File(testDir, name), new File(baseOutput, name)));
+        FileUtils.deleteDirectory(unzipped);
+        FileUtils.deleteDirectory(testDir);
+    }
+
     public File createTestFiles(String... files) throws IOException {
         Random rand = new Random();
         File f = Utils.createTempDir();
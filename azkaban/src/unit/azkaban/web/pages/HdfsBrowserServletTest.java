@@ -0,0 +1,186 @@
+package azkaban.web.pages;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+
+import org.apache.avro.Schema;
+import org.apache.avro.file.DataFileWriter;
+import org.apache.avro.generic.GenericData;
+import org.apache.avro.generic.GenericDatumWriter;
+import org.apache.avro.util.Utf8;
+import org.apache.commons.io.FileUtils;
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.FSDataInputStream;
+import org.apache.hadoop.fs.FileStatus;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.io.BytesWritable;
+import org.apache.hadoop.io.SequenceFile;
+import org.apache.hadoop.io.Text;
+import org.apache.hadoop.io.compress.DefaultCodec;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+import azkaban.common.web.HdfsAvroFileViewer;
+import azkaban.common.web.HdfsFileViewer;
+import azkaban.common.web.JsonSequenceFileViewer;
+import azkaban.common.web.OpenFileSystem;
+import azkaban.common.web.TextFileViewer;
+
+public class HdfsBrowserServletTest {
+
+    private FileSystem fs;
+    private File dir;
+
+    @Before
+    public void setUp() throws IOException {
+        fs = FileSystem.getLocal(new Configuration());
+        dir = File.createTempFile("hdfs-browser-test", "");
+        dir.delete();
+        dir.mkdirs();
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        FileUtils.deleteDirectory(dir);
+    }
+
+    @Test
+    public void testSniffsContentToPickViewer() throws Exception {
+        HdfsBrowserServlet servlet = new HdfsBrowserServlet(fs, 60000);
+
+        File avro = new File(dir, "data.avro");
+        Schema schema = Schema.parse("{\"type\": \"record\", \"name\": \"Test\", \"fields\": "
+                                     + "[{\"name\": \"name\", \"type\": \"string\"}]}");
+        DataFileWriter<Object> avroWriter = new DataFileWriter<Object>(new GenericDatumWriter<Object>(schema));
+        avroWriter.create(schema, avro);
+        GenericData.Record record = new GenericData.Record(schema);
+        record.put("name", new Utf8("some name"));
+        avroWriter.append(record);
+        avroWriter.close();
+
+        File json = new File(dir, "data.seq");
+        SequenceFile.Metadata metadata = new SequenceFile.Metadata();
+        metadata.set(new Text("key.schema"), new Text("\"string\""));
+        metadata.set(new Text("value.schema"), new Text("\"string\""));
+        SequenceFile.Writer seqWriter = SequenceFile.createWriter(fs,
+                                                                  fs.getConf(),
+                                                                  new Path(json.getAbsolutePath()),
+                                                                  BytesWritable.class,
+                                                                  BytesWritable.class,
+                                                                  SequenceFile.CompressionType.NONE,
+                                                                  new DefaultCodec(),
+                                                                  null,
+                                                                  metadata);
+        seqWriter.close();
+
+        File text = new File(dir, "data.txt");
+        FileUtils.writeStringToFile(text, "just some text\n");
+        File fakeSeq = new File(dir, "fake.seq");
+        FileUtils.writeStringToFile(fakeSeq, "SEQ but not a sequence file\n");
+
+        assertTrue(viewerOf(servlet, avro) instanceof HdfsAvroFileViewer);
+        assertTrue(viewerOf(servlet, json) instanceof JsonSequenceFileViewer);
+        assertTrue(viewerOf(servlet, text) instanceof TextFileViewer);
+        assertTrue("Falls back to text", viewerOf(servlet, fakeSeq) instanceof TextFileViewer);
+    }
+
+    @Test
+    public void testOpenFileSystemRewindsSharedStream() throws Exception {
+        File text = new File(dir, "data.txt");
+        FileUtils.writeStringToFile(text, "abc");
+        FileStatus status = fs.getFileStatus(new Path(text.getAbsolutePath()));
+        Path path = status.getPath();
+
+        FSDataInputStream in = fs.open(path);
+        try {
+            OpenFileSystem openFs = new OpenFileSystem(fs, status, in);
+            assertSame(status, openFs.getFileStatus(path));
+
+            InputStream first = openFs.open(path);
+            assertEquals('a', first.read());
+            assertEquals('b', first.read());
+            first.close();
+
+            InputStream second = openFs.open(path);
+            assertEquals("Closing the first open must not close the stream", 'a', second.read());
+        } finally {
+            in.close();
+        }
+    }
+
+    @Test
+    public void testCacheExpires() throws Exception {
+        HdfsBrowserServlet servlet = new HdfsBrowserServlet(fs, 200);
+        Path path = new Path(dir.getAbsolutePath());
+        FileUtils.writeStringToFile(new File(dir, "first"), "1");
+
+        HdfsBrowserServlet.CachedPath cached = servlet.getCached(path);
+        assertTrue(cached.getStatus().isDir());
+        assertEquals(1, servlet.listDir(cached, 1, 10).numChildren);
+
+        FileUtils.writeStringToFile(new File(dir, "second"), "2");
+        assertSame(cached, servlet.getCached(path));
+        assertEquals("The listing is cached", 1, servlet.listDir(servlet.getCached(path), 1, 10).numChildren);
+        assertNull(servlet.getCached(new Path(dir.getAbsolutePath(), "missing")));
+
+        Thread.sleep(300);
+        HdfsBrowserServlet.CachedPath refreshed = servlet.getCached(path);
+        assertNotSame(cached, refreshed);
+        assertEquals(2, servlet.listDir(refreshed, 1, 10).numChildren);
+
+        servlet.delete(new Path(dir.getAbsolutePath(), "second"));
+        assertNotSame("Deleting clears the cache", refreshed, servlet.getCached(path));
+    }
+
+    @Test
+    public void testPagesListing() throws Exception {
+        HdfsBrowserServlet servlet = new HdfsBrowserServlet(fs, 60000);
+        for(int i = 0; i < 5; i++)
+            FileUtils.writeStringToFile(new File(dir, "file-" + i), "" + i);
+        HdfsBrowserServlet.CachedPath cached = servlet.getCached(new Path(dir.getAbsolutePath()));
+
+        HdfsBrowserServlet.DirPage page = servlet.listDir(cached, 1, 2);
+        assertEquals(5, page.numChildren);
+        assertEquals(3, page.numPages);
+        assertEquals(2, page.children.size());
+
+        List<String> names = new ArrayList<String>();
+        for(int pageNum = 1; pageNum <= 3; pageNum++) {
+            for(FileStatus status: servlet.listDir(cached, pageNum, 2).children)
+                names.add(status.getPath().getName());
+        }
+        assertEquals("Pages cover every child once", 5, names.size());
+        assertEquals(5, new HashSet<String>(names).size());
+
+        page = servlet.listDir(cached, 7, 2);
+        assertEquals("Past the end shows the last page", 3, page.pageNum);
+        assertEquals(1, page.children.size());
+        assertEquals(1, servlet.listDir(cached, 0, 2).pageNum);
+        assertEquals(1, servlet.listDir(cached, 1, 0).pageSize);
+    }
+
+    private HdfsFileViewer viewerOf(HdfsBrowserServlet servlet, File file) throws IOException {
+        HdfsBrowserServlet.CachedPath cached = servlet.getCached(new Path(file.getAbsolutePath()));
+        Path path = cached.getStatus().getPath();
+        FSDataInputStream in = fs.open(path);
+        try {
+            OpenFileSystem openFs = new OpenFileSystem(fs, cached.getStatus(), in);
+            HdfsFileViewer viewer = servlet.getViewer(cached, openFs, in);
+
+            // the chosen viewer reads the stream the sniffing read
+            viewer.displayFile(openFs, path, new ByteArrayOutputStream(), 1, 10, false);
+            return viewer;
+        } finally {
+            in.close();
+        }
+    }
+}
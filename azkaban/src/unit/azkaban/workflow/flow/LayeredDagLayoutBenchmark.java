@@ -0,0 +1,74 @@
+package azkaban.workflow.flow;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import azkaban.common.utils.Props;
+import azkaban.workflow.Flow;
+
+/**
+ * Times LayeredDagLayout, and optionally SugiyamaLayout, on a random flow.
+ *
+ * Usage: LayeredDagLayoutBenchmark [jobs] [edges] [runs] [sugiyama]
+ */
+public class LayeredDagLayoutBenchmark {
+
+    private static final int WARMUP_RUNS = 5;
+
+    public static void main(String[] args) {
+        int jobs = args.length > 0 ? Integer.parseInt(args[0]) : 5000;
+        int edges = args.length > 1 ? Integer.parseInt(args[1]) : 20000;
+        int runs = args.length > 2 ? Integer.parseInt(args[2]) : 20;
+        boolean sugiyama = args.length > 3 && Boolean.parseBoolean(args[3]);
+
+        Flow flow = randomFlow(jobs, edges, 1L);
+        System.out.println("Flow with " + jobs + " jobs and " + edges + " dependencies");
+
+        LayeredDagLayout layout = new LayeredDagLayout(flow);
+        for(int i = 0; i < WARMUP_RUNS; i++)
+            layout.setLayout();
+        long start = System.nanoTime();
+        for(int i = 0; i < runs; i++)
+            layout.setLayout();
+        System.out.println(String.format("LayeredDagLayout: %.1f ms/layout, %d layers, %d virtual nodes, %d crossings",
+                                         (System.nanoTime() - start) / 1e6 / runs,
+                                         layout.getNumLayers(),
+                                         layout.getNumVirtualNodes(),
+                                         layout.getCrossings()));
+
+        if(sugiyama) {
+            // SugiyamaLayout reads the levels validateFlow() would set.
+            for(FlowNode node: flow.getFlowNodes())
+                for(String dependent: node.getDependents())
+                    setLevelAtLeast(flow, dependent, node.getLevel() + 1);
+            start = System.nanoTime();
+            new SugiyamaLayout(flow).setLayout();
+            System.out.println(String.format("SugiyamaLayout: %.1f ms/layout",
+                                             (System.nanoTime() - start) / 1e6));
+        }
+    }
+
+    private static void setLevelAtLeast(Flow flow, String alias, int level) {
+        FlowNode node = flow.getFlowNode(alias);
+        node.setLevel(Math.max(node.getLevel(), level));
+    }
+
+    /**
+     * A random flow in which each job depends on jobs among the hundred
+     * defined before it, so there are both short and long dependencies.
+     */
+    public static Flow randomFlow(int jobs, int edges, long seed) {
+        Random random = new Random(seed);
+        Flow flow = new Flow("benchmark", (Props) null);
+        flow.addDependencies("job0", new ArrayList<String>());
+        for(int i = 1; i < jobs; i++) {
+            int count = edges / (jobs - 1) + (random.nextInt(jobs - 1) < edges % (jobs - 1) ? 1 : 0);
+            List<String> dependencies = new ArrayList<String>();
+            for(int j = 0; j < count; j++)
+                dependencies.add("job" + Math.max(0, i - 1 - random.nextInt(100)));
+            flow.addDependencies("job" + i, dependencies);
+        }
+        return flow;
+    }
+}
@@ -0,0 +1,84 @@
+package azkaban.workflow.flow;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+import azkaban.common.utils.Props;
+import azkaban.workflow.Flow;
+
+import static org.junit.Assert.*;
+
+public class LayeredDagLayoutTest {
+
+    @Test
+    public void testDependentsBelowDependencies() {
+        Flow flow = new Flow("flow", (Props) null);
+        flow.addDependencies("b", Arrays.asList("a"));
+        flow.addDependencies("c", Arrays.asList("a", "b"));
+        flow.addDependencies("d", Arrays.asList("c"));
+
+        LayeredDagLayout layout = new LayeredDagLayout(flow);
+        layout.setLayout();
+
+        assertTrue(flow.isLayedOut());
+        assertTrue(y(flow, "a") < y(flow, "b"));
+        assertTrue(y(flow, "b") < y(flow, "c"));
+        assertTrue(y(flow, "c") < y(flow, "d"));
+        assertEquals(4, layout.getNumLayers());
+        assertEquals("a -> c skips b's layer", 1, layout.getNumVirtualNodes());
+    }
+
+    @Test
+    public void testJobWithoutDependenciesPlacedAboveDependent() {
+        Flow flow = new Flow("flow", (Props) null);
+        flow.addDependencies("b", Arrays.asList("a"));
+        flow.addDependencies("c", Arrays.asList("b"));
+        flow.addDependencies("d", Arrays.asList("c", "late"));
+
+        new LayeredDagLayout(flow).setLayout();
+
+        assertEquals(y(flow, "c"), y(flow, "late"), 0.0);
+    }
+
+    @Test
+    public void testRemovesAvoidableCrossings() {
+        Flow flow = new Flow("flow", (Props) null);
+        flow.addDependencies("x", Arrays.asList("b"));
+        flow.addDependencies("y", Arrays.asList("a"));
+        flow.addDependencies("z", Arrays.asList("a", "b"));
+
+        LayeredDagLayout layout = new LayeredDagLayout(flow);
+        layout.setLayout();
+
+        assertEquals(0, layout.getCrossings());
+    }
+
+    @Test
+    public void testJobsOnLayerDoNotOverlap() {
+        Flow flow = LayeredDagLayoutBenchmark.randomFlow(500, 2000, 42L);
+        LayeredDagLayout layout = new LayeredDagLayout(flow);
+        layout.setLayout();
+
+        List<FlowNode> nodes = new ArrayList<FlowNode>(flow.getFlowNodes());
+        for(FlowNode node: nodes) {
+            for(String dependent: node.getDependents())
+                assertTrue(node.getY() < flow.getFlowNode(dependent).getY());
+            for(FlowNode other: nodes) {
+                if(node != other && node.getY() == other.getY()) {
+                    double separation = LayeredDagLayout.LEVEL_WIDTH
+                                        + (node.getAlias().length() + other.getAlias().length())
+                                        * LayeredDagLayout.LEVEL_WIDTH_ADJUSTMENT / 2;
+                    assertTrue(node.getAlias() + " overlaps " + other.getAlias(),
+                               Math.abs(node.getX() - other.getX()) >= separation - 1e-6);
+                }
+            }
+        }
+    }
+
+    private static double y(Flow flow, String alias) {
+        return flow.getFlowNode(alias).getY();
+    }
+}
@@ -377,11 +377,73 @@ function loadFlow(flowdata) {
 
 }
 
+function applyStatus(id, status) {
+	var node = currentGraph.setNodeType(id, status);
+	if (node && (status == "succeeded" || status == "completed" || status == "disabled")) {
+		currentGraph.setEnabledNode(node, false);
+	}
+}
+
+// Reloads all statuses, for when status changes were missed.
+function loadStatus() {
+	jQuery.ajax( {
+		'type': 'GET',
+		'url': contextURL + "/flow",
+		'data': {
+			"id": flowID,
+			"action": "status"
+		},
+		'success': function(data) {
+			for (var id in data.statuses) {
+				applyStatus(id, data.statuses[id]);
+			}
+		}
+	});
+}
+
+// Follows the status changes of a running flow without reloading the graph.
+// The epoch tells the server which run of it the sequence number came from.
+function followEvents(after, epoch) {
+	jQuery.ajax( {
+		'type': 'GET',
+		'url': contextURL + "/flow",
+		'data': {
+			"id": flowID,
+			"action": "events",
+			"after": after,
+			"epoch": epoch,
+			"wait": 20000
+		},
+		'success': function(data) {
+			if (data.reset) {
+				loadStatus();
+			}
+			for (var i = 0; i < data.events.length; i++) {
+				applyStatus(data.events[i].job, data.events[i].status);
+			}
+
+			if (data.running) {
+				// The server answers right away when it is too busy to wait.
+				setTimeout(function() { followEvents(data.seq, data.epoch); }, data.events.length > 0 ? 0 : 2000);
+			}
+			else {
+				loadStatus();
+			}
+		},
+		'error': function() {
+			setTimeout(function() { followEvents(after, epoch); }, 5000);
+		}
+	});
+}
+
 $(function () {
 	svgElement = document.getElementById("graph");
 	setupZoomBar(svgElement);
 
 	loadFlow(flowData);
+	if (isRunning) {
+		followEvents(eventSeq, eventEpoch);
+	}
 	$("#executeButton").button();
 	
 	$("#jobsearch")
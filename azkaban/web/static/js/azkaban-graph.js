@@ -38,6 +38,17 @@ function SVGGraph() {
 		edgeTypeToColor[type] = color;
 	}
 	
+	this.setNodeType = function(id, type) {
+		var node = nodeMap[id];
+		if (!node || node["type"] == type) {
+			return null;
+		}
+		node["type"] = type;
+		node.setAttributeNS(null, "title", id + ": " + type);
+		node["topRect"].setAttributeNS(null, "class", "button " + type);
+		return node;
+	}
+	
 	this.setEnabledNode = function(node, enable) {
 		node['enabled'] = enable;
 		if (enable) {
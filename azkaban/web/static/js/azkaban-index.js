@@ -14,9 +14,11 @@ $(function () {
     }
 });
 
-function getList(data) {
-	var jobName = data.name;
-	
+// deps maps each job of the folder to the names of the jobs it depends on.
+// Only the job itself is built: its dependencies are added by expandDeps when
+// it is first expanded, so jobs shared by many paths of a DAG aren't rendered
+// once per path up front.
+function getList(jobName, deps) {
 	var li = document.createElement("li");
 	li['jobname'] = jobName;
 	// Setup checkbox
@@ -46,20 +48,43 @@ function getList(data) {
 	li.setAttribute("onMouseOver", "flowButtonShow(true, this.jobname)");
 	li.setAttribute("onMouseOut", "flowButtonShow(false, this.jobname)");
 	
-	if (data["dep"]) {
+	var children = deps[jobName];
+	if (children && children.length > 0) {
 		var ul = document.createElement("ul");
-		var children = data["dep"];
-		for (var i = 0; i < children.length; i++) {
-			var childLI = getList(children[i]);
-			ul.appendChild(childLI);
-		}
+		var placeholder = document.createElement("li");
+		placeholder.setAttribute("class", "placeholder");
+		ul.appendChild(placeholder);
 		
 		li.appendChild(ul);
+		li['deps'] = deps;
+		$(li).addClass("hasChildren");
 	}
 	
 	return li;
 }
 
+var depTreeSettings = {
+	collapsed: true,
+	animated: "medium",
+	toggle: expandDeps
+};
+
+// Treeview toggle callback, called with the job's li
+function expandDeps() {
+	if (!$(this).hasClass("hasChildren")) {
+		return;
+	}
+	$(this).removeClass("hasChildren");
+	
+	var ul = $(this).find(">ul");
+	ul.empty();
+	var children = this['deps'][this['jobname']];
+	for (var i = 0; i < children.length; i++) {
+		ul.append(getList(children[i], this['deps']));
+	}
+	ul.treeview(depTreeSettings);
+}
+
 function flowButtonShow(show, jobname) {
 	var flowButton = jobname + "-button";
 	if (show) {
@@ -85,7 +110,7 @@ function expandFlow(folderDiv) {
 		foldableDiv['hidden'] = true;
 		$(foldableDiv).hide();
 		jQuery.ajax({
-			"type": "POST",
+			"type": "GET",
 			"url" : contextURL + "/",
 			"data" : {
 				"action":"loadjobs",
@@ -95,16 +120,13 @@ function expandFlow(folderDiv) {
 				var ul = document.createElement("ul");
 				ul.setAttribute("class", "sched-tree");
 				
-				for(var i = 0; i < data.length; i++) {
-					var root = getList(data[i]);
+				for(var i = 0; i < data.roots.length; i++) {
+					var root = getList(data.roots[i], data.deps);
 					ul.appendChild(root);
 				}
 				
 				foldableDiv.appendChild(ul);
-				$(ul).treeview({ 
-			        collapsed: true,
-			        animated: "medium"
-				});
+				$(ul).treeview(depTreeSettings);
 
 				foldableDiv['hidden'] = false;
 				$(foldableDiv).show('medium');
@@ -0,0 +1,153 @@
+$(function () {
+    var treeElems = $(".execing-jobs");
+    if (treeElems.length > 0)
+    {
+      var execingJobsTree;
+      for (i=0; i<treeElems.length; i++)
+      {
+        $("#"+treeElems[i].id).treeview({
+        collapsed: true,
+        animated: "medium",
+        persist: "cookie "
+      });    
+      }
+    }
+});
+
+// deps maps each job of the folder to the names of the jobs it depends on.
+// Only the job itself is built: its dependencies are added by expandDeps when
+// it is first expanded, so jobs shared by many paths of a DAG aren't rendered
+// once per path up front.
+function getList(jobName, deps) {
+	var li = document.createElement("li");
+	li['jobname'] = jobName;
+	// Setup checkbox
+	var input = document.createElement("input"); 
+	input.setAttribute("type", "checkbox");
+	input.setAttribute("name", "jobs");
+	input.setAttribute("value", jobName);
+	input.setAttribute("class", "sched-tree-checkbox");
+	li.appendChild(input);
+	
+	// Setup anchor
+	var a = document.createElement("a");
+	a.setAttribute("href", contextURL + "/job?id=" + jobName);
+	a.setAttribute("class", "job-name");
+	a.setAttribute("name", "sched-tree-link");
+	$(a).text(jobName);
+	li.appendChild(a);
+	
+	// Setup flow button
+	var flowButton = document.createElement("a");
+	$(flowButton).text("View Flow");
+	flowButton.setAttribute("id", jobName + "-button");
+	flowButton.setAttribute("class", "flowViewButton");
+	flowButton.setAttribute("href",contextURL + "/flow?job_id=" + jobName);
+	$(flowButton).addClass("hidden");
+	li.appendChild(flowButton);
+	li.setAttribute("onMouseOver", "flowButtonShow(true, this.jobname)");
+	li.setAttribute("onMouseOut", "flowButtonShow(false, this.jobname)");
+	
+	var children = deps[jobName];
+	if (children && children.length > 0) {
+		var ul = document.createElement("ul");
+		var placeholder = document.createElement("li");
+		placeholder.setAttribute("class", "placeholder");
+		ul.appendChild(placeholder);
+		
+		li.appendChild(ul);
+		li['deps'] = deps;
+		$(li).addClass("hasChildren");
+	}
+	
+	return li;
+}
+
+var depTreeSettings = {
+	collapsed: true,
+	animated: "medium",
+	toggle: expandDeps
+};
+
+// Treeview toggle callback, called with the job's li
+function expandDeps() {
+	if (!$(this).hasClass("hasChildren")) {
+		return;
+	}
+	$(this).removeClass("hasChildren");
+	
+	var ul = $(this).find(">ul");
+	ul.empty();
+	var children = this['deps'][this['jobname']];
+	for (var i = 0; i < children.length; i++) {
+		ul.append(getList(children[i], this['deps']));
+	}
+	ul.treeview(depTreeSettings);
+}
+
+function flowButtonShow(show, jobname) {
+	var flowButton = jobname + "-button";
+	if (show) {
+		$("#" + flowButton).removeClass("hidden");
+		$("#" + flowButton).addClass("show");
+	}
+	else {
+		$("#" + flowButton).removeClass("show");
+		$("#" + flowButton).addClass("hidden");
+	}
+}
+
+function expandFlow(folderDiv) {
+	var folderId = folderDiv.id;
+	
+	if (!folderDiv['fold']) {
+		$(folderDiv).removeClass('expand');
+		$(folderDiv).addClass('wait');
+		
+		var foldableDiv = document.getElementById(folderId + "-panel");
+		$(foldableDiv).hide();
+		folderDiv['fold'] = foldableDiv;
+		foldableDiv['hidden'] = true;
+		$(foldableDiv).hide();
+		jQuery.ajax({
+			"type": "GET",
+			"url" : contextURL + "/",
+			"data" : {
+				"action":"loadjobs",
+				"folder": folderId
+			},
+			success : function(data) {
+				var ul = document.createElement("ul");
+				ul.setAttribute("class", "sched-tree");
+				
+				for(var i = 0; i < data.roots.length; i++) {
+					var root = getList(data.roots[i], data.deps);
+					ul.appendChild(root);
+				}
+				
+				foldableDiv.appendChild(ul);
+				$(ul).treeview(depTreeSettings);
+
+				foldableDiv['hidden'] = false;
+				$(foldableDiv).show('medium');
+				$(folderDiv).removeClass('wait');
+				$(folderDiv).addClass('collapse');
+			}
+		});
+	}
+	else {
+		var foldable = folderDiv['fold'];
+		if (foldable['hidden']) {
+			$(foldable).show('medium');
+			$(folderDiv).removeClass('expand');
+			$(folderDiv).addClass('collapse');
+			foldable['hidden'] = false;
+		}
+		else {
+			$(foldable).hide('medium');
+			$(folderDiv).removeClass('collapse');
+			$(folderDiv).addClass('expand');
+			foldable['hidden'] = true;
+		}
+	}
+}
\ No newline at end of file